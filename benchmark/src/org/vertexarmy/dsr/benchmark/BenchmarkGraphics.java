@@ -0,0 +1,31 @@
+package org.vertexarmy.dsr.benchmark;
+
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+
+/**
+ * Headless graphics with a fixed back buffer size, so that screen to world conversions and culling behave as in
+ * a window of that size.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class BenchmarkGraphics extends MockGraphics {
+    private final int width;
+
+    private final int height;
+
+    public BenchmarkGraphics(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,38 @@
+package org.vertexarmy.dsr.benchmark;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import java.io.File;
+
+/**
+ * Usage: BenchmarkLauncher &lt;level.json&gt; [frames] [report.json] [warmup frames]
+ * <p/>
+ * -Ddsr.frameAllocationBudget=bytes makes the run fail when a frame allocates more than that on average.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class BenchmarkLauncher {
+    private static final int DEFAULT_FRAMES = 600;
+
+    private static final int DEFAULT_WARMUP_FRAMES = 120;
+
+    private static final String DEFAULT_REPORT = "benchmark.json";
+
+    private static final long FRAME_ALLOCATION_BUDGET = Long.getLong("dsr.frameAllocationBudget", -1);
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: BenchmarkLauncher <level.json> [frames] [report.json] [warmup frames]");
+            System.exit(1);
+        }
+
+        File levelFile = new File(args[0]);
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+        File reportFile = new File(args.length > 2 ? args[2] : DEFAULT_REPORT);
+        int warmupFrames = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_WARMUP_FRAMES;
+
+        new HeadlessApplication(new EditorFrameLoopBenchmark(levelFile, reportFile, warmupFrames, frames, FRAME_ALLOCATION_BUDGET), new HeadlessApplicationConfiguration());
+    }
+}
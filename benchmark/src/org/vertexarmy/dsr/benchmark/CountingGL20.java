@@ -0,0 +1,911 @@
+package org.vertexarmy.dsr.benchmark;
+
+import com.badlogic.gdx.graphics.GL20;
+import lombok.Getter;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * GL20 implementation that draws nothing and only counts what it is asked to do, so that frame loops can run on
+ * machines without a GPU. Object names are handed out sequentially, shaders always compile and link, and every
+ * uniform and attribute exists.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class CountingGL20 implements GL20 {
+    private static final int MAX_TEXTURE_SIZE = 4096;
+
+    private int lastName;
+
+    @Getter
+    private long calls;
+
+    @Getter
+    private long drawCallCount;
+
+    @Getter
+    private long vertexCount;
+
+    @Getter
+    private long textureBindCount;
+
+    @Getter
+    private long shaderSwitchCount;
+
+    @Getter
+    private long uploadedBytes;
+
+    public void reset() {
+        calls = 0;
+        drawCallCount = 0;
+        vertexCount = 0;
+        textureBindCount = 0;
+        shaderSwitchCount = 0;
+        uploadedBytes = 0;
+    }
+
+    private int nextName() {
+        lastName += 1;
+        return lastName;
+    }
+
+    private void fillNames(int n, IntBuffer names) {
+        for (int i = 0; i < n; ++i) {
+            names.put(names.position() + i, nextName());
+        }
+    }
+
+    @Override
+    public void glActiveTexture(int texture) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        calls += 1;
+        textureBindCount += 1;
+    }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) {
+        calls += 1;
+    }
+
+    @Override
+    public void glClear(int mask) {
+        calls += 1;
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha) {
+        calls += 1;
+    }
+
+    @Override
+    public void glClearDepthf(float depth) {
+        calls += 1;
+    }
+
+    @Override
+    public void glClearStencil(int s) {
+        calls += 1;
+    }
+
+    @Override
+    public void glColorMask(boolean red, boolean green, boolean blue, boolean alpha) {
+        calls += 1;
+    }
+
+    @Override
+    public void glCompressedTexImage2D(int target, int level, int internalformat, int width, int height, int border, int imageSize, Buffer data) {
+        calls += 1;
+    }
+
+    @Override
+    public void glCompressedTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int imageSize, Buffer data) {
+        calls += 1;
+    }
+
+    @Override
+    public void glCopyTexImage2D(int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+        calls += 1;
+    }
+
+    @Override
+    public void glCopyTexSubImage2D(int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+        calls += 1;
+    }
+
+    @Override
+    public void glCullFace(int mode) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteTextures(int n, IntBuffer textures) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteTexture(int texture) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDepthFunc(int func) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDepthMask(boolean flag) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDepthRangef(float zNear, float zFar) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDisable(int cap) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) {
+        calls += 1;
+        drawCallCount += 1;
+        vertexCount += count;
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, Buffer indices) {
+        calls += 1;
+        drawCallCount += 1;
+        vertexCount += count;
+    }
+
+    @Override
+    public void glEnable(int cap) {
+        calls += 1;
+    }
+
+    @Override
+    public void glFinish() {
+        calls += 1;
+    }
+
+    @Override
+    public void glFlush() {
+        calls += 1;
+    }
+
+    @Override
+    public void glFrontFace(int mode) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGenTextures(int n, IntBuffer textures) {
+        calls += 1;
+        fillNames(n, textures);
+    }
+
+    @Override
+    public int glGenTexture() {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public int glGetError() {
+        calls += 1;
+        return GL_NO_ERROR;
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, IntBuffer params) {
+        calls += 1;
+        params.put(params.position(), pname == GL_MAX_TEXTURE_SIZE ? MAX_TEXTURE_SIZE : 0);
+    }
+
+    @Override
+    public String glGetString(int name) {
+        calls += 1;
+        return "";
+    }
+
+    @Override
+    public void glHint(int target, int mode) {
+        calls += 1;
+    }
+
+    @Override
+    public void glLineWidth(float width) {
+        calls += 1;
+    }
+
+    @Override
+    public void glPixelStorei(int pname, int param) {
+        calls += 1;
+    }
+
+    @Override
+    public void glPolygonOffset(float factor, float units) {
+        calls += 1;
+    }
+
+    @Override
+    public void glReadPixels(int x, int y, int width, int height, int format, int type, Buffer pixels) {
+        calls += 1;
+    }
+
+    @Override
+    public void glScissor(int x, int y, int width, int height) {
+        calls += 1;
+    }
+
+    @Override
+    public void glStencilFunc(int func, int ref, int mask) {
+        calls += 1;
+    }
+
+    @Override
+    public void glStencilMask(int mask) {
+        calls += 1;
+    }
+
+    @Override
+    public void glStencilOp(int fail, int zfail, int zpass) {
+        calls += 1;
+    }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+        calls += 1;
+        uploadedBytes += pixels == null ? 0 : pixels.remaining();
+    }
+
+    @Override
+    public void glTexParameterf(int target, int pname, float param) {
+        calls += 1;
+    }
+
+    @Override
+    public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Buffer pixels) {
+        calls += 1;
+        uploadedBytes += pixels == null ? 0 : pixels.remaining();
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height) {
+        calls += 1;
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBindFramebuffer(int target, int framebuffer) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBindRenderbuffer(int target, int renderbuffer) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBlendColor(float red, float green, float blue, float alpha) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBlendEquation(int mode) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBlendEquationSeparate(int modeRGB, int modeAlpha) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBlendFuncSeparate(int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+        calls += 1;
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage) {
+        calls += 1;
+        uploadedBytes += size;
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data) {
+        calls += 1;
+        uploadedBytes += size;
+    }
+
+    @Override
+    public int glCheckFramebufferStatus(int target) {
+        calls += 1;
+        return GL_FRAMEBUFFER_COMPLETE;
+    }
+
+    @Override
+    public void glCompileShader(int shader) {
+        calls += 1;
+    }
+
+    @Override
+    public int glCreateProgram() {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public int glCreateShader(int type) {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public void glDeleteBuffer(int buffer) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, IntBuffer buffers) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteFramebuffer(int framebuffer) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteFramebuffers(int n, IntBuffer framebuffers) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteRenderbuffer(int renderbuffer) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteRenderbuffers(int n, IntBuffer renderbuffers) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDeleteShader(int shader) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDetachShader(int program, int shader) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index) {
+        calls += 1;
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int indices) {
+        calls += 1;
+        drawCallCount += 1;
+        vertexCount += count;
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) {
+        calls += 1;
+    }
+
+    @Override
+    public void glFramebufferRenderbuffer(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+        calls += 1;
+    }
+
+    @Override
+    public void glFramebufferTexture2D(int target, int attachment, int textarget, int texture, int level) {
+        calls += 1;
+    }
+
+    @Override
+    public int glGenBuffer() {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public void glGenBuffers(int n, IntBuffer buffers) {
+        calls += 1;
+        fillNames(n, buffers);
+    }
+
+    @Override
+    public void glGenerateMipmap(int target) {
+        calls += 1;
+    }
+
+    @Override
+    public int glGenFramebuffer() {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public void glGenFramebuffers(int n, IntBuffer framebuffers) {
+        calls += 1;
+        fillNames(n, framebuffers);
+    }
+
+    @Override
+    public int glGenRenderbuffer() {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public void glGenRenderbuffers(int n, IntBuffer renderbuffers) {
+        calls += 1;
+        fillNames(n, renderbuffers);
+    }
+
+    @Override
+    public String glGetActiveAttrib(int program, int index, IntBuffer size, Buffer type) {
+        calls += 1;
+        return "";
+    }
+
+    @Override
+    public String glGetActiveUniform(int program, int index, IntBuffer size, Buffer type) {
+        calls += 1;
+        return "";
+    }
+
+    @Override
+    public void glGetAttachedShaders(int program, int maxcount, Buffer count, IntBuffer shaders) {
+        calls += 1;
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name) {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public void glGetBooleanv(int pname, Buffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetBufferParameteriv(int target, int pname, IntBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetFloatv(int pname, FloatBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetFramebufferAttachmentParameteriv(int target, int attachment, int pname, IntBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, IntBuffer params) {
+        calls += 1;
+        params.put(params.position(), pname == GL_LINK_STATUS ? GL_TRUE : 0);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program) {
+        calls += 1;
+        return "";
+    }
+
+    @Override
+    public void glGetRenderbufferParameteriv(int target, int pname, IntBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, IntBuffer params) {
+        calls += 1;
+        params.put(params.position(), pname == GL_COMPILE_STATUS ? GL_TRUE : 0);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) {
+        calls += 1;
+        return "";
+    }
+
+    @Override
+    public void glGetShaderPrecisionFormat(int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetTexParameterfv(int target, int pname, FloatBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetTexParameteriv(int target, int pname, IntBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetUniformfv(int program, int location, FloatBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetUniformiv(int program, int location, IntBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name) {
+        calls += 1;
+        return nextName();
+    }
+
+    @Override
+    public void glGetVertexAttribfv(int index, int pname, FloatBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetVertexAttribiv(int index, int pname, IntBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glGetVertexAttribPointerv(int index, int pname, Buffer pointer) {
+        calls += 1;
+    }
+
+    @Override
+    public boolean glIsBuffer(int buffer) {
+        calls += 1;
+        return false;
+    }
+
+    @Override
+    public boolean glIsEnabled(int cap) {
+        calls += 1;
+        return false;
+    }
+
+    @Override
+    public boolean glIsFramebuffer(int framebuffer) {
+        calls += 1;
+        return false;
+    }
+
+    @Override
+    public boolean glIsProgram(int program) {
+        calls += 1;
+        return false;
+    }
+
+    @Override
+    public boolean glIsRenderbuffer(int renderbuffer) {
+        calls += 1;
+        return false;
+    }
+
+    @Override
+    public boolean glIsShader(int shader) {
+        calls += 1;
+        return false;
+    }
+
+    @Override
+    public boolean glIsTexture(int texture) {
+        calls += 1;
+        return false;
+    }
+
+    @Override
+    public void glLinkProgram(int program) {
+        calls += 1;
+    }
+
+    @Override
+    public void glReleaseShaderCompiler() {
+        calls += 1;
+    }
+
+    @Override
+    public void glRenderbufferStorage(int target, int internalformat, int width, int height) {
+        calls += 1;
+    }
+
+    @Override
+    public void glSampleCoverage(float value, boolean invert) {
+        calls += 1;
+    }
+
+    @Override
+    public void glShaderBinary(int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+        calls += 1;
+    }
+
+    @Override
+    public void glShaderSource(int shader, String string) {
+        calls += 1;
+    }
+
+    @Override
+    public void glStencilFuncSeparate(int face, int func, int ref, int mask) {
+        calls += 1;
+    }
+
+    @Override
+    public void glStencilMaskSeparate(int face, int mask) {
+        calls += 1;
+    }
+
+    @Override
+    public void glStencilOpSeparate(int face, int fail, int zfail, int zpass) {
+        calls += 1;
+    }
+
+    @Override
+    public void glTexParameterfv(int target, int pname, FloatBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) {
+        calls += 1;
+    }
+
+    @Override
+    public void glTexParameteriv(int target, int pname, IntBuffer params) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform1f(int location, float x) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform1fv(int location, int count, FloatBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform1fv(int location, int count, float[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform1i(int location, int x) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform1iv(int location, int count, IntBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform1iv(int location, int count, int[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform2f(int location, float x, float y) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform2fv(int location, int count, FloatBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform2fv(int location, int count, float[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform2i(int location, int x, int y) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform2iv(int location, int count, IntBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform2iv(int location, int count, int[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, FloatBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, float[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform3i(int location, int x, int y, int z) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform3iv(int location, int count, IntBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform3iv(int location, int count, int[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform4f(int location, float x, float y, float z, float w) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform4fv(int location, int count, FloatBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform4fv(int location, int count, float[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform4i(int location, int x, int y, int z, int w) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform4iv(int location, int count, IntBuffer v) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniform4iv(int location, int count, int[] v, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniformMatrix2fv(int location, int count, boolean transpose, FloatBuffer value) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniformMatrix2fv(int location, int count, boolean transpose, float[] value, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniformMatrix3fv(int location, int count, boolean transpose, FloatBuffer value) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniformMatrix3fv(int location, int count, boolean transpose, float[] value, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, FloatBuffer value) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset) {
+        calls += 1;
+    }
+
+    @Override
+    public void glUseProgram(int program) {
+        calls += 1;
+        shaderSwitchCount += 1;
+    }
+
+    @Override
+    public void glValidateProgram(int program) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib1f(int indx, float x) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib1fv(int indx, FloatBuffer values) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib2f(int indx, float x, float y) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib2fv(int indx, FloatBuffer values) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib3f(int indx, float x, float y, float z) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib3fv(int indx, FloatBuffer values) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib4f(int indx, float x, float y, float z, float w) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttrib4fv(int indx, FloatBuffer values) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, Buffer ptr) {
+        calls += 1;
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, int ptr) {
+        calls += 1;
+    }
+}
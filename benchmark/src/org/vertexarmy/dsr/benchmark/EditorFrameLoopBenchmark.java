@@ -0,0 +1,274 @@
+package org.vertexarmy.dsr.benchmark;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.google.gson.stream.JsonWriter;
+import org.vertexarmy.dsr.core.Log;
+import org.vertexarmy.dsr.core.Serialization;
+import org.vertexarmy.dsr.core.assets.FontRepository;
+import org.vertexarmy.dsr.core.assets.ShaderRepository;
+import org.vertexarmy.dsr.core.assets.TextureRepository;
+import org.vertexarmy.dsr.core.component.RenderComponent;
+import org.vertexarmy.dsr.core.profiling.AllocationTracker;
+import org.vertexarmy.dsr.core.systems.RenderSystem;
+import org.vertexarmy.dsr.core.systems.UpdateSystem;
+import org.vertexarmy.dsr.game.level.BackgroundLayer;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.leveleditor.AssetName;
+import org.vertexarmy.dsr.leveleditor.GridRenderer;
+import org.vertexarmy.dsr.leveleditor.ItemPicker;
+import org.vertexarmy.dsr.leveleditor.LevelSpatialIndex;
+import org.vertexarmy.dsr.leveleditor.levelrenderer.LevelRenderer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Runs the level editor's frame loop headless against a counting GL and writes the per-phase timings,
+ * allocations and GL counters to a JSON report.
+ * <p/>
+ * Every frame the camera follows a {@link ScriptedCameraPath}, the update components run, the level renderer
+ * rebuilds what changed, a few screen points are picked and the grid, the level and the rulers are rendered.
+ * <p/>
+ * With a frame allocation budget, the run fails when a recorded frame allocates more bytes on average than the
+ * budget.
+ * <p/>
+ * Only the editor has a level frame loop; the game's {@link org.vertexarmy.dsr.game.RunningGame} still draws a
+ * fixed scene and does not load levels, so there is no game loop to benchmark yet.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class EditorFrameLoopBenchmark extends ApplicationAdapter {
+    public static final int VIEWPORT_WIDTH = 1280;
+
+    public static final int VIEWPORT_HEIGHT = 720;
+
+    private static final int PLACEHOLDER_TEXTURE_SIZE = 256;
+
+    private static final int PICKS_PER_FRAME = 4;
+
+    private final Log log = Log.create();
+
+    private final File levelFile;
+
+    private final File reportFile;
+
+    private final int warmupFrames;
+
+    private final int frameCount;
+
+    private final long frameAllocationBudget;
+
+    private final CountingGL20 gl = new CountingGL20();
+
+    private final PhaseTimings timings;
+
+    private final LevelSpatialIndex levelSpatialIndex = new LevelSpatialIndex();
+
+    private final LevelRenderer levelRenderer = new LevelRenderer(levelSpatialIndex);
+
+    private final GridRenderer gridRenderer = new GridRenderer();
+
+    private Level level;
+
+    /**
+     * @param frameAllocationBudget bytes a recorded frame may allocate on average, negative for no budget
+     */
+    public EditorFrameLoopBenchmark(File levelFile, File reportFile, int warmupFrames, int frameCount, long frameAllocationBudget) {
+        this.levelFile = levelFile;
+        this.reportFile = reportFile;
+        this.warmupFrames = warmupFrames;
+        this.frameCount = frameCount;
+        this.frameAllocationBudget = frameAllocationBudget;
+        this.timings = new PhaseTimings(frameCount);
+    }
+
+    @Override
+    public void create() {
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+        Gdx.graphics = new BenchmarkGraphics(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        Gdx.gl = Gdx.gl20 = gl;
+
+        boolean withinBudget = false;
+        try {
+            initialize();
+            run();
+            writeReport();
+            withinBudget = checkAllocationBudget();
+        } catch (Exception e) {
+            log.exception(e);
+        }
+
+        if (!withinBudget) {
+            // the headless loop would otherwise end the JVM normally and the build would not notice
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+
+    private boolean checkAllocationBudget() {
+        if (frameAllocationBudget < 0) {
+            return true;
+        }
+        if (!AllocationTracker.instance().isSupported()) {
+            log.warning("thread allocation counters are not available on this JVM, the frame allocation budget is not checked");
+            return true;
+        }
+
+        long bytesPerFrame = timings.getBytesPerFrame(PhaseTimings.Phase.FRAME);
+        if (bytesPerFrame > frameAllocationBudget) {
+            log.error("a steady-state frame allocated " + bytesPerFrame + " bytes, the budget is " + frameAllocationBudget);
+            return false;
+        }
+        return true;
+    }
+
+    private void initialize() throws IOException, ClassNotFoundException {
+        UpdateSystem.instance().initialize();
+        ShaderRepository.instance().initialize();
+        RenderSystem.instance().initialize();
+        RenderSystem.instance().setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+        FileHandle fontFile = Gdx.files.internal("fonts/marke_eigenbau_normal_8.fnt");
+        if (!fontFile.exists()) {
+            // run outside of the assets folder, the rulers cost about the same with libGDX's own font
+            fontFile = Gdx.files.classpath("com/badlogic/gdx/utils/arial-15.fnt");
+        }
+        FontRepository.instance().loadFont(AssetName.FONT_MARKE_8, fontFile);
+
+        try (InputStream inputStream = new FileInputStream(levelFile)) {
+            level = Serialization.deserialize(inputStream, Level.class);
+        }
+        addPlaceholderTextures();
+
+        levelRenderer.setLevel(level);
+        levelSpatialIndex.setLevel(level);
+
+        UpdateSystem.instance().addUpdateComponent(new ScriptedCameraPath(level, frameCount));
+
+        RenderSystem.instance().addRenderComponent(new RenderComponent() {
+            @Override
+            public void render() {
+                timings.begin(PhaseTimings.Phase.RENDER_GRID);
+                gridRenderer.renderGrid();
+                timings.end(PhaseTimings.Phase.RENDER_GRID);
+
+                timings.begin(PhaseTimings.Phase.RENDER_LEVEL);
+                levelRenderer.render();
+                timings.end(PhaseTimings.Phase.RENDER_LEVEL);
+
+                timings.begin(PhaseTimings.Phase.RENDER_RULERS);
+                gridRenderer.renderRulers();
+                timings.end(PhaseTimings.Phase.RENDER_RULERS);
+            }
+        });
+    }
+
+    /**
+     * Levels reference textures by name; the benchmark does not need their pixels, only their sizes and binds.
+     */
+    private void addPlaceholderTextures() {
+        Texture placeholder = new Texture(PLACEHOLDER_TEXTURE_SIZE, PLACEHOLDER_TEXTURE_SIZE, Pixmap.Format.RGBA8888);
+
+        for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
+            addPlaceholderTexture(terrainPatch.getTextureOverlay().getTextureName(), placeholder);
+        }
+        for (LevelSprite levelSprite : level.getLevelSprites()) {
+            addPlaceholderTexture(levelSprite.getTextureName(), placeholder);
+        }
+        for (BackgroundLayer backgroundLayer : level.getBackgroundLayers()) {
+            addPlaceholderTexture(backgroundLayer.getTextureName(), placeholder);
+        }
+    }
+
+    private void addPlaceholderTexture(String name, Texture placeholder) {
+        if (name != null && TextureRepository.instance().getTexture(name) == null) {
+            TextureRepository.instance().addTexture(name, new TextureRegion(placeholder));
+        }
+    }
+
+    private void run() {
+        for (int i = 0; i < warmupFrames; ++i) {
+            frame();
+        }
+
+        gl.reset();
+        for (int i = 0; i < frameCount; ++i) {
+            timings.beginFrame();
+            frame();
+        }
+    }
+
+    private void frame() {
+        timings.begin(PhaseTimings.Phase.FRAME);
+
+        timings.begin(PhaseTimings.Phase.UPDATE);
+        UpdateSystem.instance().update();
+        timings.end(PhaseTimings.Phase.UPDATE);
+
+        timings.begin(PhaseTimings.Phase.REBUILD);
+        levelRenderer.update();
+        timings.end(PhaseTimings.Phase.REBUILD);
+
+        timings.begin(PhaseTimings.Phase.PICK);
+        for (int i = 1; i <= PICKS_PER_FRAME; ++i) {
+            ItemPicker.pickObject(levelSpatialIndex, VIEWPORT_WIDTH * i / (PICKS_PER_FRAME + 1), VIEWPORT_HEIGHT / 2);
+        }
+        timings.end(PhaseTimings.Phase.PICK);
+
+        RenderSystem.instance().update();
+
+        timings.end(PhaseTimings.Phase.FRAME);
+    }
+
+    private void writeReport() throws IOException {
+        int frames = Math.max(1, timings.getRecordedFrameCount());
+
+        try (Writer output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), Charset.forName("UTF-8")))) {
+            JsonWriter writer = new JsonWriter(output);
+            writer.setIndent("  ");
+
+            writer.beginObject();
+            writer.name("level").value(levelFile.getPath());
+            writer.name("terrainPatches").value(level.getTerrainPatches().size());
+            writer.name("levelSprites").value(level.getLevelSprites().size());
+            writer.name("viewport").beginArray().value(VIEWPORT_WIDTH).value(VIEWPORT_HEIGHT).endArray();
+            writer.name("warmupFrames").value(warmupFrames);
+            writer.name("frames").value(timings.getRecordedFrameCount());
+            writer.name("allocationTrackingSupported").value(AllocationTracker.instance().isSupported());
+            if (frameAllocationBudget >= 0) {
+                writer.name("frameAllocationBudget").value(frameAllocationBudget);
+            }
+
+            writer.name("phases");
+            timings.write(writer);
+
+            writer.name("glPerFrame").beginObject();
+            writer.name("calls").value(gl.getCalls() / frames);
+            writer.name("drawCalls").value(gl.getDrawCallCount() / frames);
+            writer.name("vertices").value(gl.getVertexCount() / frames);
+            writer.name("textureBinds").value(gl.getTextureBindCount() / frames);
+            writer.name("shaderSwitches").value(gl.getShaderSwitchCount() / frames);
+            writer.name("uploadedBytes").value(gl.getUploadedBytes() / frames);
+            writer.endObject();
+
+            writer.endObject();
+            writer.flush();
+        }
+    }
+}
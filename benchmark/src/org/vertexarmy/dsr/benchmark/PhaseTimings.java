@@ -0,0 +1,122 @@
+package org.vertexarmy.dsr.benchmark;
+
+import com.google.gson.stream.JsonWriter;
+import org.vertexarmy.dsr.core.profiling.AllocationTracker;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Per-frame time and allocation samples of the phases of a frame loop.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class PhaseTimings {
+    public enum Phase {
+        FRAME("frame"),
+        UPDATE("update"),
+        REBUILD("rebuild"),
+        PICK("pick"),
+        RENDER_GRID("grid"),
+        RENDER_LEVEL("level"),
+        RENDER_RULERS("rulers");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private final AllocationTracker allocationTracker = AllocationTracker.instance();
+
+    private final long[][] nanos;
+
+    private final long[][] bytes;
+
+    private final long[] startNanos = new long[Phase.values().length];
+
+    private final long[] startBytes = new long[Phase.values().length];
+
+    private int frame = -1;
+
+    public PhaseTimings(int frameCount) {
+        nanos = new long[Phase.values().length][frameCount];
+        bytes = new long[Phase.values().length][frameCount];
+    }
+
+    /**
+     * Starts recording the next frame. Phases outside of a recorded frame, e.g. during warmup, are not sampled.
+     */
+    public void beginFrame() {
+        frame += 1;
+    }
+
+    public void begin(Phase phase) {
+        startBytes[phase.ordinal()] = allocationTracker.getAllocatedBytes();
+        startNanos[phase.ordinal()] = System.nanoTime();
+    }
+
+    public void end(Phase phase) {
+        long endNanos = System.nanoTime();
+        long endBytes = allocationTracker.getAllocatedBytes();
+
+        if (frame >= 0 && frame < nanos[0].length) {
+            nanos[phase.ordinal()][frame] += endNanos - startNanos[phase.ordinal()];
+            bytes[phase.ordinal()][frame] += endBytes - startBytes[phase.ordinal()];
+        }
+    }
+
+    public int getRecordedFrameCount() {
+        return Math.min(frame + 1, nanos[0].length);
+    }
+
+    /**
+     * @return the average number of bytes allocated by the phase in a recorded frame
+     */
+    public long getBytesPerFrame(Phase phase) {
+        int frameCount = getRecordedFrameCount();
+
+        long totalBytes = 0;
+        for (int i = 0; i < frameCount; ++i) {
+            totalBytes += bytes[phase.ordinal()][i];
+        }
+        return totalBytes / Math.max(1, frameCount);
+    }
+
+    public void write(JsonWriter writer) throws IOException {
+        int frameCount = getRecordedFrameCount();
+
+        writer.beginObject();
+        for (Phase phase : Phase.values()) {
+            long[] sorted = Arrays.copyOf(nanos[phase.ordinal()], frameCount);
+            Arrays.sort(sorted);
+
+            long totalNanos = 0;
+            for (int i = 0; i < frameCount; ++i) {
+                totalNanos += nanos[phase.ordinal()][i];
+            }
+
+            writer.name(phase.label).beginObject();
+            writer.name("meanMicros").value(micros(totalNanos / Math.max(1, frameCount)));
+            writer.name("p50Micros").value(micros(percentile(sorted, 0.5)));
+            writer.name("p95Micros").value(micros(percentile(sorted, 0.95)));
+            writer.name("maxMicros").value(micros(frameCount == 0 ? 0 : sorted[frameCount - 1]));
+            writer.name("bytesPerFrame").value(getBytesPerFrame(phase));
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile * sorted.length))];
+    }
+
+    private static double micros(long nanos) {
+        return Math.round(nanos / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,63 @@
+package org.vertexarmy.dsr.benchmark;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import org.vertexarmy.dsr.core.component.UpdateComponent;
+import org.vertexarmy.dsr.core.systems.RenderSystem;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+
+/**
+ * Pans the camera over the whole level and back while zooming in and out, so that every run of a benchmark
+ * sees the same sequence of views.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class ScriptedCameraPath implements UpdateComponent {
+    private static final float MIN_ZOOM = 0.5f;
+
+    private static final float MAX_ZOOM = 1.5f;
+
+    private static final int ZOOM_CYCLES = 3;
+
+    private final Rectangle levelBounds = new Rectangle();
+
+    private final int frameCount;
+
+    private final Vector3 tmp = new Vector3();
+
+    private int frame;
+
+    public ScriptedCameraPath(Level level, int frameCount) {
+        this.frameCount = Math.max(1, frameCount);
+
+        boolean first = true;
+        for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
+            if (first) {
+                levelBounds.set(terrainPatch.getShape().getBoundingBox());
+                first = false;
+            } else {
+                levelBounds.merge(terrainPatch.getShape().getBoundingBox());
+            }
+        }
+    }
+
+    @Override
+    public void update() {
+        float progress = (float) (frame % frameCount) / frameCount;
+        frame += 1;
+
+        // there and back again
+        float pan = progress < 0.5f ? progress * 2 : 2 - progress * 2;
+        float zoom = MIN_ZOOM + (MAX_ZOOM - MIN_ZOOM) * (0.5f + 0.5f * MathUtils.sin(progress * ZOOM_CYCLES * MathUtils.PI2));
+
+        Camera camera = RenderSystem.instance().getCamera();
+        camera.position.set(levelBounds.x + levelBounds.width * pan, levelBounds.y + levelBounds.height / 2, 0);
+        camera.view.setToLookAt(camera.position, tmp.set(camera.position).add(camera.direction), camera.up);
+
+        RenderSystem.instance().setZoom(zoom);
+    }
+}
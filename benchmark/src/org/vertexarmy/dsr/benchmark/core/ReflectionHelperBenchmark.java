@@ -0,0 +1,128 @@
+package org.vertexarmy.dsr.benchmark.core;
+
+import com.badlogic.gdx.math.Vector2;
+import com.beust.jcommander.internal.Maps;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertexarmy.dsr.core.CopyUtils;
+import org.vertexarmy.dsr.core.ReflectionHelper;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing a field the way a field editor does while a spinner is dragged, and extracting the memento of
+ * a sprite: LEGACY searches the methods of the class on every call, as ReflectionHelper did before its accessors
+ * were cached, CACHED goes through {@link ReflectionHelper}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionHelperBenchmark {
+    public enum Path {
+        LEGACY,
+        CACHED
+    }
+
+    @Param({"LEGACY", "CACHED"})
+    public Path path;
+
+    private LevelSprite levelSprite;
+
+    private Field rotationField;
+
+    private float rotation;
+
+    @Setup
+    public void createSprite() throws Exception {
+        levelSprite = new LevelSprite("sprite", new Vector2(10, 20), 0, new Vector2(1, 1), 0, false);
+        rotationField = LevelSprite.class.getDeclaredField("rotation");
+    }
+
+    @Benchmark
+    public Object getField() throws Exception {
+        if (path == Path.LEGACY) {
+            return findGetter(LevelSprite.class, rotationField).invoke(levelSprite);
+        }
+        return ReflectionHelper.getField(levelSprite, rotationField, null);
+    }
+
+    @Benchmark
+    public void setField() throws Exception {
+        rotation += 0.1f;
+        if (path == Path.LEGACY) {
+            findSetter(LevelSprite.class, rotationField).invoke(levelSprite, rotation);
+        } else {
+            ReflectionHelper.setField(levelSprite, rotationField, rotation);
+        }
+    }
+
+    @Benchmark
+    public Object extractMemento() throws Exception {
+        if (path == Path.LEGACY) {
+            return extractLegacyMemento(levelSprite);
+        }
+        return ReflectionHelper.extractMemento(levelSprite);
+    }
+
+    /*
+     * The lookups as they were before the accessors were cached.
+     */
+
+    private static Map<Field, Object> extractLegacyMemento(Object object) throws Exception {
+        Map<Field, Object> fieldValues = Maps.newHashMap();
+        for (Field field : object.getClass().getDeclaredFields()) {
+            if (Modifier.isTransient(field.getModifiers()) || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Method getter = findGetter(object.getClass(), field);
+            fieldValues.put(field, CopyUtils.deepCopy(getter == null ? null : getter.invoke(object)));
+        }
+        return fieldValues;
+    }
+
+    private static Method findSetter(Class objectClass, Field field) {
+        String capitalFieldName = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        List<String> setterNames = ImmutableList.of("set" + capitalFieldName, "set" + field.getName().substring(2));
+
+        for (Method method : objectClass.getMethods()) {
+            if (setterNames.contains(method.getName())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static Method findGetter(Class objectClass, Field field) {
+        String capitalFieldName = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        List<String> getterNames = ImmutableList.of("get" + capitalFieldName, field.getName(), "is" + capitalFieldName, "has" + capitalFieldName);
+
+        for (Method method : objectClass.getMethods()) {
+            if (getterNames.contains(method.getName())) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
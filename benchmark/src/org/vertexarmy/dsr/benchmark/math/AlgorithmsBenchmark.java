@@ -0,0 +1,75 @@
+package org.vertexarmy.dsr.benchmark.math;
+
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertexarmy.dsr.math.Algorithms;
+import org.vertexarmy.dsr.math.EarClippingTriangulation;
+import org.vertexarmy.dsr.math.Edge;
+import org.vertexarmy.dsr.math.Triangle;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The geometric primitives used by the editor, applied to every triangle or edge of the polygon: finding the
+ * triangle under a point, and finding the edge closest to a point when inserting a vertex.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmsBenchmark extends PolygonBenchmarkState {
+    private Triangle[] triangles;
+
+    private Edge[] edges;
+
+    private Vector2 queryPoint;
+
+    @Setup
+    public void createTrianglesAndEdges() {
+        short[] indices = EarClippingTriangulation.triangulate(polygon);
+        triangles = new Triangle[indices.length / 3];
+        for (int i = 0; i < triangles.length; ++i) {
+            triangles[i] = new Triangle(
+                    polygon.getVertex(indices[i * 3]),
+                    polygon.getVertex(indices[i * 3 + 1]),
+                    polygon.getVertex(indices[i * 3 + 2]));
+        }
+
+        List<Edge> edgeList = polygon.getEdgeList();
+        edges = edgeList.toArray(new Edge[edgeList.size()]);
+
+        queryPoint = queryPoints[queryPoints.length / 2];
+    }
+
+    @Benchmark
+    public int triangleContainsVertex() {
+        int containing = 0;
+        for (Triangle triangle : triangles) {
+            if (Algorithms.triangleContainsVertex(queryPoint, triangle)) {
+                containing += 1;
+            }
+        }
+        return containing;
+    }
+
+    @Benchmark
+    public float vertexToEdgeDistance() {
+        float closest = Float.MAX_VALUE;
+        for (Edge edge : edges) {
+            closest = Math.min(closest, Algorithms.vertexToEdgeDistance(edge, queryPoint));
+        }
+        return closest;
+    }
+}
@@ -0,0 +1,79 @@
+package org.vertexarmy.dsr.benchmark.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertexarmy.dsr.collection.CircularDoublyLinkedList;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building, walking and emptying the list the way a polygon's vertex ring is used: removals start from the
+ * last vertex, which is the worst case for the lookup by value.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CircularDoublyLinkedListBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int vertexCount;
+
+    private Integer[] values;
+
+    @Setup
+    public void createValues() {
+        values = new Integer[vertexCount];
+        for (int i = 0; i < vertexCount; ++i) {
+            values[i] = i;
+        }
+    }
+
+    @Benchmark
+    public CircularDoublyLinkedList<Integer> add() {
+        return createList();
+    }
+
+    @Benchmark
+    public long walk() {
+        CircularDoublyLinkedList<Integer> list = createList();
+        CircularDoublyLinkedList.Iterator<Integer> iterator = list.getIterator();
+
+        long sum = 0;
+        for (int i = 0; i < list.size(); ++i) {
+            sum += iterator.current();
+            iterator.forward();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int removeFromBack() {
+        CircularDoublyLinkedList<Integer> list = createList();
+        for (int i = vertexCount - 1; i >= 0; --i) {
+            list.remove(values[i]);
+        }
+        return list.size();
+    }
+
+    private CircularDoublyLinkedList<Integer> createList() {
+        CircularDoublyLinkedList<Integer> list = new CircularDoublyLinkedList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
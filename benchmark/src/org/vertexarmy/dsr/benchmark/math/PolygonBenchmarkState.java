@@ -0,0 +1,46 @@
+package org.vertexarmy.dsr.benchmark.math;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.vertexarmy.dsr.math.Polygon;
+
+/**
+ * A generated polygon for every combination of shape and vertex count, and a fixed grid of query points over
+ * its bounding box, so that every benchmark reports one result per shape and vertex count.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@State(Scope.Benchmark)
+public abstract class PolygonBenchmarkState {
+    private static final int QUERY_GRID_SIZE = 8;
+
+    @Param({"CONVEX", "CONCAVE", "SPIRAL", "COMB"})
+    public PolygonShape shape;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int vertexCount;
+
+    protected Polygon polygon;
+
+    protected Vector2[] queryPoints;
+
+    @Setup
+    public void createPolygon() {
+        polygon = shape.create(vertexCount);
+
+        Rectangle bounds = polygon.getBoundingBox();
+        queryPoints = new Vector2[QUERY_GRID_SIZE * QUERY_GRID_SIZE];
+        for (int i = 0; i < QUERY_GRID_SIZE; ++i) {
+            for (int j = 0; j < QUERY_GRID_SIZE; ++j) {
+                queryPoints[i * QUERY_GRID_SIZE + j] = new Vector2(
+                        bounds.x + bounds.width * (i + 0.5f) / QUERY_GRID_SIZE,
+                        bounds.y + bounds.height * (j + 0.5f) / QUERY_GRID_SIZE);
+            }
+        }
+    }
+}
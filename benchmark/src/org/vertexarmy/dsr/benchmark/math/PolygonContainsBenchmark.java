@@ -0,0 +1,36 @@
+package org.vertexarmy.dsr.benchmark.math;
+
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in polygon tests over a grid of points covering the polygon's bounding box, as done when picking.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonContainsBenchmark extends PolygonBenchmarkState {
+    @Benchmark
+    public int containsVertex() {
+        int inside = 0;
+        for (Vector2 point : queryPoints) {
+            if (polygon.containsVertex(point)) {
+                inside += 1;
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,110 @@
+package org.vertexarmy.dsr.benchmark.math;
+
+import com.badlogic.gdx.math.MathUtils;
+import org.vertexarmy.dsr.math.Polygon;
+
+/**
+ * Families of simple polygons with an exact vertex count, from the easiest case for the math package to
+ * the hardest: convex polygons, stars with every other vertex reflex, thin spirals whose ears are long and
+ * narrow, and combs with many deep concavities.
+ * <p/>
+ * All shapes fit in a square of {@link #SIZE} units centered on the origin.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public enum PolygonShape {
+    CONVEX {
+        @Override
+        protected void generate(float[] vertices, int vertexCount) {
+            for (int i = 0; i < vertexCount; ++i) {
+                float angle = MathUtils.PI2 * i / vertexCount;
+                set(vertices, i, RADIUS * MathUtils.cos(angle), RADIUS * MathUtils.sin(angle));
+            }
+        }
+    },
+
+    CONCAVE {
+        @Override
+        protected void generate(float[] vertices, int vertexCount) {
+            for (int i = 0; i < vertexCount; ++i) {
+                float angle = MathUtils.PI2 * i / vertexCount;
+                float radius = i % 2 == 0 ? RADIUS : RADIUS / 2;
+                set(vertices, i, radius * MathUtils.cos(angle), radius * MathUtils.sin(angle));
+            }
+        }
+    },
+
+    SPIRAL {
+        private static final int TURNS = 3;
+
+        private static final int MIN_VERTICES_PER_TURN = 16;
+
+        private static final float ARM_SPACING = RADIUS * 0.8f / TURNS;
+
+        @Override
+        protected void generate(float[] vertices, int vertexCount) {
+            int outerCount = vertexCount - vertexCount / 2;
+            int innerCount = vertexCount / 2;
+
+            // small polygons get a shorter spiral, so that its arms stay smooth enough not to cross
+            float totalAngle = Math.min(TURNS * MathUtils.PI2, (outerCount - 1) * MathUtils.PI2 / MIN_VERTICES_PER_TURN);
+
+            // out along the outer side of the arm, then back along the inner side
+            for (int i = 0; i < outerCount; ++i) {
+                spiralPoint(vertices, i, totalAngle * i / Math.max(1, outerCount - 1), ARM_SPACING / 2);
+            }
+            for (int i = 0; i < innerCount; ++i) {
+                spiralPoint(vertices, outerCount + i, totalAngle * (innerCount - 1 - i) / Math.max(1, innerCount - 1), 0);
+            }
+        }
+
+        private void spiralPoint(float[] vertices, int index, float angle, float offset) {
+            float radius = RADIUS * 0.2f + ARM_SPACING * angle / MathUtils.PI2 + offset - ARM_SPACING / 4;
+            set(vertices, index, radius * MathUtils.cos(angle), radius * MathUtils.sin(angle));
+        }
+    },
+
+    COMB {
+        @Override
+        protected void generate(float[] vertices, int vertexCount) {
+            // four vertices per tooth, two for the spine; the rest bend the back of the comb
+            int teeth = Math.max(1, (vertexCount - 2) / 4);
+            int backCount = vertexCount - teeth * 4;
+            float toothWidth = SIZE / (teeth * 2);
+
+            int index = 0;
+            for (int i = 0; i < teeth; ++i) {
+                float x = -RADIUS + i * 2 * toothWidth;
+                set(vertices, index++, x, 0);
+                set(vertices, index++, x, RADIUS);
+                set(vertices, index++, x + toothWidth, RADIUS);
+                set(vertices, index++, x + toothWidth, 0);
+            }
+
+            // the back runs from right to left and bulges slightly, so no three vertices are collinear
+            for (int i = 0; i < backCount; ++i) {
+                float t = backCount == 1 ? 0.5f : (float) i / (backCount - 1);
+                float x = RADIUS - t * SIZE;
+                set(vertices, index++, x, -RADIUS / 4 - RADIUS / 2 * MathUtils.sin(t * MathUtils.PI));
+            }
+        }
+    };
+
+    public static final float SIZE = 1000;
+
+    protected static final float RADIUS = SIZE / 2;
+
+    public Polygon create(int vertexCount) {
+        float[] vertices = new float[vertexCount * 2];
+        generate(vertices, vertexCount);
+        return new Polygon(vertices);
+    }
+
+    protected abstract void generate(float[] vertices, int vertexCount);
+
+    protected static void set(float[] vertices, int index, float x, float y) {
+        vertices[index * 2] = x;
+        vertices[index * 2 + 1] = y;
+    }
+}
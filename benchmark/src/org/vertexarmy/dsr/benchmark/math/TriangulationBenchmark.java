@@ -0,0 +1,28 @@
+package org.vertexarmy.dsr.benchmark.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertexarmy.dsr.math.EarClippingTriangulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangulationBenchmark extends PolygonBenchmarkState {
+    @Benchmark
+    public short[] earClipping() {
+        return EarClippingTriangulation.triangulate(polygon);
+    }
+}
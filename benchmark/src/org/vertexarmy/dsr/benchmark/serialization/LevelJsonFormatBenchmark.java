@@ -0,0 +1,208 @@
+package org.vertexarmy.dsr.benchmark.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertexarmy.dsr.collection.PersistentVector;
+import org.vertexarmy.dsr.core.Serialization;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.generator.LevelGenerator;
+import org.vertexarmy.dsr.game.level.generator.LevelGeneratorSettings;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File size and parse time of the JSON level format: LEGACY is the former reflective format with polygons
+ * written as lists of {"x":..,"y":..} objects, COMPACT the format written by the hand-written adapters of
+ * {@link Serialization}. The sizes are reported by {@link SerializedSizeProfiler}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelJsonFormatBenchmark {
+    public enum JsonFormat {
+        LEGACY,
+        COMPACT
+    }
+
+    private static final Gson LEGACY_GSON = new GsonBuilder()
+            .registerTypeAdapter(Polygon.class, new LegacyPolygonTypeAdapter())
+            .registerTypeAdapterFactory(new PersistentVectorTypeAdapterFactory())
+            .create();
+
+    @Param({"LEGACY", "COMPACT"})
+    public JsonFormat format;
+
+    @Param({"100", "1000", "10000"})
+    public int patchCount;
+
+    private Level level;
+
+    private byte[] serializedLevel;
+
+    @Setup
+    public void createLevel() throws Exception {
+        LevelGeneratorSettings settings = new LevelGeneratorSettings();
+        settings.setLength(patchCount * 200);
+        settings.setPatchCount(patchCount);
+        settings.setSpriteCount(patchCount * 2);
+        level = new LevelGenerator(settings).generate();
+
+        serializedLevel = save().toByteArray();
+        SerializedSizeProfiler.record(serializedLevel.length);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream save() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(serializedLevel == null ? 1024 : serializedLevel.length);
+        if (format == JsonFormat.LEGACY) {
+            Writer writer = new OutputStreamWriter(stream, "UTF-8");
+            LEGACY_GSON.toJson(level, Level.class, writer);
+            writer.flush();
+        } else {
+            Serialization.serialize(stream, level);
+        }
+        return stream;
+    }
+
+    @Benchmark
+    public Level load() throws Exception {
+        if (format == JsonFormat.LEGACY) {
+            return LEGACY_GSON.fromJson(new InputStreamReader(new ByteArrayInputStream(serializedLevel), "UTF-8"), Level.class);
+        }
+        return Serialization.deserialize(new ByteArrayInputStream(serializedLevel), Level.class);
+    }
+
+    /**
+     * The polygon adapter as it was before the compact format, kept here to produce and parse the legacy files.
+     */
+    private static class LegacyPolygonTypeAdapter extends TypeAdapter<Polygon> {
+        @Override
+        public void write(JsonWriter out, Polygon polygon) throws IOException {
+            float[] coordinates = polygon.getPackedVertices();
+
+            out.beginObject();
+            out.name("vertexList");
+            out.beginArray();
+            for (int i = 0; i < polygon.getVertexCount(); ++i) {
+                out.beginObject();
+                out.name("x").value(coordinates[i * 2]);
+                out.name("y").value(coordinates[i * 2 + 1]);
+                out.endObject();
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public Polygon read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Polygon polygon = new Polygon(new float[0]);
+
+            in.beginObject();
+            in.nextName();
+            in.beginArray();
+            while (in.hasNext()) {
+                in.beginObject();
+                in.nextName();
+                float x = (float) in.nextDouble();
+                in.nextName();
+                float y = (float) in.nextDouble();
+                in.endObject();
+                polygon.addVertex(x, y);
+            }
+            in.endArray();
+            in.endObject();
+
+            return polygon;
+        }
+    }
+
+    /**
+     * Reads the children of a level, which are held in persistent vectors that reflection cannot fill.
+     */
+    private static class PersistentVectorTypeAdapterFactory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != PersistentVector.class) {
+                return null;
+            }
+
+            final TypeAdapter<List<Object>> listAdapter = (TypeAdapter<List<Object>>) gson.getAdapter(
+                    TypeToken.get(new ListType(((ParameterizedType) type.getType()).getActualTypeArguments()[0])));
+
+            return (TypeAdapter<T>) new TypeAdapter<PersistentVector<Object>>() {
+                @Override
+                public void write(JsonWriter out, PersistentVector<Object> vector) throws IOException {
+                    listAdapter.write(out, vector);
+                }
+
+                @Override
+                public PersistentVector<Object> read(JsonReader in) throws IOException {
+                    List<Object> list = listAdapter.read(in);
+                    return list == null ? null : PersistentVector.from(list);
+                }
+            };
+        }
+    }
+
+    private static class ListType implements ParameterizedType {
+        private final Type elementType;
+
+        ListType(Type elementType) {
+            this.elementType = elementType;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[]{elementType};
+        }
+
+        @Override
+        public Type getRawType() {
+            return List.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.vertexarmy.dsr.benchmark.serialization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertexarmy.dsr.core.Serialization;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.generator.LevelGenerator;
+import org.vertexarmy.dsr.game.level.generator.LevelGeneratorSettings;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading generated levels in every level format. Levels are written to and read from memory, so
+ * the results do not depend on the disk. The sizes are reported by {@link SerializedSizeProfiler}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelSerializationBenchmark {
+    @Param({"JSON", "BINARY"})
+    public Serialization.Format format;
+
+    @Param({"100", "1000", "10000"})
+    public int patchCount;
+
+    private Level level;
+
+    private byte[] serializedLevel;
+
+    @Setup
+    public void createLevel() throws Exception {
+        LevelGeneratorSettings settings = new LevelGeneratorSettings();
+        settings.setLength(patchCount * 200);
+        settings.setPatchCount(patchCount);
+        settings.setSpriteCount(patchCount * 2);
+        level = new LevelGenerator(settings).generate();
+
+        serializedLevel = save().toByteArray();
+        SerializedSizeProfiler.record(serializedLevel.length);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream save() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(serializedLevel == null ? 1024 : serializedLevel.length);
+        Serialization.serialize(stream, level, format);
+        return stream;
+    }
+
+    @Benchmark
+    public Level load() throws Exception {
+        return Serialization.deserialize(new ByteArrayInputStream(serializedLevel), Level.class);
+    }
+}
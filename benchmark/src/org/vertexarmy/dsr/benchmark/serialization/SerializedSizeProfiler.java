@@ -0,0 +1,47 @@
+package org.vertexarmy.dsr.benchmark.serialization;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Adds the size of the level serialized by a benchmark to its results as the secondary metric
+ * {@code serializedBytes}, e.g. {@code -prof org.vertexarmy.dsr.benchmark.serialization.SerializedSizeProfiler}.
+ * <p/>
+ * Internal profilers run in the forked benchmark VM, so the benchmark hands the size over through
+ * {@link #record(long)} during setup.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class SerializedSizeProfiler implements InternalProfiler {
+    private static volatile long serializedBytes = -1;
+
+    public static void record(long bytes) {
+        serializedBytes = bytes;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Size of the level serialized by the benchmark";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        if (serializedBytes < 0) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new ScalarResult("serializedBytes", serializedBytes, "bytes", AggregationPolicy.AVG));
+    }
+}
@@ -1,5 +1,6 @@
 package org.vertexarmy.dsr.collection;
 
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 
 import java.util.List;
@@ -17,4 +18,24 @@ public class ArrayUtils {
         }
         return new Array<>((T[]) list.toArray());
     }
+
+    public static int[] toIntArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * @return the coordinates of the vectors, interleaved as x0, y0, x1, y1, ..
+     */
+    public static float[] toCoordinateArray(List<Vector2> vectors) {
+        float[] coordinates = new float[vectors.size() * 2];
+        for (int i = 0; i < vectors.size(); ++i) {
+            coordinates[i * 2] = vectors.get(i).x;
+            coordinates[i * 2 + 1] = vectors.get(i).y;
+        }
+        return coordinates;
+    }
 }
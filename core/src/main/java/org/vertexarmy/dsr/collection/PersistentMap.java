@@ -0,0 +1,497 @@
+package org.vertexarmy.dsr.collection;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable hash map backed by a hash array mapped trie: each level of the trie consumes five bits of the hash,
+ * so lookups and updates visit O(log32 n) nodes. Updates return a new map which shares all other nodes with this
+ * one, so taking a snapshot is O(1): keep the reference. Keys whose hashes collide completely share a node.
+ * <p/>
+ * The mutators of {@link Map} throw {@link UnsupportedOperationException}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentMap<Object, Object> EMPTY = new PersistentMap<>(null, 0);
+
+    private final transient Node root;
+
+    private final transient int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentMap<K, V> from(Map<? extends K, ? extends V> map) {
+        PersistentMap<K, V> result = empty();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.plus(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Leaf leaf = root == null ? null : root.find(0, hash(key), key);
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root != null && root.find(0, hash(key), key) != null;
+    }
+
+    /**
+     * @return this map with the key mapped to value
+     */
+    public PersistentMap<K, V> plus(K key, V value) {
+        int hash = hash(key);
+        Leaf leaf = new Leaf(hash, key, value);
+
+        if (root == null) {
+            return new PersistentMap<>(leaf, 1);
+        }
+
+        boolean[] added = new boolean[1];
+        Node newRoot = root.plus(0, leaf, added);
+        return newRoot == root ? this : new PersistentMap<K, V>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return this map without the key
+     */
+    public PersistentMap<K, V> minus(Object key) {
+        if (root == null) {
+            return this;
+        }
+
+        Node newRoot = root.minus(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? PersistentMap.<K, V>empty() : new PersistentMap<K, V>(newRoot, size - 1);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private Object writeReplace() {
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+
+        int index = 0;
+        for (Map.Entry<K, V> entry : entrySet()) {
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+            index += 1;
+        }
+        return new SerializedForm(keys, values);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialized form required");
+    }
+
+    private static int hash(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static abstract class Node {
+        /**
+         * @return the leaf holding key, or null
+         */
+        abstract Leaf find(int shift, int hash, Object key);
+
+        /**
+         * @return this node if the leaf is already mapped, otherwise a node with the leaf; added is set if the key
+         * was not mapped before
+         */
+        abstract Node plus(int shift, Leaf leaf, boolean[] added);
+
+        /**
+         * @return this node if key is not mapped, otherwise a node without it, or null if nothing is left
+         */
+        abstract Node minus(int shift, int hash, Object key);
+    }
+
+    private static final class Leaf extends Node implements Map.Entry<Object, Object> {
+        final int hash;
+
+        final Object key;
+
+        final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        boolean matches(int hash, Object key) {
+            return this.hash == hash && Objects.equals(this.key, key);
+        }
+
+        @Override
+        Leaf find(int shift, int hash, Object key) {
+            return matches(hash, key) ? this : null;
+        }
+
+        @Override
+        Node plus(int shift, Leaf leaf, boolean[] added) {
+            if (matches(leaf.hash, leaf.key)) {
+                return value == leaf.value ? this : leaf;
+            }
+
+            added[0] = true;
+            if (hash == leaf.hash) {
+                return new CollisionNode(hash, new Leaf[]{this, leaf});
+            }
+            return BitmapNode.pair(shift, hash, this, leaf.hash, leaf);
+        }
+
+        @Override
+        Node minus(int shift, int hash, Object key) {
+            return matches(hash, key) ? null : this;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Leaves whose keys have the same hash.
+     */
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        final Leaf[] leaves;
+
+        CollisionNode(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        @Override
+        Leaf find(int shift, int hash, Object key) {
+            for (Leaf leaf : leaves) {
+                if (leaf.matches(hash, key)) {
+                    return leaf;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node plus(int shift, Leaf leaf, boolean[] added) {
+            if (leaf.hash != hash) {
+                added[0] = true;
+                return BitmapNode.pair(shift, hash, this, leaf.hash, leaf);
+            }
+
+            for (int i = 0; i < leaves.length; ++i) {
+                if (leaves[i].matches(leaf.hash, leaf.key)) {
+                    if (leaves[i].value == leaf.value) {
+                        return this;
+                    }
+                    Leaf[] newLeaves = leaves.clone();
+                    newLeaves[i] = leaf;
+                    return new CollisionNode(hash, newLeaves);
+                }
+            }
+
+            added[0] = true;
+            Leaf[] newLeaves = new Leaf[leaves.length + 1];
+            System.arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+            newLeaves[leaves.length] = leaf;
+            return new CollisionNode(hash, newLeaves);
+        }
+
+        @Override
+        Node minus(int shift, int hash, Object key) {
+            for (int i = 0; i < leaves.length; ++i) {
+                if (leaves[i].matches(hash, key)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf[] newLeaves = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, newLeaves, 0, i);
+                    System.arraycopy(leaves, i + 1, newLeaves, i, leaves.length - i - 1);
+                    return new CollisionNode(this.hash, newLeaves);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Up to 32 children, stored densely; bit i of the bitmap is set if the child for hash fragment i exists.
+     */
+    private static final class BitmapNode extends Node {
+        final int bitmap;
+
+        final Node[] children;
+
+        BitmapNode(int bitmap, Node[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        /**
+         * @return a node holding both nodes, which have different hashes
+         */
+        static Node pair(int shift, int firstHash, Node first, int secondHash, Node second) {
+            int firstFragment = (firstHash >>> shift) & MASK;
+            int secondFragment = (secondHash >>> shift) & MASK;
+
+            if (firstFragment == secondFragment) {
+                return new BitmapNode(1 << firstFragment, new Node[]{pair(shift + BITS, firstHash, first, secondHash, second)});
+            }
+
+            Node[] children = firstFragment < secondFragment ? new Node[]{first, second} : new Node[]{second, first};
+            return new BitmapNode((1 << firstFragment) | (1 << secondFragment), children);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Leaf find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            return children[index(bit)].find(shift + BITS, hash, key);
+        }
+
+        @Override
+        Node plus(int shift, Leaf leaf, boolean[] added) {
+            int bit = bit(leaf.hash, shift);
+            int index = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Node[] newChildren = new Node[children.length + 1];
+                System.arraycopy(children, 0, newChildren, 0, index);
+                newChildren[index] = leaf;
+                System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+                return new BitmapNode(bitmap | bit, newChildren);
+            }
+
+            Node child = children[index];
+            Node newChild = child.plus(shift + BITS, leaf, added);
+            if (newChild == child) {
+                return this;
+            }
+
+            Node[] newChildren = children.clone();
+            newChildren[index] = newChild;
+            return new BitmapNode(bitmap, newChildren);
+        }
+
+        @Override
+        Node minus(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = index(bit);
+            Node child = children[index];
+            Node newChild = child.minus(shift + BITS, hash, key);
+            if (newChild == child) {
+                return this;
+            }
+
+            if (newChild == null) {
+                if (children.length == 1) {
+                    return null;
+                }
+                if (children.length == 2 && !(children[1 - index] instanceof BitmapNode)) {
+                    // leaves and collision nodes carry their full hash and can move up
+                    return children[1 - index];
+                }
+
+                Node[] newChildren = new Node[children.length - 1];
+                System.arraycopy(children, 0, newChildren, 0, index);
+                System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+                return new BitmapNode(bitmap & ~bit, newChildren);
+            }
+
+            if (children.length == 1 && !(newChild instanceof BitmapNode)) {
+                return newChild;
+            }
+
+            Node[] newChildren = children.clone();
+            newChildren[index] = newChild;
+            return new BitmapNode(bitmap, newChildren);
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Deque<Node> pending = new ArrayDeque<>();
+
+        private Leaf[] collisionLeaves;
+
+        private int collisionIndex;
+
+        private Leaf next;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                pending.push(root);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            Leaf leaf = next;
+            advance();
+            return (Map.Entry<K, V>) (Map.Entry<?, ?>) leaf;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance() {
+            if (collisionLeaves != null && collisionIndex < collisionLeaves.length) {
+                next = collisionLeaves[collisionIndex++];
+                return;
+            }
+            collisionLeaves = null;
+
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                if (node instanceof Leaf) {
+                    next = (Leaf) node;
+                    return;
+                }
+
+                if (node instanceof CollisionNode) {
+                    collisionLeaves = ((CollisionNode) node).leaves;
+                    collisionIndex = 1;
+                    next = collisionLeaves[0];
+                    return;
+                }
+
+                Node[] children = ((BitmapNode) node).children;
+                for (int i = children.length - 1; i >= 0; --i) {
+                    pending.push(children[i]);
+                }
+            }
+            next = null;
+        }
+    }
+
+    private static final class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] keys;
+
+        private final Object[] values;
+
+        SerializedForm(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        private Object readResolve() {
+            PersistentMap<Object, Object> map = empty();
+            for (int i = 0; i < keys.length; ++i) {
+                map = map.plus(keys[i], values[i]);
+            }
+            return map;
+        }
+    }
+}
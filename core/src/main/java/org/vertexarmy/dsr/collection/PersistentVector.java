@@ -0,0 +1,354 @@
+package org.vertexarmy.dsr.collection;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable list backed by a size-annotated AVL tree. Updates return a new vector which shares all but
+ * O(log n) nodes with this one, so taking a snapshot is O(1): keep the reference. Access, replacement,
+ * insertion and removal at any index are O(log n); iteration is O(n).
+ * <p/>
+ * The mutators of {@link List} throw {@link UnsupportedOperationException}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final PersistentVector<Object> EMPTY = new PersistentVector<>(null);
+
+    private final transient Node<T> root;
+
+    private PersistentVector(Node<T> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * The items are copied one by one, so the varargs array never leaves this method.
+     */
+    @SafeVarargs
+    public static <T> PersistentVector<T> of(T... items) {
+        if (items.length == 0) {
+            return empty();
+        }
+
+        Object[] array = new Object[items.length];
+        for (int i = 0; i < items.length; ++i) {
+            array[i] = items[i];
+        }
+        return new PersistentVector<>(PersistentVector.<T>build(array, 0, array.length));
+    }
+
+    /**
+     * Builds a balanced vector in O(n); another vector is returned as is.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> from(Collection<? extends T> items) {
+        if (items instanceof PersistentVector) {
+            return (PersistentVector<T>) items;
+        }
+
+        Object[] array = items.toArray();
+        if (array.length == 0) {
+            return empty();
+        }
+        return new PersistentVector<>(PersistentVector.<T>build(array, 0, array.length));
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * @return this vector with the item appended
+     */
+    public PersistentVector<T> plus(T item) {
+        return plus(size(), item);
+    }
+
+    /**
+     * @return this vector with the item inserted before index
+     */
+    public PersistentVector<T> plus(int index, T item) {
+        checkIndex(index, size() + 1);
+        return new PersistentVector<>(insert(root, index, item));
+    }
+
+    /**
+     * @return this vector with the item at index replaced
+     */
+    public PersistentVector<T> with(int index, T item) {
+        checkIndex(index, size());
+        return new PersistentVector<>(replace(root, index, item));
+    }
+
+    /**
+     * @return this vector without the item at index
+     */
+    public PersistentVector<T> minus(int index) {
+        checkIndex(index, size());
+        return new PersistentVector<>(remove(root, index));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new NodeIterator<>(root);
+    }
+
+    @Override
+    public int indexOf(Object object) {
+        int index = 0;
+        for (T item : this) {
+            if (object == null ? item == null : object.equals(item)) {
+                return index;
+            }
+            index += 1;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) >= 0;
+    }
+
+    /**
+     * Compares by iteration; the list iterator of {@link AbstractList} would cost O(log n) per element.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof List) || ((List) object).size() != size()) {
+            return false;
+        }
+
+        Iterator<?> otherIterator = ((List) object).iterator();
+        for (T item : this) {
+            Object other = otherIterator.next();
+            if (item == null ? other != null : !item.equals(other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object writeReplace() {
+        return new SerializedForm(toArray());
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialized form required");
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T> build(Object[] items, int from, int to) {
+        if (from == to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        return new Node<>(PersistentVector.<T>build(items, from, middle), (T) items[middle], PersistentVector.<T>build(items, middle + 1, to));
+    }
+
+    private static <T> Node<T> insert(Node<T> node, int index, T item) {
+        if (node == null) {
+            return new Node<>(null, item, null);
+        }
+
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(insert(node.left, index, item), node.value, node.right);
+        }
+        return balance(node.left, node.value, insert(node.right, index - leftSize - 1, item));
+    }
+
+    private static <T> Node<T> replace(Node<T> node, int index, T item) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node<>(replace(node.left, index, item), node.value, node.right);
+        }
+        if (index > leftSize) {
+            return new Node<>(node.left, node.value, replace(node.right, index - leftSize - 1, item));
+        }
+        return new Node<>(node.left, item, node.right);
+    }
+
+    private static <T> Node<T> remove(Node<T> node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(remove(node.left, index), node.value, node.right);
+        }
+        if (index > leftSize) {
+            return balance(node.left, node.value, remove(node.right, index - leftSize - 1));
+        }
+
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(node.left, successor.value, remove(node.right, 0));
+    }
+
+    /**
+     * Joins two subtrees whose heights differ by at most two, rotating once or twice if they differ by two.
+     */
+    private static <T> Node<T> balance(Node<T> left, T value, Node<T> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.left, left.value, new Node<T>(left.right, value, right));
+            }
+            return new Node<>(
+                    new Node<T>(left.left, left.value, left.right.left),
+                    left.right.value,
+                    new Node<T>(left.right.right, value, right));
+        }
+
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(new Node<T>(left, value, right.left), right.value, right.right);
+            }
+            return new Node<>(
+                    new Node<T>(left, value, right.left.left),
+                    right.left.value,
+                    new Node<T>(right.left.right, right.value, right.right));
+        }
+
+        return new Node<>(left, value, right);
+    }
+
+    private static final class Node<T> {
+        final Node<T> left;
+
+        final T value;
+
+        final Node<T> right;
+
+        final int size;
+
+        final int height;
+
+        Node(Node<T> left, T value, Node<T> right) {
+            this.left = left;
+            this.value = value;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    /**
+     * In-order traversal with an explicit stack, bounded by the height of the tree.
+     */
+    private static final class NodeIterator<T> implements Iterator<T> {
+        private final Object[] stack;
+
+        private int depth;
+
+        NodeIterator(Node<T> root) {
+            stack = new Object[height(root)];
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (depth == 0) {
+                throw new NoSuchElementException();
+            }
+
+            Node<T> node = (Node<T>) stack[--depth];
+            stack[depth] = null;
+            pushLeft(node.right);
+            return node.value;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void pushLeft(Node<T> node) {
+            while (node != null) {
+                stack[depth++] = node;
+                node = node.left;
+            }
+        }
+    }
+
+    private static final class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] items;
+
+        SerializedForm(Object[] items) {
+            this.items = items;
+        }
+
+        private Object readResolve() {
+            return from(Arrays.asList(items));
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package org.vertexarmy.dsr.collection;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.LongMap;
+import com.beust.jcommander.internal.Lists;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid over axis-aligned bounding boxes. Each object is registered in every cell its bounds overlap;
+ * cells are hashed, so the grid is unbounded and only occupied cells use memory.
+ * <p/>
+ * Query results are returned in insertion order. The number of cells and entries visited by the last query is
+ * available through {@link #getLastQueryVisitCount()}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class SpatialGrid<T> {
+    private static final Comparator<Entry<?>> INSERTION_ORDER = new Comparator<Entry<?>>() {
+        @Override
+        public int compare(Entry<?> first, Entry<?> second) {
+            return Integer.compare(first.sequence, second.sequence);
+        }
+    };
+
+    @Getter
+    private final float cellSize;
+
+    private final LongMap<List<Entry<T>>> cells = new LongMap<>();
+
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    private final List<Entry<T>> candidates = Lists.newArrayList();
+
+    private int nextSequence;
+
+    private int queryStamp;
+
+    private int minOccupiedColumn = Integer.MAX_VALUE;
+
+    private int maxOccupiedColumn = Integer.MIN_VALUE;
+
+    private int minOccupiedRow = Integer.MAX_VALUE;
+
+    private int maxOccupiedRow = Integer.MIN_VALUE;
+
+    @Getter
+    private int lastQueryVisitCount;
+
+    public SpatialGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(T object) {
+        return entries.containsKey(object);
+    }
+
+    /**
+     * Adds the object, or moves it if it is already in the grid.
+     */
+    public void put(T object, Rectangle bounds) {
+        Entry<T> entry = entries.get(object);
+
+        if (entry == null) {
+            entry = new Entry<>(object, nextSequence++);
+            entries.put(object, entry);
+        } else {
+            removeFromCells(entry);
+        }
+
+        entry.bounds.set(bounds);
+        entry.minColumn = cell(bounds.x);
+        entry.maxColumn = cell(bounds.x + bounds.width);
+        entry.minRow = cell(bounds.y);
+        entry.maxRow = cell(bounds.y + bounds.height);
+
+        addToCells(entry);
+    }
+
+    public boolean remove(T object) {
+        Entry<T> entry = entries.remove(object);
+        if (entry == null) {
+            return false;
+        }
+
+        removeFromCells(entry);
+        return true;
+    }
+
+    public void clear() {
+        cells.clear();
+        entries.clear();
+        nextSequence = 0;
+        minOccupiedColumn = Integer.MAX_VALUE;
+        maxOccupiedColumn = Integer.MIN_VALUE;
+        minOccupiedRow = Integer.MAX_VALUE;
+        maxOccupiedRow = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Collects the objects whose bounds contain the point.
+     */
+    public List<T> queryPoint(float x, float y, List<T> result) {
+        lastQueryVisitCount = 1;
+
+        List<Entry<T>> cell = cells.get(key(cell(x), cell(y)));
+        if (cell != null) {
+            for (int i = 0; i < cell.size(); ++i) {
+                Entry<T> entry = cell.get(i);
+                lastQueryVisitCount += 1;
+                if (contains(entry.bounds, x, y)) {
+                    candidates.add(entry);
+                }
+            }
+        }
+
+        return collectCandidates(result);
+    }
+
+    /**
+     * Collects the objects whose bounds overlap the area.
+     */
+    public List<T> queryRectangle(Rectangle area, List<T> result) {
+        lastQueryVisitCount = 0;
+        int stamp = ++queryStamp;
+
+        int minColumn = Math.max(cell(area.x), minOccupiedColumn);
+        int maxColumn = Math.min(cell(area.x + area.width), maxOccupiedColumn);
+        int minRow = Math.max(cell(area.y), minOccupiedRow);
+        int maxRow = Math.min(cell(area.y + area.height), maxOccupiedRow);
+
+        for (int column = minColumn; column <= maxColumn; ++column) {
+            for (int row = minRow; row <= maxRow; ++row) {
+                lastQueryVisitCount += 1;
+
+                List<Entry<T>> cell = cells.get(key(column, row));
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < cell.size(); ++i) {
+                    Entry<T> entry = cell.get(i);
+                    lastQueryVisitCount += 1;
+                    if (entry.stamp != stamp && overlaps(entry.bounds, area)) {
+                        entry.stamp = stamp;
+                        candidates.add(entry);
+                    }
+                }
+            }
+        }
+
+        return collectCandidates(result);
+    }
+
+    /**
+     * Finds the object whose bounds are closest to the point, searching the cells in rings of increasing
+     * distance.
+     *
+     * @return the nearest object within {@code maxDistance}, or null
+     */
+    public T queryNearest(float x, float y, float maxDistance) {
+        lastQueryVisitCount = 0;
+        int stamp = ++queryStamp;
+
+        if (entries.isEmpty()) {
+            return null;
+        }
+
+        int centerColumn = cell(x);
+        int centerRow = cell(y);
+
+        int maxRing = Math.max(
+                Math.max(Math.abs(centerColumn - minOccupiedColumn), Math.abs(maxOccupiedColumn - centerColumn)),
+                Math.max(Math.abs(centerRow - minOccupiedRow), Math.abs(maxOccupiedRow - centerRow)));
+        if (maxDistance < Float.MAX_VALUE) {
+            maxRing = Math.min(maxRing, (int) Math.ceil(maxDistance / cellSize) + 1);
+        }
+
+        Entry<T> nearest = null;
+        float nearestDistance = maxDistance;
+
+        for (int ring = 0; ring <= maxRing; ++ring) {
+            for (int column = centerColumn - ring; column <= centerColumn + ring; ++column) {
+                boolean edgeColumn = column == centerColumn - ring || column == centerColumn + ring;
+                int rowStep = edgeColumn ? 1 : 2 * ring;
+
+                for (int row = centerRow - ring; row <= centerRow + ring; row += Math.max(1, rowStep)) {
+                    lastQueryVisitCount += 1;
+
+                    List<Entry<T>> cell = cells.get(key(column, row));
+                    if (cell == null) {
+                        continue;
+                    }
+
+                    for (int i = 0; i < cell.size(); ++i) {
+                        Entry<T> entry = cell.get(i);
+                        if (entry.stamp == stamp) {
+                            continue;
+                        }
+                        entry.stamp = stamp;
+                        lastQueryVisitCount += 1;
+
+                        float distance = distance(entry.bounds, x, y);
+                        if (distance > maxDistance) {
+                            continue;
+                        }
+
+                        if (nearest == null || distance < nearestDistance
+                                || (distance == nearestDistance && entry.sequence < nearest.sequence)) {
+                            nearest = entry;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+
+            // everything beyond this ring is at least this far from the point
+            if (nearest != null && nearestDistance <= ring * cellSize) {
+                break;
+            }
+        }
+
+        return nearest == null ? null : nearest.object;
+    }
+
+    private List<T> collectCandidates(List<T> result) {
+        Collections.sort(candidates, INSERTION_ORDER);
+        for (int i = 0; i < candidates.size(); ++i) {
+            Entry<T> entry = candidates.get(i);
+            result.add(entry.object);
+        }
+        candidates.clear();
+        return result;
+    }
+
+    private void addToCells(Entry<T> entry) {
+        for (int column = entry.minColumn; column <= entry.maxColumn; ++column) {
+            for (int row = entry.minRow; row <= entry.maxRow; ++row) {
+                long key = key(column, row);
+                List<Entry<T>> cell = cells.get(key);
+                if (cell == null) {
+                    cell = Lists.newArrayList(4);
+                    cells.put(key, cell);
+                }
+                cell.add(entry);
+            }
+        }
+
+        minOccupiedColumn = Math.min(minOccupiedColumn, entry.minColumn);
+        maxOccupiedColumn = Math.max(maxOccupiedColumn, entry.maxColumn);
+        minOccupiedRow = Math.min(minOccupiedRow, entry.minRow);
+        maxOccupiedRow = Math.max(maxOccupiedRow, entry.maxRow);
+    }
+
+    private void removeFromCells(Entry<T> entry) {
+        for (int column = entry.minColumn; column <= entry.maxColumn; ++column) {
+            for (int row = entry.minRow; row <= entry.maxRow; ++row) {
+                long key = key(column, row);
+                List<Entry<T>> cell = cells.get(key);
+                if (cell != null) {
+                    cell.remove(entry);
+                    if (cell.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+
+    private static boolean contains(Rectangle bounds, float x, float y) {
+        return x >= bounds.x && x <= bounds.x + bounds.width && y >= bounds.y && y <= bounds.y + bounds.height;
+    }
+
+    private static boolean overlaps(Rectangle bounds, Rectangle area) {
+        return bounds.x <= area.x + area.width && area.x <= bounds.x + bounds.width
+                && bounds.y <= area.y + area.height && area.y <= bounds.y + bounds.height;
+    }
+
+    private static float distance(Rectangle bounds, float x, float y) {
+        float dx = Math.max(0, Math.max(bounds.x - x, x - (bounds.x + bounds.width)));
+        float dy = Math.max(0, Math.max(bounds.y - y, y - (bounds.y + bounds.height)));
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static class Entry<T> {
+        private final T object;
+
+        private final int sequence;
+
+        private final Rectangle bounds = new Rectangle();
+
+        private int minColumn;
+
+        private int maxColumn;
+
+        private int minRow;
+
+        private int maxRow;
+
+        private int stamp;
+
+        private Entry(T object, int sequence) {
+            this.object = object;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package org.vertexarmy.dsr.core;
 
 import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.Setter;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Undo and redo history. The history is bounded by the estimated memory of its actions, see
+ * {@link Action#getFootprint()}, rather than by their number: when the budget is exceeded the oldest actions are
+ * dropped, then the redo actions farthest away. The latest action is always kept.
+ * <p/>
+ * Actions which change nothing are dropped before they reach the history, including the no-op parts of composite
+ * actions. An action run shortly after the previous one may be folded into it, see {@link MergeableAction}, so that
+ * e.g. successive moves of the same vertices are undone in one step.
+ * <p/>
  * Created by alex
  * on 24.03.2015.
  */
 public final class ActionManager {
-    private final static int HISTORY_SIZE = 1000;
+    public final static long DEFAULT_HISTORY_BUDGET = 16 * 1024 * 1024;
+
+    public final static long DEFAULT_MERGE_WINDOW_MILLIS = 1000;
 
     private final static ActionManager INSTANCE = new ActionManager();
 
@@ -19,7 +33,35 @@ public final class ActionManager {
 
     private final Deque<Action> redoActionStack = new ArrayDeque<>();
 
-    private ActionManager() {
+    private final List<Listener> listeners = Lists.newArrayList();
+
+    /**
+     * The estimated bytes retained by the undo and redo actions.
+     */
+    @Getter
+    private long historyBytes;
+
+    @Getter
+    private long historyBudget = DEFAULT_HISTORY_BUDGET;
+
+    /**
+     * Actions are only merged if they run within this many milliseconds of each other.
+     */
+    @Getter
+    @Setter
+    private long mergeWindowMillis = DEFAULT_MERGE_WINDOW_MILLIS;
+
+    /**
+     * The action most recently run, while it is on top of the undo stack; undo and redo end the chance to merge.
+     */
+    private Action lastRunAction;
+
+    private long lastRunTime;
+
+    @Getter
+    private int mergedActionCount;
+
+    ActionManager() {
     }
 
     public static ActionManager instance() {
@@ -30,25 +72,74 @@ public final class ActionManager {
         INSTANCE.doRunAction(action);
     }
 
-    private void doRunAction(Action action) {
-        if (!action.isValid()) {
+    void doRunAction(Action action) {
+        action = withoutNoOps(action);
+        if (action == null) {
             return;
         }
 
-        undoActionStack.add(action);
         action.doAction();
+        clearRedo();
+        notifyActionApplied();
 
-        redoActionStack.clear();
+        long now = System.nanoTime();
+        boolean mergeable = lastRunAction instanceof MergeableAction
+                && lastRunAction == undoActionStack.peekLast()
+                && TimeUnit.NANOSECONDS.toMillis(now - lastRunTime) <= mergeWindowMillis;
+
+        Action merged = mergeable ? ((MergeableAction) lastRunAction).mergeWith(action) : null;
+        if (merged != null) {
+            historyBytes -= undoActionStack.removeLast().getFootprint();
+            mergedActionCount += 1;
+
+            // the actions may cancel out, e.g. a vertex moved back to where it was
+            action = merged.isValid() ? merged : null;
+        }
+
+        if (action != null) {
+            undoActionStack.addLast(action);
+            historyBytes += action.getFootprint();
+        }
+
+        lastRunAction = action;
+        lastRunTime = now;
 
         ensureHistorySize();
     }
 
+    /**
+     * @return the action without the parts which would not change anything, or null if nothing is left
+     */
+    private static Action withoutNoOps(Action action) {
+        if (!action.isValid()) {
+            return null;
+        }
+
+        if (!(action instanceof CompositeAction)) {
+            return action;
+        }
+
+        List<Action> actions = Lists.newArrayList();
+        for (Action child : ((CompositeAction) action).actionList) {
+            Action validChild = withoutNoOps(child);
+            if (validChild != null) {
+                actions.add(validChild);
+            }
+        }
+
+        if (actions.size() == ((CompositeAction) action).actionList.size()) {
+            return action;
+        }
+        return actions.size() == 1 ? actions.get(0) : new CompositeAction(actions);
+    }
+
     public boolean undo() {
         if (!undoActionStack.isEmpty()) {
             Action lastAction = undoActionStack.removeLast();
             lastAction.undoAction();
             redoActionStack.addLast(lastAction);
-            ensureHistorySize();
+            lastRunAction = null;
+            notifyActionApplied();
 
             return true;
         }
@@ -62,7 +153,8 @@ public final class ActionManager {
             Action lastUndoneAction = redoActionStack.removeLast();
             lastUndoneAction.doAction();
             undoActionStack.addLast(lastUndoneAction);
-            ensureHistorySize();
+            lastRunAction = null;
+            notifyActionApplied();
 
             return true;
         }
@@ -71,22 +163,89 @@ public final class ActionManager {
 
     }
 
+    public int getUndoCount() {
+        return undoActionStack.size();
+    }
+
+    public int getRedoCount() {
+        return redoActionStack.size();
+    }
+
+    public void setHistoryBudget(long historyBudget) {
+        this.historyBudget = historyBudget;
+        ensureHistorySize();
+    }
+
+    public void clear() {
+        undoActionStack.clear();
+        redoActionStack.clear();
+        historyBytes = 0;
+        lastRunAction = null;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyActionApplied() {
+        for (Listener listener : listeners) {
+            listener.actionApplied();
+        }
+    }
+
+    private void clearRedo() {
+        for (Action action : redoActionStack) {
+            historyBytes -= action.getFootprint();
+        }
+        redoActionStack.clear();
+    }
+
     private void ensureHistorySize() {
-        while (undoActionStack.size() > HISTORY_SIZE) {
-            undoActionStack.removeFirst();
+        while (historyBytes > historyBudget && undoActionStack.size() > 1) {
+            historyBytes -= undoActionStack.removeFirst().getFootprint();
         }
 
-        while (redoActionStack.size() > HISTORY_SIZE) {
-            redoActionStack.removeFirst();
+        while (historyBytes > historyBudget && !redoActionStack.isEmpty()) {
+            historyBytes -= redoActionStack.removeFirst().getFootprint();
         }
     }
 
+    public interface Listener {
+        /**
+         * Called after an action was run, undone or redone. Actions which change nothing are not reported.
+         */
+        void actionApplied();
+    }
+
     public interface Action {
         void doAction();
 
         void undoAction();
 
         boolean isValid();
+
+        /**
+         * @return the estimated number of bytes kept alive by this action, see {@link MemoryFootprint}. Objects
+         * which are shared with the editor, e.g. tools or the level, are not counted. The value must not change
+         * while the action is in the history.
+         */
+        long getFootprint();
+    }
+
+    /**
+     * An action which can absorb the action run right after it.
+     */
+    public interface MergeableAction extends Action {
+        /**
+         * Called after next has been run.
+         *
+         * @return a single action with the effect of this action followed by next, or null if they cannot be merged
+         */
+        Action mergeWith(Action next);
     }
 
     public static abstract class ActionAdapter implements Action {
@@ -102,6 +261,14 @@ public final class ActionManager {
         public boolean isValid() {
             return false;
         }
+
+        /**
+         * Counts an action holding a few references; actions keeping data of their own must add it.
+         */
+        @Override
+        public long getFootprint() {
+            return MemoryFootprint.object(4 * MemoryFootprint.REFERENCE);
+        }
     }
 
     @SuppressWarnings("unused")
@@ -126,6 +293,11 @@ public final class ActionManager {
         public boolean isValid() {
             return action.isValid();
         }
+
+        @Override
+        public long getFootprint() {
+            return MemoryFootprint.object(MemoryFootprint.REFERENCE) + action.getFootprint();
+        }
     }
 
     public static class CompositeAction implements Action {
@@ -168,5 +340,14 @@ public final class ActionManager {
 
             return false;
         }
+
+        @Override
+        public long getFootprint() {
+            long footprint = MemoryFootprint.object(MemoryFootprint.REFERENCE) + MemoryFootprint.arrayList(actionList.size());
+            for (Action action : actionList) {
+                footprint += action.getFootprint();
+            }
+            return footprint;
+        }
     }
 }
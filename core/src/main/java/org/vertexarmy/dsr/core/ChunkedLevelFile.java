@@ -0,0 +1,600 @@
+package org.vertexarmy.dsr.core;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.beust.jcommander.internal.Lists;
+import lombok.Getter;
+import org.vertexarmy.dsr.game.level.BackgroundLayer;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.graphics.TextureOverlay;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Level container that can be read in parts. The terrain patches and sprites of a level are grouped into chunks by
+ * their world X, so that only the chunks around the camera need to be loaded:
+ * <pre>
+ * header       "DSRC", version, chunk width, chunk count, offset and length of the level section
+ * chunk table  per chunk: min X, max X, offset and length of its payload, patch count, sprite count
+ * level        background layers, start area and end area, which are always loaded
+ * payloads     the patches and sprites of each chunk, each preceded by its index in the level
+ * </pre>
+ * A patch belongs to the chunk its left edge falls into and a sprite to the chunk of its position; the X range
+ * of a chunk in the table covers everything it holds, so a patch reaching into the next chunk is still found.
+ * Sprites have no size without their texture, so callers should widen the interval they load by the size of the
+ * largest sprite.
+ * <p/>
+ * Reading a region or the whole level restores the order the patches and sprites had in the level, which is
+ * their drawing order. A malformed file is reported as an {@link IOException}.
+ * <p/>
+ * Files are read either through memory mappings, see {@link #map(File)}, or with positional reads on a
+ * {@link FileChannel}, see {@link #open(File)}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class ChunkedLevelFile implements Closeable {
+    public static final byte[] HEADER = {'D', 'S', 'R', 'C', 2};
+
+    private static final int MAGIC_SIZE = 4;
+
+    public static final float DEFAULT_CHUNK_WIDTH = 2048;
+
+    private static final int HEADER_SIZE = HEADER.length + 4 + 4 + 8 + 4;
+
+    private static final int CHUNK_ENTRY_SIZE = 4 + 4 + 8 + 4 + 4 + 4;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final FileChannel channel;
+
+    private final boolean mapped;
+
+    @Getter
+    private final float chunkWidth;
+
+    @Getter
+    private final int chunkCount;
+
+    private final long levelOffset;
+
+    private final int levelLength;
+
+    private final float[] chunkMinX;
+
+    private final float[] chunkMaxX;
+
+    private final long[] chunkOffsets;
+
+    private final int[] chunkLengths;
+
+    private final int[] chunkPatchCounts;
+
+    private final int[] chunkSpriteCounts;
+
+    private ChunkedLevelFile(FileChannel channel, boolean mapped) throws IOException {
+        this.channel = channel;
+        this.mapped = mapped;
+
+        try {
+            ByteBuffer header = read(0, HEADER_SIZE);
+            byte[] magic = new byte[HEADER.length];
+            header.get(magic);
+            if (!hasMagic(magic)) {
+                throw new IOException("Not a chunked level file");
+            }
+            if (magic[MAGIC_SIZE] != HEADER[MAGIC_SIZE]) {
+                throw new IOException("Unsupported chunked level file version " + magic[MAGIC_SIZE]);
+            }
+
+            chunkWidth = header.getFloat();
+            chunkCount = header.getInt();
+            levelOffset = header.getLong();
+            levelLength = header.getInt();
+
+            chunkMinX = new float[chunkCount];
+            chunkMaxX = new float[chunkCount];
+            chunkOffsets = new long[chunkCount];
+            chunkLengths = new int[chunkCount];
+            chunkPatchCounts = new int[chunkCount];
+            chunkSpriteCounts = new int[chunkCount];
+
+            ByteBuffer table = read(HEADER_SIZE, chunkCount * CHUNK_ENTRY_SIZE);
+            for (int i = 0; i < chunkCount; ++i) {
+                chunkMinX[i] = table.getFloat();
+                chunkMaxX[i] = table.getFloat();
+                chunkOffsets[i] = table.getLong();
+                chunkLengths[i] = table.getInt();
+                chunkPatchCounts[i] = table.getInt();
+                chunkSpriteCounts[i] = table.getInt();
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw corrupt(e);
+        }
+    }
+
+    /**
+     * Reads the file through memory mappings of the sections asked for, so files larger than 2 GB can be read as
+     * well. The file stays open until {@link #close()}.
+     */
+    public static ChunkedLevelFile map(File file) throws IOException {
+        return open(file, true);
+    }
+
+    /**
+     * Opens the file for positional reads; only the header, the chunk table and the chunks asked for are read. The
+     * file stays open until {@link #close()}.
+     */
+    public static ChunkedLevelFile open(File file) throws IOException {
+        return open(file, false);
+    }
+
+    /**
+     * Checks for "DSRC" only, so that a file of another version is reported as such when it is opened.
+     */
+    public static boolean isChunkedLevelFile(File file) throws IOException {
+        byte[] magic = new byte[MAGIC_SIZE];
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            if (randomAccessFile.length() < magic.length) {
+                return false;
+            }
+            randomAccessFile.readFully(magic);
+        }
+        return hasMagic(magic);
+    }
+
+    public static void write(Level level, File file) throws IOException {
+        write(level, file, DEFAULT_CHUNK_WIDTH);
+    }
+
+    public static void write(Level level, File file, float chunkWidth) throws IOException {
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(level, outputStream, chunkWidth);
+        }
+    }
+
+    /**
+     * The stream is flushed but not closed.
+     */
+    public static void write(Level level, OutputStream stream, float chunkWidth) throws IOException {
+        if (chunkWidth <= 0) {
+            throw new IllegalArgumentException("The chunk width must be positive: " + chunkWidth);
+        }
+
+        List<Chunk> chunks = Lists.newArrayList(groupIntoChunks(level, chunkWidth).values());
+
+        ByteArrayOutputStream levelSection = new ByteArrayOutputStream();
+        writeLevelSection(new DataOutputStream(levelSection), level);
+
+        List<byte[]> payloads = Lists.newArrayList();
+        for (Chunk chunk : chunks) {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            writeChunk(new DataOutputStream(payload), chunk);
+            payloads.add(payload.toByteArray());
+        }
+
+        DataOutputStream out = new DataOutputStream(stream);
+        long offset = HEADER_SIZE + (long) chunks.size() * CHUNK_ENTRY_SIZE;
+
+        out.write(HEADER);
+        out.writeFloat(chunkWidth);
+        out.writeInt(chunks.size());
+        out.writeLong(offset);
+        out.writeInt(levelSection.size());
+        offset += levelSection.size();
+
+        for (int i = 0; i < chunks.size(); ++i) {
+            Chunk chunk = chunks.get(i);
+            out.writeFloat(chunk.minX);
+            out.writeFloat(chunk.maxX);
+            out.writeLong(offset);
+            out.writeInt(payloads.get(i).length);
+            out.writeInt(chunk.terrainPatches.size());
+            out.writeInt(chunk.levelSprites.size());
+            offset += payloads.get(i).length;
+        }
+
+        levelSection.writeTo(out);
+        for (byte[] payload : payloads) {
+            out.write(payload);
+        }
+        out.flush();
+    }
+
+    public float getChunkMinX(int chunk) {
+        return chunkMinX[chunk];
+    }
+
+    public float getChunkMaxX(int chunk) {
+        return chunkMaxX[chunk];
+    }
+
+    public int getChunkPatchCount(int chunk) {
+        return chunkPatchCounts[chunk];
+    }
+
+    public int getChunkSpriteCount(int chunk) {
+        return chunkSpriteCounts[chunk];
+    }
+
+    /**
+     * @return the indices of the chunks holding anything between fromX and toX, in ascending X
+     */
+    public List<Integer> findChunks(float fromX, float toX) {
+        List<Integer> chunks = Lists.newArrayList();
+        for (int i = 0; i < chunkCount; ++i) {
+            if (chunkMinX[i] <= toX && chunkMaxX[i] >= fromX) {
+                chunks.add(i);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * @return a level with the background, the start and end areas and the chunks between fromX and toX, with the
+     * patches and sprites in level order
+     */
+    public Level readRegion(float fromX, float toX) throws IOException {
+        Level level = readLevelSection();
+
+        Map<Integer, TerrainPatch> terrainPatches = new TreeMap<>();
+        Map<Integer, LevelSprite> levelSprites = new TreeMap<>();
+        for (int chunk : findChunks(fromX, toX)) {
+            readChunk(chunk, terrainPatches, levelSprites);
+        }
+
+        for (TerrainPatch terrainPatch : terrainPatches.values()) {
+            level.addTerrainPatch(terrainPatch);
+        }
+        for (LevelSprite levelSprite : levelSprites.values()) {
+            level.addLevelSprite(levelSprite);
+        }
+        return level;
+    }
+
+    public Level readLevel() throws IOException {
+        return readRegion(Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @return a level with the background and the start and end areas, but no patches or sprites
+     */
+    public Level readLevelSection() throws IOException {
+        ByteBuffer in = read(levelOffset, levelLength);
+
+        try {
+            Level level = new Level();
+            level.setBackgroundLayers(readBackgroundLayers(in));
+
+            level.setStartArea(readPolygon(in));
+            level.setEndArea(readPolygon(in));
+            return level;
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw corrupt(e);
+        }
+    }
+
+    /**
+     * Appends the patches and sprites of the chunk to the level, e.g. when the camera comes close to it. They keep
+     * their level order among themselves, but follow whatever the level already holds.
+     */
+    public void readChunk(int chunk, Level level) throws IOException {
+        Map<Integer, TerrainPatch> terrainPatches = new TreeMap<>();
+        Map<Integer, LevelSprite> levelSprites = new TreeMap<>();
+        readChunk(chunk, terrainPatches, levelSprites);
+
+        for (TerrainPatch terrainPatch : terrainPatches.values()) {
+            level.addTerrainPatch(terrainPatch);
+        }
+        for (LevelSprite levelSprite : levelSprites.values()) {
+            level.addLevelSprite(levelSprite);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ChunkedLevelFile open(File file, boolean mapped) throws IOException {
+        FileChannel fileChannel = new RandomAccessFile(file, "r").getChannel();
+        try {
+            return new ChunkedLevelFile(fileChannel, mapped);
+        } catch (IOException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    private static boolean hasMagic(byte[] header) {
+        return Arrays.equals(Arrays.copyOf(header, MAGIC_SIZE), Arrays.copyOf(HEADER, MAGIC_SIZE));
+    }
+
+    private static IOException corrupt(RuntimeException e) {
+        return new IOException("Chunked level file is corrupt", e);
+    }
+
+    /**
+     * Collects the patches and sprites of the chunk by their index in the level.
+     */
+    private void readChunk(int chunk, Map<Integer, TerrainPatch> terrainPatches, Map<Integer, LevelSprite> levelSprites) throws IOException {
+        ByteBuffer in = read(chunkOffsets[chunk], chunkLengths[chunk]);
+
+        try {
+            for (int i = 0; i < chunkPatchCounts[chunk]; ++i) {
+                int index = in.getInt();
+                terrainPatches.put(index, readTerrainPatch(in));
+            }
+
+            for (int i = 0; i < chunkSpriteCounts[chunk]; ++i) {
+                int index = in.getInt();
+                levelSprites.put(index, readLevelSprite(in));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw corrupt(e);
+        }
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > channel.size()) {
+            throw new EOFException("Chunked level file is truncated");
+        }
+
+        if (mapped) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Chunked level file is truncated");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static Map<Integer, Chunk> groupIntoChunks(Level level, float chunkWidth) {
+        Map<Integer, Chunk> chunks = new TreeMap<>();
+
+        List<TerrainPatch> terrainPatches = level.getTerrainPatches();
+        for (int i = 0; i < terrainPatches.size(); ++i) {
+            TerrainPatch terrainPatch = terrainPatches.get(i);
+            float minX = 0;
+            float maxX = 0;
+            if (terrainPatch.getShape() != null && terrainPatch.getShape().getVertexCount() > 0) {
+                Rectangle bounds = terrainPatch.getShape().getBoundingBox();
+                minX = bounds.x;
+                maxX = bounds.x + bounds.width;
+            }
+            Chunk chunk = getChunk(chunks, minX, chunkWidth);
+            chunk.terrainPatches.add(terrainPatch);
+            chunk.terrainPatchIndices.add(i);
+            chunk.include(minX, maxX);
+        }
+
+        List<LevelSprite> levelSprites = level.getLevelSprites();
+        for (int i = 0; i < levelSprites.size(); ++i) {
+            LevelSprite levelSprite = levelSprites.get(i);
+            float x = levelSprite.getPosition() == null ? 0 : levelSprite.getPosition().x;
+            Chunk chunk = getChunk(chunks, x, chunkWidth);
+            chunk.levelSprites.add(levelSprite);
+            chunk.levelSpriteIndices.add(i);
+            chunk.include(x, x);
+        }
+
+        return chunks;
+    }
+
+    private static Chunk getChunk(Map<Integer, Chunk> chunks, float x, float chunkWidth) {
+        int key = (int) Math.floor(x / chunkWidth);
+        Chunk chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    private static void writeLevelSection(DataOutputStream out, Level level) throws IOException {
+        writeBackgroundLayers(out, level.getBackgroundLayers());
+        writePolygon(out, level.getStartArea());
+        writePolygon(out, level.getEndArea());
+    }
+
+    private static void writeChunk(DataOutputStream out, Chunk chunk) throws IOException {
+        for (int i = 0; i < chunk.terrainPatches.size(); ++i) {
+            out.writeInt(chunk.terrainPatchIndices.get(i));
+            writeTerrainPatch(out, chunk.terrainPatches.get(i));
+        }
+
+        for (int i = 0; i < chunk.levelSprites.size(); ++i) {
+            out.writeInt(chunk.levelSpriteIndices.get(i));
+            writeLevelSprite(out, chunk.levelSprites.get(i));
+        }
+    }
+
+    /*
+     * The encodings of the level objects are shared with the LevelJournal.
+     */
+
+    static void writeBackgroundLayers(DataOutputStream out, List<BackgroundLayer> layers) throws IOException {
+        out.writeInt(layers.size());
+        for (BackgroundLayer layer : layers) {
+            writeString(out, layer.getTextureName());
+            out.writeFloat(layer.getParallaxSpeedScale());
+            writeString(out, layer.getType() == null ? null : layer.getType().name());
+        }
+    }
+
+    static List<BackgroundLayer> readBackgroundLayers(ByteBuffer in) {
+        int layerCount = in.getInt();
+        List<BackgroundLayer> layers = Lists.newArrayList();
+        for (int i = 0; i < layerCount; ++i) {
+            String textureName = readString(in);
+            float parallaxSpeedScale = in.getFloat();
+            String type = readString(in);
+            layers.add(new BackgroundLayer(textureName, parallaxSpeedScale, type == null ? null : BackgroundLayer.Type.valueOf(type)));
+        }
+        return layers;
+    }
+
+    static void writeTerrainPatch(DataOutputStream out, TerrainPatch terrainPatch) throws IOException {
+        writePolygon(out, terrainPatch.getShape());
+        writeTextureOverlay(out, terrainPatch.getTextureOverlay());
+    }
+
+    static TerrainPatch readTerrainPatch(ByteBuffer in) {
+        TerrainPatch terrainPatch = new TerrainPatch(readPolygon(in));
+        terrainPatch.setTextureOverlay(readTextureOverlay(in));
+        return terrainPatch;
+    }
+
+    static void writeLevelSprite(DataOutputStream out, LevelSprite levelSprite) throws IOException {
+        writeString(out, levelSprite.getTextureName());
+        writeVector(out, levelSprite.getPosition());
+        out.writeFloat(levelSprite.getRotation());
+        writeVector(out, levelSprite.getScale());
+        out.writeInt(levelSprite.getZOrder());
+        out.writeBoolean(levelSprite.isForeground());
+    }
+
+    static LevelSprite readLevelSprite(ByteBuffer in) {
+        String textureName = readString(in);
+        Vector2 position = readVector(in);
+        float rotation = in.getFloat();
+        Vector2 scale = readVector(in);
+        int zOrder = in.getInt();
+        boolean isForeground = readBoolean(in);
+        return new LevelSprite(textureName, position, rotation, scale, zOrder, isForeground);
+    }
+
+    private static void writeTextureOverlay(DataOutputStream out, TextureOverlay overlay) throws IOException {
+        out.writeBoolean(overlay != null);
+        if (overlay != null) {
+            writeString(out, overlay.getTextureName());
+            writeVector(out, overlay.getTextureOffset());
+            writeVector(out, overlay.getTextureScale());
+            out.writeFloat(overlay.getTextureRotation());
+        }
+    }
+
+    private static TextureOverlay readTextureOverlay(ByteBuffer in) {
+        if (!readBoolean(in)) {
+            return null;
+        }
+
+        TextureOverlay overlay = new TextureOverlay();
+        overlay.setTextureName(readString(in));
+        overlay.setTextureOffset(readVector(in));
+        overlay.setTextureScale(readVector(in));
+        overlay.setTextureRotation(in.getFloat());
+        return overlay;
+    }
+
+    /**
+     * Null polygons are written with a vertex count of -1.
+     */
+    static void writePolygon(DataOutputStream out, Polygon polygon) throws IOException {
+        if (polygon == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        float[] coordinates = polygon.getPackedVertices();
+        out.writeInt(polygon.getVertexCount());
+        for (int i = 0; i < polygon.getVertexCount() * 2; ++i) {
+            out.writeFloat(coordinates[i]);
+        }
+    }
+
+    static Polygon readPolygon(ByteBuffer in) {
+        int vertexCount = in.getInt();
+        if (vertexCount < 0) {
+            return null;
+        }
+
+        float[] coordinates = new float[vertexCount * 2];
+        for (int i = 0; i < coordinates.length; ++i) {
+            coordinates[i] = in.getFloat();
+        }
+        return new Polygon(coordinates);
+    }
+
+    private static void writeVector(DataOutputStream out, Vector2 vector) throws IOException {
+        out.writeBoolean(vector != null);
+        if (vector != null) {
+            out.writeFloat(vector.x);
+            out.writeFloat(vector.y);
+        }
+    }
+
+    private static Vector2 readVector(ByteBuffer in) {
+        if (!readBoolean(in)) {
+            return null;
+        }
+        return new Vector2(in.getFloat(), in.getFloat());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        if (!readBoolean(in)) {
+            return null;
+        }
+
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static boolean readBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    private static class Chunk {
+        private final List<TerrainPatch> terrainPatches = Lists.newArrayList();
+
+        private final List<Integer> terrainPatchIndices = Lists.newArrayList();
+
+        private final List<LevelSprite> levelSprites = Lists.newArrayList();
+
+        private final List<Integer> levelSpriteIndices = Lists.newArrayList();
+
+        private float minX = Float.POSITIVE_INFINITY;
+
+        private float maxX = Float.NEGATIVE_INFINITY;
+
+        private void include(float fromX, float toX) {
+            minX = Math.min(minX, fromX);
+            maxX = Math.max(maxX, toX);
+        }
+    }
+}
@@ -1,6 +1,22 @@
 package org.vertexarmy.dsr.core;
 
 import com.badlogic.gdx.math.Vector2;
+import com.beust.jcommander.internal.Lists;
+import com.beust.jcommander.internal.Maps;
+import org.vertexarmy.dsr.collection.PersistentMap;
+import org.vertexarmy.dsr.collection.PersistentVector;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 /**
  * created by Alex
@@ -9,7 +25,9 @@ import com.badlogic.gdx.math.Vector2;
 public class CopyUtils {
     /**
      * Helper method for creating deep copies of generic objects which may or may not implement
-     * the {@link DeepCopyable} interface.
+     * the {@link DeepCopyable} interface. Arrays, collections and maps are copied element by element; persistent
+     * collections stay persistent, other lists, sets and maps are copied into an {@link java.util.ArrayList},
+     * a {@link LinkedHashSet} or a {@link java.util.LinkedHashMap}, or into a tree if they are sorted.
      *
      * @param object the object to be copied
      * @return a deep copy of the object if possible
@@ -28,17 +46,73 @@ public class CopyUtils {
             return ((Vector2) object).cpy();
         }
 
-        if (isBoxedPrimitive(object) || isString(object)) {
+        if (isBoxedPrimitive(object) || isString(object) || object instanceof Enum) {
             return object;
         }
 
-        // TODO: Handle arrays / lists / sets / maps / etc.
+        if (object.getClass().isArray()) {
+            return copyArray(object);
+        }
+
+        if (object instanceof Collection) {
+            return copyCollection((Collection<?>) object);
+        }
+
+        if (object instanceof Map) {
+            return copyMap((Map<?, ?>) object);
+        }
 
         throw new RuntimeException("Object cannot be cloned " + object);
     }
 
+    private static Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+
+        if (array.getClass().getComponentType().isPrimitive()) {
+            System.arraycopy(array, 0, copy, 0, length);
+        } else {
+            for (int i = 0; i < length; ++i) {
+                Array.set(copy, i, deepCopy(Array.get(array, i)));
+            }
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> copyCollection(Collection<?> collection) {
+        Collection<Object> copy;
+        if (collection instanceof List) {
+            copy = Lists.newArrayList(collection.size());
+        } else if (collection instanceof SortedSet) {
+            copy = new TreeSet<>((Comparator<Object>) ((SortedSet<?>) collection).comparator());
+        } else if (collection instanceof Set) {
+            copy = new LinkedHashSet<>();
+        } else {
+            throw new RuntimeException("Object cannot be cloned " + collection);
+        }
+
+        for (Object element : collection) {
+            copy.add(deepCopy(element));
+        }
+        return collection instanceof PersistentVector ? PersistentVector.from(copy) : copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> copyMap(Map<?, ?> map) {
+        Map<Object, Object> copy = map instanceof SortedMap
+                ? new TreeMap<>((Comparator<Object>) ((SortedMap<?, ?>) map).comparator())
+                : Maps.newLinkedHashMap();
+
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            copy.put(deepCopy(entry.getKey()), deepCopy(entry.getValue()));
+        }
+        return map instanceof PersistentMap ? PersistentMap.from(copy) : copy;
+    }
+
     private static boolean isBoxedPrimitive(Object object) {
-        return object instanceof Integer || object instanceof Float || object instanceof Character || object instanceof Boolean;
+        return object instanceof Integer || object instanceof Long || object instanceof Short || object instanceof Byte
+                || object instanceof Float || object instanceof Double || object instanceof Character || object instanceof Boolean;
     }
 
     private static boolean isString(Object object) {
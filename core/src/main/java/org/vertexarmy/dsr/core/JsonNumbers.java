@@ -0,0 +1,36 @@
+package org.vertexarmy.dsr.core;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes floats with the shortest text that reads back as the same float, e.g. 0.1 rather than the
+ * 0.10000000149011612 of the widened double, and whole numbers without a fraction.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+final class JsonNumbers {
+    private static final float MAX_EXACT_INTEGER = 1 << 24;
+
+    private JsonNumbers() {
+    }
+
+    static void writeFloat(JsonWriter out, float value) throws IOException {
+        if (value == (int) value && Math.abs(value) <= MAX_EXACT_INTEGER) {
+            out.value((int) value);
+        } else {
+            out.value(Float.valueOf(value));
+        }
+    }
+
+    /**
+     * Whole numbers are read without creating a string. The shortest representation of a float has at most nine
+     * significant digits, which a double holds closely enough for the narrowing to restore the same float.
+     */
+    static float readFloat(JsonReader in) throws IOException {
+        return (float) in.nextDouble();
+    }
+}
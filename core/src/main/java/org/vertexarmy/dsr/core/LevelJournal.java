@@ -0,0 +1,977 @@
+package org.vertexarmy.dsr.core;
+
+import com.badlogic.gdx.Gdx;
+import com.beust.jcommander.internal.Lists;
+import lombok.Getter;
+import lombok.Setter;
+import org.vertexarmy.dsr.collection.PersistentVector;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelListener;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file next to a level which keeps the edits made since the level was saved, so that they survive a
+ * crash of the editor:
+ * <pre>
+ * header   "DSRJ", version
+ * records  per record: payload length, CRC32 of the payload, payload
+ * </pre>
+ * The journal starts with a snapshot record of the level as it was saved or loaded, which also holds the modification
+ * time and length of the level file at that point. Whenever an action is applied,
+ * see {@link ActionManager.Listener}, a change record is appended with the difference to the previous record: the
+ * patch and sprite lists as ranges copied from the previous state plus the objects which are new or changed, in the
+ * encoding of {@link ChunkedLevelFile}. {@link #recover(File)} replays the changes onto the snapshot; a torn or
+ * corrupt record, left by a crash in the middle of a write, ends the replay. A journal whose level file was changed
+ * since, e.g. saved by another editor or restored from version control, is not recovered.
+ * <p/>
+ * Records are encoded on the render thread, which costs a scan over the patches and sprites plus the changed objects,
+ * and are written in batches by a background thread, which syncs each batch to disk. Once the journal grows past
+ * the compaction threshold it is rewritten as a single snapshot.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelJournal implements LevelListener, ActionManager.Listener, Closeable {
+    public static final byte[] HEADER = {'D', 'S', 'R', 'J', 2};
+
+    private static final int MAGIC_SIZE = 4;
+
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 8 * 1024 * 1024;
+
+    private static final long BATCH_DELAY_MILLIS = 200;
+
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static final byte SNAPSHOT_RECORD = 1;
+
+    private static final byte CHANGE_RECORD = 2;
+
+    private static final byte COPY = 1;
+
+    private static final byte INSERT = 2;
+
+    private static final int START_AREA_CHANGED = 1;
+
+    private static final int END_AREA_CHANGED = 2;
+
+    private static final int BACKGROUND_CHANGED = 4;
+
+    @Getter
+    private final File levelFile;
+
+    @Getter
+    private final File file;
+
+    private final Level level;
+
+    private final Set<Object> modifiedObjects = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+    private final RecordedList<TerrainPatch> recordedTerrainPatches = new RecordedList<TerrainPatch>() {
+        @Override
+        Polygon shapeOf(TerrainPatch terrainPatch) {
+            return terrainPatch.getShape();
+        }
+
+        @Override
+        void write(DataOutputStream out, TerrainPatch terrainPatch) throws IOException {
+            ChunkedLevelFile.writeTerrainPatch(out, terrainPatch);
+        }
+    };
+
+    private final RecordedList<LevelSprite> recordedLevelSprites = new RecordedList<LevelSprite>() {
+        @Override
+        Polygon shapeOf(LevelSprite levelSprite) {
+            return null;
+        }
+
+        @Override
+        void write(DataOutputStream out, LevelSprite levelSprite) throws IOException {
+            ChunkedLevelFile.writeLevelSprite(out, levelSprite);
+        }
+    };
+
+    private final RecordedPolygon recordedStartArea = new RecordedPolygon();
+
+    private final RecordedPolygon recordedEndArea = new RecordedPolygon();
+
+    private boolean backgroundModified;
+
+    private boolean closed;
+
+    /**
+     * The number of change records since the journal was opened.
+     */
+    @Getter
+    private int recordCount;
+
+    /**
+     * The journal is compacted when it grows past this size or twice the size of its snapshot, whichever is larger.
+     */
+    @Getter
+    @Setter
+    private volatile long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Only used on the journal thread.
+     */
+    private final Writer writer = new Writer();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "level-journal");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final Runnable flushTask = new WriterTask() {
+        @Override
+        void write() throws IOException {
+            flushScheduled.set(false);
+            writer.flush();
+        }
+    };
+
+    /**
+     * Starts a new journal of the level, replacing any previous journal of the level file.
+     *
+     * @param snapshot a copy of the level as it is now, see {@link #rebase(Level, boolean)}
+     */
+    public LevelJournal(File levelFile, Level level, Level snapshot, boolean saved) {
+        this.levelFile = levelFile;
+        this.file = getJournalFile(levelFile);
+        this.level = level;
+
+        rebase(snapshot, saved);
+
+        level.addListener(this);
+        ActionManager.instance().addListener(this);
+    }
+
+    /**
+     * @return the journal kept for the level file, e.g. levels/intro.journal for levels/intro.json
+     */
+    public static File getJournalFile(File levelFile) {
+        String name = levelFile.getName();
+        int extension = name.lastIndexOf('.');
+        return new File(levelFile.getAbsoluteFile().getParentFile(), (extension > 0 ? name.substring(0, extension) : name) + ".journal");
+    }
+
+    /**
+     * Starts the journal over from a snapshot of the level as it is now, e.g. after the level was saved. The snapshot
+     * must not be modified afterwards, see {@link org.vertexarmy.dsr.game.level.LevelSnapshotter}; it is encoded on
+     * the journal thread. The level file as it is now becomes the base of the journal.
+     *
+     * @param saved true if the snapshot is what the level file holds, in which case there is nothing to recover
+     *              until the next change
+     */
+    public void rebase(final Level snapshot, final boolean saved) {
+        final long levelFileModified = levelFile.lastModified();
+        final long levelFileLength = levelFile.length();
+
+        Level recorded = level.snapshot();
+        recordedTerrainPatches.reset(recorded.getTerrainPatches());
+        recordedLevelSprites.reset(recorded.getLevelSprites());
+        recordedStartArea.reset(recorded.getStartArea());
+        recordedEndArea.reset(recorded.getEndArea());
+        modifiedObjects.clear();
+        backgroundModified = false;
+
+        executor.execute(new WriterTask() {
+            @Override
+            void write() throws IOException {
+                writer.rewrite(Replica.of(snapshot, !saved, levelFileModified, levelFileLength));
+            }
+        });
+    }
+
+    /**
+     * Appends the changes made since the previous record, if there are any. The record reaches the disk with the
+     * next batch.
+     */
+    public void record() {
+        if (closed) {
+            return;
+        }
+
+        final byte[] record;
+        try {
+            record = encodeChanges();
+        } catch (IOException e) {
+            // records are encoded in memory
+            throw new IllegalStateException(e);
+        }
+
+        if (record == null) {
+            return;
+        }
+
+        recordCount += 1;
+        executor.execute(new WriterTask() {
+            @Override
+            void write() throws IOException {
+                writer.append(record);
+            }
+        });
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(flushTask, BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Waits until the records so far are on disk.
+     */
+    public void flush() {
+        try {
+            executor.submit(flushTask).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Writes the remaining changes and stops the journal. The file is deleted if it holds nothing but the saved
+     * level.
+     */
+    @Override
+    public void close() {
+        record();
+        shutdown(new WriterTask() {
+            @Override
+            void write() throws IOException {
+                writer.close(false);
+            }
+        });
+    }
+
+    /**
+     * Stops the journal and deletes its file, e.g. when its changes were saved to another level file.
+     */
+    public void discard() {
+        shutdown(new WriterTask() {
+            @Override
+            void write() throws IOException {
+                writer.close(true);
+            }
+        });
+    }
+
+    private void shutdown(Runnable lastTask) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        level.removeListener(this);
+        ActionManager.instance().removeListener(this);
+
+        executor.execute(lastTask);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                report("The level journal did not finish writing in time", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the level with the changes held by the journal of the level file, or null if there is no journal, it
+     * holds nothing which was not saved, it was written by another version or the level file changed since it was
+     * started
+     * @throws IOException if the file is not a level journal or the recovered objects cannot be decoded
+     */
+    public static Level recover(File levelFile) throws IOException {
+        File file = getJournalFile(levelFile);
+        if (!file.exists()) {
+            return null;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+        byte[] header = new byte[HEADER.length];
+        if (in.remaining() < header.length) {
+            return null;
+        }
+        in.get(header);
+        if (!Arrays.equals(Arrays.copyOf(header, MAGIC_SIZE), Arrays.copyOf(HEADER, MAGIC_SIZE))) {
+            throw new IOException("Not a level journal: " + file);
+        }
+        if (header[MAGIC_SIZE] != HEADER[MAGIC_SIZE]) {
+            return null;
+        }
+
+        Replica replica = null;
+        CRC32 crc = new CRC32();
+        while (in.remaining() >= 8) {
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length <= 0 || length > in.remaining()) {
+                break;
+            }
+
+            crc.reset();
+            crc.update(in.array(), in.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.wrap(in.array(), in.position(), length).slice();
+            in.position(in.position() + length);
+
+            // a record which does not decode ends the recoverable data like a torn one, the replica keeps the state
+            // of the last record which did
+            try {
+                byte type = payload.get();
+                if (type == SNAPSHOT_RECORD) {
+                    replica = Replica.read(payload);
+                } else if (type == CHANGE_RECORD && replica != null) {
+                    replica.apply(payload);
+                }
+            } catch (IOException | RuntimeException e) {
+                break;
+            }
+        }
+
+        if (replica == null || !replica.modified) {
+            return null;
+        }
+        if (replica.levelFileModified != levelFile.lastModified() || replica.levelFileLength != levelFile.length()) {
+            return null;
+        }
+
+        try {
+            return replica.toLevel();
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt level journal: " + file, e);
+        }
+    }
+
+    /**
+     * @return the change record, or null if nothing changed since the previous one
+     */
+    private byte[] encodeChanges() throws IOException {
+        // only which objects the level holds is recorded, the objects themselves are compared by identity and version
+        Level current = level.snapshot();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(CHANGE_RECORD);
+        boolean terrainPatchesChanged = recordedTerrainPatches.writeChanges(out, current.getTerrainPatches());
+        boolean levelSpritesChanged = recordedLevelSprites.writeChanges(out, current.getLevelSprites());
+
+        int flags = 0;
+        if (recordedStartArea.isStale(current.getStartArea())) {
+            flags |= START_AREA_CHANGED;
+        }
+        if (recordedEndArea.isStale(current.getEndArea())) {
+            flags |= END_AREA_CHANGED;
+        }
+        if (backgroundModified) {
+            flags |= BACKGROUND_CHANGED;
+        }
+
+        if (!terrainPatchesChanged && !levelSpritesChanged && flags == 0) {
+            return null;
+        }
+
+        out.writeByte(flags);
+        if ((flags & START_AREA_CHANGED) != 0) {
+            writeBlob(out, encodePolygon(current.getStartArea()));
+            recordedStartArea.reset(current.getStartArea());
+        }
+        if ((flags & END_AREA_CHANGED) != 0) {
+            writeBlob(out, encodePolygon(current.getEndArea()));
+            recordedEndArea.reset(current.getEndArea());
+        }
+        if ((flags & BACKGROUND_CHANGED) != 0) {
+            writeBlob(out, encodeBackgroundLayers(current));
+            backgroundModified = false;
+        }
+
+        if (terrainPatchesChanged) {
+            recordedTerrainPatches.update(current.getTerrainPatches());
+        }
+        if (levelSpritesChanged) {
+            recordedLevelSprites.update(current.getLevelSprites());
+        }
+        modifiedObjects.clear();
+
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public void actionApplied() {
+        record();
+    }
+
+    @Override
+    public void terrainPatchAdded(TerrainPatch terrainPatch) {
+    }
+
+    @Override
+    public void terrainPatchRemoved(TerrainPatch terrainPatch) {
+        modifiedObjects.remove(terrainPatch);
+    }
+
+    @Override
+    public void terrainPatchModified(TerrainPatch terrainPatch) {
+        modifiedObjects.add(terrainPatch);
+    }
+
+    @Override
+    public void levelSpriteAdded(LevelSprite levelSprite) {
+    }
+
+    @Override
+    public void levelSpriteRemoved(LevelSprite levelSprite) {
+        modifiedObjects.remove(levelSprite);
+    }
+
+    @Override
+    public void levelSpriteModified(LevelSprite levelSprite) {
+        modifiedObjects.add(levelSprite);
+    }
+
+    @Override
+    public void backgroundModified() {
+        backgroundModified = true;
+    }
+
+    private static byte[] encodePolygon(Polygon polygon) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChunkedLevelFile.writePolygon(new DataOutputStream(bytes), polygon);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeBackgroundLayers(Level level) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChunkedLevelFile.writeBackgroundLayers(new DataOutputStream(bytes), level.getBackgroundLayers());
+        return bytes.toByteArray();
+    }
+
+    private static void writeBlob(DataOutputStream out, byte[] blob) throws IOException {
+        out.writeInt(blob.length);
+        out.write(blob);
+    }
+
+    private static byte[] readBlob(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] blob = new byte[length];
+        in.get(blob);
+        return blob;
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    /**
+     * The log is not thread safe, so messages are passed to the render thread.
+     */
+    private static void report(final String message, final Exception exception) {
+        if (Gdx.app == null) {
+            return;
+        }
+
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                Log log = Log.create();
+                log.error(message);
+                if (exception != null) {
+                    log.exception(exception);
+                }
+            }
+        });
+    }
+
+    /**
+     * The state of a list of level objects as of the last record. Objects are unchanged if they are the same
+     * instance, were not reported as modified and their shape has the same identity and version.
+     */
+    private abstract class RecordedList<T> {
+        private PersistentVector<T> objects = PersistentVector.empty();
+
+        private Polygon[] shapes = new Polygon[0];
+
+        private int[] shapeVersions = new int[0];
+
+        private final ByteArrayOutputStream operationBytes = new ByteArrayOutputStream();
+
+        private final DataOutputStream operations = new DataOutputStream(operationBytes);
+
+        private int operationCount;
+
+        private int copyFrom;
+
+        private int copyLength;
+
+        private int changedFrom;
+
+        private int changedTo;
+
+        abstract Polygon shapeOf(T object);
+
+        abstract void write(DataOutputStream out, T object) throws IOException;
+
+        /**
+         * @param current the list of a level snapshot; it is immutable, so it is kept instead of copied
+         */
+        void reset(PersistentVector<T> current) {
+            objects = current;
+
+            shapes = new Polygon[current.size()];
+            shapeVersions = new int[current.size()];
+            update(current, 0, current.size());
+        }
+
+        /**
+         * Takes over the list after {@link #writeChanges(DataOutputStream, List)}. If its size did not change only
+         * the changed range is updated, which is the common case of an object edited in place.
+         */
+        void update(PersistentVector<T> current) {
+            if (current.size() != objects.size()) {
+                reset(current);
+                return;
+            }
+
+            // the objects outside the changed range are the same instances
+            objects = current;
+            update(current, changedFrom, changedTo);
+        }
+
+        private void update(List<T> current, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                shapes[i] = shapeOf(current.get(i));
+                shapeVersions[i] = shapes[i] == null ? 0 : shapes[i].getVersion();
+            }
+        }
+
+        /**
+         * Writes the current list as copies of the recorded objects and inserts of new or changed ones. Only the
+         * part between the unchanged prefix and suffix is searched object by object.
+         *
+         * @return true if the list changed
+         */
+        boolean writeChanges(DataOutputStream out, List<T> current) throws IOException {
+            int currentSize = current.size();
+            int recordedSize = objects.size();
+
+            int prefix = 0;
+            while (prefix < currentSize && prefix < recordedSize && isUnchanged(prefix, current.get(prefix))) {
+                prefix += 1;
+            }
+
+            int suffix = 0;
+            while (suffix < currentSize - prefix && suffix < recordedSize - prefix
+                    && isUnchanged(recordedSize - 1 - suffix, current.get(currentSize - 1 - suffix))) {
+                suffix += 1;
+            }
+
+            operationBytes.reset();
+            operationCount = 0;
+            copyLength = 0;
+
+            copy(0, prefix);
+
+            Map<T, Integer> recordedIndices = new IdentityHashMap<>();
+            for (int i = prefix; i < recordedSize - suffix; ++i) {
+                recordedIndices.put(objects.get(i), i);
+            }
+
+            for (int i = prefix; i < currentSize - suffix; ++i) {
+                T object = current.get(i);
+                Integer recordedIndex = recordedIndices.get(object);
+                if (recordedIndex != null && isUnchanged(recordedIndex, object)) {
+                    copy(recordedIndex, 1);
+                } else {
+                    insert(object);
+                }
+            }
+
+            copy(recordedSize - suffix, suffix);
+            endCopy();
+
+            changedFrom = prefix;
+            changedTo = currentSize - suffix;
+
+            out.writeInt(operationCount);
+            operationBytes.writeTo(out);
+
+            return prefix != currentSize || currentSize != recordedSize;
+        }
+
+        private boolean isUnchanged(int recordedIndex, T object) {
+            if (objects.get(recordedIndex) != object || (!modifiedObjects.isEmpty() && modifiedObjects.contains(object))) {
+                return false;
+            }
+
+            Polygon shape = shapeOf(object);
+            return shape == shapes[recordedIndex] && (shape == null || shape.getVersion() == shapeVersions[recordedIndex]);
+        }
+
+        private void copy(int from, int length) throws IOException {
+            if (length == 0) {
+                return;
+            }
+
+            if (copyLength > 0 && copyFrom + copyLength == from) {
+                copyLength += length;
+                return;
+            }
+
+            endCopy();
+            copyFrom = from;
+            copyLength = length;
+        }
+
+        private void endCopy() throws IOException {
+            if (copyLength > 0) {
+                operations.writeByte(COPY);
+                operations.writeInt(copyFrom);
+                operations.writeInt(copyLength);
+                operationCount += 1;
+                copyLength = 0;
+            }
+        }
+
+        private void insert(T object) throws IOException {
+            endCopy();
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            write(new DataOutputStream(bytes), object);
+
+            operations.writeByte(INSERT);
+            writeBlob(operations, bytes.toByteArray());
+            operationCount += 1;
+        }
+    }
+
+    /**
+     * The start and end areas are replaced and edited without a notification, so they are checked by identity and
+     * version.
+     */
+    private static class RecordedPolygon {
+        private Polygon polygon;
+
+        private int version;
+
+        private boolean isStale(Polygon polygon) {
+            return polygon != this.polygon || (polygon != null && polygon.getVersion() != version);
+        }
+
+        private void reset(Polygon polygon) {
+            this.polygon = polygon;
+            this.version = polygon == null ? 0 : polygon.getVersion();
+        }
+    }
+
+    /**
+     * The level as written to the journal so far, with every object in its encoded form. It is kept by the journal
+     * thread to write snapshots and built by {@link #recover(File)} to replay the journal.
+     */
+    private static class Replica {
+        private byte[] backgroundLayers;
+
+        private byte[] startArea;
+
+        private byte[] endArea;
+
+        private List<byte[]> terrainPatches = Lists.newArrayList();
+
+        private List<byte[]> levelSprites = Lists.newArrayList();
+
+        /**
+         * True if the replica holds changes which are not in the level file.
+         */
+        private boolean modified;
+
+        /**
+         * The level file the changes apply to, as of the snapshot.
+         */
+        private long levelFileModified;
+
+        private long levelFileLength;
+
+        private static Replica of(Level level, boolean modified, long levelFileModified, long levelFileLength) throws IOException {
+            Replica replica = new Replica();
+            replica.backgroundLayers = encodeBackgroundLayers(level);
+            replica.startArea = encodePolygon(level.getStartArea());
+            replica.endArea = encodePolygon(level.getEndArea());
+
+            for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                ChunkedLevelFile.writeTerrainPatch(new DataOutputStream(bytes), terrainPatch);
+                replica.terrainPatches.add(bytes.toByteArray());
+            }
+
+            for (LevelSprite levelSprite : level.getLevelSprites()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                ChunkedLevelFile.writeLevelSprite(new DataOutputStream(bytes), levelSprite);
+                replica.levelSprites.add(bytes.toByteArray());
+            }
+
+            replica.modified = modified;
+            replica.levelFileModified = levelFileModified;
+            replica.levelFileLength = levelFileLength;
+            return replica;
+        }
+
+        private static Replica read(ByteBuffer in) {
+            Replica replica = new Replica();
+            replica.modified = in.get() != 0;
+            replica.levelFileModified = in.getLong();
+            replica.levelFileLength = in.getLong();
+            replica.backgroundLayers = readBlob(in);
+            replica.startArea = readBlob(in);
+            replica.endArea = readBlob(in);
+
+            int terrainPatchCount = in.getInt();
+            for (int i = 0; i < terrainPatchCount; ++i) {
+                replica.terrainPatches.add(readBlob(in));
+            }
+
+            int levelSpriteCount = in.getInt();
+            for (int i = 0; i < levelSpriteCount; ++i) {
+                replica.levelSprites.add(readBlob(in));
+            }
+            return replica;
+        }
+
+        private byte[] toSnapshotRecord() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeByte(SNAPSHOT_RECORD);
+            out.writeBoolean(modified);
+            out.writeLong(levelFileModified);
+            out.writeLong(levelFileLength);
+            writeBlob(out, backgroundLayers);
+            writeBlob(out, startArea);
+            writeBlob(out, endArea);
+
+            out.writeInt(terrainPatches.size());
+            for (byte[] terrainPatch : terrainPatches) {
+                writeBlob(out, terrainPatch);
+            }
+
+            out.writeInt(levelSprites.size());
+            for (byte[] levelSprite : levelSprites) {
+                writeBlob(out, levelSprite);
+            }
+            return bytes.toByteArray();
+        }
+
+        /**
+         * Applies a change record, read past its type. The replica is left as it was if the record does not decode.
+         */
+        private void apply(ByteBuffer in) throws IOException {
+            List<byte[]> newTerrainPatches = applyOperations(terrainPatches, in);
+            List<byte[]> newLevelSprites = applyOperations(levelSprites, in);
+
+            int flags = in.get();
+            byte[] newStartArea = (flags & START_AREA_CHANGED) != 0 ? readBlob(in) : startArea;
+            byte[] newEndArea = (flags & END_AREA_CHANGED) != 0 ? readBlob(in) : endArea;
+            byte[] newBackgroundLayers = (flags & BACKGROUND_CHANGED) != 0 ? readBlob(in) : backgroundLayers;
+
+            terrainPatches = newTerrainPatches;
+            levelSprites = newLevelSprites;
+            startArea = newStartArea;
+            endArea = newEndArea;
+            backgroundLayers = newBackgroundLayers;
+            modified = true;
+        }
+
+        private static List<byte[]> applyOperations(List<byte[]> objects, ByteBuffer in) throws IOException {
+            int operationCount = in.getInt();
+            List<byte[]> result = Lists.newArrayList(objects.size());
+
+            for (int i = 0; i < operationCount; ++i) {
+                byte operation = in.get();
+                if (operation == COPY) {
+                    int from = in.getInt();
+                    int length = in.getInt();
+                    if (from < 0 || length < 0 || from + length > objects.size()) {
+                        throw new IOException("Corrupt level journal record");
+                    }
+                    result.addAll(objects.subList(from, from + length));
+                } else if (operation == INSERT) {
+                    result.add(readBlob(in));
+                } else {
+                    throw new IOException("Corrupt level journal record");
+                }
+            }
+            return result;
+        }
+
+        private Level toLevel() {
+            Level level = new Level();
+            level.setBackgroundLayers(ChunkedLevelFile.readBackgroundLayers(ByteBuffer.wrap(backgroundLayers)));
+            level.setStartArea(ChunkedLevelFile.readPolygon(ByteBuffer.wrap(startArea)));
+            level.setEndArea(ChunkedLevelFile.readPolygon(ByteBuffer.wrap(endArea)));
+
+            for (byte[] terrainPatch : terrainPatches) {
+                level.addTerrainPatch(ChunkedLevelFile.readTerrainPatch(ByteBuffer.wrap(terrainPatch)));
+            }
+
+            for (byte[] levelSprite : levelSprites) {
+                level.addLevelSprite(ChunkedLevelFile.readLevelSprite(ByteBuffer.wrap(levelSprite)));
+            }
+            return level;
+        }
+    }
+
+    /**
+     * Owns the journal file on the journal thread.
+     */
+    private class Writer {
+        private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+
+        private final DataOutputStream batchOut = new DataOutputStream(batch);
+
+        private Replica replica;
+
+        private FileOutputStream output;
+
+        private long size;
+
+        private long snapshotSize;
+
+        private boolean failed;
+
+        /**
+         * Replaces the journal with a single snapshot, through a temporary file which is renamed over it.
+         */
+        private void rewrite(Replica newReplica) throws IOException {
+            replica = newReplica;
+            batch.reset();
+            closeOutput();
+
+            File directory = file.getAbsoluteFile().getParentFile();
+            File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+            try {
+                try (FileOutputStream temporaryOutput = new FileOutputStream(temporaryFile)) {
+                    DataOutputStream out = new DataOutputStream(temporaryOutput);
+                    out.write(HEADER);
+                    writeRecord(out, replica.toSnapshotRecord());
+                    out.flush();
+                    temporaryOutput.getChannel().force(true);
+                }
+
+                try {
+                    Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporaryFile.toPath());
+            }
+
+            output = new FileOutputStream(file, true);
+            size = file.length();
+            snapshotSize = size;
+        }
+
+        private void append(byte[] record) throws IOException {
+            replica.apply((ByteBuffer) ByteBuffer.wrap(record).position(1));
+            writeRecord(batchOut, record);
+        }
+
+        private void flush() throws IOException {
+            if (batch.size() == 0) {
+                return;
+            }
+
+            batch.writeTo(output);
+            output.getChannel().force(false);
+            size += batch.size();
+            batch.reset();
+
+            if (size > Math.max(compactionThreshold, 2 * snapshotSize)) {
+                rewrite(replica);
+            }
+        }
+
+        private void close(boolean delete) throws IOException {
+            if (!delete) {
+                flush();
+            }
+            closeOutput();
+
+            if (delete || !replica.modified) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+
+        private void closeOutput() throws IOException {
+            if (output != null) {
+                output.close();
+                output = null;
+            }
+        }
+    }
+
+    /**
+     * Stops journaling after the first failure, since later records would not apply to what is on disk.
+     */
+    private abstract class WriterTask implements Runnable {
+        @Override
+        public void run() {
+            if (writer.failed) {
+                return;
+            }
+
+            try {
+                write();
+            } catch (IOException | RuntimeException e) {
+                writer.failed = true;
+                report("Could not write the level journal " + file.getAbsolutePath() + ", changes are no longer journaled", e);
+            }
+        }
+
+        abstract void write() throws IOException;
+    }
+}
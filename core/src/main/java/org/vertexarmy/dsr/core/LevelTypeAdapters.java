@@ -0,0 +1,360 @@
+package org.vertexarmy.dsr.core;
+
+import com.badlogic.gdx.math.Vector2;
+import com.beust.jcommander.internal.Lists;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.vertexarmy.dsr.game.level.BackgroundLayer;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.graphics.TextureOverlay;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hand-written adapters for the level types, which call each other directly instead of looking adapters up and
+ * reading fields through reflection. They use the field names of the reflective adapters of Gson and still read
+ * the levels those wrote, but write polygons as flat coordinate arrays and vectors as {@code [x, y]}, which the
+ * reflective adapters cannot read; levels saved with them do not load in older versions. Null fields are left out
+ * and unknown fields are skipped.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public final class LevelTypeAdapters {
+    private static final PolygonTypeAdapter POLYGON = new PolygonTypeAdapter();
+
+    private static final Vector2TypeAdapter VECTOR2 = new Vector2TypeAdapter();
+
+    private static final TextureOverlayAdapter TEXTURE_OVERLAY = new TextureOverlayAdapter();
+
+    private static final TerrainPatchAdapter TERRAIN_PATCH = new TerrainPatchAdapter();
+
+    private static final LevelSpriteAdapter LEVEL_SPRITE = new LevelSpriteAdapter();
+
+    private static final BackgroundLayerAdapter BACKGROUND_LAYER = new BackgroundLayerAdapter();
+
+    private static final LevelAdapter LEVEL = new LevelAdapter();
+
+    private LevelTypeAdapters() {
+    }
+
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(Polygon.class, POLYGON)
+                .registerTypeAdapter(Vector2.class, VECTOR2)
+                .registerTypeAdapter(TextureOverlay.class, TEXTURE_OVERLAY)
+                .registerTypeAdapter(TerrainPatch.class, TERRAIN_PATCH)
+                .registerTypeAdapter(LevelSprite.class, LEVEL_SPRITE)
+                .registerTypeAdapter(BackgroundLayer.class, BACKGROUND_LAYER)
+                .registerTypeAdapter(Level.class, LEVEL);
+    }
+
+    private static <T> void writeField(JsonWriter out, String name, TypeAdapter<T> adapter, T value) throws IOException {
+        if (value != null) {
+            out.name(name);
+            adapter.write(out, value);
+        }
+    }
+
+    private static void writeField(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    private static <T> void writeList(JsonWriter out, String name, TypeAdapter<T> adapter, List<T> values) throws IOException {
+        out.name(name).beginArray();
+        for (T value : values) {
+            adapter.write(out, value);
+        }
+        out.endArray();
+    }
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+        List<T> values = Lists.newArrayList();
+        if (skipNull(in)) {
+            return values;
+        }
+
+        in.beginArray();
+        while (in.hasNext()) {
+            T value = adapter.read(in);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        in.endArray();
+        return values;
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        return skipNull(in) ? null : in.nextString();
+    }
+
+    /**
+     * @return true if the next value was null and has been consumed
+     */
+    private static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private static class TextureOverlayAdapter extends TypeAdapter<TextureOverlay> {
+        @Override
+        public void write(JsonWriter out, TextureOverlay overlay) throws IOException {
+            if (overlay == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            writeField(out, "textureName", overlay.getTextureName());
+            writeField(out, "textureOffset", VECTOR2, overlay.getTextureOffset());
+            writeField(out, "textureScale", VECTOR2, overlay.getTextureScale());
+            out.name("textureRotation");
+            JsonNumbers.writeFloat(out, overlay.getTextureRotation());
+            out.endObject();
+        }
+
+        @Override
+        public TextureOverlay read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+
+            TextureOverlay overlay = new TextureOverlay();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("textureName".equals(name)) {
+                    overlay.setTextureName(readString(in));
+                } else if ("textureOffset".equals(name)) {
+                    overlay.setTextureOffset(VECTOR2.read(in));
+                } else if ("textureScale".equals(name)) {
+                    overlay.setTextureScale(VECTOR2.read(in));
+                } else if ("textureRotation".equals(name)) {
+                    overlay.setTextureRotation(JsonNumbers.readFloat(in));
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return overlay;
+        }
+    }
+
+    private static class TerrainPatchAdapter extends TypeAdapter<TerrainPatch> {
+        @Override
+        public void write(JsonWriter out, TerrainPatch patch) throws IOException {
+            if (patch == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            writeField(out, "shape", POLYGON, patch.getShape());
+            writeField(out, "textureOverlay", TEXTURE_OVERLAY, patch.getTextureOverlay());
+            out.endObject();
+        }
+
+        @Override
+        public TerrainPatch read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+
+            Polygon shape = null;
+            TextureOverlay overlay = null;
+            boolean hasOverlay = false;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("shape".equals(name)) {
+                    shape = POLYGON.read(in);
+                } else if ("textureOverlay".equals(name)) {
+                    overlay = TEXTURE_OVERLAY.read(in);
+                    hasOverlay = true;
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            TerrainPatch patch = new TerrainPatch(shape);
+            if (hasOverlay) {
+                patch.setTextureOverlay(overlay);
+            }
+            return patch;
+        }
+    }
+
+    private static class LevelSpriteAdapter extends TypeAdapter<LevelSprite> {
+        @Override
+        public void write(JsonWriter out, LevelSprite sprite) throws IOException {
+            if (sprite == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            writeField(out, "textureName", sprite.getTextureName());
+            writeField(out, "position", VECTOR2, sprite.getPosition());
+            out.name("rotation");
+            JsonNumbers.writeFloat(out, sprite.getRotation());
+            writeField(out, "scale", VECTOR2, sprite.getScale());
+            out.name("zOrder").value(sprite.getZOrder());
+            out.name("isForeground").value(sprite.isForeground());
+            out.endObject();
+        }
+
+        @Override
+        public LevelSprite read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+
+            String textureName = null;
+            Vector2 position = null;
+            float rotation = 0;
+            Vector2 scale = null;
+            int zOrder = 0;
+            boolean isForeground = false;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("textureName".equals(name)) {
+                    textureName = readString(in);
+                } else if ("position".equals(name)) {
+                    position = VECTOR2.read(in);
+                } else if ("rotation".equals(name)) {
+                    rotation = JsonNumbers.readFloat(in);
+                } else if ("scale".equals(name)) {
+                    scale = VECTOR2.read(in);
+                } else if ("zOrder".equals(name)) {
+                    zOrder = in.nextInt();
+                } else if ("isForeground".equals(name)) {
+                    isForeground = in.nextBoolean();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new LevelSprite(textureName, position, rotation, scale, zOrder, isForeground);
+        }
+    }
+
+    private static class BackgroundLayerAdapter extends TypeAdapter<BackgroundLayer> {
+        @Override
+        public void write(JsonWriter out, BackgroundLayer layer) throws IOException {
+            if (layer == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            writeField(out, "textureName", layer.getTextureName());
+            out.name("parallaxSpeedScale");
+            JsonNumbers.writeFloat(out, layer.getParallaxSpeedScale());
+            if (layer.getType() != null) {
+                out.name("type").value(layer.getType().name());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public BackgroundLayer read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+
+            String textureName = null;
+            float parallaxSpeedScale = 0;
+            BackgroundLayer.Type type = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("textureName".equals(name)) {
+                    textureName = readString(in);
+                } else if ("parallaxSpeedScale".equals(name)) {
+                    parallaxSpeedScale = JsonNumbers.readFloat(in);
+                } else if ("type".equals(name)) {
+                    String typeName = readString(in);
+                    type = typeName == null ? null : BackgroundLayer.Type.valueOf(typeName);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new BackgroundLayer(textureName, parallaxSpeedScale, type);
+        }
+    }
+
+    private static class LevelAdapter extends TypeAdapter<Level> {
+        @Override
+        public void write(JsonWriter out, Level level) throws IOException {
+            if (level == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            writeList(out, "backgroundLayers", BACKGROUND_LAYER, level.getBackgroundLayers());
+            writeField(out, "startArea", POLYGON, level.getStartArea());
+            writeField(out, "endArea", POLYGON, level.getEndArea());
+            writeList(out, "terrainPatches", TERRAIN_PATCH, level.getTerrainPatches());
+            writeList(out, "levelSprites", LEVEL_SPRITE, level.getLevelSprites());
+            out.endObject();
+        }
+
+        @Override
+        public Level read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+
+            Level level = new Level();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("backgroundLayers".equals(name)) {
+                    level.setBackgroundLayers(readList(in, BACKGROUND_LAYER));
+                } else if ("startArea".equals(name)) {
+                    level.setStartArea(POLYGON.read(in));
+                } else if ("endArea".equals(name)) {
+                    level.setEndArea(POLYGON.read(in));
+                } else if ("terrainPatches".equals(name)) {
+                    for (TerrainPatch patch : readList(in, TERRAIN_PATCH)) {
+                        level.addTerrainPatch(patch);
+                    }
+                } else if ("levelSprites".equals(name)) {
+                    for (LevelSprite sprite : readList(in, LEVEL_SPRITE)) {
+                        level.addLevelSprite(sprite);
+                    }
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return level;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.vertexarmy.dsr.core;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import lombok.RequiredArgsConstructor;
 
@@ -40,25 +41,25 @@ public class Log {
     }
 
     public void error(String message) {
-        if (isLevelEnabled(Level.ERROR)) {
+        if (isLevelEnabled(Level.ERROR, Application.LOG_ERROR)) {
             Gdx.app.error(formatPrefix("ERROR"), message);
         }
     }
 
     public void warning(String message) {
-        if (isLevelEnabled(Level.WARNING)) {
+        if (isLevelEnabled(Level.WARNING, Application.LOG_ERROR)) {
             Gdx.app.error(formatPrefix("DEBUG"), message);
         }
     }
 
     public void info(String message) {
-        if (isLevelEnabled(Level.INFO)) {
+        if (isLevelEnabled(Level.INFO, Application.LOG_INFO)) {
             Gdx.app.log(formatPrefix("INFO"), message);
         }
     }
 
     public void debug(String message) {
-        if (isLevelEnabled(Level.DEBUG)) {
+        if (isLevelEnabled(Level.DEBUG, Application.LOG_DEBUG)) {
             Gdx.app.debug(formatPrefix("DEBUG"), message);
         }
     }
@@ -67,9 +68,11 @@ public class Log {
         e.printStackTrace();
     }
 
-    private boolean isLevelEnabled(Level level) {
-        return this.level.ordinal() <= level.ordinal();
-
+    /**
+     * Messages libGDX would drop are not formatted, since formatting the prefix allocates.
+     */
+    private boolean isLevelEnabled(Level level, int applicationLogLevel) {
+        return this.level.ordinal() <= level.ordinal() && Gdx.app.getLogLevel() >= applicationLogLevel;
     }
 
     private String formatPrefix(String level) {
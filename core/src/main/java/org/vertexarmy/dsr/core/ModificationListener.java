@@ -0,0 +1,11 @@
+package org.vertexarmy.dsr.core;
+
+/**
+ * Receives a callback whenever an observed object changes its state.
+ *
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public interface ModificationListener<T> {
+    void objectModified(T object);
+}
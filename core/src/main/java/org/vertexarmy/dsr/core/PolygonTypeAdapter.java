@@ -0,0 +1,95 @@
+package org.vertexarmy.dsr.core;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.io.IOException;
+
+/**
+ * Writes polygons as a flat array of interleaved coordinates, [x0, y0, x1, y1, ..]. Polygons of older levels,
+ * written in the shape of the former {@code List<Vector2>} field as {"vertexList":[{"x":..,"y":..}]}, are read
+ * as well.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class PolygonTypeAdapter extends TypeAdapter<Polygon> {
+    private static final String VERTEX_LIST = "vertexList";
+
+    @Override
+    public void write(JsonWriter out, Polygon polygon) throws IOException {
+        if (polygon == null) {
+            out.nullValue();
+            return;
+        }
+
+        float[] coordinates = polygon.getPackedVertices();
+
+        out.beginArray();
+        for (int i = 0; i < polygon.getVertexCount() * 2; ++i) {
+            JsonNumbers.writeFloat(out, coordinates[i]);
+        }
+        out.endArray();
+    }
+
+    @Override
+    public Polygon read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Polygon polygon = new Polygon(new float[0]);
+
+        if (token == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) {
+                float x = JsonNumbers.readFloat(in);
+                float y = JsonNumbers.readFloat(in);
+                polygon.addVertex(x, y);
+            }
+            in.endArray();
+            return polygon;
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            if (VERTEX_LIST.equals(in.nextName())) {
+                readVertexList(in, polygon);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return polygon;
+    }
+
+    private static void readVertexList(JsonReader in, Polygon polygon) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            float x = 0;
+            float y = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("x".equals(name)) {
+                    x = JsonNumbers.readFloat(in);
+                } else if ("y".equals(name)) {
+                    y = JsonNumbers.readFloat(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            polygon.addVertex(x, y);
+        }
+        in.endArray();
+    }
+}
@@ -1,24 +1,62 @@
 package org.vertexarmy.dsr.core;
 
+import com.beust.jcommander.internal.Lists;
 import com.beust.jcommander.internal.Maps;
 import com.google.common.collect.ImmutableList;
+import lombok.Getter;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Accessors of fields through their getters and setters. The accessors are resolved once per class and field, see
+ * {@link ClassMetadata}, and invoked through method handles, so that field editors and mementos can read and write
+ * fields on every change without searching the methods of the class.
+ * <p/>
  * created by Alex
  * on 05-Apr-2015.
  */
 @SuppressWarnings("unused")
 public class ReflectionHelper {
-    public static boolean hasReadWriteAccess(Class objectClass, Field field) {
+    private static final Log log = Log.create();
+
+    private static final ConcurrentMap<Class<?>, ClassMetadata> METADATA = new ConcurrentHashMap<>();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    public static ClassMetadata getMetadata(Class<?> objectClass) {
+        ClassMetadata metadata = METADATA.get(objectClass);
+        if (metadata == null) {
+            metadata = new ClassMetadata(objectClass);
+            ClassMetadata existingMetadata = METADATA.putIfAbsent(objectClass, metadata);
+            if (existingMetadata != null) {
+                metadata = existingMetadata;
+            }
+        }
+        return metadata;
+    }
+
+    public static FieldAccessor getAccessor(Class<?> objectClass, Field field) {
+        return getMetadata(objectClass).getAccessor(field);
+    }
+
+    public static boolean hasReadWriteAccess(Class<?> objectClass, Field field) {
         return hasSetter(objectClass, field) && hasGetter(objectClass, field);
     }
 
-    public static boolean classHasMethod(Class objectClass, String methodName) {
+    public static boolean classHasMethod(Class<?> objectClass, String methodName) {
         for (Method method : objectClass.getMethods()) {
             if (method.getName().equalsIgnoreCase(methodName)) {
                 return true;
@@ -27,7 +65,7 @@ public class ReflectionHelper {
         return false;
     }
 
-    public static boolean classHasField(Class objectClass, String fieldName) {
+    public static boolean classHasField(Class<?> objectClass, String fieldName) {
         for (Field field : objectClass.getDeclaredFields()) {
             if (field.getName().equalsIgnoreCase(fieldName)) {
                 return true;
@@ -37,49 +75,48 @@ public class ReflectionHelper {
     }
 
     public static void setField(Object object, Field field, Object... values) {
-        Method setter = findSetter(object.getClass(), field);
-        if (setter != null) {
+        setField(object, getAccessor(object.getClass(), field), values);
+    }
+
+    /**
+     * Skips the lookup of the accessor, for callers which keep it, e.g. the field editors.
+     */
+    public static void setField(Object object, FieldAccessor accessor, Object... values) {
+        if (accessor.canWrite()) {
             try {
-                setter.invoke(object, values);
-            } catch (Exception e) {
-                e.printStackTrace();
+                if (values.length == 1) {
+                    accessor.set(object, values[0]);
+                } else {
+                    accessor.getSetterMethod().invoke(object, values);
+                }
+            } catch (Throwable e) {
+                reportAccessFailure(e);
             }
         }
     }
 
-    @SuppressWarnings("unchecked")
     public static <T> T getField(Object object, Field field, T defaultValue) {
-        Method getter = findGetter(object.getClass(), field);
-        if (getter != null) {
+        return getField(object, getAccessor(object.getClass(), field), defaultValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T getField(Object object, FieldAccessor accessor, T defaultValue) {
+        if (accessor.canRead()) {
             try {
-                return (T) getter.invoke(object);
-            } catch (Exception e) {
-                e.printStackTrace();
+                return (T) accessor.get(object);
+            } catch (Throwable e) {
+                reportAccessFailure(e);
             }
         }
         return defaultValue;
     }
 
-    public static Method findSetter(Class objectClass, Field field) {
-        List<String> setterNames = setterNames(field.getName());
-
-        for (Method method : objectClass.getMethods()) {
-            if (setterNames.contains(method.getName())) {
-                return method;
-            }
-        }
-        return null;
+    public static Method findSetter(Class<?> objectClass, Field field) {
+        return getAccessor(objectClass, field).getSetterMethod();
     }
 
-    public static Method findGetter(Class objectClass, Field field) {
-        List<String> getterNames = getterNames(field.getName());
-
-        for (Method method : objectClass.getMethods()) {
-            if (getterNames.contains(method.getName())) {
-                return method;
-            }
-        }
-        return null;
+    public static Method findGetter(Class<?> objectClass, Field field) {
+        return getAccessor(objectClass, field).getGetterMethod();
     }
 
     public static float getPrecisionAnnotationValue(Field field) {
@@ -93,8 +130,16 @@ public class ReflectionHelper {
 
     public static Memento extractMemento(Object object) {
         Memento memento = new Memento();
-        for (Field field : object.getClass().getDeclaredFields()) {
-            memento.fieldValues.put(field, CopyUtils.deepCopy(ReflectionHelper.getField(object, field, null)));
+        for (FieldAccessor accessor : getMetadata(object.getClass()).getStateAccessors()) {
+            Object value = null;
+            if (accessor.canRead()) {
+                try {
+                    value = accessor.get(object);
+                } catch (Throwable e) {
+                    reportAccessFailure(e);
+                }
+            }
+            memento.fieldValues.put(accessor.getField(), CopyUtils.deepCopy(value));
         }
         return memento;
     }
@@ -105,20 +150,162 @@ public class ReflectionHelper {
         }
     }
 
+    /**
+     * The accessors of a class, resolved on first use. The public methods of the class are listed only once.
+     */
+    public static class ClassMetadata {
+        private final Class<?> objectClass;
+
+        private final Method[] methods;
+
+        private final ConcurrentMap<Field, FieldAccessor> accessors = new ConcurrentHashMap<>();
+
+        private volatile List<FieldAccessor> stateAccessors;
+
+        private ClassMetadata(Class<?> objectClass) {
+            this.objectClass = objectClass;
+            this.methods = objectClass.getMethods();
+        }
+
+        public FieldAccessor getAccessor(Field field) {
+            FieldAccessor accessor = accessors.get(field);
+            if (accessor == null) {
+                accessor = new FieldAccessor(field, findMethod(getterNames(field.getName())), findMethod(setterNames(field.getName())));
+                FieldAccessor existingAccessor = accessors.putIfAbsent(field, accessor);
+                if (existingAccessor != null) {
+                    accessor = existingAccessor;
+                }
+            }
+            return accessor;
+        }
+
+        /**
+         * @return the accessors of the fields declared by the class which are neither static nor transient, i.e.
+         * the fields kept by a {@link Memento}
+         */
+        public List<FieldAccessor> getStateAccessors() {
+            List<FieldAccessor> result = stateAccessors;
+            if (result == null) {
+                result = Lists.newArrayList();
+                for (Field field : objectClass.getDeclaredFields()) {
+                    if (!Modifier.isTransient(field.getModifiers()) && !Modifier.isStatic(field.getModifiers())) {
+                        result.add(getAccessor(field));
+                    }
+                }
+                result = Collections.unmodifiableList(result);
+                stateAccessors = result;
+            }
+            return result;
+        }
+
+        private Method findMethod(List<String> names) {
+            for (Method method : methods) {
+                if (names.contains(method.getName())) {
+                    return method;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads and writes a field through its getter and setter. Methods with the usual signatures are invoked through
+     * method handles adapted to Object, which the JIT compiles to nearly a direct call; anything else falls back to
+     * {@link Method#invoke(Object, Object...)}.
+     */
+    public static class FieldAccessor {
+        @Getter
+        private final Field field;
+
+        @Getter
+        private final Method getterMethod;
+
+        @Getter
+        private final Method setterMethod;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private FieldAccessor(Field field, Method getterMethod, Method setterMethod) {
+            this.field = field;
+            this.getterMethod = getterMethod;
+            this.setterMethod = setterMethod;
+            this.getter = getterMethod != null && getterMethod.getParameterTypes().length == 0 ? unreflect(getterMethod, GETTER_TYPE) : null;
+            this.setter = setterMethod != null && setterMethod.getParameterTypes().length == 1 ? unreflect(setterMethod, SETTER_TYPE) : null;
+        }
+
+        public boolean canRead() {
+            return getterMethod != null;
+        }
+
+        public boolean canWrite() {
+            return setterMethod != null;
+        }
+
+        public Object get(Object object) throws Throwable {
+            if (getter != null) {
+                return (Object) getter.invokeExact(object);
+            }
+            return getterMethod.invoke(object);
+        }
+
+        public void set(Object object, Object value) throws Throwable {
+            if (setter != null) {
+                setter.invokeExact(object, value);
+            } else {
+                setterMethod.invoke(object, value);
+            }
+        }
+
+        /**
+         * @return the method as a handle of the given type, or null if it cannot be adapted, e.g. a public method
+         * of a class which is not public
+         */
+        private static MethodHandle unreflect(Method method, MethodType type) {
+            try {
+                return MethodHandles.publicLookup().unreflect(method).asType(type);
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
     public static class Memento {
         private Map<Field, Object> fieldValues = Maps.newHashMap();
 
+        /**
+         * @return the estimated size of the memento and its copied values; the fields are shared and not counted
+         */
+        public long getFootprint() {
+            long footprint = MemoryFootprint.object(MemoryFootprint.REFERENCE) + MemoryFootprint.hashMap(fieldValues.size());
+            for (Object value : fieldValues.values()) {
+                footprint += MemoryFootprint.of(value);
+            }
+            return footprint;
+        }
+
         @Override
         public boolean equals(Object other) {
             return other instanceof Memento && this.fieldValues.equals(((Memento) other).fieldValues);
         }
     }
 
-    private static boolean hasGetter(Class objectClass, Field field) {
+    /**
+     * A getter or setter which throws is reported and skipped; errors, e.g. running out of memory, are rethrown.
+     */
+    private static void reportAccessFailure(Throwable e) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        log.exception(e instanceof Exception ? (Exception) e : new RuntimeException(e));
+    }
+
+    private static boolean hasGetter(Class<?> objectClass, Field field) {
         return findGetter(objectClass, field) != null;
     }
 
-    private static boolean hasSetter(Class objectClass, Field field) {
+    private static boolean hasSetter(Class<?> objectClass, Field field) {
         return findSetter(objectClass, field) != null;
     }
 
@@ -7,6 +7,8 @@ import org.vertexarmy.dsr.core.assets.FontRepository;
 import org.vertexarmy.dsr.core.assets.ShaderRepository;
 import org.vertexarmy.dsr.core.assets.TextureRepository;
 import org.vertexarmy.dsr.core.component.*;
+import org.vertexarmy.dsr.core.profiling.AllocationTracker;
+import org.vertexarmy.dsr.core.profiling.Profiler;
 import org.vertexarmy.dsr.core.systems.InputSystem;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.core.systems.UpdateSystem;
@@ -77,8 +79,26 @@ public class Root {
     }
 
     public void update() {
+        Profiler profiler = Profiler.instance();
+        profiler.beginFrame();
+        profiler.begin("frame");
+
+        AllocationTracker allocationTracker = AllocationTracker.instance();
+
+        profiler.begin("update");
+        allocationTracker.beginPhase();
         updateSystem.update();
+        allocationTracker.endPhase(AllocationTracker.Phase.UPDATE);
+        profiler.end();
+
+        profiler.begin("render");
+        allocationTracker.beginPhase();
         renderSystem.update();
+        allocationTracker.endPhase(AllocationTracker.Phase.RENDER);
+        profiler.end();
+
+        allocationTracker.endFrame();
+        profiler.end();
     }
 
     private RenderComponent getRenderComponentFor(Node node) {
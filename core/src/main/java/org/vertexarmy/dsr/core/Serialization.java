@@ -1,52 +1,218 @@
 package org.vertexarmy.dsr.core;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import com.badlogic.gdx.math.Vector2;
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.stream.JsonWriter;
+import org.nustaq.serialization.FSTConfiguration;
 import org.nustaq.serialization.FSTObjectInput;
 import org.nustaq.serialization.FSTObjectOutput;
+import org.vertexarmy.dsr.collection.PersistentMap;
+import org.vertexarmy.dsr.collection.PersistentVector;
+import org.vertexarmy.dsr.game.level.BackgroundLayer;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.graphics.TextureOverlay;
+import org.vertexarmy.dsr.math.Polygon;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Set;
 
 /**
+ * Levels are written either as JSON, the interchange format, or in a compact binary format produced by FST.
+ * JSON is streamed as UTF-8 in both directions, so the document is never held in memory as a whole, and the
+ * level types are written by the compact adapters of {@link LevelTypeAdapters}.
+ * Binary files start with {@link #BINARY_HEADER}; {@link #deserialize(InputStream, Class)} detects the format
+ * from it, so both can be loaded without knowing how they were saved.
+ * <p/>
+ * Binary levels may only name the classes of {@link #BINARY_CLASSES}; FST refuses to read any other class, so a
+ * crafted file cannot instantiate arbitrary classes of the class path.
+ * <p/>
  * Created by alex
  * on 27.03.2015.
  */
 public class Serialization {
+    public enum Format {
+        JSON,
+        BINARY
+    }
+
+    /**
+     * "DSRL" followed by the version of the binary format. JSON documents never start with these bytes. Version 2
+     * holds the children of a level in persistent vectors and writes the level classes as registration ids.
+     */
+    public static final byte[] BINARY_HEADER = {'D', 'S', 'R', 'L', 2};
+
+    private static final int MAGIC_SIZE = 4;
+
+    /**
+     * The classes a binary level is made of, besides the JDK types FST registers itself. They are written as
+     * registration ids instead of names, in this order; appending keeps the ids of the existing classes.
+     */
+    private static final Set<String> BINARY_CLASSES = ImmutableSet.of(
+            Level.class.getName(),
+            TerrainPatch.class.getName(),
+            LevelSprite.class.getName(),
+            BackgroundLayer.class.getName(),
+            BackgroundLayer.Type.class.getName(),
+            TextureOverlay.class.getName(),
+            Polygon.class.getName(),
+            Vector2.class.getName(),
+            PersistentVector.class.getName(),
+            PersistentVector.class.getName() + "$SerializedForm",
+            PersistentMap.class.getName(),
+            PersistentMap.class.getName() + "$SerializedForm");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final Gson GSON = createGson();
+
     public static <T> void serialize(OutputStream stream, T object) throws IOException, ClassNotFoundException {
-        GsonSerialize(stream, object);
+        serialize(stream, object, Format.JSON);
+    }
+
+    public static <T> void serialize(OutputStream stream, T object, Format format) throws IOException, ClassNotFoundException {
+        if (format == Format.BINARY) {
+            FSTSerialize(stream, object);
+        } else {
+            GsonSerialize(stream, object);
+        }
     }
 
     public static <T> T deserialize(InputStream inputStream, Class objectClass) throws IOException, ClassNotFoundException {
-        return GsonDeserialize(inputStream, objectClass);
+        InputStream stream = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+
+        if (readFormat(stream) == Format.BINARY) {
+            return FSTDeserialize(stream);
+        }
+        return GsonDeserialize(stream, objectClass);
+    }
+
+    /**
+     * Peeks at the beginning of the stream, which must support mark and reset. The binary header is consumed;
+     * a JSON stream is left untouched. A binary level of another version cannot be read by FST and is rejected.
+     */
+    private static Format readFormat(InputStream stream) throws IOException {
+        byte[] header = new byte[BINARY_HEADER.length];
+
+        stream.mark(header.length);
+        int read = 0;
+        while (read < header.length) {
+            int count = stream.read(header, read, header.length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+
+        if (read == header.length && Arrays.equals(Arrays.copyOf(header, MAGIC_SIZE), Arrays.copyOf(BINARY_HEADER, MAGIC_SIZE))) {
+            if (header[MAGIC_SIZE] != BINARY_HEADER[MAGIC_SIZE]) {
+                throw new IOException("Unsupported binary level version " + header[MAGIC_SIZE]);
+            }
+            return Format.BINARY;
+        }
+
+        stream.reset();
+        return Format.JSON;
     }
 
     private static <T> T FSTDeserialize(InputStream inputStream) throws IOException, ClassNotFoundException {
-        FSTObjectInput in = new FSTObjectInput(inputStream);
-        T result = (T) in.readObject();
-        in.close();
-        return result;
+        FSTObjectInput in = FSTConfigurationHolder.INSTANCE.getObjectInput(inputStream);
+        try {
+            return (T) in.readObject();
+        } catch (RuntimeException e) {
+            // FST reports some malformed streams as unchecked exceptions
+            throw new IOException("Cannot read the binary level", e);
+        }
     }
 
     private static <T> void FSTSerialize(OutputStream stream, T object) throws IOException {
-        FSTObjectOutput out = new FSTObjectOutput(stream);
+        stream.write(BINARY_HEADER);
+
+        // the output is reused by the configuration, so it is flushed instead of closed
+        FSTObjectOutput out = FSTConfigurationHolder.INSTANCE.getObjectOutput(stream);
         out.writeObject(object);
-        out.close();
+        out.flush();
     }
 
-    private static <T> void GsonSerialize(OutputStream stream, T object) {
-        Gson gson = new Gson();
-        String result = gson.toJson(object);
+    /**
+     * Streams the document to the output as it is produced; nothing but the object graph is held in memory.
+     */
+    private static <T> void GsonSerialize(OutputStream stream, T object) throws IOException {
+        // the caller owns the stream, so the writers are flushed but not closed
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8));
+        JsonWriter jsonWriter = new JsonWriter(writer);
         try {
-            stream.write(result.getBytes());
-        } catch (IOException e) {
-            e.printStackTrace();
+            GSON.toJson(object, object.getClass(), jsonWriter);
+        } catch (JsonIOException e) {
+            throw new IOException(e);
+        }
+        jsonWriter.flush();
+    }
+
+    private static <T> T GsonDeserialize(InputStream inputStream, Class objectClass) throws IOException {
+        JsonReader jsonReader = new JsonReader(new BufferedReader(new InputStreamReader(inputStream, UTF_8)));
+        try {
+            return (T) GSON.fromJson(jsonReader, objectClass);
+        } catch (JsonIOException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Created on first use, so that reading and writing JSON does not depend on FST.
+     */
+    private static class FSTConfigurationHolder {
+        private static final FSTConfiguration INSTANCE = createFSTConfiguration();
+
+        private static FSTConfiguration createFSTConfiguration() {
+            FSTConfiguration configuration = FSTConfiguration.createDefaultConfiguration();
+            configuration.setClassLoader(new BinaryClassLoader(Serialization.class.getClassLoader()));
+
+            for (String className : BINARY_CLASSES) {
+                try {
+                    configuration.registerClass(Class.forName(className));
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return configuration;
+        }
+    }
+
+    /**
+     * FST resolves every class name it reads through the class loader of its configuration; this one only
+     * resolves {@link #BINARY_CLASSES}.
+     */
+    private static class BinaryClassLoader extends ClassLoader {
+        BinaryClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!BINARY_CLASSES.contains(name)) {
+                throw new ClassNotFoundException(name + " is not allowed in a binary level");
+            }
+            return super.loadClass(name, resolve);
         }
     }
 
-    private static <T> T GsonDeserialize(InputStream inputStream, Class objectClass) {
-        Gson gson = new Gson();
-        return (T) gson.fromJson(new InputStreamReader(inputStream), objectClass);
+    private static Gson createGson() {
+        return LevelTypeAdapters.register(new GsonBuilder()).create();
     }
 }
@@ -0,0 +1,62 @@
+package org.vertexarmy.dsr.core;
+
+import com.badlogic.gdx.math.Vector2;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes vectors as [x, y]. The {"x":..,"y":..} objects of older levels are read as well.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class Vector2TypeAdapter extends TypeAdapter<Vector2> {
+    @Override
+    public void write(JsonWriter out, Vector2 vector) throws IOException {
+        if (vector == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+        JsonNumbers.writeFloat(out, vector.x);
+        JsonNumbers.writeFloat(out, vector.y);
+        out.endArray();
+    }
+
+    @Override
+    public Vector2 read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Vector2 vector = new Vector2();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            vector.x = JsonNumbers.readFloat(in);
+            vector.y = JsonNumbers.readFloat(in);
+            in.endArray();
+            return vector;
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("x".equals(name)) {
+                vector.x = JsonNumbers.readFloat(in);
+            } else if ("y".equals(name)) {
+                vector.y = JsonNumbers.readFloat(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return vector;
+    }
+}
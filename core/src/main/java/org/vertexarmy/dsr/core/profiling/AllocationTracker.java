@@ -0,0 +1,94 @@
+package org.vertexarmy.dsr.core.profiling;
+
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counts the bytes allocated by the render thread in each phase of a frame, using the allocation counters of
+ * the HotSpot ThreadMXBean. On JVMs without these counters every measurement is zero and
+ * {@link #isSupported()} returns false.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class AllocationTracker {
+    public enum Phase {
+        UPDATE,
+        RENDER
+    }
+
+    private static final AllocationTracker INSTANCE = new AllocationTracker();
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    private final long measurementOverhead;
+
+    private final long[] frameBytes = new long[Phase.values().length];
+
+    private final long[] lastFrameBytes = new long[Phase.values().length];
+
+    private long phaseStart;
+
+    @Getter
+    private long lastFrameTotalBytes;
+
+    public AllocationTracker() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threadBean = (com.sun.management.ThreadMXBean) bean;
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threadBean = null;
+        }
+
+        // reading the counter may allocate on some JVMs, which would otherwise be attributed to the frame
+        getAllocatedBytes();
+        long start = getAllocatedBytes();
+        measurementOverhead = getAllocatedBytes() - start;
+    }
+
+    public static AllocationTracker instance() {
+        return INSTANCE;
+    }
+
+    public boolean isSupported() {
+        return threadBean != null;
+    }
+
+    /**
+     * @return the total number of bytes allocated by the current thread so far
+     */
+    public long getAllocatedBytes() {
+        return threadBean == null ? 0 : threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public void beginPhase() {
+        phaseStart = getAllocatedBytes();
+    }
+
+    public void endPhase(Phase phase) {
+        frameBytes[phase.ordinal()] += bytesSince(phaseStart);
+    }
+
+    /**
+     * Publishes the counters of the frame that just ended and resets them.
+     */
+    public void endFrame() {
+        lastFrameTotalBytes = 0;
+        for (int i = 0; i < frameBytes.length; ++i) {
+            lastFrameBytes[i] = frameBytes[i];
+            lastFrameTotalBytes += frameBytes[i];
+            frameBytes[i] = 0;
+        }
+    }
+
+    public long getLastFrameBytes(Phase phase) {
+        return lastFrameBytes[phase.ordinal()];
+    }
+
+    private long bytesSince(long start) {
+        return Math.max(0, getAllocatedBytes() - start - measurementOverhead);
+    }
+}
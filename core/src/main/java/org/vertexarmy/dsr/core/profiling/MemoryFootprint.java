@@ -0,0 +1,101 @@
+package org.vertexarmy.dsr.core.profiling;
+
+import com.badlogic.gdx.math.Vector2;
+import org.vertexarmy.dsr.math.Polygon;
+
+/**
+ * Rough heap sizes of objects on a 64-bit JVM with compressed references: 12 byte object headers, 16 byte array
+ * headers, 4 byte references and everything aligned to 8 bytes. Good enough to budget memory, not to account for
+ * it to the byte.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public final class MemoryFootprint {
+    public static final int OBJECT_HEADER = 12;
+
+    public static final int ARRAY_HEADER = 16;
+
+    public static final int REFERENCE = 4;
+
+    private static final int HASH_MAP_ENTRY = 32;
+
+    private MemoryFootprint() {
+    }
+
+    /**
+     * @param fieldBytes the total size of the fields, e.g. 4 for an int and 4 for each reference
+     */
+    public static long object(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    public static long intArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    public static long floatArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    public static long referenceArray(int length) {
+        return align(ARRAY_HEADER + (long) REFERENCE * length);
+    }
+
+    public static long vector2() {
+        return object(8);
+    }
+
+    public static long polygon(Polygon polygon) {
+        // coordinates, bounding box, 4 ints; the capacity may exceed the vertex count, which is not visible here
+        return object(6 * 4) + floatArray(polygon.getVertexCount() * 2);
+    }
+
+    public static long string(String string) {
+        return object(REFERENCE + 4 + 4) + align(ARRAY_HEADER + 2L * string.length());
+    }
+
+    /**
+     * @return the size of an array list holding size references, without the elements
+     */
+    public static long arrayList(int size) {
+        return object(REFERENCE + 4 + 4) + referenceArray(size);
+    }
+
+    /**
+     * @return the size of a hash map holding size entries, without the keys and values
+     */
+    public static long hashMap(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size * 4 / 3)) << 1;
+        return object(REFERENCE * 4 + 4 * 4) + referenceArray(capacity) + (long) size * HASH_MAP_ENTRY;
+    }
+
+    /**
+     * @return the size of a value of unknown type, e.g. a field value kept for undo
+     */
+    public static long of(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Vector2) {
+            return vector2();
+        }
+        if (value instanceof Polygon) {
+            return polygon((Polygon) value);
+        }
+        if (value instanceof String) {
+            return string((String) value);
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return object(8);
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return object(4);
+        }
+        return object(2 * REFERENCE);
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,187 @@
+package org.vertexarmy.dsr.core.profiling;
+
+import com.google.gson.stream.JsonWriter;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Scoped timer for the frame loop. Spans are opened with {@link #begin(String)} and closed with {@link #end()}
+ * and may be nested; they are recorded in a preallocated ring buffer, so profiling does not allocate once the
+ * buffer is warm and the oldest spans are overwritten when it is full.
+ * <p/>
+ * The profiler is meant to be used from the render thread only.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class Profiler {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int MAX_DEPTH = 64;
+
+    private static final Profiler INSTANCE = new Profiler(DEFAULT_CAPACITY);
+
+    private final int mask;
+
+    private final String[] names;
+
+    private final long[] starts;
+
+    private final long[] ends;
+
+    private final long[] frames;
+
+    private final int[] depths;
+
+    private final long[] openSpans = new long[MAX_DEPTH];
+
+    private final Map<Class<?>, String> classNames = new IdentityHashMap<>();
+
+    private long spanCount;
+
+    private int depth;
+
+    @Getter
+    private long frame;
+
+    @Getter
+    @Setter
+    private boolean enabled = true;
+
+    /**
+     * @param capacity the number of spans kept, rounded up to a power of two
+     */
+    public Profiler(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = size - 1;
+        names = new String[size];
+        starts = new long[size];
+        ends = new long[size];
+        frames = new long[size];
+        depths = new int[size];
+    }
+
+    public static Profiler instance() {
+        return INSTANCE;
+    }
+
+    public void beginFrame() {
+        frame += 1;
+        depth = 0;
+    }
+
+    public void begin(String name) {
+        if (!enabled) {
+            return;
+        }
+
+        long span = spanCount;
+        int slot = (int) (span & mask);
+        spanCount += 1;
+
+        names[slot] = name;
+        frames[slot] = frame;
+        depths[slot] = depth;
+        ends[slot] = -1;
+        starts[slot] = System.nanoTime();
+
+        if (depth < MAX_DEPTH) {
+            openSpans[depth] = span;
+        }
+        depth += 1;
+    }
+
+    /**
+     * Opens a span named after the class of the object, e.g. the component being updated.
+     */
+    public void begin(Object owner) {
+        if (!enabled) {
+            return;
+        }
+
+        String name = classNames.get(owner.getClass());
+        if (name == null) {
+            name = owner.getClass().getName();
+            name = name.substring(name.lastIndexOf('.') + 1);
+            classNames.put(owner.getClass(), name);
+        }
+        begin(name);
+    }
+
+    public void end() {
+        if (!enabled || depth == 0) {
+            return;
+        }
+
+        depth -= 1;
+
+        // spans that stayed open longer than the buffer could hold were overwritten
+        if (depth < MAX_DEPTH && openSpans[depth] >= firstSpan()) {
+            ends[(int) (openSpans[depth] & mask)] = System.nanoTime();
+        }
+    }
+
+    public void clear() {
+        spanCount = 0;
+        depth = 0;
+    }
+
+    /**
+     * @return the number of completed spans still in the buffer
+     */
+    public int getSpanCount() {
+        int count = 0;
+        for (long i = firstSpan(); i < spanCount; ++i) {
+            if (ends[(int) (i & mask)] >= 0) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the completed spans of the last frameCount frames in the Chrome trace event format, which can be
+     * opened in chrome://tracing.
+     */
+    public void exportChromeTrace(Writer output, int frameCount) throws IOException {
+        long firstFrame = frame - frameCount + 1;
+
+        JsonWriter writer = new JsonWriter(output);
+        writer.beginObject();
+        writer.name("displayTimeUnit").value("ms");
+        writer.name("traceEvents").beginArray();
+
+        for (long i = firstSpan(); i < spanCount; ++i) {
+            int slot = (int) (i & mask);
+            if (ends[slot] < 0 || frames[slot] < firstFrame) {
+                continue;
+            }
+
+            writer.beginObject();
+            writer.name("name").value(names[slot]);
+            writer.name("ph").value("X");
+            writer.name("ts").value(starts[slot] / 1000.0);
+            writer.name("dur").value((ends[slot] - starts[slot]) / 1000.0);
+            writer.name("pid").value(1);
+            writer.name("tid").value(1);
+            writer.name("args").beginObject()
+                    .name("frame").value(frames[slot])
+                    .name("depth").value(depths[slot])
+                    .endObject();
+            writer.endObject();
+        }
+
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    private long firstSpan() {
+        return Math.max(0, spanCount - (mask + 1));
+    }
+}
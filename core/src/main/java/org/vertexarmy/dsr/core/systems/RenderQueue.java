@@ -0,0 +1,284 @@
+package org.vertexarmy.dsr.core.systems;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PolygonSprite;
+import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Collects draw commands and flushes them sorted by layer, zOrder and batch type, so that each batch is opened as
+ * few times as possible. Commands with equal keys are drawn in submission order, which overlapping terrain and
+ * sprites sharing a zOrder rely on; textures are therefore not sorted, and only successive commands sharing a
+ * texture are drawn without a texture switch.
+ * <p/>
+ * Static meshes are drawn with the matrices of the polygon sprite batch and a shader with the same attributes, so
+ * they can be mixed with polygon sprites; within a layer and zOrder meshes are drawn before polygon sprites.
+ * <p/>
+ * The sort key is packed into a positive long: layer (7 bits), zOrder (16 bits), batch type (2 bits) and the
+ * submission index (22 bits).
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class RenderQueue {
+    public enum BatchType {
+        SPRITE,
+        MESH,
+        POLYGON_SPRITE
+    }
+
+    private static final int INDEX_BITS = 22;
+
+    private static final int BATCH_TYPE_BITS = 2;
+
+    private static final int Z_ORDER_BITS = 16;
+
+    private static final int MAX_COMMANDS = 1 << INDEX_BITS;
+
+    private final SpriteBatch spriteBatch;
+
+    private final PolygonSpriteBatch polygonSpriteBatch;
+
+    private final ShaderProgram meshShader;
+
+    private final Matrix4 meshProjection = new Matrix4();
+
+    private RenderCommand[] commands = new RenderCommand[256];
+
+    private long[] keys = new long[256];
+
+    private int commandCount;
+
+    private int frameCommandCount;
+
+    private int frameBatchSwitchCount;
+
+    private int frameTextureSwitchCount;
+
+    @Getter
+    private int lastFrameCommandCount;
+
+    @Getter
+    private int lastFrameBatchSwitchCount;
+
+    @Getter
+    private int lastFrameTextureSwitchCount;
+
+    public RenderQueue(SpriteBatch spriteBatch, PolygonSpriteBatch polygonSpriteBatch, ShaderProgram meshShader) {
+        this.spriteBatch = spriteBatch;
+        this.polygonSpriteBatch = polygonSpriteBatch;
+        this.meshShader = meshShader;
+    }
+
+    public void submit(int layer, int zOrder, Sprite sprite) {
+        RenderCommand command = nextCommand(layer, zOrder, BatchType.SPRITE, sprite.getTexture());
+        command.sprite = sprite;
+    }
+
+    public void submit(int layer, int zOrder, PolygonSprite polygonSprite) {
+        RenderCommand command = nextCommand(layer, zOrder, BatchType.POLYGON_SPRITE, polygonSprite.getRegion().getRegion().getTexture());
+        command.polygonSprite = polygonSprite;
+    }
+
+    /**
+     * Queues a static mesh laid out as position (2), packed color and texture coordinates, drawn as triangles.
+     */
+    public void submit(int layer, int zOrder, Mesh mesh, Texture texture) {
+        RenderCommand command = nextCommand(layer, zOrder, BatchType.MESH, texture);
+        command.mesh = mesh;
+    }
+
+    /**
+     * Publishes the statistics of the previous frame and resets the counters.
+     */
+    public void beginFrame() {
+        lastFrameCommandCount = frameCommandCount;
+        lastFrameBatchSwitchCount = frameBatchSwitchCount;
+        lastFrameTextureSwitchCount = frameTextureSwitchCount;
+
+        frameCommandCount = 0;
+        frameBatchSwitchCount = 0;
+        frameTextureSwitchCount = 0;
+    }
+
+    public void flush() {
+        if (commandCount == 0) {
+            return;
+        }
+
+        sort();
+
+        BatchType currentBatchType = null;
+        Texture currentTexture = null;
+
+        for (int i = 0; i < commandCount; ++i) {
+            RenderCommand command = sortedCommand(i);
+
+            if (command.batchType != currentBatchType) {
+                end(currentBatchType);
+                begin(command.batchType);
+                currentBatchType = command.batchType;
+                currentTexture = null;
+                frameBatchSwitchCount += 1;
+            }
+
+            if (command.texture != currentTexture) {
+                currentTexture = command.texture;
+                frameTextureSwitchCount += 1;
+
+                if (command.batchType == BatchType.MESH) {
+                    currentTexture.bind(0);
+                }
+            }
+
+            switch (command.batchType) {
+                case SPRITE:
+                    command.sprite.draw(spriteBatch);
+                    break;
+                case MESH:
+                    command.mesh.render(meshShader, GL20.GL_TRIANGLES);
+                    break;
+                case POLYGON_SPRITE:
+                    command.polygonSprite.draw(polygonSpriteBatch);
+                    break;
+            }
+
+            command.clear();
+        }
+
+        end(currentBatchType);
+
+        frameCommandCount += commandCount;
+        commandCount = 0;
+    }
+
+    private void begin(BatchType batchType) {
+        switch (batchType) {
+            case SPRITE:
+                spriteBatch.begin();
+                break;
+            case MESH:
+                meshProjection.set(polygonSpriteBatch.getProjectionMatrix()).mul(polygonSpriteBatch.getTransformMatrix());
+
+                Gdx.gl.glDepthMask(false);
+                Gdx.gl.glEnable(GL20.GL_BLEND);
+                Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+                meshShader.begin();
+                meshShader.setUniformMatrix("u_projTrans", meshProjection);
+                meshShader.setUniformi("u_texture", 0);
+                break;
+            case POLYGON_SPRITE:
+                polygonSpriteBatch.begin();
+                break;
+        }
+    }
+
+    private void end(BatchType batchType) {
+        if (batchType == null) {
+            return;
+        }
+
+        switch (batchType) {
+            case SPRITE:
+                spriteBatch.end();
+                break;
+            case MESH:
+                meshShader.end();
+                Gdx.gl.glDepthMask(true);
+                Gdx.gl.glDisable(GL20.GL_BLEND);
+                break;
+            case POLYGON_SPRITE:
+                polygonSpriteBatch.end();
+                break;
+        }
+    }
+
+    /**
+     * Sorts the queued commands into draw order.
+     */
+    void sort() {
+        Arrays.sort(keys, 0, commandCount);
+    }
+
+    /**
+     * @return the sprite, polygon sprite or mesh of the command at position after {@link #sort()}
+     */
+    Object getSortedDrawable(int position) {
+        RenderCommand command = sortedCommand(position);
+        switch (command.batchType) {
+            case SPRITE:
+                return command.sprite;
+            case MESH:
+                return command.mesh;
+            default:
+                return command.polygonSprite;
+        }
+    }
+
+    private RenderCommand sortedCommand(int position) {
+        return commands[(int) (keys[position] & (MAX_COMMANDS - 1))];
+    }
+
+    static long sortKey(int layer, int zOrder, BatchType batchType, int index) {
+        long z = Math.max(0, Math.min((1 << Z_ORDER_BITS) - 1, zOrder + (1 << (Z_ORDER_BITS - 1))));
+
+        long key = layer & 0x7f;
+        key = (key << Z_ORDER_BITS) | z;
+        key = (key << BATCH_TYPE_BITS) | batchType.ordinal();
+        key = (key << INDEX_BITS) | index;
+        return key;
+    }
+
+    private RenderCommand nextCommand(int layer, int zOrder, BatchType batchType, Texture texture) {
+        if (commandCount == MAX_COMMANDS) {
+            flush();
+        }
+
+        if (commandCount == commands.length) {
+            commands = Arrays.copyOf(commands, commands.length * 2);
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+
+        RenderCommand command = commands[commandCount];
+        if (command == null) {
+            command = new RenderCommand();
+            commands[commandCount] = command;
+        }
+
+        command.batchType = batchType;
+        command.texture = texture;
+        keys[commandCount] = sortKey(layer, zOrder, batchType, commandCount);
+
+        commandCount += 1;
+        return command;
+    }
+
+    private static class RenderCommand {
+        private BatchType batchType;
+
+        private Texture texture;
+
+        private Sprite sprite;
+
+        private PolygonSprite polygonSprite;
+
+        private Mesh mesh;
+
+        private void clear() {
+            texture = null;
+            sprite = null;
+            polygonSprite = null;
+            mesh = null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.vertexarmy.dsr.core.systems;
+
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import lombok.Getter;
+import org.vertexarmy.dsr.core.Log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Per-frame counters of the work submitted to the GPU. Draw calls, texture binds, shader switches and vertices
+ * are counted by wrapping Gdx.gl in a GLProfiler, which costs a check per GL call and is therefore off until
+ * {@link #enable()}; until then they read 0. ShapeRenderer flushes are counted by the render system.
+ * <p/>
+ * The counters of the last completed frame can be read at any time, and the next N frames can be recorded to a
+ * CSV file for comparing levels or renderer changes.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class RenderStatistics {
+    public static final String CSV_HEADER = "frame,drawCalls,textureSwitches,shaderSwitches,vertices,shapeRendererFlushes";
+
+    private final Log log = Log.create();
+
+    @Getter
+    private long frame;
+
+    @Getter
+    private int drawCalls;
+
+    @Getter
+    private int textureSwitches;
+
+    @Getter
+    private int shaderSwitches;
+
+    @Getter
+    private int vertices;
+
+    @Getter
+    private int shapeRendererFlushes;
+
+    private File recordingFile;
+
+    private StringBuilder recording;
+
+    private int framesLeftToRecord;
+
+    @Getter
+    private boolean enabled;
+
+    /**
+     * Starts counting the GL calls. Requires a GL context.
+     */
+    public void enable() {
+        if (!enabled) {
+            GLProfiler.enable();
+            enabled = true;
+        }
+    }
+
+    public void disable() {
+        if (enabled) {
+            GLProfiler.disable();
+            enabled = false;
+        }
+    }
+
+    /**
+     * Collects the counters of the frame that just ended from the GL profiler and resets them.
+     */
+    public void endFrame(int shapeRendererFlushes) {
+        try {
+            File recordedFile;
+            if (enabled) {
+                recordedFile = endFrame(GLProfiler.drawCalls, GLProfiler.textureBindings, GLProfiler.shaderSwitches,
+                        (int) GLProfiler.vertexCount.total, shapeRendererFlushes);
+            } else {
+                recordedFile = endFrame(0, 0, 0, 0, shapeRendererFlushes);
+            }
+            if (recordedFile != null) {
+                log.info("Saved render statistics to " + recordedFile.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            log.exception(e);
+        }
+        if (enabled) {
+            GLProfiler.reset();
+        }
+    }
+
+    /**
+     * @return the file the recording was written to, if this frame completed it
+     */
+    public File endFrame(int drawCalls, int textureSwitches, int shaderSwitches, int vertices, int shapeRendererFlushes) throws IOException {
+        this.frame += 1;
+        this.drawCalls = drawCalls;
+        this.textureSwitches = textureSwitches;
+        this.shaderSwitches = shaderSwitches;
+        this.vertices = vertices;
+        this.shapeRendererFlushes = shapeRendererFlushes;
+
+        if (recording == null) {
+            return null;
+        }
+
+        recording.append(frame).append(',')
+                .append(drawCalls).append(',')
+                .append(textureSwitches).append(',')
+                .append(shaderSwitches).append(',')
+                .append(vertices).append(',')
+                .append(shapeRendererFlushes).append('\n');
+
+        framesLeftToRecord -= 1;
+        return framesLeftToRecord == 0 ? stopRecording() : null;
+    }
+
+    /**
+     * Records the counters of the next frames. They are written to the file as CSV once frameCount frames were
+     * recorded, or when the recording is stopped. A recording in progress is discarded.
+     */
+    public void startRecording(File file, int frameCount) {
+        recordingFile = file;
+        recording = new StringBuilder(CSV_HEADER).append('\n');
+        framesLeftToRecord = frameCount;
+    }
+
+    /**
+     * @return the file the recording was written to, or null if nothing was being recorded
+     */
+    public File stopRecording() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+
+        File file = recordingFile;
+        String contents = recording.toString();
+
+        recording = null;
+        recordingFile = null;
+        framesLeftToRecord = 0;
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")))) {
+            writer.write(contents);
+        }
+        return file;
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+}
@@ -7,14 +7,20 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
+import com.beust.jcommander.internal.Lists;
 import lombok.Getter;
 import org.vertexarmy.dsr.core.Log;
 import org.vertexarmy.dsr.core.assets.ShaderRepository;
 import org.vertexarmy.dsr.core.component.RenderComponent;
+import org.vertexarmy.dsr.core.profiling.Profiler;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * created by Alex
@@ -25,7 +31,7 @@ public class RenderSystem {
 
     private final Log log = Log.create();
 
-    private final Multimap<RenderComponent.RenderList, RenderComponent> components = LinkedListMultimap.create();
+    private final Map<RenderComponent.RenderList, List<RenderComponent>> components = new EnumMap<>(RenderComponent.RenderList.class);
 
     @Getter
     private Camera camera;
@@ -49,15 +55,24 @@ public class RenderSystem {
     @Getter
     private ShapeRenderer shapeRenderer;
 
+    @Getter
+    private final RenderStatistics renderStatistics = new RenderStatistics();
+
+    private int shapeRendererFlushes;
+
+    @Getter
+    private RenderQueue renderQueue;
+
     private boolean isFullscreen = false;
 
     private int windowedWidth = 800;
 
     private int windowedHeight = 600;
 
-    private final Vector2 tmp = new Vector2();
-
     private RenderSystem() {
+        for (RenderComponent.RenderList renderList : RenderComponent.RenderList.values()) {
+            components.put(renderList, Lists.<RenderComponent>newArrayList());
+        }
     }
 
     public static RenderSystem instance() {
@@ -69,12 +84,28 @@ public class RenderSystem {
 
         standardCamera = new OrthographicCamera(800, 600);
 
-        shapeRenderer = new ShapeRenderer();
+        // counts the batches of shapes sent to the GPU, including the ones flushed because the buffer was full
+        shapeRenderer = new ShapeRenderer() {
+            @Override
+            public void end() {
+                if (getRenderer().getNumVertices() > 0) {
+                    shapeRendererFlushes += 1;
+                }
+                super.end();
+            }
+        };
 
-        polygonSpriteBatch = new PolygonSpriteBatch(128, ShaderRepository.instance().getShader(ShaderRepository.ShaderInstance.DEFAULT_POS_COL_TEX_PROJ));
+        ShaderProgram polygonShader = ShaderRepository.instance().getShader(ShaderRepository.ShaderInstance.DEFAULT_POS_COL_TEX_PROJ);
+        if (polygonShader == null) {
+            // the shader repository may be initialized after the render system; the batches' own shader has the same layout
+            polygonShader = SpriteBatch.createDefaultShader();
+        }
+        polygonSpriteBatch = new PolygonSpriteBatch(128, polygonShader);
 
         spriteBatch = new SpriteBatch();
 
+        renderQueue = new RenderQueue(spriteBatch, polygonSpriteBatch, polygonShader);
+
         updateCameras();
 
         Gdx.gl.glClearColor(0.22f, 0.23f, 0.23f, 1);
@@ -83,11 +114,11 @@ public class RenderSystem {
     }
 
     public void addRenderComponent(RenderComponent component) {
-        components.put(component.getRenderList(), component);
+        components.get(component.getRenderList()).add(component);
     }
 
     public void removeRenderComponent(RenderComponent component) {
-        components.remove(component.getRenderList(), component);
+        components.get(component.getRenderList()).remove(component);
     }
 
     public void update() {
@@ -102,15 +133,30 @@ public class RenderSystem {
         shapeRenderer.setProjectionMatrix(camera.projection);
         shapeRenderer.setTransformMatrix(camera.view);
 
-        for (RenderComponent component : components.get(RenderComponent.RenderList.DEFAULT)) {
-            component.render();
-        }
+        renderQueue.beginFrame();
+
+        // commands queued by a component are drawn before the next component renders
+        render(components.get(RenderComponent.RenderList.DEFAULT));
+        render(components.get(RenderComponent.RenderList.UI));
 
-        for (RenderComponent component : components.get(RenderComponent.RenderList.UI)) {
-            component.render();
+        renderStatistics.endFrame(shapeRendererFlushes);
+        shapeRendererFlushes = 0;
+    }
+
+    private void render(List<RenderComponent> renderList) {
+        for (int i = 0; i < renderList.size(); ++i) {
+            render(renderList.get(i));
         }
     }
 
+    private void render(RenderComponent component) {
+        Profiler profiler = Profiler.instance();
+        profiler.begin(component);
+        component.render();
+        renderQueue.flush();
+        profiler.end();
+    }
+
     public void setViewportSize(int width, int height) {
         viewportWidth = width;
         viewportHeight = height;
@@ -134,22 +180,38 @@ public class RenderSystem {
         standardCamera.projection.setToOrtho(-viewportWidth / 2, viewportWidth / 2, -viewportHeight / 2, viewportHeight / 2, 0, 1000);
     }
 
+    /**
+     * The area of the world visible through the camera, including the zoom.
+     */
+    public Rectangle getViewBounds(Rectangle result) {
+        float w = viewportWidth / zoom;
+        float h = viewportHeight / zoom;
+        return result.set(camera.position.x - w / 2, camera.position.y - h / 2, w, h);
+    }
+
     public Vector2 screenToWorld(Vector2 screen) {
-        return screenToWorld(screen.x, screen.y);
+        return screenToWorld(screen.x, screen.y, new Vector2());
     }
 
     public Vector2 screenToWorld(float x, float y) {
-        Vector2 cameraPosition = new Vector2(camera.position.x, camera.position.y);
-        Vector2 v = tmp.set(x, y).sub(new Vector2(Gdx.graphics.getWidth() / 2, Gdx.graphics.getHeight() / 2));
-        v.y *= -1;
-        return cameraPosition.add(v.scl(1 / zoom));
+        return screenToWorld(x, y, new Vector2());
+    }
+
+    /**
+     * Converts the screen position to world coordinates without allocating.
+     *
+     * @return result, for chaining
+     */
+    public Vector2 screenToWorld(float x, float y, Vector2 result) {
+        return result.set(
+                camera.position.x + (x - Gdx.graphics.getWidth() / 2) / zoom,
+                camera.position.y - (y - Gdx.graphics.getHeight() / 2) / zoom);
     }
 
     public Vector2 screenToWorldWithoutZoom(Vector2 screen) {
-        Vector2 cameraPosition = new Vector2(camera.position.x, camera.position.y);
-        Vector2 v = new Vector2(screen).sub(new Vector2(Gdx.graphics.getWidth() / 2, Gdx.graphics.getHeight() / 2));
-        v.y *= -1;
-        return cameraPosition.add(v);
+        return new Vector2(
+                camera.position.x + screen.x - Gdx.graphics.getWidth() / 2,
+                camera.position.y - (screen.y - Gdx.graphics.getHeight() / 2));
     }
 
     public void toggleFullscreen() {
@@ -3,6 +3,7 @@ package org.vertexarmy.dsr.core.systems;
 import com.beust.jcommander.internal.Lists;
 import org.vertexarmy.dsr.core.Log;
 import org.vertexarmy.dsr.core.component.UpdateComponent;
+import org.vertexarmy.dsr.core.profiling.Profiler;
 
 import java.util.List;
 
@@ -37,8 +38,12 @@ public class UpdateSystem {
     }
 
     public void update() {
-        for (UpdateComponent component : components) {
+        Profiler profiler = Profiler.instance();
+        for (int i = 0; i < components.size(); ++i) {
+            UpdateComponent component = components.get(i);
+            profiler.begin(component);
             component.update();
+            profiler.end();
         }
     }
 }
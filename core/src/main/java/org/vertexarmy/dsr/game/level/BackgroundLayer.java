@@ -1,7 +1,10 @@
 package org.vertexarmy.dsr.game.level;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.vertexarmy.dsr.core.DeepCopyable;
+import org.vertexarmy.dsr.core.ModificationListener;
 
 import java.io.Serializable;
 
@@ -9,7 +12,9 @@ import java.io.Serializable;
  * created by Alex
  * on 4/4/2015.
  */
-public class BackgroundLayer implements Serializable {
+@EqualsAndHashCode
+public class BackgroundLayer implements Serializable, DeepCopyable {
+    private static final long serialVersionUID = 1L;
 
     public enum Type {
         BACKGROUND(0),
@@ -27,20 +32,50 @@ public class BackgroundLayer implements Serializable {
     }
 
     @Getter
-    @Setter
     private String textureName;
 
     @Getter
-    @Setter
     private float parallaxSpeedScale;
 
     @Getter
-    @Setter
     private Type type;
 
+    @Setter
+    private transient ModificationListener<BackgroundLayer> modificationListener;
+
     public BackgroundLayer(String textureName, float parallaxSpeedScale, Type type) {
         this.textureName = textureName;
         this.parallaxSpeedScale = parallaxSpeedScale;
         this.type = type;
     }
+
+    public void setTextureName(String textureName) {
+        this.textureName = textureName;
+        notifyModified();
+    }
+
+    public void setParallaxSpeedScale(float parallaxSpeedScale) {
+        if (this.parallaxSpeedScale != parallaxSpeedScale) {
+            this.parallaxSpeedScale = parallaxSpeedScale;
+            notifyModified();
+        }
+    }
+
+    public void setType(Type type) {
+        if (this.type != type) {
+            this.type = type;
+            notifyModified();
+        }
+    }
+
+    @Override
+    public Object copy() {
+        return new BackgroundLayer(textureName, parallaxSpeedScale, type);
+    }
+
+    public void notifyModified() {
+        if (modificationListener != null) {
+            modificationListener.objectModified(this);
+        }
+    }
 }
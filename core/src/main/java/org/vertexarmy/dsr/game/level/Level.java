@@ -4,16 +4,24 @@ import com.beust.jcommander.internal.Lists;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.vertexarmy.dsr.collection.PersistentVector;
+import org.vertexarmy.dsr.core.ModificationListener;
 import org.vertexarmy.dsr.math.Polygon;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * The children of a level are held in persistent vectors: adding or removing one replaces the vector in
+ * O(log n), and the vectors returned by the getters are immutable snapshots which later changes do not affect.
+ */
 @EqualsAndHashCode
 public class Level implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     @Getter
-    private final List<BackgroundLayer> backgroundLayers = Lists.newArrayList();
+    private PersistentVector<BackgroundLayer> backgroundLayers = PersistentVector.empty();
 
     @Getter
     @Setter
@@ -24,13 +32,54 @@ public class Level implements Serializable {
     private Polygon endArea;
 
     @Getter
-    private final List<TerrainPatch> terrainPatches = Lists.newArrayList();
+    private PersistentVector<TerrainPatch> terrainPatches = PersistentVector.empty();
 
     @Getter
-    private final List<LevelSprite> levelSprites = Lists.newArrayList();
+    private PersistentVector<LevelSprite> levelSprites = PersistentVector.empty();
+
+    private transient List<LevelListener> listeners;
+
+    private transient ModificationListener<TerrainPatch> terrainPatchListener;
+
+    private transient ModificationListener<LevelSprite> levelSpriteListener;
+
+    private transient ModificationListener<BackgroundLayer> backgroundLayerListener;
+
+    public Level() {
+    }
+
+    /**
+     * Creates a level around existing children without observing them, like a deserialized level, so that
+     * snapshots can share their children.
+     */
+    Level(List<BackgroundLayer> backgroundLayers, Polygon startArea, Polygon endArea, List<TerrainPatch> terrainPatches, List<LevelSprite> levelSprites) {
+        this.backgroundLayers = PersistentVector.from(backgroundLayers);
+        this.startArea = startArea;
+        this.endArea = endArea;
+        this.terrainPatches = PersistentVector.from(terrainPatches);
+        this.levelSprites = PersistentVector.from(levelSprites);
+    }
+
+    /**
+     * Takes an O(1) snapshot of which children the level holds, e.g. for {@link org.vertexarmy.dsr.core.LevelJournal}
+     * to tell what changed since. Shared with this level are:
+     * <ul>
+     * <li>the vectors of background layers, terrain patches and sprites, which are immutable, so later additions,
+     * removals and replacements do not affect the snapshot</li>
+     * <li>every background layer, terrain patch and sprite, and the start and end area polygons, so edits made to
+     * them in place do show in the snapshot</li>
+     * </ul>
+     * The snapshot is therefore only consistent on the thread which edits the level, and must not be modified or
+     * observed. See {@link LevelSnapshotter} for a snapshot with copies of the children, which can be saved on
+     * another thread.
+     */
+    public Level snapshot() {
+        return new Level(backgroundLayers, startArea, endArea, terrainPatches, levelSprites);
+    }
 
     public BackgroundLayer getBackgroundLayerByType(BackgroundLayer.Type type) {
-        for (BackgroundLayer layer : backgroundLayers) {
+        for (int i = 0; i < backgroundLayers.size(); ++i) {
+            BackgroundLayer layer = backgroundLayers.get(i);
             if (layer.getType() == type) {
                 return layer;
             }
@@ -38,4 +87,160 @@ public class Level implements Serializable {
 
         return null;
     }
+
+    public void setBackgroundLayers(Collection<BackgroundLayer> layers) {
+        for (BackgroundLayer layer : backgroundLayers) {
+            layer.setModificationListener(null);
+        }
+
+        backgroundLayers = PersistentVector.from(layers);
+
+        for (BackgroundLayer layer : backgroundLayers) {
+            layer.setModificationListener(backgroundLayerListener());
+        }
+
+        for (LevelListener listener : listeners()) {
+            listener.backgroundModified();
+        }
+    }
+
+    public void addTerrainPatch(TerrainPatch terrainPatch) {
+        terrainPatches = terrainPatches.plus(terrainPatch);
+        terrainPatch.setModificationListener(terrainPatchListener());
+
+        for (LevelListener listener : listeners()) {
+            listener.terrainPatchAdded(terrainPatch);
+        }
+    }
+
+    public boolean removeTerrainPatch(TerrainPatch terrainPatch) {
+        int index = indexOfInstance(terrainPatches, terrainPatch);
+        if (index < 0) {
+            return false;
+        }
+
+        terrainPatches = terrainPatches.minus(index);
+
+        terrainPatch.setModificationListener(null);
+
+        for (LevelListener listener : listeners()) {
+            listener.terrainPatchRemoved(terrainPatch);
+        }
+        return true;
+    }
+
+    public void addLevelSprite(LevelSprite levelSprite) {
+        levelSprites = levelSprites.plus(levelSprite);
+        levelSprite.setModificationListener(levelSpriteListener());
+
+        for (LevelListener listener : listeners()) {
+            listener.levelSpriteAdded(levelSprite);
+        }
+    }
+
+    public boolean removeLevelSprite(LevelSprite levelSprite) {
+        int index = indexOfInstance(levelSprites, levelSprite);
+        if (index < 0) {
+            return false;
+        }
+
+        levelSprites = levelSprites.minus(index);
+
+        levelSprite.setModificationListener(null);
+
+        for (LevelListener listener : listeners()) {
+            listener.levelSpriteRemoved(levelSprite);
+        }
+        return true;
+    }
+
+    public void addListener(LevelListener listener) {
+        // children of a deserialized level are not yet observed
+        if (listeners().isEmpty()) {
+            attachChildren();
+        }
+        listeners().add(listener);
+    }
+
+    public void removeListener(LevelListener listener) {
+        listeners().remove(listener);
+    }
+
+    /**
+     * Patches and sprites compare by value, but a level may contain equal copies of one; only the given instance
+     * is removed.
+     */
+    private static <T> int indexOfInstance(List<T> list, T item) {
+        int index = 0;
+        for (T element : list) {
+            if (element == item) {
+                return index;
+            }
+            index += 1;
+        }
+        return -1;
+    }
+
+    private void attachChildren() {
+        for (TerrainPatch terrainPatch : terrainPatches) {
+            terrainPatch.setModificationListener(terrainPatchListener());
+        }
+
+        for (LevelSprite levelSprite : levelSprites) {
+            levelSprite.setModificationListener(levelSpriteListener());
+        }
+
+        for (BackgroundLayer layer : backgroundLayers) {
+            layer.setModificationListener(backgroundLayerListener());
+        }
+    }
+
+    private List<LevelListener> listeners() {
+        if (listeners == null) {
+            listeners = Lists.newArrayList();
+        }
+        return listeners;
+    }
+
+    private ModificationListener<TerrainPatch> terrainPatchListener() {
+        if (terrainPatchListener == null) {
+            terrainPatchListener = new ModificationListener<TerrainPatch>() {
+                @Override
+                public void objectModified(TerrainPatch terrainPatch) {
+                    for (LevelListener listener : listeners()) {
+                        listener.terrainPatchModified(terrainPatch);
+                    }
+                }
+            };
+        }
+        return terrainPatchListener;
+    }
+
+    private ModificationListener<LevelSprite> levelSpriteListener() {
+        if (levelSpriteListener == null) {
+            levelSpriteListener = new ModificationListener<LevelSprite>() {
+                @Override
+                public void objectModified(LevelSprite levelSprite) {
+                    for (LevelListener listener : listeners()) {
+                        listener.levelSpriteModified(levelSprite);
+                    }
+                }
+            };
+        }
+        return levelSpriteListener;
+    }
+
+    private ModificationListener<BackgroundLayer> backgroundLayerListener() {
+        if (backgroundLayerListener == null) {
+            backgroundLayerListener = new ModificationListener<BackgroundLayer>() {
+                @Override
+                public void objectModified(BackgroundLayer layer) {
+                    for (LevelListener listener : listeners()) {
+                        listener.backgroundModified();
+                    }
+                }
+            };
+        }
+        return backgroundLayerListener;
+    }
 }
@@ -0,0 +1,24 @@
+package org.vertexarmy.dsr.game.level;
+
+/**
+ * Notified by a {@link Level} whenever its content changes, so that dependent views (e.g. renderers) can update
+ * only the objects that were touched.
+ *
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public interface LevelListener {
+    void terrainPatchAdded(TerrainPatch terrainPatch);
+
+    void terrainPatchRemoved(TerrainPatch terrainPatch);
+
+    void terrainPatchModified(TerrainPatch terrainPatch);
+
+    void levelSpriteAdded(LevelSprite levelSprite);
+
+    void levelSpriteRemoved(LevelSprite levelSprite);
+
+    void levelSpriteModified(LevelSprite levelSprite);
+
+    void backgroundModified();
+}
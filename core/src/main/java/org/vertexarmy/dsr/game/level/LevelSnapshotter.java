@@ -0,0 +1,179 @@
+package org.vertexarmy.dsr.game.level;
+
+import com.beust.jcommander.internal.Lists;
+import lombok.Getter;
+import org.vertexarmy.dsr.core.CopyUtils;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes copies of a level which can be saved on another thread while the level is being edited. The copies of
+ * patches and sprites are kept between snapshots and only objects added or modified since the previous snapshot
+ * are copied again, so a snapshot costs O(changed objects) plus a list of references.
+ * <p/>
+ * Snapshots share their children and must not be modified or observed.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelSnapshotter implements LevelListener {
+    private final Level level;
+
+    private final Map<TerrainPatch, TerrainPatchCopy> terrainPatchCopies = new IdentityHashMap<>();
+
+    private final Map<LevelSprite, LevelSprite> levelSpriteCopies = new IdentityHashMap<>();
+
+    private final PolygonCopy startAreaCopy = new PolygonCopy();
+
+    private final PolygonCopy endAreaCopy = new PolygonCopy();
+
+    private List<BackgroundLayer> backgroundLayerCopies;
+
+    private boolean modified = true;
+
+    /**
+     * The number of objects copied by the last snapshot.
+     */
+    @Getter
+    private int lastCopyCount;
+
+    public LevelSnapshotter(Level level) {
+        this.level = level;
+        level.addListener(this);
+    }
+
+    public void dispose() {
+        level.removeListener(this);
+    }
+
+    /**
+     * @return true if the level changed since the last snapshot
+     */
+    public boolean hasChanges() {
+        return modified || startAreaCopy.isStale(level.getStartArea()) || endAreaCopy.isStale(level.getEndArea());
+    }
+
+    public Level snapshot() {
+        lastCopyCount = 0;
+
+        List<TerrainPatch> terrainPatches = Lists.newArrayList(level.getTerrainPatches().size());
+        for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
+            TerrainPatchCopy copy = terrainPatchCopies.get(terrainPatch);
+            // shapes may be edited in place without a notification, which their version reveals
+            if (copy == null || copy.isStale(terrainPatch)) {
+                copy = new TerrainPatchCopy(terrainPatch);
+                terrainPatchCopies.put(terrainPatch, copy);
+                lastCopyCount += 1;
+            }
+            terrainPatches.add(copy.copy);
+        }
+
+        List<LevelSprite> levelSprites = Lists.newArrayList(level.getLevelSprites().size());
+        for (LevelSprite levelSprite : level.getLevelSprites()) {
+            LevelSprite copy = levelSpriteCopies.get(levelSprite);
+            if (copy == null) {
+                copy = (LevelSprite) levelSprite.copy();
+                levelSpriteCopies.put(levelSprite, copy);
+                lastCopyCount += 1;
+            }
+            levelSprites.add(copy);
+        }
+
+        if (backgroundLayerCopies == null) {
+            backgroundLayerCopies = Lists.newArrayList();
+            for (BackgroundLayer layer : level.getBackgroundLayers()) {
+                backgroundLayerCopies.add((BackgroundLayer) layer.copy());
+                lastCopyCount += 1;
+            }
+        }
+
+        modified = false;
+        return new Level(backgroundLayerCopies, startAreaCopy.get(level.getStartArea()), endAreaCopy.get(level.getEndArea()), terrainPatches, levelSprites);
+    }
+
+    @Override
+    public void terrainPatchAdded(TerrainPatch terrainPatch) {
+        modified = true;
+    }
+
+    @Override
+    public void terrainPatchRemoved(TerrainPatch terrainPatch) {
+        terrainPatchCopies.remove(terrainPatch);
+        modified = true;
+    }
+
+    @Override
+    public void terrainPatchModified(TerrainPatch terrainPatch) {
+        terrainPatchCopies.remove(terrainPatch);
+        modified = true;
+    }
+
+    @Override
+    public void levelSpriteAdded(LevelSprite levelSprite) {
+        modified = true;
+    }
+
+    @Override
+    public void levelSpriteRemoved(LevelSprite levelSprite) {
+        levelSpriteCopies.remove(levelSprite);
+        modified = true;
+    }
+
+    @Override
+    public void levelSpriteModified(LevelSprite levelSprite) {
+        levelSpriteCopies.remove(levelSprite);
+        modified = true;
+    }
+
+    @Override
+    public void backgroundModified() {
+        backgroundLayerCopies = null;
+        modified = true;
+    }
+
+    private static class TerrainPatchCopy {
+        private final TerrainPatch copy;
+
+        private final Polygon shape;
+
+        private final int shapeVersion;
+
+        private TerrainPatchCopy(TerrainPatch terrainPatch) {
+            copy = (TerrainPatch) terrainPatch.copy();
+            shape = terrainPatch.getShape();
+            shapeVersion = shape == null ? 0 : shape.getVersion();
+        }
+
+        private boolean isStale(TerrainPatch terrainPatch) {
+            return terrainPatch.getShape() != shape || (shape != null && shape.getVersion() != shapeVersion);
+        }
+    }
+
+    /**
+     * The start and end areas are replaced without a notification, so their copies are checked by identity and
+     * version.
+     */
+    private static class PolygonCopy {
+        private Polygon source;
+
+        private int sourceVersion;
+
+        private Polygon copy;
+
+        private boolean isStale(Polygon polygon) {
+            return polygon != source || (polygon != null && polygon.getVersion() != sourceVersion);
+        }
+
+        private Polygon get(Polygon polygon) {
+            if (isStale(polygon)) {
+                source = polygon;
+                sourceVersion = polygon == null ? 0 : polygon.getVersion();
+                copy = (Polygon) CopyUtils.deepCopy(polygon);
+            }
+            return copy;
+        }
+    }
+}
@@ -1,42 +1,106 @@
 package org.vertexarmy.dsr.game.level;
 
 import com.badlogic.gdx.math.Vector2;
-import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.vertexarmy.dsr.core.CopyUtils;
+import org.vertexarmy.dsr.core.DeepCopyable;
+import org.vertexarmy.dsr.core.ModificationListener;
 import org.vertexarmy.dsr.core.Precision;
 
+import java.io.Serializable;
+
 /**
  * ceated by Alex
  * on 4/4/2015.
  */
-@AllArgsConstructor
-public class LevelSprite {
+@EqualsAndHashCode
+public class LevelSprite implements Serializable, DeepCopyable {
+    private static final long serialVersionUID = 1L;
+
     @Getter
-    @Setter
     private String textureName;
 
     @Getter
-    @Setter
     @Precision(value = 1)
     private Vector2 position;
 
     @Getter
-    @Setter
     @Precision(value = 0.1f)
     private float rotation;
 
     @Getter
-    @Setter
     @Precision(value = 0.1f)
     private Vector2 scale;
 
     @Getter
-    @Setter
     @Precision(value = 1)
     private int zOrder;
 
     @Getter
-    @Setter
     private boolean isForeground;
+
+    @Setter
+    private transient ModificationListener<LevelSprite> modificationListener;
+
+    public LevelSprite(String textureName, Vector2 position, float rotation, Vector2 scale, int zOrder, boolean isForeground) {
+        this.textureName = textureName;
+        this.position = position;
+        this.rotation = rotation;
+        this.scale = scale;
+        this.zOrder = zOrder;
+        this.isForeground = isForeground;
+    }
+
+    public void setTextureName(String textureName) {
+        this.textureName = textureName;
+        notifyModified();
+    }
+
+    public void setPosition(Vector2 position) {
+        this.position = position;
+        notifyModified();
+    }
+
+    public void setRotation(float rotation) {
+        if (this.rotation != rotation) {
+            this.rotation = rotation;
+            notifyModified();
+        }
+    }
+
+    public void setScale(Vector2 scale) {
+        this.scale = scale;
+        notifyModified();
+    }
+
+    public void setZOrder(int zOrder) {
+        if (this.zOrder != zOrder) {
+            this.zOrder = zOrder;
+            notifyModified();
+        }
+    }
+
+    public void setForeground(boolean isForeground) {
+        if (this.isForeground != isForeground) {
+            this.isForeground = isForeground;
+            notifyModified();
+        }
+    }
+
+    @Override
+    public Object copy() {
+        return new LevelSprite(textureName, (Vector2) CopyUtils.deepCopy(position), rotation, (Vector2) CopyUtils.deepCopy(scale), zOrder, isForeground);
+    }
+
+    /**
+     * Must be called after mutating the position or scale vectors in place, so that observers can refresh their view
+     * of this sprite.
+     */
+    public void notifyModified() {
+        if (modificationListener != null) {
+            modificationListener.objectModified(this);
+        }
+    }
 }
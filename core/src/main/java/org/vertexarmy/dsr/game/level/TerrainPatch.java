@@ -1,25 +1,89 @@
 package org.vertexarmy.dsr.game.level;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.Setter;
+import org.vertexarmy.dsr.core.CopyUtils;
+import org.vertexarmy.dsr.core.DeepCopyable;
+import org.vertexarmy.dsr.core.ModificationListener;
 import org.vertexarmy.dsr.graphics.TextureOverlay;
 import org.vertexarmy.dsr.math.Polygon;
 
+import java.io.Serializable;
+
 /**
  * created by Alex
  * on 07-Apr-2015.
  */
-public class TerrainPatch {
+@EqualsAndHashCode
+public class TerrainPatch implements Serializable, DeepCopyable {
+    private static final long serialVersionUID = 1L;
+
     @Getter
-    @Setter
     private Polygon shape;
 
     @Getter
-    @Setter
     private TextureOverlay textureOverlay;
 
+    private transient ModificationListener<TerrainPatch> modificationListener;
+
+    private transient ModificationListener<TextureOverlay> textureOverlayListener;
+
     public TerrainPatch(Polygon shape) {
         this.shape = shape;
         textureOverlay = new TextureOverlay();
     }
+
+    public void setShape(Polygon shape) {
+        this.shape = shape;
+        notifyModified();
+    }
+
+    public void setTextureOverlay(TextureOverlay textureOverlay) {
+        if (this.textureOverlay != null) {
+            this.textureOverlay.setModificationListener(null);
+        }
+        this.textureOverlay = textureOverlay;
+        observeTextureOverlay();
+        notifyModified();
+    }
+
+    public void setModificationListener(ModificationListener<TerrainPatch> modificationListener) {
+        this.modificationListener = modificationListener;
+        observeTextureOverlay();
+    }
+
+    /**
+     * @return a copy with its own shape and texture overlay, which is not observed by anything
+     */
+    @Override
+    public Object copy() {
+        TerrainPatch copy = new TerrainPatch((Polygon) CopyUtils.deepCopy(shape));
+        copy.textureOverlay = (TextureOverlay) CopyUtils.deepCopy(textureOverlay);
+        return copy;
+    }
+
+    /**
+     * Must be called after mutating the shape in place, so that observers can refresh their view of this patch.
+     */
+    public void notifyModified() {
+        if (modificationListener != null) {
+            modificationListener.objectModified(this);
+        }
+    }
+
+    private void observeTextureOverlay() {
+        if (textureOverlay == null) {
+            return;
+        }
+
+        if (textureOverlayListener == null) {
+            textureOverlayListener = new ModificationListener<TextureOverlay>() {
+                @Override
+                public void objectModified(TextureOverlay textureOverlay) {
+                    notifyModified();
+                }
+            };
+        }
+        textureOverlay.setModificationListener(textureOverlayListener);
+    }
 }
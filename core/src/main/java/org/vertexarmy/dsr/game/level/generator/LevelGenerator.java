@@ -0,0 +1,162 @@
+package org.vertexarmy.dsr.game.level.generator;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.beust.jcommander.internal.Lists;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.vertexarmy.dsr.core.Serialization;
+import org.vertexarmy.dsr.core.assets.TextureRepository;
+import org.vertexarmy.dsr.game.level.BackgroundLayer;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates large, valid levels for scaling tests and benchmarks. Terrain patches are laid out side by side
+ * along the level as ground strips with a bumpy top, sprites are scattered over the playable height and the
+ * textures are picked from the ones known to the game.
+ * <p/>
+ * Generation only depends on the settings, so the same settings always give the same level.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelGenerator {
+    /**
+     * Used when the texture repository is empty, e.g. outside of the game; these are always loaded by the editor.
+     */
+    public static final List<String> DEFAULT_TEXTURE_NAMES = ImmutableList.of("grass", "dirt", "saw");
+
+    private static final float MAX_HEIGHT = 800;
+
+    private static final float MIN_PATCH_HEIGHT = 50;
+
+    private static final float MAX_PATCH_HEIGHT = 400;
+
+    private static final float AREA_SIZE = 100;
+
+    private final LevelGeneratorSettings settings;
+
+    private final List<String> textureNames;
+
+    private Random random;
+
+    public LevelGenerator(LevelGeneratorSettings settings) {
+        Preconditions.checkArgument(settings.getVerticesPerPatch() >= 4, "A terrain patch needs at least 4 vertices");
+        Preconditions.checkArgument(settings.getLength() > 0, "The level length must be positive");
+
+        this.settings = settings;
+        this.textureNames = textureNames(settings);
+    }
+
+    public Level generate() {
+        random = new Random(settings.getSeed());
+
+        Level level = new Level();
+        level.setStartArea(area(0));
+        level.setEndArea(area(settings.getLength() - AREA_SIZE));
+
+        float patchSpacing = settings.getLength() / Math.max(1, settings.getPatchCount());
+        for (int i = 0; i < settings.getPatchCount(); ++i) {
+            level.addTerrainPatch(terrainPatch(i * patchSpacing, patchSpacing));
+        }
+
+        for (int i = 0; i < settings.getSpriteCount(); ++i) {
+            level.addLevelSprite(levelSprite());
+        }
+
+        level.setBackgroundLayers(backgroundLayers());
+
+        return level;
+    }
+
+    /**
+     * Generates the level and writes it through {@link Serialization}.
+     */
+    public void generate(OutputStream stream) throws IOException, ClassNotFoundException {
+        Serialization.serialize(stream, generate());
+    }
+
+    private TerrainPatch terrainPatch(float start, float spacing) {
+        int vertexCount = settings.getVerticesPerPatch();
+        float width = spacing * range(0.6f, 0.95f);
+        float height = range(MIN_PATCH_HEIGHT, MAX_PATCH_HEIGHT);
+
+        // bottom edge, then the top from right to left, so the outline is counter-clockwise
+        float[] vertices = new float[vertexCount * 2];
+        vertices[0] = start;
+        vertices[1] = 0;
+        vertices[2] = start + width;
+        vertices[3] = 0;
+
+        int topCount = vertexCount - 2;
+        for (int i = 0; i < topCount; ++i) {
+            float t = topCount == 1 ? 0.5f : (float) i / (topCount - 1);
+            vertices[(i + 2) * 2] = start + width * (1 - t);
+            vertices[(i + 2) * 2 + 1] = height * range(0.5f, 1f);
+        }
+
+        TerrainPatch terrainPatch = new TerrainPatch(new Polygon(vertices));
+        terrainPatch.getTextureOverlay().setTextureName(textureName());
+        terrainPatch.getTextureOverlay().setTextureScale(new Vector2(range(0.5f, 2f), range(0.5f, 2f)));
+        return terrainPatch;
+    }
+
+    private LevelSprite levelSprite() {
+        float scale = range(0.5f, 2f);
+        return new LevelSprite(
+                textureName(),
+                new Vector2(range(0, settings.getLength()), range(0, MAX_HEIGHT)),
+                range(0, 360),
+                new Vector2(scale, scale),
+                settings.getZOrderSpread() == 0 ? 0 : random.nextInt(settings.getZOrderSpread() * 2 + 1) - settings.getZOrderSpread(),
+                random.nextInt(4) == 0);
+    }
+
+    private List<BackgroundLayer> backgroundLayers() {
+        BackgroundLayer.Type[] types = BackgroundLayer.Type.values();
+        int layerCount = MathUtils.clamp(settings.getBackgroundLayerCount(), 0, types.length);
+
+        List<BackgroundLayer> layers = Lists.newArrayList();
+        for (int i = 0; i < layerCount; ++i) {
+            // farther layers scroll slower
+            layers.add(new BackgroundLayer(textureName(), (float) (types[i].getZOrder() + 1) / types.length, types[i]));
+        }
+        return layers;
+    }
+
+    private Polygon area(float x) {
+        return new Polygon(new float[]{x, 0, x + AREA_SIZE, 0, x + AREA_SIZE, AREA_SIZE, x, AREA_SIZE});
+    }
+
+    private String textureName() {
+        return textureNames.get(random.nextInt(textureNames.size()));
+    }
+
+    private float range(float min, float max) {
+        return min + random.nextFloat() * (max - min);
+    }
+
+    private static List<String> textureNames(LevelGeneratorSettings settings) {
+        List<String> names = settings.getTextureNames();
+        if (names == null || names.isEmpty()) {
+            names = TextureRepository.instance().textureNames();
+        }
+        if (names.isEmpty()) {
+            names = DEFAULT_TEXTURE_NAMES;
+        }
+
+        // the repository does not keep the textures in order; sorting keeps the output independent of it
+        names = Lists.newArrayList(names);
+        Collections.sort(names);
+        return names;
+    }
+}
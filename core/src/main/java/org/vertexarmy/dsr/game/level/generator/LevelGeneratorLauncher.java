@@ -0,0 +1,51 @@
+package org.vertexarmy.dsr.game.level.generator;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import org.vertexarmy.dsr.core.ChunkedLevelFile;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Command line entry point of the {@link LevelGenerator}, e.g.
+ * {@code -output stress.json -length 200000 -patches 2000 -seed 7}. With {@code -chunkWidth} the level is written as a
+ * {@link ChunkedLevelFile}.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelGeneratorLauncher {
+    @Parameter(names = "-output", description = "File the level is written to", required = true)
+    private String output;
+
+    @Parameter(names = "-chunkWidth", description = "Writes a chunked level file with chunks of this width instead of JSON")
+    private Float chunkWidth;
+
+    public static void main(String[] args) throws Exception {
+        LevelGeneratorLauncher launcher = new LevelGeneratorLauncher();
+        LevelGeneratorSettings settings = new LevelGeneratorSettings();
+
+        JCommander commander = new JCommander(new Object[]{launcher, settings});
+        commander.setProgramName("LevelGeneratorLauncher");
+        try {
+            commander.parse(args);
+        } catch (ParameterException e) {
+            System.err.println(e.getMessage());
+            commander.usage();
+            System.exit(1);
+        }
+
+        if (launcher.chunkWidth != null) {
+            ChunkedLevelFile.write(new LevelGenerator(settings).generate(), new File(launcher.output), launcher.chunkWidth);
+        } else {
+            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(launcher.output))) {
+                new LevelGenerator(settings).generate(stream);
+            }
+        }
+        System.out.println("Saved generated level to " + launcher.output);
+    }
+}
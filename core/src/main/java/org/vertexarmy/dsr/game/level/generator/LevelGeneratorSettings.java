@@ -0,0 +1,56 @@
+package org.vertexarmy.dsr.game.level.generator;
+
+import com.beust.jcommander.Parameter;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Parameters of a generated level. The defaults produce a level about ten times larger than the ones made by
+ * hand so far.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelGeneratorSettings {
+    @Getter
+    @Setter
+    @Parameter(names = "-seed", description = "Seed of the generator; the same settings and seed give the same level")
+    private long seed = 1;
+
+    @Getter
+    @Setter
+    @Parameter(names = "-length", description = "Length of the level in world units")
+    private float length = 100000;
+
+    @Getter
+    @Setter
+    @Parameter(names = "-patches", description = "Number of terrain patches")
+    private int patchCount = 500;
+
+    @Getter
+    @Setter
+    @Parameter(names = "-vertices", description = "Number of vertices of every terrain patch, at least 4")
+    private int verticesPerPatch = 24;
+
+    @Getter
+    @Setter
+    @Parameter(names = "-sprites", description = "Number of level sprites")
+    private int spriteCount = 1000;
+
+    @Getter
+    @Setter
+    @Parameter(names = "-zOrderSpread", description = "Sprite z orders are picked from [-spread, spread]")
+    private int zOrderSpread = 10;
+
+    @Getter
+    @Setter
+    @Parameter(names = "-backgroundLayers", description = "Number of background layers, at most one per layer type")
+    private int backgroundLayerCount = 3;
+
+    @Getter
+    @Setter
+    @Parameter(names = "-textures", description = "Texture names to use; by default the textures known to the texture repository")
+    private List<String> textureNames;
+}
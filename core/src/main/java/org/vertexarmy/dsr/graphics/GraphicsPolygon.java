@@ -4,7 +4,6 @@ import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
-import com.badlogic.gdx.math.Vector2;
 import org.vertexarmy.dsr.math.Polygon;
 
 /**
@@ -22,8 +21,8 @@ public class GraphicsPolygon {
     private int indexCount = 0;
 
     public GraphicsPolygon(Polygon polygon) {
-        for (Vector2 vertex : polygon.getVertices()) {
-            addVertexP(vertex.x, vertex.y);
+        for (int i = 0; i < polygon.getVertexCount(); ++i) {
+            addVertexP(polygon.getX(i), polygon.getY(i));
         }
     }
 
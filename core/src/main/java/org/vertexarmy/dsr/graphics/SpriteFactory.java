@@ -4,7 +4,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.PolygonRegion;
 import com.badlogic.gdx.graphics.g2d.PolygonSprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import org.vertexarmy.dsr.math.EarClippingTriangulation;
+import org.vertexarmy.dsr.math.TriangulationCache;
 import org.vertexarmy.dsr.math.Polygon;
 
 /**
@@ -26,7 +26,7 @@ public class SpriteFactory {
     }
 
     public PolygonSprite createSprite(Polygon polygon) {
-        short[] indices = EarClippingTriangulation.triangulate(polygon);
+        short[] indices = TriangulationCache.instance().triangulate(polygon);
 
         PolygonRegion polygonRegion = new PolygonRegion(
                 new TextureRegion(GraphicsUtils.getColorTexture(Color.WHITE), 1, 1),
@@ -41,7 +41,7 @@ public class SpriteFactory {
     }
 
     public PolygonSprite createSprite(Polygon polygon, int triangleIndex) {
-        short[] indices = EarClippingTriangulation.triangulate(polygon);
+        short[] indices = TriangulationCache.instance().triangulate(polygon);
 
         short[] indices3 = new short[3];
         indices3[0] = indices[triangleIndex * 3];
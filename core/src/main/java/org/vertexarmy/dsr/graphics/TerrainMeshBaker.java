@@ -0,0 +1,215 @@
+package org.vertexarmy.dsr.graphics;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.beust.jcommander.internal.Lists;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.math.Polygon;
+import org.vertexarmy.dsr.math.TriangulationCache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the vertex and index data of static terrain meshes on the CPU. Terrain patches are assigned to
+ * fixed-width world chunks by the left edge of their bounding box. Successive patches of the same chunk and
+ * overlay texture are baked into one mesh, which is drawn with a single texture bind; a new mesh is started
+ * whenever the chunk or the texture changes, so drawing the meshes in order draws the patches in the order they
+ * were given, which overlapping terrain depends on.
+ * <p/>
+ * The vertex layout matches PolygonSpriteBatch: x, y, packed color, u, v. Texture coordinates are computed the
+ * same way as for the terrain PolygonSprites, so baked and dynamic terrain look identical.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TerrainMeshBaker {
+    public static final int VERTEX_SIZE = 5;
+
+    public static final int MAX_VERTICES_PER_MESH = Short.MAX_VALUE;
+
+    private static final float WHITE = Color.WHITE.toFloatBits();
+
+    public interface TextureSizes {
+        int getWidth(String textureName);
+
+        int getHeight(String textureName);
+    }
+
+    @RequiredArgsConstructor
+    public static class MeshData {
+        @Getter
+        private final int chunk;
+
+        @Getter
+        private final String textureName;
+
+        @Getter
+        private final float[] vertices;
+
+        @Getter
+        private final short[] indices;
+
+        @Getter
+        private final Rectangle bounds;
+
+        @Getter
+        private final int patchCount;
+
+        /**
+         * The position of the first patch of the mesh in the baked sequence.
+         */
+        @Getter
+        private final int firstPatchIndex;
+
+        /**
+         * The position of the last patch of the mesh in the baked sequence.
+         */
+        @Getter
+        private final int lastPatchIndex;
+
+        public int getVertexCount() {
+            return vertices.length / VERTEX_SIZE;
+        }
+    }
+
+    @Getter
+    private final float chunkWidth;
+
+    private final TextureSizes textureSizes;
+
+    public TerrainMeshBaker(float chunkWidth, TextureSizes textureSizes) {
+        this.chunkWidth = chunkWidth;
+        this.textureSizes = textureSizes;
+    }
+
+    public int chunkOf(TerrainPatch terrainPatch) {
+        return (int) Math.floor(terrainPatch.getShape().getBoundingBox().x / chunkWidth);
+    }
+
+    /**
+     * Bakes the patches into meshes, in order: successive patches of one chunk and texture share a mesh. Runs
+     * larger than {@link #MAX_VERTICES_PER_MESH} are split into several meshes. Patches with less than three
+     * vertices are skipped.
+     */
+    public List<MeshData> bake(List<TerrainPatch> terrainPatches) {
+        List<MeshData> meshes = Lists.newArrayList();
+        MeshBuilder builder = null;
+
+        for (int i = 0; i < terrainPatches.size(); ++i) {
+            TerrainPatch terrainPatch = terrainPatches.get(i);
+            if (terrainPatch.getShape().getVertexCount() < 3) {
+                continue;
+            }
+
+            int chunk = chunkOf(terrainPatch);
+            String textureName = terrainPatch.getTextureOverlay().getTextureName();
+            if (builder != null && !builder.accepts(chunk, textureName, terrainPatch.getShape().getVertexCount())) {
+                meshes.add(builder.build());
+                builder = null;
+            }
+
+            if (builder == null) {
+                builder = new MeshBuilder(chunk, textureName);
+            }
+            builder.add(terrainPatch, i);
+        }
+
+        if (builder != null) {
+            meshes.add(builder.build());
+        }
+        return meshes;
+    }
+
+    private class MeshBuilder {
+        private final int chunk;
+
+        private final String textureName;
+
+        private final int textureWidth;
+
+        private final int textureHeight;
+
+        private float[] vertices = new float[64 * VERTEX_SIZE];
+
+        private short[] indices = new short[64 * 3];
+
+        private int vertexCount;
+
+        private int indexCount;
+
+        private int patchCount;
+
+        private int firstPatchIndex;
+
+        private int lastPatchIndex;
+
+        private Rectangle bounds;
+
+        MeshBuilder(int chunk, String textureName) {
+            this.chunk = chunk;
+            this.textureName = textureName;
+            this.textureWidth = textureName == null ? 1 : textureSizes.getWidth(textureName);
+            this.textureHeight = textureName == null ? 1 : textureSizes.getHeight(textureName);
+        }
+
+        boolean accepts(int chunk, String textureName, int patchVertexCount) {
+            return this.chunk == chunk
+                    && (this.textureName == null ? textureName == null : this.textureName.equals(textureName))
+                    && vertexCount + patchVertexCount <= MAX_VERTICES_PER_MESH;
+        }
+
+        void add(TerrainPatch terrainPatch, int patchIndex) {
+            Polygon shape = terrainPatch.getShape();
+            short[] triangles = TriangulationCache.instance().triangulate(shape);
+
+            if ((vertexCount + shape.getVertexCount()) * VERTEX_SIZE > vertices.length) {
+                vertices = Arrays.copyOf(vertices, Math.max(vertices.length * 2, (vertexCount + shape.getVertexCount()) * VERTEX_SIZE));
+            }
+            if (indexCount + triangles.length > indices.length) {
+                indices = Arrays.copyOf(indices, Math.max(indices.length * 2, indexCount + triangles.length));
+            }
+
+            TextureOverlay overlay = terrainPatch.getTextureOverlay();
+            float uOffset = textureName == null ? 0 : overlay.getTextureOffset().x;
+            float vOffset = textureName == null ? 0 : overlay.getTextureOffset().y;
+            float uScale = overlay.getTextureScale().x;
+            float vScale = overlay.getTextureScale().y;
+
+            float[] coordinates = shape.getPackedVertices();
+            for (int i = 0; i < shape.getVertexCount(); ++i) {
+                float x = coordinates[i * 2];
+                float y = coordinates[i * 2 + 1];
+
+                int offset = (vertexCount + i) * VERTEX_SIZE;
+                vertices[offset] = x;
+                vertices[offset + 1] = y;
+                vertices[offset + 2] = WHITE;
+                vertices[offset + 3] = (uOffset + x / textureWidth) * uScale;
+                vertices[offset + 4] = (vOffset + 1 - y / textureHeight) * vScale;
+            }
+
+            for (short index : triangles) {
+                indices[indexCount++] = (short) (vertexCount + index);
+            }
+
+            vertexCount += shape.getVertexCount();
+
+            if (patchCount == 0) {
+                firstPatchIndex = patchIndex;
+                bounds = new Rectangle(shape.getBoundingBox());
+            } else {
+                bounds.merge(shape.getBoundingBox());
+            }
+            lastPatchIndex = patchIndex;
+            patchCount += 1;
+        }
+
+        MeshData build() {
+            return new MeshData(chunk, textureName, Arrays.copyOf(vertices, vertexCount * VERTEX_SIZE),
+                    Arrays.copyOf(indices, indexCount), bounds, patchCount, firstPatchIndex, lastPatchIndex);
+        }
+    }
+}
@@ -1,31 +1,77 @@
 package org.vertexarmy.dsr.graphics;
 
 import com.badlogic.gdx.math.Vector2;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.vertexarmy.dsr.core.CopyUtils;
+import org.vertexarmy.dsr.core.DeepCopyable;
+import org.vertexarmy.dsr.core.ModificationListener;
 import org.vertexarmy.dsr.core.Precision;
 
+import java.io.Serializable;
+
 /**
  * created by Alex
  * on 07-Apr-2015.
  */
-public class TextureOverlay {
+@EqualsAndHashCode
+public class TextureOverlay implements Serializable, DeepCopyable {
+    private static final long serialVersionUID = 1L;
+
     @Getter
-    @Setter
     private String textureName;
 
     @Getter
-    @Setter
     @Precision(value = 0.01f)
     private Vector2 textureOffset = new Vector2(0, 0);
 
     @Getter
-    @Setter
     @Precision(value = 0.1f)
     private Vector2 textureScale = new Vector2(1, 1);
 
     @Getter
-    @Setter
     @Precision(value = 0.1f)
     private float textureRotation = 0;
+
+    @Setter
+    private transient ModificationListener<TextureOverlay> modificationListener;
+
+    public void setTextureName(String textureName) {
+        this.textureName = textureName;
+        notifyModified();
+    }
+
+    public void setTextureOffset(Vector2 textureOffset) {
+        this.textureOffset = textureOffset;
+        notifyModified();
+    }
+
+    public void setTextureScale(Vector2 textureScale) {
+        this.textureScale = textureScale;
+        notifyModified();
+    }
+
+    public void setTextureRotation(float textureRotation) {
+        if (this.textureRotation != textureRotation) {
+            this.textureRotation = textureRotation;
+            notifyModified();
+        }
+    }
+
+    @Override
+    public Object copy() {
+        TextureOverlay copy = new TextureOverlay();
+        copy.textureName = textureName;
+        copy.textureOffset = (Vector2) CopyUtils.deepCopy(textureOffset);
+        copy.textureScale = (Vector2) CopyUtils.deepCopy(textureScale);
+        copy.textureRotation = textureRotation;
+        return copy;
+    }
+
+    public void notifyModified() {
+        if (modificationListener != null) {
+            modificationListener.objectModified(this);
+        }
+    }
 }
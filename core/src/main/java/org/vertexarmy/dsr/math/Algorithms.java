@@ -145,20 +145,6 @@ public class Algorithms {
     }
 
     public static boolean polygonContainsVertex(Vector2 vertex, Polygon polygon) {
-        short[] indices = EarClippingTriangulation.triangulate(polygon);
-        Triangle triangle = new Triangle();
-
-        for (int i = 0; i < indices.length / 3; ++i) {
-            short i1 = indices[i * 3];
-            short i2 = indices[i * 3 + 1];
-            short i3 = indices[i * 3 + 2];
-
-            triangle.set(polygon.getVertex(i1), polygon.getVertex(i2), polygon.getVertex(i3));
-            if (Algorithms.triangleContainsVertex(vertex, triangle)) {
-                return true;
-            }
-        }
-
-        return false;
+        return polygon.containsVertex(vertex);
     }
 }
@@ -1,90 +1,294 @@
 package org.vertexarmy.dsr.math;
 
-import com.badlogic.gdx.math.Vector2;
-import lombok.RequiredArgsConstructor;
-import org.vertexarmy.dsr.collection.CircularDoublyLinkedList;
+import java.util.Arrays;
 
 /**
+ * Ear clipping triangulation of simple polygons.
+ * <p/>
+ * The polygon is kept as primitive coordinates and index links, so triangulating does not allocate per
+ * vertex. Only reflex vertices can lie inside an ear, so they are the only ones tested, and they are kept in
+ * a uniform grid to cull that test to the cells overlapped by the candidate ear.
+ * <p/>
  * created by Alex
  * on 3/8/2015.
  */
 public class EarClippingTriangulation {
 
-    @RequiredArgsConstructor
-    private static class PolygonVertex {
-        public final Vector2 position;
-        public final short index;
+    public static short[] triangulate(Polygon polygon) {
+        return triangulate(polygon.getPackedVertices(), polygon.getVertexCount());
     }
 
-    @SuppressWarnings("UnusedAssignment")
-    public static short[] triangulate(Polygon polygon) {
-        short[] indices = new short[(polygon.getVertexCount() - 2) * 3];
+    public static short[] triangulate(float[] vertices) {
+        return triangulate(vertices, vertices.length / 2);
+    }
+
+    /**
+     * Triangulates a polygon given as interleaved x, y coordinates, of which only the first
+     * {@code vertexCount} vertices are used. Both windings are accepted; the returned triangles are always
+     * counter-clockwise.
+     */
+    public static short[] triangulate(float[] vertices, int vertexCount) {
+        if (vertexCount < 3) {
+            return new short[0];
+        }
 
+        short[] indices = new short[(vertexCount - 2) * 3];
         int indexPosition = 0;
 
-        CircularDoublyLinkedList<PolygonVertex> vertexList = createVectorLinkedList(polygon);
-        CircularDoublyLinkedList.Iterator<PolygonVertex> earIterator = vertexList.getIterator();
+        int[] previous = new int[vertexCount];
+        int[] next = new int[vertexCount];
+        boolean[] reflex = new boolean[vertexCount];
+
+        float orientation = signedArea(vertices, vertexCount) > 0 ? 1 : -1;
+
+        int reflexCount = 0;
+        for (int i = 0; i < vertexCount; ++i) {
+            previous[i] = i == 0 ? vertexCount - 1 : i - 1;
+            next[i] = i == vertexCount - 1 ? 0 : i + 1;
+        }
+        for (int i = 0; i < vertexCount; ++i) {
+            reflex[i] = !isConvex(vertices, previous[i], i, next[i], orientation);
+            if (reflex[i]) {
+                reflexCount += 1;
+            }
+        }
+
+        ReflexVertexGrid grid = new ReflexVertexGrid(vertices, vertexCount, reflexCount);
+        for (int i = 0; i < vertexCount; ++i) {
+            if (reflex[i]) {
+                grid.add(i);
+            }
+        }
 
+        int remaining = vertexCount;
+        int current = 0;
         int iterationCount = 0;
-        while (vertexList.size() > 3 && iterationCount < vertexList.size()) {
-            if (isEar(earIterator)) {
-                indices[indexPosition++] = earIterator.next().index;
-                indices[indexPosition++] = earIterator.current().index;
-                indices[indexPosition++] = earIterator.previous().index;
-
-                earIterator.forward();
-                vertexList.remove(earIterator.previous());
-                iterationCount = 0;
-            } else {
-                earIterator.forward();
+
+        while (remaining > 3) {
+            int p = previous[current];
+            int n = next[current];
+
+            boolean ear = !reflex[current] && !grid.anyInsideTriangle(p, current, n);
+
+            // degenerate input without any ear left; clip anyway so the result is still complete
+            if (!ear && iterationCount < remaining) {
+                current = n;
+                iterationCount += 1;
+                continue;
+            }
+
+            indexPosition = addTriangle(indices, indexPosition, p, current, n, orientation);
+
+            if (reflex[current]) {
+                grid.remove(current);
             }
-            iterationCount += 1;
+            next[p] = n;
+            previous[n] = p;
+            remaining -= 1;
+
+            updateReflex(vertices, previous, next, reflex, grid, p, orientation);
+            updateReflex(vertices, previous, next, reflex, grid, n, orientation);
+
+            current = n;
+            iterationCount = 0;
         }
 
-        indices[indexPosition++] = earIterator.next().index;
-        indices[indexPosition++] = earIterator.current().index;
-        indices[indexPosition++] = earIterator.previous().index;
+        addTriangle(indices, indexPosition, previous[current], current, next[current], orientation);
 
         return indices;
     }
 
-    private static boolean isEar(CircularDoublyLinkedList.Iterator<PolygonVertex> vertex) {
-        PolygonVertex previous = vertex.previous();
-        PolygonVertex current = vertex.current();
-        PolygonVertex next = vertex.next();
+    private static int addTriangle(short[] indices, int indexPosition, int previous, int current, int next,
+                                   float orientation) {
+        if (orientation < 0) {
+            indices[indexPosition++] = (short) next;
+            indices[indexPosition++] = (short) current;
+            indices[indexPosition++] = (short) previous;
+        } else {
+            indices[indexPosition++] = (short) previous;
+            indices[indexPosition++] = (short) current;
+            indices[indexPosition++] = (short) next;
+        }
+        return indexPosition;
+    }
 
-        // is convex
-        Vector2 v1 = new Vector2(previous.position).sub(current.position);
-        Vector2 v2 = new Vector2(previous.position).sub(next.position);
+    private static void updateReflex(float[] vertices, int[] previous, int[] next, boolean[] reflex,
+                                     ReflexVertexGrid grid, int vertex, float orientation) {
+        boolean isReflex = !isConvex(vertices, previous[vertex], vertex, next[vertex], orientation);
 
-        if (v1.crs(v2) >= 0) {
-            return false;
+        if (isReflex != reflex[vertex]) {
+            reflex[vertex] = isReflex;
+            if (isReflex) {
+                grid.add(vertex);
+            } else {
+                grid.remove(vertex);
+            }
         }
+    }
 
-        Triangle triangle = new Triangle(previous.position, current.position, next.position);
+    private static boolean isConvex(float[] vertices, int previous, int current, int next, float orientation) {
+        float px = vertices[previous * 2];
+        float py = vertices[previous * 2 + 1];
 
-        CircularDoublyLinkedList.Iterator<PolygonVertex> it = vertex.duplicate();
-        it.next();
+        float cross = (vertices[current * 2] - px) * (vertices[next * 2 + 1] - py)
+                - (vertices[current * 2 + 1] - py) * (vertices[next * 2] - px);
 
-        while (!it.current().equals(vertex.previous())) {
-            if (Algorithms.triangleContainsVertex(it.current().position, triangle)) {
-                return false;
+        return cross * orientation > 0;
+    }
+
+    private static float signedArea(float[] vertices, int vertexCount) {
+        float area = 0;
+
+        for (int i = 0; i < vertexCount; ++i) {
+            int j = i == vertexCount - 1 ? 0 : i + 1;
+            area += vertices[i * 2] * vertices[j * 2 + 1] - vertices[j * 2] * vertices[i * 2 + 1];
+        }
+
+        return area / 2;
+    }
+
+    /**
+     * Uniform grid over the polygon bounds holding the current reflex vertices, one intrusive doubly linked
+     * list per cell.
+     */
+    private static class ReflexVertexGrid {
+        private final float[] vertices;
+
+        private final float minX;
+
+        private final float minY;
+
+        private final float inverseCellWidth;
+
+        private final float inverseCellHeight;
+
+        private final int columns;
+
+        private final int rows;
+
+        private final int[] cellHead;
+
+        private final int[] cellNext;
+
+        private final int[] cellPrevious;
+
+        private final int[] cellOf;
+
+        private ReflexVertexGrid(float[] vertices, int vertexCount, int reflexCount) {
+            this.vertices = vertices;
+
+            float minX = Float.MAX_VALUE;
+            float minY = Float.MAX_VALUE;
+            float maxX = -Float.MAX_VALUE;
+            float maxY = -Float.MAX_VALUE;
+
+            for (int i = 0; i < vertexCount; ++i) {
+                minX = Math.min(minX, vertices[i * 2]);
+                minY = Math.min(minY, vertices[i * 2 + 1]);
+                maxX = Math.max(maxX, vertices[i * 2]);
+                maxY = Math.max(maxY, vertices[i * 2 + 1]);
+            }
+
+            this.minX = minX;
+            this.minY = minY;
+
+            // about one reflex vertex per cell
+            int cellsPerAxis = Math.max(1, (int) Math.ceil(Math.sqrt(reflexCount)));
+            columns = cellsPerAxis;
+            rows = cellsPerAxis;
+
+            inverseCellWidth = maxX > minX ? columns / (maxX - minX) : 0;
+            inverseCellHeight = maxY > minY ? rows / (maxY - minY) : 0;
+
+            cellHead = new int[columns * rows];
+            Arrays.fill(cellHead, -1);
+
+            cellNext = new int[vertexCount];
+            cellPrevious = new int[vertexCount];
+            cellOf = new int[vertexCount];
+        }
+
+        private int column(float x) {
+            return Math.min(columns - 1, Math.max(0, (int) ((x - minX) * inverseCellWidth)));
+        }
+
+        private int row(float y) {
+            return Math.min(rows - 1, Math.max(0, (int) ((y - minY) * inverseCellHeight)));
+        }
+
+        private void add(int vertex) {
+            int cell = row(vertices[vertex * 2 + 1]) * columns + column(vertices[vertex * 2]);
+
+            cellOf[vertex] = cell;
+            cellPrevious[vertex] = -1;
+            cellNext[vertex] = cellHead[cell];
+            if (cellHead[cell] != -1) {
+                cellPrevious[cellHead[cell]] = vertex;
+            }
+            cellHead[cell] = vertex;
+        }
+
+        private void remove(int vertex) {
+            int cell = cellOf[vertex];
+
+            if (cellPrevious[vertex] != -1) {
+                cellNext[cellPrevious[vertex]] = cellNext[vertex];
             } else {
-                it.forward();
+                cellHead[cell] = cellNext[vertex];
+            }
+            if (cellNext[vertex] != -1) {
+                cellPrevious[cellNext[vertex]] = cellPrevious[vertex];
             }
         }
 
-        return true;
-    }
+        private boolean anyInsideTriangle(int a, int b, int c) {
+            float ax = vertices[a * 2];
+            float ay = vertices[a * 2 + 1];
+            float bx = vertices[b * 2];
+            float by = vertices[b * 2 + 1];
+            float cx = vertices[c * 2];
+            float cy = vertices[c * 2 + 1];
+
+            int firstColumn = column(Math.min(ax, Math.min(bx, cx)));
+            int lastColumn = column(Math.max(ax, Math.max(bx, cx)));
+            int firstRow = row(Math.min(ay, Math.min(by, cy)));
+            int lastRow = row(Math.max(ay, Math.max(by, cy)));
+
+            for (int row = firstRow; row <= lastRow; ++row) {
+                for (int column = firstColumn; column <= lastColumn; ++column) {
+                    for (int v = cellHead[row * columns + column]; v != -1; v = cellNext[v]) {
+                        if (v == a || v == b || v == c) {
+                            continue;
+                        }
+
+                        if (insideOrOnBoundary(vertices[v * 2], vertices[v * 2 + 1], ax, ay, bx, by, cx, cy)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * A reflex vertex touching the diagonal of a candidate ear also blocks it; vertices coinciding with a
+         * corner of the triangle do not.
+         */
+        private static boolean insideOrOnBoundary(float x, float y, float ax, float ay, float bx, float by,
+                                                  float cx, float cy) {
+            if ((x == ax && y == ay) || (x == bx && y == by) || (x == cx && y == cy)) {
+                return false;
+            }
+
+            int s1 = Algorithms.signum((bx - ax) * (y - ay) - (by - ay) * (x - ax));
+            int s2 = Algorithms.signum((cx - bx) * (y - by) - (cy - by) * (x - bx));
+            int s3 = Algorithms.signum((ax - cx) * (y - cy) - (ay - cy) * (x - cx));
 
-    private static CircularDoublyLinkedList<PolygonVertex> createVectorLinkedList(Polygon polygon) {
-        CircularDoublyLinkedList<PolygonVertex> vertexList = new CircularDoublyLinkedList<>();
+            boolean hasNegative = s1 < 0 || s2 < 0 || s3 < 0;
+            boolean hasPositive = s1 > 0 || s2 > 0 || s3 > 0;
 
-        short polygonIndex = 0;
-        for (Vector2 vertex : polygon.getVertices()) {
-            vertexList.add(new PolygonVertex(vertex.cpy(), polygonIndex));
-            polygonIndex += 1;
+            return !(hasNegative && hasPositive);
         }
-        return vertexList;
     }
 }
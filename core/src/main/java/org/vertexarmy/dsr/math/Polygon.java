@@ -1,160 +1,322 @@
 package org.vertexarmy.dsr.math;
 
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.beust.jcommander.internal.Lists;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
-import lombok.EqualsAndHashCode;
 import org.vertexarmy.dsr.core.DeepCopyable;
 
 /**
+ * The vertices are packed as interleaved x, y coordinates in a growable array. Vertices returned by
+ * {@link #getVertex(int)} and {@link #getVertices()} are copies; {@link #getPackedVertices()} gives direct read
+ * access to the backing array.
+ * <p/>
  * created by Alex
  * on 3/6/2015.
  */
-@EqualsAndHashCode
 public class Polygon implements Serializable, DeepCopyable {
+    private static final long serialVersionUID = 1L;
 
-    private final List<Vector2> vertexList = Lists.newArrayList();
+    private static final int MIN_CAPACITY = 4;
+
+    private float[] coordinates;
+
+    private int vertexCount;
+
+    private transient int version;
+
+    private transient Rectangle boundingBox;
+
+    private transient int boundingBoxVersion;
 
     public Polygon(float[] vertices) {
         setVertices(vertices);
     }
 
     public Polygon(Iterable<Float> vertexIterable) {
+        coordinates = new float[MIN_CAPACITY * 2];
+
         int i = 0;
         float[] vertex = new float[2];
 
         for (float element : vertexIterable) {
             vertex[i++] = element;
             if (i == 2) {
-                vertexList.add(new Vector2(vertex[0], vertex[1]));
+                addVertex(vertex[0], vertex[1]);
                 i = 0;
             }
         }
     }
 
     public Polygon(List<Vector2> vertexList) {
-        this.vertexList.addAll(vertexList);
+        setVertices(vertexList);
     }
 
     public void setVertices(float[] vertices) {
-        vertexList.clear();
-        for (int i = 0; i < vertices.length / 2; ++i) {
-            vertexList.add(new Vector2(vertices[i * 2], vertices[i * 2 + 1]));
-        }
+        vertexCount = vertices.length / 2;
+        coordinates = Arrays.copyOf(vertices, Math.max(MIN_CAPACITY, vertexCount) * 2);
+        version += 1;
     }
 
     public void setVertices(List<Vector2> vertices) {
-        vertexList.clear();
-        vertexList.addAll(vertices);
+        vertexCount = vertices.size();
+        coordinates = new float[Math.max(MIN_CAPACITY, vertexCount) * 2];
+        for (int i = 0; i < vertexCount; ++i) {
+            coordinates[i * 2] = vertices.get(i).x;
+            coordinates[i * 2 + 1] = vertices.get(i).y;
+        }
+        version += 1;
+    }
+
+    /**
+     * The version is incremented by every mutating method of this polygon, which allows derived data (e.g.
+     * triangulations) to be cached until the shape changes.
+     */
+    public int getVersion() {
+        return version;
     }
 
     public int getVertexCount() {
-        return vertexList.size();
+        return vertexCount;
     }
 
     public void addVertex(float x, float y) {
-        vertexList.add(new Vector2(x, y));
+        ensureCapacity(vertexCount + 1);
+        coordinates[vertexCount * 2] = x;
+        coordinates[vertexCount * 2 + 1] = y;
+        vertexCount += 1;
+        version += 1;
     }
 
     public void addVertex(int index, Vector2 position) {
-        if (index == vertexList.size()) {
-            vertexList.add(position);
-        } else {
-            vertexList.add(index, position);
+        if (index < 0 || index > vertexCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + vertexCount);
         }
+
+        ensureCapacity(vertexCount + 1);
+        System.arraycopy(coordinates, index * 2, coordinates, index * 2 + 2, (vertexCount - index) * 2);
+        coordinates[index * 2] = position.x;
+        coordinates[index * 2 + 1] = position.y;
+        vertexCount += 1;
+        version += 1;
     }
 
     public void setVertex(int index, Vector2 position) {
-        vertexList.set(index, position);
+        setVertex(index, position.x, position.y);
+    }
+
+    public void setVertex(int index, float x, float y) {
+        checkIndex(index);
+        coordinates[index * 2] = x;
+        coordinates[index * 2 + 1] = y;
+        version += 1;
     }
 
     public void removeVertex(int index) {
-        vertexList.remove(index);
+        checkIndex(index);
+        System.arraycopy(coordinates, index * 2 + 2, coordinates, index * 2, (vertexCount - index - 1) * 2);
+        vertexCount -= 1;
+        version += 1;
+    }
+
+    public float getX(int index) {
+        checkIndex(index);
+        return coordinates[index * 2];
+    }
+
+    public float getY(int index) {
+        checkIndex(index);
+        return coordinates[index * 2 + 1];
     }
 
     public Vector2 getVertex(int index) {
-        return vertexList.get(index);
+        checkIndex(index);
+        return new Vector2(coordinates[index * 2], coordinates[index * 2 + 1]);
     }
 
     public List<Vector2> getVertices() {
-        return vertexList;
+        List<Vector2> vertices = Lists.newArrayList(vertexCount);
+        for (int i = 0; i < vertexCount; ++i) {
+            vertices.add(new Vector2(coordinates[i * 2], coordinates[i * 2 + 1]));
+        }
+        return vertices;
+    }
+
+    /**
+     * Zero-copy view of the interleaved coordinates. Only the first {@code getVertexCount() * 2} elements are
+     * valid, and the array must not be modified or kept across mutations of the polygon.
+     */
+    public float[] getPackedVertices() {
+        return coordinates;
     }
 
     public float[] getVertexArray() {
-        float[] vertexArray = new float[getVertexCount() * 2];
-        int i = 0;
-        for (Vector2 vertex : vertexList) {
-            vertexArray[i * 2] = vertex.x;
-            vertexArray[i * 2 + 1] = vertex.y;
-            i += 1;
-        }
+        return toFloatArray();
+    }
 
-        return vertexArray;
+    /**
+     * Axis-aligned bounding box of the polygon, cached until the polygon changes. The returned rectangle is
+     * shared and must not be modified.
+     */
+    public Rectangle getBoundingBox() {
+        if (boundingBox == null || boundingBoxVersion != version) {
+            boundingBox = computeBoundingBox(boundingBox);
+            boundingBoxVersion = version;
+        }
+        return boundingBox;
     }
 
     public boolean containsVertex(Vector2 vertex) {
-        short[] indices = EarClippingTriangulation.triangulate(this);
-        Triangle triangle = new Triangle();
+        return containsVertex(vertex.x, vertex.y);
+    }
+
+    /**
+     * Even-odd crossing number test, after rejecting points outside the bounding box.
+     */
+    public boolean containsVertex(float x, float y) {
+        if (vertexCount < 3 || !getBoundingBox().contains(x, y)) {
+            return false;
+        }
 
-        for (int i = 0; i < indices.length / 3; ++i) {
-            short i1 = indices[i * 3];
-            short i2 = indices[i * 3 + 1];
-            short i3 = indices[i * 3 + 2];
+        boolean inside = false;
+        for (int i = 0, j = vertexCount - 1; i < vertexCount; j = i++) {
+            float xi = coordinates[i * 2];
+            float yi = coordinates[i * 2 + 1];
+            float xj = coordinates[j * 2];
+            float yj = coordinates[j * 2 + 1];
 
-            triangle.set(vertexList.get(i1), vertexList.get(i2), vertexList.get(i3));
-            if (Algorithms.triangleContainsVertex(vertex, triangle)) {
-                return true;
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                inside = !inside;
             }
         }
 
-        return false;
+        return inside;
     }
 
     public List<Edge> getEdgeList() {
         List<Edge> edges = Lists.newArrayList();
-        for (int i = 1; i < vertexList.size(); ++i) {
-            edges.add(new Edge(vertexList.get(i - 1), vertexList.get(i)));
+        for (int i = 1; i < vertexCount; ++i) {
+            edges.add(new Edge(getVertex(i - 1), getVertex(i)));
         }
-        edges.add(new Edge(vertexList.get(vertexList.size() - 1), vertexList.get(0)));
+        edges.add(new Edge(getVertex(vertexCount - 1), getVertex(0)));
         return edges;
     }
 
     public void scale(Vector2 scale) {
-        for (Vector2 vertex : vertexList) {
-            vertex.scl(scale);
+        for (int i = 0; i < vertexCount; ++i) {
+            coordinates[i * 2] *= scale.x;
+            coordinates[i * 2 + 1] *= scale.y;
         }
+        version += 1;
     }
 
     public void rotate(float degrees) {
-        for (Vector2 vertex : vertexList) {
-            vertex.rotate(degrees);
+        float cos = (float) Math.cos(degrees * MathUtils.degreesToRadians);
+        float sin = (float) Math.sin(degrees * MathUtils.degreesToRadians);
+
+        for (int i = 0; i < vertexCount; ++i) {
+            float x = coordinates[i * 2];
+            float y = coordinates[i * 2 + 1];
+            coordinates[i * 2] = x * cos - y * sin;
+            coordinates[i * 2 + 1] = x * sin + y * cos;
         }
+        version += 1;
     }
 
     public void translate(Vector2 translation) {
-        for (Vector2 vertex : vertexList) {
-            vertex.add(translation);
+        for (int i = 0; i < vertexCount; ++i) {
+            coordinates[i * 2] += translation.x;
+            coordinates[i * 2 + 1] += translation.y;
+        }
+        version += 1;
+    }
+
+    /**
+     * Releases the spare capacity of the backing array.
+     */
+    public void trimToSize() {
+        if (coordinates.length > vertexCount * 2) {
+            coordinates = Arrays.copyOf(coordinates, vertexCount * 2);
         }
     }
 
     @Override
     public Object copy() {
-        List<Vector2> newVertexList = Lists.newArrayList();
-        for (Vector2 vertex : vertexList) {
-            newVertexList.add(vertex.cpy());
-        }
-        return new Polygon(newVertexList);
+        return new Polygon(toFloatArray());
     }
 
     public float[] toFloatArray() {
-        float[] array = new float[vertexList.size() * 2];
-        int i = 0;
-        for (Vector2 vertex : vertexList) {
-            array[i * 2] = vertex.x;
-            array[i * 2 + 1] = vertex.y;
-            i += 1;
+        return Arrays.copyOf(coordinates, vertexCount * 2);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Polygon)) {
+            return false;
+        }
+
+        Polygon other = (Polygon) o;
+        if (vertexCount != other.vertexCount) {
+            return false;
+        }
+
+        for (int i = 0; i < vertexCount * 2; ++i) {
+            if (Float.compare(coordinates[i], other.coordinates[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < vertexCount * 2; ++i) {
+            result = 31 * result + Float.floatToIntBits(coordinates[i]);
+        }
+        return result;
+    }
+
+    private Rectangle computeBoundingBox(Rectangle result) {
+        if (result == null) {
+            result = new Rectangle();
+        }
+
+        if (vertexCount == 0) {
+            return result.set(0, 0, 0, 0);
+        }
+
+        float minX = coordinates[0];
+        float minY = coordinates[1];
+        float maxX = minX;
+        float maxY = minY;
+
+        for (int i = 1; i < vertexCount; ++i) {
+            minX = Math.min(minX, coordinates[i * 2]);
+            minY = Math.min(minY, coordinates[i * 2 + 1]);
+            maxX = Math.max(maxX, coordinates[i * 2]);
+            maxY = Math.max(maxY, coordinates[i * 2 + 1]);
+        }
+
+        return result.set(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (coordinates.length < capacity * 2) {
+            int newCapacity = Math.max(capacity, Math.max(MIN_CAPACITY, vertexCount + vertexCount / 2));
+            coordinates = Arrays.copyOf(coordinates, newCapacity * 2);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= vertexCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + vertexCount);
         }
-        return array;
     }
 }
@@ -0,0 +1,181 @@
+package org.vertexarmy.dsr.math;
+
+import lombok.Getter;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the triangulation of polygons, keyed by polygon identity and {@link Polygon#getVersion() version}.
+ * The cache is bounded in memory and evicts the least recently used triangulations first. Polygons are
+ * weakly referenced, so caching a triangulation never keeps its polygon alive.
+ * <p/>
+ * The returned index arrays are shared and must not be modified.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TriangulationCache {
+    public static final int DEFAULT_CAPACITY_BYTES = 4 * 1024 * 1024;
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private static final TriangulationCache INSTANCE = new TriangulationCache(DEFAULT_CAPACITY_BYTES);
+
+    private final Map<PolygonKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // reused for lookups, so that cache hits do not allocate
+    private final PolygonKey lookupKey = new PolygonKey();
+
+    @Getter
+    private final int capacityBytes;
+
+    @Getter
+    private int sizeBytes;
+
+    @Getter
+    private long hitCount;
+
+    @Getter
+    private long missCount;
+
+    @Getter
+    private long evictionCount;
+
+    public TriangulationCache(int capacityBytes) {
+        this.capacityBytes = capacityBytes;
+    }
+
+    public static TriangulationCache instance() {
+        return INSTANCE;
+    }
+
+    public synchronized short[] triangulate(Polygon polygon) {
+        CacheEntry entry = entries.get(lookupKey.lookup(polygon));
+        lookupKey.lookup(null);
+
+        if (entry != null && entry.version == polygon.getVersion()) {
+            hitCount += 1;
+            return entry.indices;
+        }
+
+        missCount += 1;
+        short[] indices = EarClippingTriangulation.triangulate(polygon);
+
+        if (entry != null) {
+            sizeBytes -= entry.sizeBytes();
+        }
+
+        CacheEntry newEntry = new CacheEntry(polygon.getVersion(), indices);
+        entries.put(new PolygonKey(polygon), newEntry);
+        sizeBytes += newEntry.sizeBytes();
+
+        evict();
+
+        return indices;
+    }
+
+    public synchronized void invalidate(Polygon polygon) {
+        CacheEntry entry = entries.remove(lookupKey.lookup(polygon));
+        lookupKey.lookup(null);
+        if (entry != null) {
+            sizeBytes -= entry.sizeBytes();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    public synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized float getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (float) hitCount / lookups;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<PolygonKey, CacheEntry>> iterator = entries.entrySet().iterator();
+
+        // the most recently used entry is always kept, even if it exceeds the capacity on its own
+        while (sizeBytes > capacityBytes && entries.size() > 1) {
+            CacheEntry eldest = iterator.next().getValue();
+            iterator.remove();
+            sizeBytes -= eldest.sizeBytes();
+            evictionCount += 1;
+        }
+    }
+
+    private static class CacheEntry {
+        private final int version;
+
+        private final short[] indices;
+
+        private CacheEntry(int version, short[] indices) {
+            this.version = version;
+            this.indices = indices;
+        }
+
+        private int sizeBytes() {
+            return indices.length * 2 + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+
+    private static class PolygonKey {
+        private final WeakReference<Polygon> polygon;
+
+        private Polygon lookupPolygon;
+
+        private int hashCode;
+
+        private PolygonKey(Polygon polygon) {
+            this.polygon = new WeakReference<>(polygon);
+            this.hashCode = System.identityHashCode(polygon);
+        }
+
+        private PolygonKey() {
+            this.polygon = null;
+        }
+
+        /**
+         * Points this lookup key at the polygon; the polygon is held strongly until the key is cleared with null.
+         */
+        private PolygonKey lookup(Polygon polygon) {
+            this.lookupPolygon = polygon;
+            this.hashCode = System.identityHashCode(polygon);
+            return this;
+        }
+
+        private Polygon get() {
+            return polygon == null ? lookupPolygon : polygon.get();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PolygonKey)) {
+                return false;
+            }
+            Polygon referent = get();
+            return referent != null && referent == ((PolygonKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
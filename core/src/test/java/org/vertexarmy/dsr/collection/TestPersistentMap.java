@@ -0,0 +1,71 @@
+package org.vertexarmy.dsr.collection;
+
+import com.beust.jcommander.internal.Maps;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestPersistentMap {
+
+    @Test
+    public void testMatchesHashMap() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = Maps.newHashMap();
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+
+        for (int i = 0; i < 20000; ++i) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+
+        Assert.assertEquals(map.size(), expected.size());
+        for (int key = -1000; key < 1000; ++key) {
+            Assert.assertEquals(map.get(key), expected.get(key));
+            Assert.assertEquals(map.containsKey(key), expected.containsKey(key));
+        }
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(map.hashCode(), expected.hashCode());
+    }
+
+    @Test
+    public void testCollidingKeys() {
+        // "Aa" and "BB" have the same hash code
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().plus("Aa", 1).plus("BB", 2).plus("C", 3);
+
+        Assert.assertEquals(map.size(), 3);
+        Assert.assertEquals(map.get("Aa"), Integer.valueOf(1));
+        Assert.assertEquals(map.get("BB"), Integer.valueOf(2));
+
+        map = map.minus("Aa");
+        Assert.assertEquals(map.size(), 2);
+        Assert.assertNull(map.get("Aa"));
+        Assert.assertEquals(map.get("BB"), Integer.valueOf(2));
+    }
+
+    @Test
+    public void testSnapshotsAreIndependent() {
+        PersistentMap<String, Integer> snapshot = PersistentMap.<String, Integer>empty().plus("a", 1).plus("b", 2);
+
+        PersistentMap<String, Integer> changed = snapshot.plus("a", 3).minus("b").plus("c", 4);
+
+        Assert.assertEquals(snapshot.size(), 2);
+        Assert.assertEquals(snapshot.get("a"), Integer.valueOf(1));
+        Assert.assertEquals(snapshot.get("b"), Integer.valueOf(2));
+        Assert.assertEquals(changed.size(), 2);
+        Assert.assertEquals(changed.get("a"), Integer.valueOf(3));
+        Assert.assertEquals(changed.get("c"), Integer.valueOf(4));
+        Assert.assertSame(changed.minus("missing"), changed);
+    }
+}
@@ -0,0 +1,87 @@
+package org.vertexarmy.dsr.collection;
+
+import com.beust.jcommander.internal.Lists;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertexarmy.dsr.core.Serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestPersistentVector {
+
+    @Test
+    public void testMatchesArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = Lists.newArrayList();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+
+        for (int i = 0; i < 5000; ++i) {
+            int operation = random.nextInt(4);
+            if (expected.isEmpty() || operation == 0) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                vector = vector.plus(index, i);
+            } else if (operation == 1) {
+                expected.add(i);
+                vector = vector.plus(i);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -i);
+                vector = vector.with(index, -i);
+            } else {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                vector = vector.minus(index);
+            }
+        }
+
+        Assert.assertEquals(vector.size(), expected.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(vector.get(i), expected.get(i));
+        }
+        Assert.assertEquals(vector, expected);
+        Assert.assertEquals(vector.hashCode(), expected.hashCode());
+    }
+
+    @Test
+    public void testSnapshotsAreIndependent() {
+        PersistentVector<String> snapshot = PersistentVector.of("a", "b", "c");
+
+        PersistentVector<String> changed = snapshot.minus(1).plus("d").with(0, "e");
+
+        Assert.assertEquals(snapshot, Arrays.asList("a", "b", "c"));
+        Assert.assertEquals(changed, Arrays.asList("e", "c", "d"));
+        Assert.assertSame(PersistentVector.from(snapshot), snapshot);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testIsImmutable() {
+        PersistentVector.of("a").add("b");
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testIndexIsChecked() {
+        PersistentVector.of("a").get(1);
+    }
+
+    @Test
+    public void testBinarySerialization() throws IOException, ClassNotFoundException {
+        PersistentVector<String> vector = PersistentVector.of("a", "b", "c");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        Serialization.serialize(stream, vector, Serialization.Format.BINARY);
+        Object deserialized = Serialization.deserialize(new ByteArrayInputStream(stream.toByteArray()), PersistentVector.class);
+
+        Assert.assertTrue(deserialized instanceof PersistentVector);
+        Assert.assertEquals(deserialized, vector);
+    }
+}
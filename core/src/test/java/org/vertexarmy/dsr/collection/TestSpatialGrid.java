@@ -0,0 +1,68 @@
+package org.vertexarmy.dsr.collection;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.beust.jcommander.internal.Lists;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestSpatialGrid {
+    private SpatialGrid<String> grid;
+
+    @BeforeMethod
+    public void setUp() {
+        grid = new SpatialGrid<>(10);
+        grid.put("ground", new Rectangle(-100, -10, 1000, 10));
+        grid.put("rock", new Rectangle(5, 5, 2, 2));
+        grid.put("tree", new Rectangle(200, 0, 20, 50));
+        grid.put("cloud", new Rectangle(500, 300, 40, 20));
+    }
+
+    @Test
+    public void testPointQuery() {
+        Assert.assertEquals(grid.queryPoint(6, 6, Lists.<String>newArrayList()), Arrays.asList("rock"));
+        Assert.assertEquals(grid.queryPoint(210, 0, Lists.<String>newArrayList()), Arrays.asList("ground", "tree"));
+        Assert.assertTrue(grid.queryPoint(50, 50, Lists.<String>newArrayList()).isEmpty());
+    }
+
+    @Test
+    public void testRectangleQuery() {
+        List<String> result = grid.queryRectangle(new Rectangle(0, -5, 300, 10), Lists.<String>newArrayList());
+
+        Assert.assertEquals(result, Arrays.asList("ground", "rock", "tree"));
+    }
+
+    @Test
+    public void testNearestQuery() {
+        Assert.assertEquals(grid.queryNearest(450, 290, Float.MAX_VALUE), "cloud");
+        Assert.assertEquals(grid.queryNearest(190, 40, Float.MAX_VALUE), "tree");
+        Assert.assertNull(grid.queryNearest(450, 290, 20));
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        grid.put("rock", new Rectangle(600, 600, 2, 2));
+        Assert.assertTrue(grid.queryPoint(6, 6, Lists.<String>newArrayList()).isEmpty());
+        Assert.assertEquals(grid.queryPoint(601, 601, Lists.<String>newArrayList()), Arrays.asList("rock"));
+
+        Assert.assertTrue(grid.remove("rock"));
+        Assert.assertFalse(grid.remove("rock"));
+        Assert.assertTrue(grid.queryPoint(601, 601, Lists.<String>newArrayList()).isEmpty());
+        Assert.assertEquals(grid.size(), 3);
+    }
+
+    @Test
+    public void testQueriesOnlyVisitNearbyCells() {
+        grid.queryPoint(6, 6, Lists.<String>newArrayList());
+
+        // the cell itself, the ground and the rock
+        Assert.assertEquals(grid.getLastQueryVisitCount(), 3);
+    }
+}
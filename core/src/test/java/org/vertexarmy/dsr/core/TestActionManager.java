@@ -0,0 +1,191 @@
+package org.vertexarmy.dsr.core;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestActionManager {
+
+    @Test
+    public void testHistoryStaysWithinBudget() {
+        ActionManager actionManager = new ActionManager();
+        actionManager.setHistoryBudget(1000);
+
+        for (int i = 0; i < 50; ++i) {
+            actionManager.doRunAction(new SizedAction(100));
+        }
+
+        Assert.assertEquals(actionManager.getUndoCount(), 10);
+        Assert.assertEquals(actionManager.getHistoryBytes(), 1000);
+
+        Assert.assertTrue(actionManager.undo());
+        Assert.assertEquals(actionManager.getRedoCount(), 1);
+        Assert.assertEquals(actionManager.getHistoryBytes(), 1000);
+
+        // a new action drops the redo history
+        actionManager.doRunAction(new SizedAction(300));
+        Assert.assertEquals(actionManager.getRedoCount(), 0);
+        Assert.assertEquals(actionManager.getUndoCount(), 8);
+        Assert.assertEquals(actionManager.getHistoryBytes(), 1000);
+    }
+
+    @Test
+    public void testLatestActionIsKeptOverBudget() {
+        ActionManager actionManager = new ActionManager();
+        actionManager.setHistoryBudget(1000);
+
+        actionManager.doRunAction(new SizedAction(100));
+        actionManager.doRunAction(new SizedAction(5000));
+
+        Assert.assertEquals(actionManager.getUndoCount(), 1);
+        Assert.assertEquals(actionManager.getHistoryBytes(), 5000);
+    }
+
+    @Test
+    public void testNoOpActionsAreDropped() {
+        ActionManager actionManager = new ActionManager();
+
+        actionManager.doRunAction(new ActionManager.CompositeAction(new CountingAction(0, false), new CountingAction(0, false)));
+        Assert.assertEquals(actionManager.getUndoCount(), 0);
+        Assert.assertEquals(actionManager.getHistoryBytes(), 0);
+
+        CountingAction noOp = new CountingAction(0, false);
+        CountingAction change = new CountingAction(0, true);
+        actionManager.doRunAction(new ActionManager.CompositeAction(noOp, change));
+
+        Assert.assertEquals(actionManager.getUndoCount(), 1);
+        Assert.assertEquals(noOp.value, 0);
+        Assert.assertEquals(change.value, 1);
+        Assert.assertEquals(actionManager.getHistoryBytes(), change.getFootprint());
+    }
+
+    @Test
+    public void testSuccessiveActionsAreMerged() {
+        ActionManager actionManager = new ActionManager();
+        Counter counter = new Counter();
+
+        actionManager.doRunAction(new AddAction(counter, 0, 1));
+        actionManager.doRunAction(new AddAction(counter, 1, 3));
+        actionManager.doRunAction(new AddAction(counter, 3, 6));
+
+        Assert.assertEquals(counter.value, 6);
+        Assert.assertEquals(actionManager.getUndoCount(), 1);
+        Assert.assertEquals(actionManager.getMergedActionCount(), 2);
+        Assert.assertEquals(actionManager.getHistoryBytes(), new AddAction(counter, 0, 0).getFootprint());
+
+        Assert.assertTrue(actionManager.undo());
+        Assert.assertEquals(counter.value, 0);
+
+        // an undone action is not merged with the next one
+        Assert.assertTrue(actionManager.redo());
+        actionManager.doRunAction(new AddAction(counter, 6, 7));
+        Assert.assertEquals(actionManager.getUndoCount(), 2);
+    }
+
+    @Test
+    public void testMergedActionsCancellingOutAreDropped() {
+        ActionManager actionManager = new ActionManager();
+        Counter counter = new Counter();
+
+        actionManager.doRunAction(new SizedAction(100));
+        actionManager.doRunAction(new AddAction(counter, 0, 5));
+        actionManager.doRunAction(new AddAction(counter, 5, 0));
+
+        Assert.assertEquals(counter.value, 0);
+        Assert.assertEquals(actionManager.getUndoCount(), 1);
+        Assert.assertEquals(actionManager.getHistoryBytes(), 100);
+    }
+
+    @Test
+    public void testActionsOutsideMergeWindowAreKept() throws InterruptedException {
+        ActionManager actionManager = new ActionManager();
+        actionManager.setMergeWindowMillis(0);
+        Counter counter = new Counter();
+
+        actionManager.doRunAction(new AddAction(counter, 0, 1));
+        Thread.sleep(5);
+        actionManager.doRunAction(new AddAction(counter, 1, 2));
+
+        Assert.assertEquals(actionManager.getUndoCount(), 2);
+    }
+
+    private static class Counter {
+        private int value;
+    }
+
+    private static class AddAction extends ActionManager.ActionAdapter implements ActionManager.MergeableAction {
+        private final Counter counter;
+
+        private final int from;
+
+        private final int to;
+
+        private AddAction(Counter counter, int from, int to) {
+            this.counter = counter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void doAction() {
+            counter.value = to;
+        }
+
+        @Override
+        public void undoAction() {
+            counter.value = from;
+        }
+
+        @Override
+        public boolean isValid() {
+            return from != to;
+        }
+
+        @Override
+        public ActionManager.Action mergeWith(ActionManager.Action next) {
+            return next instanceof AddAction ? new AddAction(counter, from, ((AddAction) next).to) : null;
+        }
+    }
+
+    private static class CountingAction extends ActionManager.ActionAdapter {
+        private final boolean valid;
+
+        private int value;
+
+        private CountingAction(int value, boolean valid) {
+            this.value = value;
+            this.valid = valid;
+        }
+
+        @Override
+        public void doAction() {
+            value += 1;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+    }
+
+    private static class SizedAction extends ActionManager.ActionAdapter {
+        private final long footprint;
+
+        private SizedAction(long footprint) {
+            this.footprint = footprint;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public long getFootprint() {
+            return footprint;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.vertexarmy.dsr.core;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.game.level.generator.LevelGenerator;
+import org.vertexarmy.dsr.game.level.generator.LevelGeneratorSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestChunkedLevelFile {
+
+    @Test
+    public void testWholeLevelIsRead() throws IOException {
+        Level level = createLevel();
+        File file = writeLevel(level);
+
+        try (ChunkedLevelFile mapped = ChunkedLevelFile.map(file); ChunkedLevelFile opened = ChunkedLevelFile.open(file)) {
+            Assert.assertTrue(mapped.getChunkCount() > 1);
+            assertSameContent(mapped.readLevel(), level);
+            assertSameContent(opened.readLevel(), level);
+        }
+        Assert.assertTrue(ChunkedLevelFile.isChunkedLevelFile(file));
+    }
+
+    @Test
+    public void testRegionHoldsEverythingInTheInterval() throws IOException {
+        Level level = createLevel();
+        File file = writeLevel(level);
+        float fromX = 4000;
+        float toX = 6000;
+
+        Level region;
+        try (ChunkedLevelFile chunkedLevelFile = ChunkedLevelFile.open(file)) {
+            region = chunkedLevelFile.readRegion(fromX, toX);
+        }
+
+        Assert.assertEquals(region.getBackgroundLayers(), level.getBackgroundLayers());
+        Assert.assertEquals(region.getStartArea(), level.getStartArea());
+        Assert.assertTrue(region.getTerrainPatches().size() < level.getTerrainPatches().size());
+
+        for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
+            Rectangle bounds = terrainPatch.getShape().getBoundingBox();
+            if (bounds.x <= toX && bounds.x + bounds.width >= fromX) {
+                Assert.assertTrue(region.getTerrainPatches().contains(terrainPatch));
+            }
+        }
+
+        for (LevelSprite levelSprite : level.getLevelSprites()) {
+            if (levelSprite.getPosition().x >= fromX && levelSprite.getPosition().x <= toX) {
+                Assert.assertTrue(region.getLevelSprites().contains(levelSprite));
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testCorruptChunkIsReportedAsIOException() throws IOException {
+        File file = writeLevel(createLevel());
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            // the patch count of the first chunk, so that reading its payload runs past its end
+            randomAccessFile.seek(ChunkedLevelFile.HEADER.length + 4 + 4 + 8 + 4 + 4 + 4 + 8 + 4);
+            randomAccessFile.writeInt(1000);
+        }
+
+        try (ChunkedLevelFile chunkedLevelFile = ChunkedLevelFile.map(file)) {
+            chunkedLevelFile.readLevel();
+        }
+    }
+
+    private Level createLevel() {
+        LevelGeneratorSettings settings = new LevelGeneratorSettings();
+        settings.setLength(20000);
+        settings.setPatchCount(100);
+        settings.setSpriteCount(200);
+        return new LevelGenerator(settings).generate();
+    }
+
+    private File writeLevel(Level level) throws IOException {
+        File file = File.createTempFile("level", ".chunks");
+        file.deleteOnExit();
+        ChunkedLevelFile.write(level, file, 1000);
+        return file;
+    }
+
+    /**
+     * Patches and sprites are grouped by chunk in the file, but must come back in level order.
+     */
+    private void assertSameContent(Level actual, Level expected) {
+        Assert.assertEquals(actual.getTerrainPatches(), expected.getTerrainPatches());
+        Assert.assertEquals(actual.getLevelSprites(), expected.getLevelSprites());
+        Assert.assertEquals(actual.getBackgroundLayers(), expected.getBackgroundLayers());
+        Assert.assertEquals(actual.getStartArea(), expected.getStartArea());
+        Assert.assertEquals(actual.getEndArea(), expected.getEndArea());
+    }
+}
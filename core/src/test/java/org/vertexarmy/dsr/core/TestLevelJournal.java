@@ -0,0 +1,173 @@
+package org.vertexarmy.dsr.core;
+
+import com.badlogic.gdx.math.Vector2;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSnapshotter;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.game.level.generator.LevelGenerator;
+import org.vertexarmy.dsr.game.level.generator.LevelGeneratorSettings;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestLevelJournal {
+
+    @Test
+    public void testChangesAreRecovered() throws IOException {
+        Level level = createLevel();
+        File levelFile = createLevelFile();
+        LevelJournal journal = new LevelJournal(levelFile, level, new LevelSnapshotter(level).snapshot(), true);
+
+        level.getTerrainPatches().get(3).getShape().setVertex(0, -100, -100);
+        journal.record();
+        level.removeTerrainPatch(level.getTerrainPatches().get(5));
+        level.addTerrainPatch(new TerrainPatch(new Polygon(new float[]{0, 0, 1, 0, 1, 1})));
+        level.getLevelSprites().get(0).setRotation(90);
+        journal.record();
+        level.setStartArea(new Polygon(new float[]{0, 0, 5, 0, 5, 5}));
+        journal.record();
+        journal.flush();
+
+        Assert.assertEquals(journal.getRecordCount(), 3);
+        Assert.assertEquals(LevelJournal.recover(levelFile), level);
+
+        // unsaved changes keep the journal
+        journal.close();
+        Assert.assertEquals(LevelJournal.recover(levelFile), level);
+    }
+
+    @Test
+    public void testSavedLevelIsNotRecovered() throws IOException {
+        Level level = createLevel();
+        File levelFile = createLevelFile();
+        LevelSnapshotter snapshotter = new LevelSnapshotter(level);
+        LevelJournal journal = new LevelJournal(levelFile, level, snapshotter.snapshot(), true);
+
+        level.getTerrainPatches().get(0).getShape().translate(new Vector2(10, 0));
+        journal.record();
+        journal.rebase(snapshotter.snapshot(), true);
+        journal.flush();
+        Assert.assertNull(LevelJournal.recover(levelFile));
+
+        journal.close();
+        Assert.assertFalse(journal.getFile().exists());
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws IOException {
+        Level level = createLevel();
+        File levelFile = createLevelFile();
+        LevelJournal journal = new LevelJournal(levelFile, level, new LevelSnapshotter(level).snapshot(), true);
+
+        level.getTerrainPatches().get(1).getShape().setVertex(1, 50, 50);
+        journal.record();
+        journal.flush();
+        Level expected = new LevelSnapshotter(level).snapshot();
+
+        level.getTerrainPatches().get(2).getShape().setVertex(1, 70, 70);
+        journal.record();
+        journal.flush();
+
+        // a crash in the middle of the last write
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(journal.getFile(), "rw")) {
+            randomAccessFile.setLength(randomAccessFile.length() - 3);
+        }
+
+        Assert.assertEquals(LevelJournal.recover(levelFile), expected);
+        journal.discard();
+    }
+
+    @Test
+    public void testUndecodableRecordIsIgnored() throws IOException {
+        Level level = createLevel();
+        File levelFile = createLevelFile();
+        LevelJournal journal = new LevelJournal(levelFile, level, new LevelSnapshotter(level).snapshot(), true);
+
+        level.getTerrainPatches().get(1).getShape().setVertex(1, 50, 50);
+        journal.record();
+        journal.flush();
+        journal.close();
+
+        // a change record with a valid checksum, inserting a patch longer than the record
+        ByteBuffer payload = ByteBuffer.allocate(10);
+        payload.put((byte) 2).putInt(1).put((byte) 2).putInt(Integer.MAX_VALUE);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(journal.getFile(), true))) {
+            out.writeInt(payload.capacity());
+            out.writeInt((int) crc.getValue());
+            out.write(payload.array());
+        }
+
+        Assert.assertEquals(LevelJournal.recover(levelFile), level);
+        journal.getFile().delete();
+    }
+
+    @Test
+    public void testJournalIsCompacted() throws IOException {
+        Level level = createLevel();
+        File levelFile = createLevelFile();
+        LevelJournal journal = new LevelJournal(levelFile, level, new LevelSnapshotter(level).snapshot(), true);
+        journal.setCompactionThreshold(0);
+        journal.flush();
+        long snapshotSize = journal.getFile().length();
+
+        for (int i = 0; i < 200; ++i) {
+            level.getTerrainPatches().get(i % level.getTerrainPatches().size()).getShape().setVertex(0, i, i);
+            journal.record();
+            if (i % 10 == 0) {
+                journal.flush();
+            }
+        }
+        journal.flush();
+
+        Assert.assertTrue(journal.getFile().length() <= 2 * snapshotSize);
+        Assert.assertEquals(LevelJournal.recover(levelFile), level);
+        journal.discard();
+    }
+
+    @Test
+    public void testJournalOfChangedLevelFileIsNotRecovered() throws IOException {
+        Level level = createLevel();
+        File levelFile = createLevelFile();
+        LevelJournal journal = new LevelJournal(levelFile, level, new LevelSnapshotter(level).snapshot(), true);
+
+        level.getTerrainPatches().get(0).getShape().setVertex(0, -100, -100);
+        journal.record();
+        journal.close();
+        Assert.assertEquals(LevelJournal.recover(levelFile), level);
+
+        // the level was saved by someone else since
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(levelFile, "rw")) {
+            randomAccessFile.write(new byte[]{'{', '}'});
+        }
+        Assert.assertNull(LevelJournal.recover(levelFile));
+    }
+
+    private Level createLevel() {
+        LevelGeneratorSettings settings = new LevelGeneratorSettings();
+        settings.setLength(10000);
+        settings.setPatchCount(20);
+        settings.setSpriteCount(20);
+        return new LevelGenerator(settings).generate();
+    }
+
+    private File createLevelFile() throws IOException {
+        File file = File.createTempFile("level", ".json");
+        file.deleteOnExit();
+        LevelJournal.getJournalFile(file).deleteOnExit();
+        return file;
+    }
+}
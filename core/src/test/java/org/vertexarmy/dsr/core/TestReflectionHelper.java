@@ -0,0 +1,47 @@
+package org.vertexarmy.dsr.core;
+
+import com.badlogic.gdx.math.Vector2;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+
+import java.lang.reflect.Field;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestReflectionHelper {
+
+    @Test
+    public void testFieldsAreAccessedThroughGettersAndSetters() throws NoSuchFieldException {
+        LevelSprite levelSprite = new LevelSprite("sprite", new Vector2(10, 20), 0, new Vector2(1, 1), 0, false);
+        Field rotationField = LevelSprite.class.getDeclaredField("rotation");
+        Field foregroundField = LevelSprite.class.getDeclaredField("isForeground");
+
+        ReflectionHelper.setField(levelSprite, rotationField, 45f);
+        ReflectionHelper.setField(levelSprite, foregroundField, true);
+
+        Assert.assertEquals(levelSprite.getRotation(), 45f);
+        Assert.assertTrue(levelSprite.isForeground());
+        Assert.assertEquals(ReflectionHelper.getField(levelSprite, rotationField, 0f), 45f);
+        Assert.assertEquals(ReflectionHelper.getField(levelSprite, foregroundField, false), Boolean.TRUE);
+        Assert.assertEquals(ReflectionHelper.findSetter(LevelSprite.class, foregroundField).getName(), "setForeground");
+
+        // resolved once per class and field
+        Assert.assertSame(ReflectionHelper.getAccessor(LevelSprite.class, rotationField), ReflectionHelper.getAccessor(LevelSprite.class, rotationField));
+    }
+
+    @Test
+    public void testMementoRestoresState() {
+        LevelSprite levelSprite = new LevelSprite("sprite", new Vector2(10, 20), 0, new Vector2(1, 1), 0, false);
+        ReflectionHelper.Memento memento = ReflectionHelper.extractMemento(levelSprite);
+
+        levelSprite.getPosition().set(50, 50);
+        levelSprite.setRotation(90);
+        levelSprite.setTextureName("other");
+
+        ReflectionHelper.applyMemento(levelSprite, memento);
+        Assert.assertEquals(levelSprite, new LevelSprite("sprite", new Vector2(10, 20), 0, new Vector2(1, 1), 0, false));
+    }
+}
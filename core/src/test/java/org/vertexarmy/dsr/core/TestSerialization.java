@@ -1,14 +1,22 @@
 package org.vertexarmy.dsr.core;
 
+import com.badlogic.gdx.math.Vector2;
+import com.google.common.collect.ImmutableList;
+import org.nustaq.serialization.FSTConfiguration;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.vertexarmy.dsr.game.level.BackgroundLayer;
 import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
 import org.vertexarmy.dsr.game.level.TerrainPatch;
 import org.vertexarmy.dsr.math.Polygon;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * Created by alex
@@ -16,13 +24,18 @@ import java.io.IOException;
  */
 public class TestSerialization {
 
-    @Test
-    public void testLevelSerialization() throws IOException, ClassNotFoundException {
+    @DataProvider
+    public Object[][] formats() {
+        return new Object[][]{{Serialization.Format.JSON}, {Serialization.Format.BINARY}};
+    }
+
+    @Test(dataProvider = "formats")
+    public void testLevelSerialization(Serialization.Format format) throws IOException, ClassNotFoundException {
         ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
 
         Level originalLevel = createLevel();
 
-        Serialization.serialize(byteOutputStream, originalLevel);
+        Serialization.serialize(byteOutputStream, originalLevel, format);
 
         ByteArrayInputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
 
@@ -31,15 +44,127 @@ public class TestSerialization {
         Assert.assertEquals(originalLevel, deserializedLevel);
     }
 
+    @Test
+    public void testLegacyPolygonFormat() throws IOException, ClassNotFoundException {
+        String json = "{\"startArea\":{\"vertexList\":[{\"x\":0.0,\"y\":1.0},{\"x\":2.0,\"y\":3.0},{\"x\":4.0,\"y\":5.0}]}}";
+
+        Level level = Serialization.deserialize(new ByteArrayInputStream(json.getBytes("UTF-8")), Level.class);
+
+        Assert.assertEquals(level.getStartArea(), new Polygon(new float[]{0, 1, 2, 3, 4, 5}));
+    }
+
+    @Test
+    public void testLegacyLevelFormat() throws IOException, ClassNotFoundException {
+        String json = "{\"backgroundLayers\":[{\"textureName\":\"dirt\",\"parallaxSpeedScale\":0.5,\"type\":\"FAR\"}],"
+                + "\"terrainPatches\":[{\"shape\":{\"vertexList\":[{\"x\":0.0,\"y\":0.0},{\"x\":10.0,\"y\":0.0},{\"x\":10.0,\"y\":10.0}]},"
+                + "\"textureOverlay\":{\"textureName\":\"grass\",\"textureOffset\":{\"x\":0.0,\"y\":0.0},"
+                + "\"textureScale\":{\"x\":2.0,\"y\":0.5},\"textureRotation\":0.0}}],"
+                + "\"levelSprites\":[{\"textureName\":\"saw\",\"position\":{\"x\":5.0,\"y\":6.0},\"rotation\":45.0,"
+                + "\"scale\":{\"x\":1.0,\"y\":2.0},\"zOrder\":3,\"isForeground\":true}]}";
+
+        Level level = Serialization.deserialize(new ByteArrayInputStream(json.getBytes("UTF-8")), Level.class);
+
+        Level expectedLevel = new Level();
+        TerrainPatch texturedPatch = new TerrainPatch(new Polygon(new float[]{0, 0, 10, 0, 10, 10}));
+        texturedPatch.getTextureOverlay().setTextureName("grass");
+        texturedPatch.getTextureOverlay().setTextureScale(new Vector2(2, 0.5f));
+        expectedLevel.addTerrainPatch(texturedPatch);
+        expectedLevel.addLevelSprite(new LevelSprite("saw", new Vector2(5, 6), 45, new Vector2(1, 2), 3, true));
+        expectedLevel.setBackgroundLayers(ImmutableList.of(new BackgroundLayer("dirt", 0.5f, BackgroundLayer.Type.FAR)));
+
+        Assert.assertEquals(level, expectedLevel);
+    }
+
+    @Test
+    public void testCompactJsonFormat() throws IOException, ClassNotFoundException {
+        Level level = new Level();
+        level.setStartArea(new Polygon(new float[]{0, 1, 2.5f, 3, 0.1f, 5}));
+
+        ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
+        Serialization.serialize(byteOutputStream, level);
+
+        Assert.assertTrue(new String(byteOutputStream.toByteArray(), "UTF-8").contains("\"startArea\":[0,1,2.5,3,0.1,5]"));
+    }
+
+    @Test
+    public void testJsonIsUtf8() throws IOException, ClassNotFoundException {
+        String textureName = "gr\u00fcn \u6797";
+        Level originalLevel = createLevel();
+        originalLevel.addLevelSprite(new LevelSprite(textureName, new Vector2(1, 2), 0, new Vector2(1, 1), 0, false));
+
+        ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
+        Serialization.serialize(byteOutputStream, originalLevel);
+
+        Assert.assertTrue(new String(byteOutputStream.toByteArray(), "UTF-8").contains(textureName));
+
+        Level deserializedLevel = Serialization.deserialize(new ByteArrayInputStream(byteOutputStream.toByteArray()), Level.class);
+        Assert.assertEquals(deserializedLevel, originalLevel);
+    }
+
+    @Test
+    public void testFormatIsDetectedFromHeader() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        Serialization.serialize(binary, createLevel(), Serialization.Format.BINARY);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        Serialization.serialize(json, createLevel());
+
+        Assert.assertEquals(Arrays.copyOf(binary.toByteArray(), Serialization.BINARY_HEADER.length), Serialization.BINARY_HEADER);
+        Assert.assertEquals(json.toByteArray()[0], '{');
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testOtherBinaryVersionIsRejected() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        Serialization.serialize(binary, createLevel(), Serialization.Format.BINARY);
+        byte[] bytes = binary.toByteArray();
+        bytes[Serialization.BINARY_HEADER.length - 1] = 1;
+
+        Serialization.deserialize(new ByteArrayInputStream(bytes), Level.class);
+    }
+
+    @Test
+    public void testBinaryLevelCannotNameOtherClasses() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        binary.write(Serialization.BINARY_HEADER);
+        binary.write(FSTConfiguration.createDefaultConfiguration().asByteArray(new Payload()));
+
+        try {
+            Serialization.deserialize(new ByteArrayInputStream(binary.toByteArray()), Level.class);
+            Assert.fail("a binary level naming another class was read");
+        } catch (IOException e) {
+            Assert.assertFalse(Payload.read, "the payload was instantiated before the level was rejected");
+        }
+    }
+
+    private static class Payload implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private static boolean read;
+
+        private Object readResolve() {
+            read = true;
+            return this;
+        }
+    }
+
     private Level createLevel() {
         Polygon startAreaPolygon = new Polygon(new float[]{0, 0, 1, 1, 2, 2, 3, 3});
         Polygon endAreaPolygon = new Polygon(new float[]{0, 0, 1, 1, 2, 2});
         Polygon terrainPolygon = new Polygon(new float[]{10, 20, 30, 40, 50, 60, 70, 80, 90, 100});
         Level level = new Level();
-        level.getTerrainPatches().add(new TerrainPatch(terrainPolygon));
+        level.addTerrainPatch(new TerrainPatch(terrainPolygon));
         level.setStartArea(startAreaPolygon);
         level.setEndArea(endAreaPolygon);
 
+        TerrainPatch texturedPatch = new TerrainPatch(new Polygon(new float[]{0, 0, 10, 0, 10, 10}));
+        texturedPatch.getTextureOverlay().setTextureName("grass");
+        texturedPatch.getTextureOverlay().setTextureScale(new Vector2(2, 0.5f));
+        level.addTerrainPatch(texturedPatch);
+
+        level.addLevelSprite(new LevelSprite("saw", new Vector2(5, 6), 45, new Vector2(1, 2), 3, true));
+        level.setBackgroundLayers(ImmutableList.of(new BackgroundLayer("dirt", 0.5f, BackgroundLayer.Type.FAR)));
+
         return level;
     }
 }
@@ -0,0 +1,84 @@
+package org.vertexarmy.dsr.core.profiling;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestProfiler {
+    private static JsonArray export(Profiler profiler, int frameCount) throws IOException {
+        StringWriter writer = new StringWriter();
+        profiler.exportChromeTrace(writer, frameCount);
+        return new JsonParser().parse(writer.toString()).getAsJsonObject().getAsJsonArray("traceEvents");
+    }
+
+    private static void frame(Profiler profiler) {
+        profiler.beginFrame();
+        profiler.begin("frame");
+        profiler.begin("update");
+        profiler.end();
+        profiler.begin("render");
+        profiler.end();
+        profiler.end();
+    }
+
+    @Test
+    public void testNestedSpansAreExported() throws IOException {
+        Profiler profiler = new Profiler(64);
+        frame(profiler);
+
+        JsonArray events = export(profiler, 1);
+
+        Assert.assertEquals(events.size(), 3);
+        JsonObject frame = events.get(0).getAsJsonObject();
+        JsonObject render = events.get(2).getAsJsonObject();
+        Assert.assertEquals(frame.get("name").getAsString(), "frame");
+        Assert.assertEquals(frame.get("ph").getAsString(), "X");
+        Assert.assertEquals(render.get("name").getAsString(), "render");
+        Assert.assertEquals(render.getAsJsonObject("args").get("depth").getAsInt(), 1);
+        Assert.assertTrue(render.get("ts").getAsDouble() >= frame.get("ts").getAsDouble());
+        Assert.assertTrue(render.get("ts").getAsDouble() + render.get("dur").getAsDouble()
+                <= frame.get("ts").getAsDouble() + frame.get("dur").getAsDouble());
+    }
+
+    @Test
+    public void testOnlyRequestedFramesAreExported() throws IOException {
+        Profiler profiler = new Profiler(64);
+        for (int i = 0; i < 5; ++i) {
+            frame(profiler);
+        }
+
+        JsonArray events = export(profiler, 2);
+
+        Assert.assertEquals(events.size(), 6);
+        Assert.assertEquals(events.get(0).getAsJsonObject().getAsJsonObject("args").get("frame").getAsLong(), 4);
+    }
+
+    @Test
+    public void testOldestSpansAreOverwritten() throws IOException {
+        Profiler profiler = new Profiler(8);
+        for (int i = 0; i < 10; ++i) {
+            frame(profiler);
+        }
+
+        Assert.assertEquals(profiler.getSpanCount(), 8);
+        Assert.assertEquals(export(profiler, 100).size(), 8);
+    }
+
+    @Test
+    public void testDisabledProfilerRecordsNothing() {
+        Profiler profiler = new Profiler(8);
+        profiler.setEnabled(false);
+        frame(profiler);
+
+        Assert.assertEquals(profiler.getSpanCount(), 0);
+    }
+}
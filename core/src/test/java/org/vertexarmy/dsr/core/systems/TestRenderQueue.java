@@ -0,0 +1,72 @@
+package org.vertexarmy.dsr.core.systems;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import org.objenesis.ObjenesisStd;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.vertexarmy.dsr.core.systems.RenderQueue.BatchType.POLYGON_SPRITE;
+import static org.vertexarmy.dsr.core.systems.RenderQueue.BatchType.SPRITE;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestRenderQueue {
+    @Test
+    public void testLayerAndZOrderTakePrecedence() {
+        Assert.assertTrue(RenderQueue.sortKey(0, 100, POLYGON_SPRITE, 10) < RenderQueue.sortKey(1, -100, SPRITE, 0));
+        Assert.assertTrue(RenderQueue.sortKey(1, -5, POLYGON_SPRITE, 10) < RenderQueue.sortKey(1, 3, SPRITE, 0));
+    }
+
+    @Test
+    public void testCommandsAreGroupedByBatch() {
+        Assert.assertTrue(RenderQueue.sortKey(2, 0, SPRITE, 10) < RenderQueue.sortKey(2, 0, POLYGON_SPRITE, 0));
+    }
+
+    @Test
+    public void testSubmissionOrderBreaksTies() {
+        Assert.assertTrue(RenderQueue.sortKey(2, 0, SPRITE, 3) < RenderQueue.sortKey(2, 0, SPRITE, 4));
+    }
+
+    @Test
+    public void testKeysArePositive() {
+        Assert.assertTrue(RenderQueue.sortKey(127, Short.MAX_VALUE, POLYGON_SPRITE, (1 << 22) - 1) > 0);
+    }
+
+    @Test
+    public void testOverlappingDrawsKeepSubmissionOrderAcrossTextures() {
+        Texture rock = createTexture();
+        Texture grass = createTexture();
+        Sprite first = createSprite(rock);
+        Sprite second = createSprite(grass);
+        Sprite third = createSprite(rock);
+        Sprite front = createSprite(grass);
+
+        RenderQueue renderQueue = new RenderQueue(null, null, null);
+        renderQueue.submit(0, 0, first);
+        renderQueue.submit(0, 1, front);
+        renderQueue.submit(0, 0, second);
+        renderQueue.submit(0, 0, third);
+        renderQueue.sort();
+
+        Assert.assertSame(renderQueue.getSortedDrawable(0), first);
+        Assert.assertSame(renderQueue.getSortedDrawable(1), second);
+        Assert.assertSame(renderQueue.getSortedDrawable(2), third);
+        Assert.assertSame(renderQueue.getSortedDrawable(3), front);
+    }
+
+    /**
+     * Textures are only compared by identity here, so they are created without a GL context.
+     */
+    private static Texture createTexture() {
+        return new ObjenesisStd().newInstance(Texture.class);
+    }
+
+    private static Sprite createSprite(Texture texture) {
+        Sprite sprite = new Sprite();
+        sprite.setTexture(texture);
+        return sprite;
+    }
+}
@@ -0,0 +1,36 @@
+package org.vertexarmy.dsr.core.systems;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestRenderStatistics {
+    @Test
+    public void testRecordingStopsAfterFrameCount() throws IOException {
+        File file = File.createTempFile("render-stats", ".csv");
+        file.deleteOnExit();
+
+        RenderStatistics statistics = new RenderStatistics();
+        statistics.endFrame(1, 1, 1, 1, 1);
+        statistics.startRecording(file, 2);
+        Assert.assertNull(statistics.endFrame(10, 2, 1, 600, 3));
+        Assert.assertEquals(statistics.endFrame(12, 3, 1, 720, 0), file);
+        Assert.assertNull(statistics.endFrame(99, 99, 99, 99, 99));
+
+        Assert.assertFalse(statistics.isRecording());
+        Assert.assertEquals(statistics.getDrawCalls(), 99);
+        Assert.assertEquals(Files.readAllLines(file.toPath(), Charset.forName("UTF-8")), Arrays.asList(
+                RenderStatistics.CSV_HEADER,
+                "2,10,2,1,600,3",
+                "3,12,3,1,720,0"));
+    }
+}
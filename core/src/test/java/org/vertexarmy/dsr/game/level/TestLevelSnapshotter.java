@@ -0,0 +1,77 @@
+package org.vertexarmy.dsr.game.level;
+
+import com.badlogic.gdx.math.Vector2;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertexarmy.dsr.game.level.generator.LevelGenerator;
+import org.vertexarmy.dsr.game.level.generator.LevelGeneratorSettings;
+import org.vertexarmy.dsr.math.Polygon;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestLevelSnapshotter {
+
+    @Test
+    public void testSnapshotIsIndependentOfLevel() {
+        Level level = createLevel();
+        LevelSnapshotter snapshotter = new LevelSnapshotter(level);
+
+        Level snapshot = snapshotter.snapshot();
+        Assert.assertEquals(snapshot, level);
+
+        level.getTerrainPatches().get(0).getShape().setVertex(0, -100, -100);
+        level.getLevelSprites().get(0).setRotation(90);
+        level.addTerrainPatch(new TerrainPatch(new Polygon(new float[]{0, 0, 1, 0, 1, 1})));
+
+        Assert.assertNotEquals(snapshot, level);
+        Assert.assertEquals(snapshotter.snapshot(), level);
+    }
+
+    @Test
+    public void testOnlyChangedObjectsAreCopied() {
+        Level level = createLevel();
+        LevelSnapshotter snapshotter = new LevelSnapshotter(level);
+
+        snapshotter.snapshot();
+        Assert.assertFalse(snapshotter.hasChanges());
+
+        snapshotter.snapshot();
+        Assert.assertEquals(snapshotter.getLastCopyCount(), 0);
+
+        // edited in place without a notification
+        level.getTerrainPatches().get(1).getShape().translate(new Vector2(10, 0));
+        level.getLevelSprites().get(2).setZOrder(7);
+        level.setStartArea(new Polygon(new float[]{0, 0, 5, 0, 5, 5}));
+        Assert.assertTrue(snapshotter.hasChanges());
+
+        Level snapshot = snapshotter.snapshot();
+        Assert.assertEquals(snapshotter.getLastCopyCount(), 2);
+        Assert.assertEquals(snapshot, level);
+    }
+
+    @Test
+    public void testLevelSnapshotKeepsItsLists() {
+        Level level = createLevel();
+        TerrainPatch removedPatch = level.getTerrainPatches().get(3);
+
+        Level snapshot = level.snapshot();
+        Assert.assertSame(snapshot.getTerrainPatches(), level.getTerrainPatches());
+
+        level.removeTerrainPatch(removedPatch);
+        level.addLevelSprite(new LevelSprite("saw", new Vector2(5, 6), 0, new Vector2(1, 1), 0, false));
+
+        Assert.assertEquals(snapshot.getTerrainPatches().size(), level.getTerrainPatches().size() + 1);
+        Assert.assertSame(snapshot.getTerrainPatches().get(3), removedPatch);
+        Assert.assertEquals(snapshot.getLevelSprites().size(), level.getLevelSprites().size() - 1);
+    }
+
+    private Level createLevel() {
+        LevelGeneratorSettings settings = new LevelGeneratorSettings();
+        settings.setLength(10000);
+        settings.setPatchCount(20);
+        settings.setSpriteCount(20);
+        return new LevelGenerator(settings).generate();
+    }
+}
@@ -0,0 +1,67 @@
+package org.vertexarmy.dsr.game.level.generator;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.math.EarClippingTriangulation;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestLevelGenerator {
+
+    @Test
+    public void testSameSeedGivesSameLevel() throws Exception {
+        Assert.assertEquals(generateBytes(createSettings(42)), generateBytes(createSettings(42)));
+        Assert.assertNotEquals(generateBytes(createSettings(42)), generateBytes(createSettings(43)));
+    }
+
+    @Test
+    public void testGeneratedLevelMatchesSettings() {
+        LevelGeneratorSettings settings = createSettings(1);
+        Level level = new LevelGenerator(settings).generate();
+
+        Assert.assertEquals(level.getTerrainPatches().size(), settings.getPatchCount());
+        Assert.assertEquals(level.getLevelSprites().size(), settings.getSpriteCount());
+        Assert.assertEquals(level.getBackgroundLayers().size(), settings.getBackgroundLayerCount());
+        Assert.assertNotNull(level.getStartArea());
+        Assert.assertNotNull(level.getEndArea());
+
+        for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
+            Assert.assertEquals(terrainPatch.getShape().getVertexCount(), settings.getVerticesPerPatch());
+            Assert.assertEquals(EarClippingTriangulation.triangulate(terrainPatch.getShape()).length, (settings.getVerticesPerPatch() - 2) * 3);
+            Assert.assertTrue(settings.getTextureNames().contains(terrainPatch.getTextureOverlay().getTextureName()));
+            Assert.assertTrue(terrainPatch.getShape().getBoundingBox().x >= 0);
+            Assert.assertTrue(terrainPatch.getShape().getBoundingBox().x + terrainPatch.getShape().getBoundingBox().width <= settings.getLength());
+        }
+
+        for (LevelSprite levelSprite : level.getLevelSprites()) {
+            Assert.assertTrue(Math.abs(levelSprite.getZOrder()) <= settings.getZOrderSpread());
+        }
+    }
+
+    private LevelGeneratorSettings createSettings(long seed) {
+        LevelGeneratorSettings settings = new LevelGeneratorSettings();
+        settings.setSeed(seed);
+        settings.setLength(10000);
+        settings.setPatchCount(20);
+        settings.setVerticesPerPatch(12);
+        settings.setSpriteCount(50);
+        settings.setZOrderSpread(3);
+        settings.setBackgroundLayerCount(2);
+        settings.setTextureNames(ImmutableList.of("grass", "dirt"));
+        return settings;
+    }
+
+    private byte[] generateBytes(LevelGeneratorSettings settings) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new LevelGenerator(settings).generate(stream);
+        return stream.toByteArray();
+    }
+}
@@ -0,0 +1,112 @@
+package org.vertexarmy.dsr.graphics;
+
+import com.badlogic.gdx.math.Vector2;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.math.Polygon;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestTerrainMeshBaker {
+    private static final TerrainMeshBaker.TextureSizes TEXTURE_SIZES = new TerrainMeshBaker.TextureSizes() {
+        @Override
+        public int getWidth(String textureName) {
+            return 256;
+        }
+
+        @Override
+        public int getHeight(String textureName) {
+            return 128;
+        }
+    };
+
+    private static TerrainPatch square(float x, float y, float size, String textureName) {
+        TerrainPatch terrainPatch = new TerrainPatch(new Polygon(new float[]{x, y, x + size, y, x + size, y + size, x, y + size}));
+        terrainPatch.getTextureOverlay().setTextureName(textureName);
+        return terrainPatch;
+    }
+
+    @Test
+    public void testPatchesAreGroupedByChunkAndTexture() {
+        TerrainMeshBaker baker = new TerrainMeshBaker(100, TEXTURE_SIZES);
+
+        List<TerrainMeshBaker.MeshData> meshes = baker.bake(Arrays.asList(
+                square(0, 0, 10, "grass"),
+                square(50, 0, 10, "grass"),
+                square(20, 0, 10, "rock"),
+                square(150, 0, 10, "grass"),
+                square(-10, 0, 10, "grass")));
+
+        Assert.assertEquals(meshes.size(), 4);
+
+        TerrainMeshBaker.MeshData grass = meshes.get(0);
+        Assert.assertEquals(grass.getChunk(), 0);
+        Assert.assertEquals(grass.getTextureName(), "grass");
+        Assert.assertEquals(grass.getPatchCount(), 2);
+        Assert.assertEquals(grass.getVertexCount(), 8);
+        Assert.assertEquals(grass.getIndices().length, 12);
+        Assert.assertEquals(grass.getBounds().x, 0f);
+        Assert.assertEquals(grass.getBounds().width, 60f);
+
+        Assert.assertEquals(meshes.get(1).getTextureName(), "rock");
+        Assert.assertEquals(meshes.get(2).getChunk(), 1);
+        Assert.assertEquals(meshes.get(3).getChunk(), -1);
+    }
+
+    @Test
+    public void testTextureChangesKeepPatchOrder() {
+        TerrainMeshBaker baker = new TerrainMeshBaker(100, TEXTURE_SIZES);
+
+        // overlapping patches of one chunk, drawn bottom to top
+        List<TerrainMeshBaker.MeshData> meshes = baker.bake(Arrays.asList(
+                square(0, 0, 50, "grass"),
+                square(10, 0, 50, "rock"),
+                square(20, 0, 50, "grass"),
+                square(30, 0, 50, "grass")));
+
+        Assert.assertEquals(meshes.size(), 3);
+        Assert.assertEquals(meshes.get(0).getTextureName(), "grass");
+        Assert.assertEquals(meshes.get(1).getTextureName(), "rock");
+        Assert.assertEquals(meshes.get(2).getTextureName(), "grass");
+        Assert.assertEquals(meshes.get(2).getFirstPatchIndex(), 2);
+        Assert.assertEquals(meshes.get(2).getLastPatchIndex(), 3);
+    }
+
+    @Test
+    public void testIndicesAreOffsetPerPatch() {
+        TerrainMeshBaker baker = new TerrainMeshBaker(100, TEXTURE_SIZES);
+
+        TerrainMeshBaker.MeshData mesh = baker.bake(Arrays.asList(square(0, 0, 10, null), square(20, 0, 10, null))).get(0);
+
+        for (int i = 0; i < 6; ++i) {
+            Assert.assertTrue(mesh.getIndices()[i] < 4);
+            Assert.assertTrue(mesh.getIndices()[i + 6] >= 4);
+        }
+    }
+
+    @Test
+    public void testTextureCoordinatesFollowOverlay() {
+        TerrainMeshBaker baker = new TerrainMeshBaker(1000, TEXTURE_SIZES);
+        TerrainPatch terrainPatch = square(0, 0, 64, "grass");
+        terrainPatch.getTextureOverlay().setTextureOffset(new Vector2(0.5f, 0.25f));
+        terrainPatch.getTextureOverlay().setTextureScale(new Vector2(2, 1));
+
+        float[] vertices = baker.bake(Arrays.asList(terrainPatch)).get(0).getVertices();
+
+        // second vertex is at (64, 0)
+        int offset = TerrainMeshBaker.VERTEX_SIZE;
+        Assert.assertEquals(vertices[offset], 64f);
+        Assert.assertEquals(vertices[offset + 3], (0.5f + 64f / 256) * 2, 1e-6);
+        Assert.assertEquals(vertices[offset + 4], 1.25f, 1e-6);
+
+        // third vertex is at (64, 64)
+        offset = 2 * TerrainMeshBaker.VERTEX_SIZE;
+        Assert.assertEquals(vertices[offset + 4], 0.25f + 1 - 64f / 128, 1e-6);
+    }
+}
@@ -1,5 +1,6 @@
 package org.vertexarmy.dsr.math;
 
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -72,4 +73,37 @@ public class TestAlgorithms {
         Assert.assertFalse(Algorithms.triangleContainsVertex(x7, t4));
         Assert.assertFalse(Algorithms.triangleContainsVertex(x8, t4));
     }
+
+    @Test
+    public void testVertexInsidePolygon() {
+        // U shape, open at the top
+        Polygon polygon = new Polygon(new float[]{0, 0, 3, 0, 3, 3, 2, 3, 2, 1, 1, 1, 1, 3, 0, 3});
+
+        Assert.assertTrue(Algorithms.polygonContainsVertex(new Vector2(0.5f, 2), polygon));
+        Assert.assertTrue(Algorithms.polygonContainsVertex(new Vector2(1.5f, 0.5f), polygon));
+        Assert.assertTrue(Algorithms.polygonContainsVertex(new Vector2(2.5f, 2), polygon));
+
+        Assert.assertFalse(Algorithms.polygonContainsVertex(new Vector2(1.5f, 2), polygon));
+        Assert.assertFalse(Algorithms.polygonContainsVertex(new Vector2(4, 1), polygon));
+        Assert.assertFalse(Algorithms.polygonContainsVertex(new Vector2(-1, 1), polygon));
+    }
+
+    @Test
+    public void testPolygonBoundingBoxFollowsMutations() {
+        Polygon polygon = new Polygon(new float[]{0, 0, 1, 0, 1, 1, 0, 1});
+
+        Assert.assertEquals(polygon.getBoundingBox(), new Rectangle(0, 0, 1, 1));
+        Assert.assertFalse(polygon.containsVertex(new Vector2(4, 0.5f)));
+
+        polygon.setVertex(1, new Vector2(5, 0));
+        polygon.setVertex(2, new Vector2(5, 1));
+
+        Assert.assertEquals(polygon.getBoundingBox(), new Rectangle(0, 0, 5, 1));
+        Assert.assertTrue(polygon.containsVertex(new Vector2(4, 0.5f)));
+
+        polygon.translate(new Vector2(10, 10));
+
+        Assert.assertEquals(polygon.getBoundingBox(), new Rectangle(10, 10, 5, 1));
+        Assert.assertFalse(polygon.containsVertex(new Vector2(4, 0.5f)));
+    }
 }
@@ -1,5 +1,6 @@
 package org.vertexarmy.dsr.math;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 /**
@@ -9,9 +10,75 @@ import org.testng.annotations.Test;
 public class TestEarClippingTriangulation {
     @Test
     public void simplePolygon() {
-//        Polygon polygon = new Polygon();
-//        polygon.setVertices(new float[]{0, 0, 3, 5, 2, 0, 3, -2});
-//
-//        short[] indices = EarClippingTriangulation.triangulate(polygon);
+        Polygon polygon = new Polygon(new float[]{0, 0, 3, 5, 2, 0, 3, -2});
+
+        short[] indices = EarClippingTriangulation.triangulate(polygon);
+
+        assertValidTriangulation(polygon.toFloatArray(), indices);
+    }
+
+    @Test
+    public void counterClockwisePolygon() {
+        float[] vertices = {0, 0, 2, 0, 2, 2, 1, 1, 0, 2};
+
+        assertValidTriangulation(vertices, EarClippingTriangulation.triangulate(vertices));
+    }
+
+    @Test
+    public void collinearVertices() {
+        float[] vertices = {0, 0, 0, 1, 0, 2, 2, 2, 2, 0, 1, 0};
+
+        assertValidTriangulation(vertices, EarClippingTriangulation.triangulate(vertices));
+    }
+
+    @Test
+    public void largeComb() {
+        int teeth = 1500;
+        float[] vertices = new float[(teeth * 2 + 2) * 2];
+
+        int v = 0;
+        for (int i = 0; i < teeth; ++i) {
+            vertices[v++] = i;
+            vertices[v++] = 10;
+            vertices[v++] = i + 0.5f;
+            vertices[v++] = 1;
+        }
+        vertices[v++] = teeth;
+        vertices[v++] = 0;
+        vertices[v] = 0;
+
+        assertValidTriangulation(vertices, EarClippingTriangulation.triangulate(vertices));
+    }
+
+    @Test
+    public void degeneratePolygon() {
+        Assert.assertEquals(EarClippingTriangulation.triangulate(new float[]{0, 0, 1, 1}).length, 0);
+    }
+
+    private static void assertValidTriangulation(float[] vertices, short[] indices) {
+        int vertexCount = vertices.length / 2;
+        Assert.assertEquals(indices.length, (vertexCount - 2) * 3);
+
+        float polygonArea = 0;
+        for (int i = 0; i < vertexCount; ++i) {
+            int j = (i + 1) % vertexCount;
+            polygonArea += vertices[i * 2] * vertices[j * 2 + 1] - vertices[j * 2] * vertices[i * 2 + 1];
+        }
+        polygonArea = Math.abs(polygonArea / 2);
+
+        float triangleArea = 0;
+        for (int i = 0; i < indices.length; i += 3) {
+            int a = indices[i] * 2;
+            int b = indices[i + 1] * 2;
+            int c = indices[i + 2] * 2;
+
+            float area = ((vertices[b] - vertices[a]) * (vertices[c + 1] - vertices[a + 1])
+                    - (vertices[b + 1] - vertices[a + 1]) * (vertices[c] - vertices[a])) / 2;
+
+            Assert.assertTrue(area >= 0, "triangle " + i / 3 + " is clockwise");
+            triangleArea += area;
+        }
+
+        Assert.assertEquals(triangleArea, polygonArea, polygonArea * 1e-4f);
     }
 }
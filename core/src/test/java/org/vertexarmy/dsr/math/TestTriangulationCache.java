@@ -0,0 +1,72 @@
+package org.vertexarmy.dsr.math;
+
+import com.badlogic.gdx.math.Vector2;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class TestTriangulationCache {
+    private static Polygon square() {
+        return new Polygon(new float[]{0, 0, 1, 0, 1, 1, 0, 1});
+    }
+
+    @Test
+    public void unchangedPolygonIsCached() {
+        TriangulationCache cache = new TriangulationCache(TriangulationCache.DEFAULT_CAPACITY_BYTES);
+        Polygon polygon = square();
+
+        short[] first = cache.triangulate(polygon);
+        short[] second = cache.triangulate(polygon);
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    public void modifiedPolygonIsTriangulatedAgain() {
+        TriangulationCache cache = new TriangulationCache(TriangulationCache.DEFAULT_CAPACITY_BYTES);
+        Polygon polygon = square();
+
+        short[] first = cache.triangulate(polygon);
+        polygon.addVertex(2, new Vector2(2, 0.5f));
+        short[] second = cache.triangulate(polygon);
+
+        Assert.assertNotSame(second, first);
+        Assert.assertEquals(second.length, 9);
+        Assert.assertEquals(cache.getMissCount(), 2);
+        Assert.assertEquals(cache.getEntryCount(), 1);
+    }
+
+    @Test
+    public void equalPolygonsAreCachedSeparately() {
+        TriangulationCache cache = new TriangulationCache(TriangulationCache.DEFAULT_CAPACITY_BYTES);
+
+        cache.triangulate(square());
+        cache.triangulate(square());
+
+        Assert.assertEquals(cache.getMissCount(), 2);
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        TriangulationCache cache = new TriangulationCache(200);
+        Polygon first = square();
+        Polygon second = square();
+        Polygon third = square();
+
+        cache.triangulate(first);
+        cache.triangulate(second);
+        cache.triangulate(first);
+        cache.triangulate(third);
+
+        Assert.assertEquals(cache.getEvictionCount(), 1);
+        Assert.assertTrue(cache.getSizeBytes() <= cache.getCapacityBytes());
+
+        cache.triangulate(first);
+        Assert.assertEquals(cache.getHitCount(), 2);
+    }
+}
@@ -0,0 +1,137 @@
+package org.vertexarmy.dsr.leveleditor;
+
+import com.badlogic.gdx.Gdx;
+import org.vertexarmy.dsr.core.Log;
+import org.vertexarmy.dsr.game.level.Level;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves level snapshots on a background thread, so that saving does not stall the editor. A level is written to a
+ * temporary file next to its target and synced to disk, then the temporary file replaces the target in a single
+ * rename; an interrupted save leaves the previous file intact.
+ * <p/>
+ * Saves run one at a time in the order they were requested. The outcome is logged on the render thread, where the
+ * callback of a successful save runs as well.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class BackgroundLevelSaver {
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Log log = Log.create();
+
+    private final AtomicInteger pendingSaves = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "level-saver");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    public void save(Level snapshot, File file, LevelFileFormat format) {
+        save(snapshot, file, format, null);
+    }
+
+    /**
+     * @param snapshot    a level which is no longer modified, see {@link org.vertexarmy.dsr.game.level.LevelSnapshotter}
+     * @param savedAction run on the render thread once the file holds the snapshot, unless it is null
+     */
+    public void save(final Level snapshot, final File file, final LevelFileFormat format, final Runnable savedAction) {
+        pendingSaves.incrementAndGet();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                try {
+                    writeAtomically(snapshot, file, format);
+                    report("Saved level " + file.getAbsolutePath() + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms", null);
+                    if (savedAction != null) {
+                        Gdx.app.postRunnable(savedAction);
+                    }
+                } catch (Exception e) {
+                    report("Could not save level " + file.getAbsolutePath(), e);
+                } finally {
+                    pendingSaves.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    public boolean isSaving() {
+        return pendingSaves.get() > 0;
+    }
+
+    /**
+     * Waits for the pending saves, so that closing the editor does not lose them.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.error("Pending level saves did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void writeAtomically(Level level, File file, LevelFileFormat format) throws IOException, ClassNotFoundException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create the directory " + directory);
+        }
+
+        File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (FileOutputStream fileOutputStream = new FileOutputStream(temporaryFile)) {
+                OutputStream outputStream = new BufferedOutputStream(fileOutputStream);
+                format.write(level, outputStream);
+                outputStream.flush();
+                // otherwise a crash after the rename can leave an empty level in place of the previous one
+                fileOutputStream.getChannel().force(true);
+            }
+
+            try {
+                Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile.toPath());
+        }
+    }
+
+    /**
+     * The log is not thread safe, so messages are passed to the render thread.
+     */
+    private void report(final String message, final Exception exception) {
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                if (exception == null) {
+                    log.info(message);
+                } else {
+                    log.error(message);
+                    log.exception(exception);
+                }
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package org.vertexarmy.dsr.leveleditor;
 
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.BindableTool;
 
 /**
@@ -33,4 +34,9 @@ public class BindAction<T> implements ActionManager.Action {
     public boolean isValid() {
         return object != oldObject;
     }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(3 * MemoryFootprint.REFERENCE);
+    }
 }
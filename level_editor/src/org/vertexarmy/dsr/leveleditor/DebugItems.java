@@ -13,6 +13,15 @@ public class DebugItems {
     public static final String LOADED_LEVEL = "loaded level";
     public static final String EDIT_MODE = "edit mode";
     public static final String FPS = "fps";
+    public static final String REBUILT_RENDER_OBJECTS = "rebuilt objects";
+    public static final String TRIANGULATION_CACHE = "triangulation cache";
+    public static final String PICK_VISITED_NODES = "pick visited nodes";
+    public static final String VISIBLE_OBJECTS = "visible objects";
+    public static final String CULLED_OBJECTS = "culled objects";
+    public static final String RENDER_QUEUE = "render queue";
+    public static final String RENDER_STATISTICS = "render stats";
+    public static final String ALLOCATIONS = "allocations";
+    public static final String UNDO_HISTORY = "undo history";
 
     private DebugItems() {
     }
@@ -25,9 +25,14 @@ public class DebugValues {
         return INSTANCE;
     }
 
+    /**
+     * Listeners are only notified when the value changes, since most values are refreshed every frame.
+     */
     public void setValue(String key, Object value) {
-        values.put(key, String.valueOf(value));
-        notifyListeners();
+        String text = String.valueOf(value);
+        if (!text.equals(values.put(key, text))) {
+            notifyListeners();
+        }
     }
 
     public String getValue(String key) {
@@ -35,8 +40,9 @@ public class DebugValues {
     }
 
     public void clearValue(String key) {
-        values.remove(key);
-        notifyListeners();
+        if (values.remove(key) != null) {
+            notifyListeners();
+        }
     }
 
     public Set<String> keySet() {
@@ -52,8 +58,8 @@ public class DebugValues {
     }
 
     private void notifyListeners() {
-        for (Listener listener : listeners) {
-            listener.valuesChanged();
+        for (int i = 0; i < listeners.size(); ++i) {
+            listeners.get(i).valuesChanged();
         }
     }
 
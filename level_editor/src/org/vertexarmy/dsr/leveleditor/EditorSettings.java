@@ -20,4 +20,13 @@ public class EditorSettings {
     @Getter
     @Setter
     private boolean showSprites = true;
+    @Getter
+    @Setter
+    private boolean saveBinaryLevels = false;
+    /**
+     * Seconds between autosaves of a modified level, 0 disables autosaving.
+     */
+    @Getter
+    @Setter
+    private int autosaveInterval = 60;
 }
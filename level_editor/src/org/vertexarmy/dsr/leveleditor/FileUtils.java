@@ -22,8 +22,7 @@ public class FileUtils {
             log.error("Could not read the root directory.");
         } else {
             for (File file : files) {
-                if (file.isFile()) {
-                    extensions.contains(getExtension(file));
+                if (file.isFile() && extensions.contains(getExtension(file))) {
                     result.add(file);
                 }
             }
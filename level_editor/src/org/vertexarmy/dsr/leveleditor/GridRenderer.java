@@ -8,6 +8,7 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.IntMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.vertexarmy.dsr.core.assets.FontRepository;
@@ -34,6 +35,23 @@ public class GridRenderer {
 
     private static final int MAX_HEIGHT_INDICATOR_VALUE = 800;
 
+    /**
+     * Enough labels for the rulers along a long level, about 100,000 units at the grid size.
+     */
+    private static final int MAX_RULER_LABELS = 2048;
+
+    private final IntMap<String> rulerLabels = new IntMap<>();
+
+    private final Vector2 topLeft = new Vector2();
+
+    private final Vector2 bottomRight = new Vector2();
+
+    private final Vector2 mousePosition = new Vector2();
+
+    private final Matrix4 viewMatrix = new Matrix4();
+
+    private final Vector3 viewTranslation = new Vector3();
+
     @Getter
     @Setter
     private boolean visible = true;
@@ -67,8 +85,8 @@ public class GridRenderer {
         BitmapFont gridFont = FontRepository.instance().getFont(AssetName.FONT_MARKE_8);
         gridFont.setColor(RULER_DEFAULT_COLOR);
 
-        Vector2 topLeft = RenderSystem.instance().screenToWorld(Vector2.Zero);
-        Vector2 bottomRight = RenderSystem.instance().screenToWorld(new Vector2(Gdx.graphics.getWidth(), Gdx.graphics.getHeight()));
+        RenderSystem.instance().screenToWorld(0, 0, topLeft);
+        RenderSystem.instance().screenToWorld(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), bottomRight);
 
         float screenLeft = topLeft.x;
         float screenRight = bottomRight.x;
@@ -126,8 +144,8 @@ public class GridRenderer {
         float zoom = RenderSystem.instance().getZoom();
         float gridSize = GRID_SIZE * zoom;
 
-        Vector2 topLeft = RenderSystem.instance().screenToWorld(Vector2.Zero);
-        Vector2 bottomRight = RenderSystem.instance().screenToWorld(new Vector2(Gdx.graphics.getWidth(), Gdx.graphics.getHeight()));
+        RenderSystem.instance().screenToWorld(0, 0, topLeft);
+        RenderSystem.instance().screenToWorld(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), bottomRight);
 
         float screenLeft = topLeft.x;
         float screenRight = bottomRight.x;
@@ -139,14 +157,12 @@ public class GridRenderer {
 
         int horizontalSteps = zoom < 0.5 ? (zoom < 0.2 ? 4 : 2) : 1;
 
-        Vector2 mousePosition = getMousePosition();
+        RenderSystem.instance().screenToWorld(Gdx.input.getX(), Gdx.input.getY(), mousePosition);
 
-        Matrix4 viewMatrix = RenderSystem.instance().getCamera().view.cpy();
+        viewMatrix.set(RenderSystem.instance().getCamera().view);
+        viewMatrix.getTranslation(viewTranslation).scl(zoom);
 
-        Vector3 vector3 = new Vector3();
-        viewMatrix.getTranslation(vector3).scl(zoom);
-
-        viewMatrix.setTranslation(vector3);
+        viewMatrix.setTranslation(viewTranslation);
 
         spriteBatch.setProjectionMatrix(RenderSystem.instance().getStandardCamera().projection);
         spriteBatch.setTransformMatrix(viewMatrix);
@@ -155,22 +171,22 @@ public class GridRenderer {
 
         // Horizontal ruler
         for (float x = xStart; x <= screenRight * zoom; x += horizontalSteps * gridSize) {
-            final String indicator = getIndicatorValue(x);
-            if (indicator.equals("0")) {
+            int indicator = getIndicatorValue(x);
+            if (indicator == 0) {
                 continue;
             }
             gridFont.setColor(getRulerColor(mousePosition.x * zoom, x, x + gridSize));
-            gridFont.draw(spriteBatch, indicator, (int) x + 1, (int) ((screenBottom * zoom) + gridFont.getLineHeight()));
+            gridFont.draw(spriteBatch, getRulerLabel(indicator), (int) x + 1, (int) ((screenBottom * zoom) + gridFont.getLineHeight()));
         }
 
         // Vertical ruler
         for (float y = yStart; y >= screenBottom * zoom; y -= gridSize) {
-            final String indicator = getIndicatorValue(y);
-            if (indicator.equals("0")) {
+            int indicator = getIndicatorValue(y);
+            if (indicator == 0) {
                 continue;
             }
             gridFont.setColor(getRulerColor(mousePosition.y * zoom, y, y + gridSize));
-            gridFont.draw(spriteBatch, indicator, (int) screenLeft * zoom, (int) ((y + gridFont.getLineHeight()) / 1));
+            gridFont.draw(spriteBatch, getRulerLabel(indicator), (int) screenLeft * zoom, (int) ((y + gridFont.getLineHeight()) / 1));
         }
 
         if (screenTop >= MAX_HEIGHT_INDICATOR_VALUE && screenBottom <= MAX_HEIGHT_INDICATOR_VALUE) {
@@ -179,7 +195,7 @@ public class GridRenderer {
             } else {
                 gridFont.setColor(getRulerColor(mousePosition.y, MAX_HEIGHT_INDICATOR_VALUE, MAX_HEIGHT_INDICATOR_VALUE + GRID_SIZE));
             }
-            gridFont.draw(spriteBatch, String.valueOf(MAX_HEIGHT_INDICATOR_VALUE), (int) screenLeft * zoom, MAX_HEIGHT_INDICATOR_VALUE * zoom + gridFont.getLineHeight());
+            gridFont.draw(spriteBatch, getRulerLabel(MAX_HEIGHT_INDICATOR_VALUE), (int) screenLeft * zoom, MAX_HEIGHT_INDICATOR_VALUE * zoom + gridFont.getLineHeight());
         }
 
         if (screenLeft <= 0 && screenRight >= 0) {
@@ -204,18 +220,30 @@ public class GridRenderer {
         spriteBatch.end();
     }
 
-    private String getIndicatorValue(float indicator) {
+    private int getIndicatorValue(float indicator) {
         float zoom = RenderSystem.instance().getZoom();
         float actualIndicatorValue = indicator / zoom;
 
-        return String.valueOf(((int) (actualIndicatorValue / GRID_SIZE + Math.signum(actualIndicatorValue) * 0.5) * GRID_SIZE));
+        return (int) (actualIndicatorValue / GRID_SIZE + Math.signum(actualIndicatorValue) * 0.5) * GRID_SIZE;
     }
 
-    private Color getRulerColor(float mousePosition, float lower, float upper) {
-        return mousePosition >= lower && mousePosition < upper ? RULER_ACTIVE_COLOR : RULER_DEFAULT_COLOR;
+    /**
+     * Labels are cached so that drawing the rulers does not create strings every frame. They are keyed by world
+     * coordinate, so zooming reuses them; panning far keeps adding new ones, so the cache is dropped once it is full.
+     */
+    private String getRulerLabel(int value) {
+        String label = rulerLabels.get(value);
+        if (label == null) {
+            if (rulerLabels.size >= MAX_RULER_LABELS) {
+                rulerLabels.clear();
+            }
+            label = String.valueOf(value);
+            rulerLabels.put(value, label);
+        }
+        return label;
     }
 
-    private Vector2 getMousePosition() {
-        return RenderSystem.instance().screenToWorld(new Vector2(Gdx.input.getX(), Gdx.input.getY()));
+    private Color getRulerColor(float mousePosition, float lower, float upper) {
+        return mousePosition >= lower && mousePosition < upper ? RULER_ACTIVE_COLOR : RULER_DEFAULT_COLOR;
     }
 }
@@ -2,16 +2,16 @@ package org.vertexarmy.dsr.leveleditor;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.beust.jcommander.internal.Lists;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.vertexarmy.dsr.core.Log;
 import org.vertexarmy.dsr.core.assets.TextureRepository;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
-import org.vertexarmy.dsr.game.level.Level;
 import org.vertexarmy.dsr.game.level.LevelSprite;
 import org.vertexarmy.dsr.game.level.TerrainPatch;
-import org.vertexarmy.dsr.math.Algorithms;
-import org.vertexarmy.dsr.math.Polygon;
+
+import java.util.List;
 
 /**
  * created by Alex
@@ -39,57 +39,64 @@ public class ItemPicker {
 
     private final static Log log = Log.create();
 
-    public static PickResult pickObject(Level level, int screenX, int screenY) {
-        LevelSprite foregroundSprite = pickForegroundSprite(level, screenX, screenY);
-        if (foregroundSprite != null) {
-            return new PickResult(ItemType.LEVEL_SPRITE, foregroundSprite);
-        }
+    private static final List<TerrainPatch> terrainPatchCandidates = Lists.newArrayList();
 
-        TerrainPatch pickedPolygon = pickTerrainPolygon(level, screenX, screenY);
-        if (pickedPolygon != null) {
-            return new PickResult(ItemType.TERRAIN_POLYGON, pickedPolygon);
-        }
+    private static final List<LevelSprite> levelSpriteCandidates = Lists.newArrayList();
 
-        LevelSprite backgroundSprite = pickBackgroundSprite(level, screenX, screenY);
-        if (backgroundSprite != null) {
-            return new PickResult(ItemType.LEVEL_SPRITE, backgroundSprite);
-        }
+    private static final Vector2 mouseWorldPosition = new Vector2();
 
-        return PickResult.NOTHING;
-    }
+    @Getter
+    private static int lastVisitedNodes;
+
+    public static PickResult pickObject(LevelSpatialIndex index, int screenX, int screenY) {
+        RenderSystem.instance().screenToWorld(screenX, screenY, mouseWorldPosition);
 
-    private static TerrainPatch pickTerrainPolygon(Level level, int screenX, int screenY) {
-        Vector2 mouseWorldPosition = RenderSystem.instance().screenToWorld(screenX, screenY);
+        index.getLevelSprites().queryPoint(mouseWorldPosition.x, mouseWorldPosition.y, levelSpriteCandidates);
+        index.getTerrainPatches().queryPoint(mouseWorldPosition.x, mouseWorldPosition.y, terrainPatchCandidates);
 
-        for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
-            if (Algorithms.polygonContainsVertex(mouseWorldPosition, terrainPatch.getShape())) {
+        lastVisitedNodes = index.getLevelSprites().getLastQueryVisitCount() + index.getTerrainPatches().getLastQueryVisitCount();
+
+        try {
+            LevelSprite foregroundSprite = pickSprite(mouseWorldPosition, true);
+            if (foregroundSprite != null) {
+                log.debug("Picked a foreground sprite");
+                return new PickResult(ItemType.LEVEL_SPRITE, foregroundSprite);
+            }
+
+            TerrainPatch pickedPolygon = pickTerrainPolygon(mouseWorldPosition);
+            if (pickedPolygon != null) {
                 log.debug("Picked a polygon");
-                return terrainPatch;
+                return new PickResult(ItemType.TERRAIN_POLYGON, pickedPolygon);
             }
-        }
 
-        return null;
-    }
+            LevelSprite backgroundSprite = pickSprite(mouseWorldPosition, false);
+            if (backgroundSprite != null) {
+                log.debug("Picked a background sprite");
+                return new PickResult(ItemType.LEVEL_SPRITE, backgroundSprite);
+            }
 
-    private static LevelSprite pickForegroundSprite(Level level, int screenX, int screenY) {
-        Vector2 mouseWorldPosition = RenderSystem.instance().screenToWorld(screenX, screenY);
+            return PickResult.NOTHING;
+        } finally {
+            levelSpriteCandidates.clear();
+            terrainPatchCandidates.clear();
+        }
+    }
 
-        for (LevelSprite levelSprite : level.getLevelSprites()) {
-            if (levelSprite.isForeground() && spriteContainsPoint(levelSprite, mouseWorldPosition)) {
-                log.debug("Picked a foreground sprite");
-                return levelSprite;
+    private static TerrainPatch pickTerrainPolygon(Vector2 mouseWorldPosition) {
+        for (int i = 0; i < terrainPatchCandidates.size(); ++i) {
+            TerrainPatch terrainPatch = terrainPatchCandidates.get(i);
+            if (terrainPatch.getShape().containsVertex(mouseWorldPosition)) {
+                return terrainPatch;
             }
         }
 
         return null;
     }
 
-    private static LevelSprite pickBackgroundSprite(Level level, int screenX, int screenY) {
-        Vector2 mouseWorldPosition = RenderSystem.instance().screenToWorld(screenX, screenY);
-
-        for (LevelSprite levelSprite : level.getLevelSprites()) {
-            if (!levelSprite.isForeground() && spriteContainsPoint(levelSprite, mouseWorldPosition)) {
-                log.debug("Picked a background sprite");
+    private static LevelSprite pickSprite(Vector2 mouseWorldPosition, boolean foreground) {
+        for (int i = 0; i < levelSpriteCandidates.size(); ++i) {
+            LevelSprite levelSprite = levelSpriteCandidates.get(i);
+            if (levelSprite.isForeground() == foreground && spriteContainsPoint(levelSprite, mouseWorldPosition)) {
                 return levelSprite;
             }
         }
@@ -98,6 +105,6 @@ public class ItemPicker {
     }
 
     public static boolean spriteContainsPoint(LevelSprite sprite, Vector2 point) {
-        return LevelSpriteUtils.getSpriteBounds(sprite).containsVertex(point);
+        return LevelSpriteUtils.containsPoint(sprite, point.x, point.y);
     }
 }
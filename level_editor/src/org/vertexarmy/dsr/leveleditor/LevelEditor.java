@@ -11,6 +11,8 @@ import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
 import org.vertexarmy.dsr.Version;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.ChunkedLevelFile;
+import org.vertexarmy.dsr.core.LevelJournal;
 import org.vertexarmy.dsr.core.Log;
 import org.vertexarmy.dsr.core.Root;
 import org.vertexarmy.dsr.core.Serialization;
@@ -20,8 +22,13 @@ import org.vertexarmy.dsr.core.component.ComponentType;
 import org.vertexarmy.dsr.core.component.InputComponent;
 import org.vertexarmy.dsr.core.component.Node;
 import org.vertexarmy.dsr.core.component.RenderComponent;
+import org.vertexarmy.dsr.core.profiling.AllocationTracker;
+import org.vertexarmy.dsr.core.profiling.Profiler;
+import org.vertexarmy.dsr.core.systems.RenderQueue;
+import org.vertexarmy.dsr.core.systems.RenderStatistics;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelSnapshotter;
 import org.vertexarmy.dsr.game.level.LevelSprite;
 import org.vertexarmy.dsr.game.level.TerrainPatch;
 import org.vertexarmy.dsr.leveleditor.cameracontroller.AutoScrollCameraController;
@@ -37,24 +44,53 @@ import org.vertexarmy.dsr.leveleditor.ui.*;
 import org.vertexarmy.dsr.leveleditor.ui.genericeditor.GenericEditor;
 import org.vertexarmy.dsr.leveleditor.ui.menu.Menu;
 import org.vertexarmy.dsr.leveleditor.ui.menu.MenuItem;
+import org.vertexarmy.dsr.math.TriangulationCache;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 
 class LevelEditor extends Game {
+    private static final int RENDER_STATISTICS_FRAMES = 600;
+
+    private static final int PROFILER_TRACE_FRAMES = 300;
+
     private final Log log = Log.create();
 
     private final Root root = new Root();
 
     private final Function<LevelEditor, Boolean> initTask;
 
-    private final LevelRenderer levelRenderer = new LevelRenderer();
+    private final LevelSpatialIndex levelSpatialIndex = new LevelSpatialIndex();
+
+    private final LevelRenderer levelRenderer = new LevelRenderer(levelSpatialIndex);
 
     private final GridRenderer gridRenderer = new GridRenderer();
 
+    private final BackgroundLevelSaver levelSaver = new BackgroundLevelSaver();
+
+    private final Vector2 mouseWorld = new Vector2();
+
+    private LevelSnapshotter levelSnapshotter;
+
+    private LevelJournal levelJournal;
+
+    private float timeSinceAutosave;
+
     private File boundLevelFile;
 
+    /**
+     * The format the bound file was loaded in when it has to be kept, or null to save in the format of the settings.
+     */
+    private LevelFileFormat boundLevelFormat;
+
     private Level level;
 
     private DebugValuesPanel debugValuesPanel;
@@ -63,6 +99,8 @@ class LevelEditor extends Game {
 
     private LevelLoadDialog loadDialog;
 
+    private LevelRecoveryDialog recoveryDialog;
+
     private SpritePickerDialog spritePickerDialog;
 
     private LevelBackgroundDialog levelBackgroundDialog;
@@ -93,6 +131,9 @@ class LevelEditor extends Game {
     public void create() {
         root.initialize();
 
+        // the debug panel shows the GL calls of every frame
+        RenderSystem.instance().getRenderStatistics().enable();
+
         loadAssets();
 
         ElegantGraySkin.install(root.getUiNode().getUiSkin());
@@ -136,7 +177,7 @@ class LevelEditor extends Game {
                 return new InputAdapter() {
                     @Override
                     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-                        ItemPicker.PickResult pickResult = ItemPicker.pickObject(level, screenX, screenY);
+                        ItemPicker.PickResult pickResult = ItemPicker.pickObject(levelSpatialIndex, screenX, screenY);
 
                         Menu.hideAllMenuInstances();
 
@@ -208,6 +249,16 @@ class LevelEditor extends Game {
                             return true;
                         }
 
+                        if (Shortcuts.isRecordRenderStatisticsShortcut(keycode)) {
+                            toggleRenderStatisticsRecording();
+                            return true;
+                        }
+
+                        if (Shortcuts.isExportProfilerTraceShortcut(keycode)) {
+                            exportProfilerTrace();
+                            return true;
+                        }
+
                         if (Shortcuts.isFullscreenShortcut(keycode)) {
                             RenderSystem.instance().toggleFullscreen();
                             return true;
@@ -326,7 +377,7 @@ class LevelEditor extends Game {
         saveDialog.setListener(new Dialog.Listener<LevelSaveDialog.Event>() {
             @Override
             public void dialogAccepted(LevelSaveDialog.Event event) {
-                setBoundLevelFile(new File("levels/" + event.getFilename() + ".json"));
+                setBoundLevelFile(new File("levels/" + event.getFilename() + "." + getSaveFormat().getExtension()), null);
                 saveLevel();
             }
         });
@@ -335,25 +386,28 @@ class LevelEditor extends Game {
         loadDialog.setListener(new Dialog.Listener<LevelLoadDialog.Event>() {
             @Override
             public void dialogAccepted(LevelLoadDialog.Event event) {
-                log.debug("Requested to load the level " + event.getLevelName());
+                log.debug("Requested to load the level " + event.getLevelFileName());
 
                 try {
-                    loadLevel(new File("levels/" + event.getLevelName() + ".json"));
+                    loadLevel(new File("levels/" + event.getLevelFileName()));
                 } catch (Exception ignored) {
                     ignored.printStackTrace();
                 }
             }
         });
 
+        recoveryDialog = new LevelRecoveryDialog(root.getUiContext(), "Recover Level");
+
         spritePickerDialog = new SpritePickerDialog(root.getUiContext(), "Select terrain texture");
 
         levelBackgroundDialog = new LevelBackgroundDialog(root.getUiContext(), "Edit Background");
         levelBackgroundDialog.setListener(new Dialog.Listener<LevelBackgroundDialog.Event>() {
             @Override
             public void dialogAccepted(LevelBackgroundDialog.Event event) {
-                level.getBackgroundLayers().clear();
-                level.getBackgroundLayers().addAll(event.getBackgroundLayers());
-                levelRenderer.reloadLevel();
+                level.setBackgroundLayers(event.getBackgroundLayers());
+                if (levelJournal != null) {
+                    levelJournal.record();
+                }
             }
         });
 
@@ -410,37 +464,181 @@ class LevelEditor extends Game {
     public void loadLevel(File selectedFile) {
         try {
             log.debug("Attempting to load file " + selectedFile);
-            FileInputStream inputStream = new FileInputStream(selectedFile);
+            Level level;
+            LevelFileFormat levelFormat = null;
+            if (ChunkedLevelFile.isChunkedLevelFile(selectedFile)) {
+                // the whole level is edited and saved back in chunks of the same width, so every chunk is loaded
+                try (ChunkedLevelFile chunkedLevelFile = ChunkedLevelFile.open(selectedFile)) {
+                    level = chunkedLevelFile.readLevel();
+                    levelFormat = LevelFileFormat.chunked(chunkedLevelFile.getChunkWidth());
+                }
+            } else {
+                try (InputStream inputStream = new BufferedInputStream(new FileInputStream(selectedFile))) {
+                    level = Serialization.deserialize(inputStream, Level.class);
+                }
+            }
+
+            // edits which were not saved before the editor went down are kept in the journal of the level; the
+            // journal of the current level is closed first, so that reopening the level reads all of its edits
+            closeJournal();
+            final Level recoveredLevel = recoverLevel(selectedFile);
+            if (recoveredLevel == null) {
+                openLevel(selectedFile, levelFormat, level, false);
+                return;
+            }
+
+            final File levelFile = selectedFile;
+            final LevelFileFormat recoveredLevelFormat = levelFormat;
+            final Level savedLevel = level;
+            recoveryDialog.setLevelName(selectedFile.getName());
+            recoveryDialog.setListener(new Dialog.Listener<LevelRecoveryDialog.Event>() {
+                @Override
+                public void dialogAccepted(LevelRecoveryDialog.Event event) {
+                    if (event.isRecover()) {
+                        log.info("Recovered unsaved changes from " + LevelJournal.getJournalFile(levelFile).getAbsolutePath());
+                        openLevel(levelFile, recoveredLevelFormat, recoveredLevel, true);
+                    } else {
+                        // the new journal replaces the discarded changes
+                        openLevel(levelFile, recoveredLevelFormat, savedLevel, false);
+                    }
+                }
+            });
+            recoveryDialog.show();
+        } catch (Exception e) {
+            log.exception(e);
+        }
+    }
+
+    /**
+     * @return the level with the edits kept in its journal, or null if there are none or the journal cannot be read;
+     * a broken journal must not keep the saved level from opening
+     */
+    private Level recoverLevel(File levelFile) {
+        try {
+            return LevelJournal.recover(levelFile);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not recover unsaved changes from " + LevelJournal.getJournalFile(levelFile).getAbsolutePath());
+            log.exception(e);
+            return null;
+        }
+    }
 
-            Level level = Serialization.deserialize(inputStream, Level.class);
+    private void openLevel(File levelFile, LevelFileFormat levelFormat, Level level, boolean recovered) {
+        terrainPatchEditTool.unbind();
+        levelSpriteEditTool.unbind();
 
-            terrainPatchEditTool.unbind();
-            levelSpriteEditTool.unbind();
+        setLevel(level);
 
-            setLevel(level);
+        setBoundLevelFile(levelFile, levelFormat);
+        levelJournal = new LevelJournal(levelFile, level, levelSnapshotter.snapshot(), !recovered);
+    }
 
-            setBoundLevelFile(selectedFile);
-        } catch (Exception e) {
+    private void toggleRenderStatisticsRecording() {
+        RenderStatistics renderStatistics = RenderSystem.instance().getRenderStatistics();
+        if (renderStatistics.isRecording()) {
+            try {
+                log.info("Saved render statistics to " + renderStatistics.stopRecording().getAbsolutePath());
+            } catch (IOException e) {
+                log.exception(e);
+            }
+        } else {
+            renderStatistics.startRecording(new File("render-stats-" + System.currentTimeMillis() + ".csv"), RENDER_STATISTICS_FRAMES);
+        }
+    }
+
+    private void exportProfilerTrace() {
+        File traceFile = new File("trace-" + System.currentTimeMillis() + ".json");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(traceFile), Charset.forName("UTF-8")))) {
+            Profiler.instance().exportChromeTrace(writer, PROFILER_TRACE_FRAMES);
+            log.info("Saved profiler trace to " + traceFile.getAbsolutePath());
+        } catch (IOException e) {
             log.exception(e);
         }
     }
 
     private void saveLevel() {
         if (boundLevelFile != null) {
-            try {
-                FileOutputStream outputStream = new FileOutputStream(boundLevelFile);
-                Serialization.serialize(outputStream, level);
-                log.info("Saved level " + boundLevelFile.getAbsolutePath());
-            } catch (Exception ignored) {
-                ignored.printStackTrace();
-            }
+            final Level savedLevel = level;
+            final Level snapshot = levelSnapshotter.snapshot();
+            final File levelFile = boundLevelFile;
+            // the journal keeps the changes until the file holds them, which a failed save never does
+            levelSaver.save(snapshot, levelFile, getSaveFormat(), new Runnable() {
+                @Override
+                public void run() {
+                    if (level == savedLevel) {
+                        levelSaved(levelFile, snapshot);
+                    }
+                }
+            });
+            timeSinceAutosave = 0;
         } else {
             log.warning("Attempted to save a level which is not bound to an external file.");
         }
     }
 
-    private void setBoundLevelFile(File selectedFile) {
+    /**
+     * Starts the journal over from the saved level file. Edits made while the level was being saved are not in the
+     * file, so the journal keeps them.
+     */
+    private void levelSaved(File levelFile, Level snapshot) {
+        Level current = levelSnapshotter.snapshot();
+        boolean saved = current.equals(snapshot);
+
+        if (levelJournal != null && levelJournal.getLevelFile().equals(levelFile)) {
+            levelJournal.rebase(current, saved);
+        } else {
+            // saved under a new name, so the changes in the old journal are saved as well
+            if (levelJournal != null) {
+                levelJournal.discard();
+            }
+            levelJournal = new LevelJournal(levelFile, level, current, saved);
+        }
+    }
+
+    private void autosave() {
+        int interval = levelEditorSettings.getAutosaveInterval();
+        if (interval <= 0) {
+            return;
+        }
+
+        timeSinceAutosave += Gdx.graphics.getDeltaTime();
+        if (timeSinceAutosave < interval || levelSaver.isSaving()) {
+            return;
+        }
+
+        timeSinceAutosave = 0;
+        if (levelSnapshotter.hasChanges()) {
+            levelSaver.save(levelSnapshotter.snapshot(), getAutosaveFile(), getSaveFormat());
+        }
+    }
+
+    /**
+     * Autosaves go next to the level, e.g. levels/intro.autosave.bin for a binary level, so that they can be opened
+     * from the load dialog without overwriting the level. A level which was never saved is autosaved to the .dsr
+     * directory of the user, which does not depend on where the editor was started.
+     */
+    private File getAutosaveFile() {
+        String extension = getSaveFormat().getExtension();
+        if (boundLevelFile == null) {
+            return new File(new File(System.getProperty("user.home"), ".dsr"), "autosave." + extension);
+        }
+
+        String name = boundLevelFile.getName();
+        int extensionIndex = name.lastIndexOf('.');
+        return new File(boundLevelFile.getAbsoluteFile().getParentFile(), (extensionIndex > 0 ? name.substring(0, extensionIndex) : name) + ".autosave." + extension);
+    }
+
+    private LevelFileFormat getSaveFormat() {
+        if (boundLevelFormat != null) {
+            return boundLevelFormat;
+        }
+        // JSON and binary levels are loaded in either format, whatever the setting
+        return LevelFileFormat.of(levelEditorSettings.isSaveBinaryLevels() ? Serialization.Format.BINARY : Serialization.Format.JSON);
+    }
+
+    private void setBoundLevelFile(File selectedFile, LevelFileFormat levelFormat) {
         boundLevelFile = selectedFile;
+        boundLevelFormat = levelFormat;
         if (boundLevelFile != null) {
             Gdx.graphics.setTitle(boundLevelFile.getAbsolutePath() + " - Level Editor - " + Version.value());
         }
@@ -456,6 +654,13 @@ class LevelEditor extends Game {
         root.handleResize(w, h);
     }
 
+    @Override
+    public void dispose() {
+        super.dispose();
+        levelSaver.shutdown();
+        closeJournal();
+    }
+
     private void update() {
         Camera camera = RenderSystem.instance().getCamera();
         float zoom = RenderSystem.instance().getZoom();
@@ -464,18 +669,68 @@ class LevelEditor extends Game {
         DebugValues.instance().setValue(DebugItems.ZOOM, String.valueOf(zoom * 100) + " %");
         DebugValues.instance().setValue(DebugItems.MOUSE_VIEWPORT, Gdx.input.getX() + ", " + Gdx.input.getY());
 
-        Vector2 mouseWorld = RenderSystem.instance().screenToWorld(new Vector2(Gdx.input.getX(), Gdx.input.getY()));
+        RenderSystem.instance().screenToWorld(Gdx.input.getX(), Gdx.input.getY(), mouseWorld);
         DebugValues.instance().setValue(DebugItems.MOUSE_WORLD, (int) mouseWorld.x + ", " + (int) mouseWorld.y);
 
         DebugValues.instance().setValue(DebugItems.FPS, String.valueOf(Gdx.graphics.getFramesPerSecond()));
 
-        levelRenderer.reloadLevel();
+        levelRenderer.setDynamicTerrainPatch(terrainPatchEditTool.getBoundObject());
+        DebugValues.instance().setValue(DebugItems.REBUILT_RENDER_OBJECTS, String.valueOf(levelRenderer.update()));
+        DebugValues.instance().setValue(DebugItems.VISIBLE_OBJECTS, String.valueOf(levelRenderer.getVisibleCount()));
+        DebugValues.instance().setValue(DebugItems.CULLED_OBJECTS, String.valueOf(levelRenderer.getCulledCount()));
+        DebugValues.instance().setValue(DebugItems.PICK_VISITED_NODES, String.valueOf(ItemPicker.getLastVisitedNodes()));
+
+        RenderQueue renderQueue = RenderSystem.instance().getRenderQueue();
+        DebugValues.instance().setValue(DebugItems.RENDER_QUEUE, renderQueue.getLastFrameCommandCount() + " commands, "
+                + renderQueue.getLastFrameBatchSwitchCount() + " batches, "
+                + renderQueue.getLastFrameTextureSwitchCount() + " textures");
+
+        RenderStatistics renderStatistics = RenderSystem.instance().getRenderStatistics();
+        DebugValues.instance().setValue(DebugItems.RENDER_STATISTICS, renderStatistics.getDrawCalls() + " draws, "
+                + renderStatistics.getTextureSwitches() + " textures, "
+                + renderStatistics.getShaderSwitches() + " shaders, "
+                + renderStatistics.getVertices() + " vertices, "
+                + renderStatistics.getShapeRendererFlushes() + " shape flushes"
+                + (renderStatistics.isRecording() ? " (recording)" : ""));
+
+        AllocationTracker allocationTracker = AllocationTracker.instance();
+        if (allocationTracker.isSupported()) {
+            DebugValues.instance().setValue(DebugItems.ALLOCATIONS, allocationTracker.getLastFrameTotalBytes() / 1024 + " kb/frame (update "
+                    + allocationTracker.getLastFrameBytes(AllocationTracker.Phase.UPDATE) / 1024 + " kb, render "
+                    + allocationTracker.getLastFrameBytes(AllocationTracker.Phase.RENDER) / 1024 + " kb)");
+        }
+
+        TriangulationCache triangulationCache = TriangulationCache.instance();
+        DebugValues.instance().setValue(DebugItems.TRIANGULATION_CACHE, triangulationCache.getHitCount() + " hits, "
+                + triangulationCache.getMissCount() + " misses, " + triangulationCache.getSizeBytes() / 1024 + " kb");
+
+        ActionManager actionManager = ActionManager.instance();
+        DebugValues.instance().setValue(DebugItems.UNDO_HISTORY, actionManager.getUndoCount() + " undo, "
+                + actionManager.getRedoCount() + " redo, " + actionManager.getHistoryBytes() / 1024 + " of "
+                + actionManager.getHistoryBudget() / 1024 + " kb");
+
+        autosave();
+    }
+
+    private void closeJournal() {
+        if (levelJournal != null) {
+            levelJournal.close();
+            levelJournal = null;
+        }
     }
 
     private void setLevel(Level level) {
         this.level = level;
 
+        if (levelSnapshotter != null) {
+            levelSnapshotter.dispose();
+        }
+        levelSnapshotter = new LevelSnapshotter(level);
+        closeJournal();
+        timeSinceAutosave = 0;
+
         levelRenderer.setLevel(level);
+        levelSpatialIndex.setLevel(level);
     }
 
     public static void launch(Function<LevelEditor, Boolean> initTask) {
@@ -0,0 +1,62 @@
+package org.vertexarmy.dsr.leveleditor;
+
+import com.google.common.collect.ImmutableList;
+import org.vertexarmy.dsr.core.ChunkedLevelFile;
+import org.vertexarmy.dsr.core.Serialization;
+import org.vertexarmy.dsr.game.level.Level;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * The format a level is saved in: JSON or binary through {@link Serialization}, or a {@link ChunkedLevelFile} of
+ * a given chunk width.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelFileFormat {
+    private static final String JSON_EXTENSION = "json";
+
+    private static final String BINARY_EXTENSION = "bin";
+
+    private static final String CHUNKED_EXTENSION = "chunks";
+
+    /**
+     * The extensions of the level files, which the editor opens whatever their format.
+     */
+    public static final List<String> EXTENSIONS = ImmutableList.of(JSON_EXTENSION, BINARY_EXTENSION, CHUNKED_EXTENSION);
+
+    private final Serialization.Format format;
+
+    private final float chunkWidth;
+
+    private LevelFileFormat(Serialization.Format format, float chunkWidth) {
+        this.format = format;
+        this.chunkWidth = chunkWidth;
+    }
+
+    public static LevelFileFormat of(Serialization.Format format) {
+        return new LevelFileFormat(format, 0);
+    }
+
+    public static LevelFileFormat chunked(float chunkWidth) {
+        return new LevelFileFormat(null, chunkWidth);
+    }
+
+    public String getExtension() {
+        if (format == null) {
+            return CHUNKED_EXTENSION;
+        }
+        return format == Serialization.Format.BINARY ? BINARY_EXTENSION : JSON_EXTENSION;
+    }
+
+    public void write(Level level, OutputStream stream) throws IOException, ClassNotFoundException {
+        if (format == null) {
+            ChunkedLevelFile.write(level, stream, chunkWidth);
+        } else {
+            Serialization.serialize(stream, level, format);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.vertexarmy.dsr.leveleditor;
+
+import lombok.Getter;
+import org.vertexarmy.dsr.collection.SpatialGrid;
+import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelListener;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+
+/**
+ * Spatial index over the terrain patches and sprites of a level, kept in sync through the level's
+ * notifications.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelSpatialIndex implements LevelListener {
+    private static final float CELL_SIZE = 512;
+
+    @Getter
+    private final SpatialGrid<TerrainPatch> terrainPatches = new SpatialGrid<>(CELL_SIZE);
+
+    @Getter
+    private final SpatialGrid<LevelSprite> levelSprites = new SpatialGrid<>(CELL_SIZE);
+
+    private Level level;
+
+    public void setLevel(Level level) {
+        if (this.level != null) {
+            this.level.removeListener(this);
+        }
+
+        this.level = level;
+        level.addListener(this);
+
+        reloadLevel();
+    }
+
+    public void reloadLevel() {
+        terrainPatches.clear();
+        for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
+            terrainPatchModified(terrainPatch);
+        }
+
+        levelSprites.clear();
+        for (LevelSprite levelSprite : level.getLevelSprites()) {
+            levelSpriteModified(levelSprite);
+        }
+    }
+
+    @Override
+    public void terrainPatchAdded(TerrainPatch terrainPatch) {
+        terrainPatchModified(terrainPatch);
+    }
+
+    @Override
+    public void terrainPatchRemoved(TerrainPatch terrainPatch) {
+        terrainPatches.remove(terrainPatch);
+    }
+
+    @Override
+    public void terrainPatchModified(TerrainPatch terrainPatch) {
+        terrainPatches.put(terrainPatch, terrainPatch.getShape().getBoundingBox());
+    }
+
+    @Override
+    public void levelSpriteAdded(LevelSprite levelSprite) {
+        levelSpriteModified(levelSprite);
+    }
+
+    @Override
+    public void levelSpriteRemoved(LevelSprite levelSprite) {
+        levelSprites.remove(levelSprite);
+    }
+
+    @Override
+    public void levelSpriteModified(LevelSprite levelSprite) {
+        levelSprites.put(levelSprite, LevelSpriteUtils.getSpriteBounds(levelSprite).getBoundingBox());
+    }
+
+    @Override
+    public void backgroundModified() {
+    }
+}
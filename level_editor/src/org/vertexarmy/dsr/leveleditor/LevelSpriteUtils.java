@@ -1,6 +1,7 @@
 package org.vertexarmy.dsr.leveleditor;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.google.common.collect.ImmutableList;
 import javax.annotation.Nonnull;
@@ -36,4 +37,24 @@ public class LevelSpriteUtils {
 
         return bounds;
     }
+
+    /**
+     * Tests the point against the sprite bounds in the frame of the sprite, without building the bounds polygon.
+     */
+    public static boolean containsPoint(LevelSprite sprite, float x, float y) {
+        TextureRegion region = TextureRepository.instance().getTexture(sprite.getTextureName());
+        if (region == null) {
+            return false;
+        }
+
+        float halfWidth = Math.abs(region.getRegionWidth() * sprite.getScale().x) / 2;
+        float halfHeight = Math.abs(region.getRegionHeight() * sprite.getScale().y) / 2;
+
+        float cos = (float) Math.cos(sprite.getRotation() * MathUtils.degreesToRadians);
+        float sin = (float) Math.sin(sprite.getRotation() * MathUtils.degreesToRadians);
+        float dx = x - sprite.getPosition().x;
+        float dy = y - sprite.getPosition().y;
+
+        return Math.abs(dx * cos + dy * sin) <= halfWidth && Math.abs(dy * cos - dx * sin) <= halfHeight;
+    }
 }
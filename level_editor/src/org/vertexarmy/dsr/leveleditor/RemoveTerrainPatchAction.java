@@ -1,6 +1,7 @@
 package org.vertexarmy.dsr.leveleditor;
 
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.game.level.Level;
 import org.vertexarmy.dsr.game.level.TerrainPatch;
 
@@ -19,16 +20,28 @@ class RemoveTerrainPatchAction extends ActionManager.ActionAdapter {
 
     @Override
     public void doAction() {
-        level.getTerrainPatches().remove(patchToRemove);
+        level.removeTerrainPatch(patchToRemove);
     }
 
     @Override
     public void undoAction() {
-        level.getTerrainPatches().add(patchToRemove);
+        level.addTerrainPatch(patchToRemove);
     }
 
     @Override
     public boolean isValid() {
         return patchToRemove != null;
     }
+
+    /**
+     * Once removed, the patch is only kept alive by this action.
+     */
+    @Override
+    public long getFootprint() {
+        long footprint = MemoryFootprint.object(2 * MemoryFootprint.REFERENCE) + MemoryFootprint.object(4 * MemoryFootprint.REFERENCE);
+        if (patchToRemove != null && patchToRemove.getShape() != null) {
+            footprint += MemoryFootprint.polygon(patchToRemove.getShape());
+        }
+        return footprint;
+    }
 }
@@ -1,6 +1,7 @@
 package org.vertexarmy.dsr.leveleditor;
 
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.game.level.Level;
 import org.vertexarmy.dsr.game.level.LevelSprite;
 
@@ -19,16 +20,24 @@ public class RemoveTerrainSpriteAction extends ActionManager.ActionAdapter {
 
     @Override
     public void doAction() {
-        level.getLevelSprites().remove(sprite);
+        level.removeLevelSprite(sprite);
     }
 
     @Override
     public void undoAction() {
-        level.getLevelSprites().add(sprite);
+        level.addLevelSprite(sprite);
     }
 
     @Override
     public boolean isValid() {
         return sprite != null;
     }
+
+    /**
+     * Once removed, the sprite is only kept alive by this action.
+     */
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(2 * MemoryFootprint.REFERENCE) + MemoryFootprint.object(4 * MemoryFootprint.REFERENCE + 3 * 4) + 2 * MemoryFootprint.vector2();
+    }
 }
@@ -36,6 +36,14 @@ public class Shortcuts {
         return keycode == Input.Keys.F1;
     }
 
+    public static boolean isRecordRenderStatisticsShortcut(int keycode) {
+        return keycode == Input.Keys.F9;
+    }
+
+    public static boolean isExportProfilerTraceShortcut(int keycode) {
+        return keycode == Input.Keys.F10;
+    }
+
     public static boolean isDeselectShortcut(int keycode) {
         return keycode == Input.Keys.ESCAPE;
     }
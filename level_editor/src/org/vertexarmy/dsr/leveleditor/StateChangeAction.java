@@ -2,6 +2,7 @@ package org.vertexarmy.dsr.leveleditor;
 
 import org.vertexarmy.dsr.core.ActionManager;
 import org.vertexarmy.dsr.core.ReflectionHelper;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 
 /**
  * created by Alex
@@ -32,4 +33,9 @@ public class StateChangeAction extends ActionManager.ActionAdapter {
     public boolean isValid() {
         return !originalState.equals(newState);
     }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(3 * MemoryFootprint.REFERENCE) + originalState.getFootprint() + newState.getFootprint();
+    }
 }
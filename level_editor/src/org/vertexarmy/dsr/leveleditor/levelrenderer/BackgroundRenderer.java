@@ -3,11 +3,13 @@ package org.vertexarmy.dsr.leveleditor.levelrenderer;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.beust.jcommander.internal.Maps;
+import lombok.Getter;
 import org.vertexarmy.dsr.core.assets.TextureRepository;
+import org.vertexarmy.dsr.core.systems.RenderQueue;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.game.level.BackgroundLayer;
 import org.vertexarmy.dsr.game.level.Level;
@@ -19,11 +21,29 @@ import java.util.Map;
  * on 3/31/2015.
  */
 public class BackgroundRenderer {
+    /**
+     * The world height the layers are stretched to; their width follows the view.
+     */
+    private static final float BACKGROUND_HEIGHT = 800;
+
+    private static final BackgroundLayer.Type[] LAYER_TYPES = BackgroundLayer.Type.values();
 
     private Level level;
 
     private final Map<BackgroundLayer.Type, Sprite> backgroundSprites = Maps.newHashMap();
 
+    private boolean backgroundInvalid = true;
+
+    private final Rectangle viewBounds = new Rectangle();
+
+    private final Vector2 viewOrigin = new Vector2();
+
+    @Getter
+    private int visibleCount;
+
+    @Getter
+    private int culledCount;
+
     public void setLevel(Level level) {
         this.level = level;
         reloadLevel();
@@ -31,11 +51,17 @@ public class BackgroundRenderer {
 
     public void render() {
         RenderSystem renderSystem = RenderSystem.instance();
-        SpriteBatch batch = renderSystem.getSpriteBatch();
+        RenderQueue renderQueue = renderSystem.getRenderQueue();
+        renderSystem.getViewBounds(viewBounds);
 
-        batch.begin();
+        // the layers start at the left edge of the view, but never left of the level
+        float viewLeft = Math.max(0, renderSystem.screenToWorld(0, 0, viewOrigin).x);
+        float viewWidth = renderSystem.screenToWorld(Gdx.graphics.getWidth());
 
-        for (BackgroundLayer.Type layerType : BackgroundLayer.Type.values()) {
+        visibleCount = 0;
+        culledCount = 0;
+
+        for (BackgroundLayer.Type layerType : LAYER_TYPES) {
             Sprite sprite = backgroundSprites.get(layerType);
             if (sprite == null) {
                 continue;
@@ -43,11 +69,11 @@ public class BackgroundRenderer {
 
             float parallaxSpeedScale = level.getBackgroundLayerByType(layerType).getParallaxSpeedScale();
 
-            sprite.setSize(renderSystem.screenToWorld(Gdx.graphics.getWidth()), 800);
+            sprite.setSize(viewWidth, BACKGROUND_HEIGHT);
 
-            float spriteScaling = 800.0f / sprite.getTexture().getHeight();
+            float spriteScaling = BACKGROUND_HEIGHT / sprite.getTexture().getHeight();
 
-            float uOffset = Math.max(0, renderSystem.screenToWorld(new Vector2(0, 0)).x) / sprite.getTexture().getWidth() / spriteScaling;
+            float uOffset = viewLeft / sprite.getTexture().getWidth() / spriteScaling;
             uOffset *= parallaxSpeedScale;
 
             float uSize = sprite.getWidth() / sprite.getTexture().getWidth() / spriteScaling;
@@ -55,21 +81,39 @@ public class BackgroundRenderer {
             sprite.setU(uOffset);
             sprite.setU2(uOffset + uSize);
 
+            sprite.setPosition(viewLeft, 0);
 
-            float x = Math.max(0, renderSystem.screenToWorld(new Vector2(0, 0)).x);
-            float y = 0;
-            float w = sprite.getWidth();
-            float h = 800;
+            // the layer is placed and sized before culling, so its own bounds are tested
+            if (!sprite.getBoundingRectangle().overlaps(viewBounds)) {
+                culledCount += 1;
+                continue;
+            }
 
-            batch.draw(sprite, x, y, w, h);
+            visibleCount += 1;
+            renderQueue.submit(LevelRenderer.BACKGROUND_LAYER, layerType.ordinal(), sprite);
         }
+    }
+
+    public void invalidate() {
+        backgroundInvalid = true;
+    }
 
-        batch.end();
+    /**
+     * @return the number of background sprites that were rebuilt
+     */
+    public int update() {
+        if (!backgroundInvalid) {
+            return 0;
+        }
+
+        reloadLevel();
+        return backgroundSprites.size();
     }
 
     public void reloadLevel() {
+        backgroundInvalid = false;
         backgroundSprites.clear();
-        for (BackgroundLayer.Type layerType : BackgroundLayer.Type.values()) {
+        for (BackgroundLayer.Type layerType : LAYER_TYPES) {
             BackgroundLayer layer = level.getBackgroundLayerByType(layerType);
             if (layer != null && layer.getTextureName() != null) {
                 TextureRegion texture = TextureRepository.instance().getTexture(layer.getTextureName());
@@ -2,18 +2,33 @@ package org.vertexarmy.dsr.leveleditor.levelrenderer;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.game.level.Level;
+import org.vertexarmy.dsr.game.level.LevelListener;
+import org.vertexarmy.dsr.game.level.LevelSprite;
+import org.vertexarmy.dsr.game.level.TerrainPatch;
+import org.vertexarmy.dsr.leveleditor.LevelSpatialIndex;
 
 /**
  * Created by alex
  * on 01.04.2015.
  */
-public class LevelRenderer {
+public class LevelRenderer implements LevelListener {
+    public static final int BACKGROUND_LAYER = 0;
+
+    public static final int BACKGROUND_SPRITES_LAYER = 1;
+
+    public static final int TERRAIN_LAYER = 2;
+
+    public static final int FOREGROUND_SPRITES_LAYER = 3;
+
     private final BackgroundRenderer backgroundRenderer = new BackgroundRenderer();
 
-    private final TerrainRenderer terrainRenderer = new TerrainRenderer();
+    private final TerrainRenderer terrainRenderer;
+
+    private final SpritesRenderer spritesRenderer;
 
-    private final SpritesRenderer spritesRenderer = new SpritesRenderer();
+    private Level level;
 
     @Getter
     @Setter
@@ -27,7 +42,19 @@ public class LevelRenderer {
     @Setter
     private boolean showTerrainPatches = true;
 
+    public LevelRenderer(LevelSpatialIndex spatialIndex) {
+        terrainRenderer = new TerrainRenderer(spatialIndex.getTerrainPatches());
+        spritesRenderer = new SpritesRenderer(spatialIndex.getLevelSprites());
+    }
+
     public void setLevel(Level level) {
+        if (this.level != null) {
+            this.level.removeListener(this);
+        }
+
+        this.level = level;
+        level.addListener(this);
+
         backgroundRenderer.setLevel(level);
         terrainRenderer.setLevel(level);
         spritesRenderer.setLevel(level);
@@ -39,14 +66,43 @@ public class LevelRenderer {
         }
 
         if (showLevelSprites) {
-            spritesRenderer.renderBackgroundSprites();
+            spritesRenderer.render();
         }
         if (showTerrainPatches) {
             terrainRenderer.render();
         }
-        if (showLevelSprites) {
-            spritesRenderer.renderForegroundSprites();
-        }
+
+        RenderSystem.instance().getRenderQueue().flush();
+    }
+
+    /**
+     * Rebuilds the render objects of everything that changed since the last call.
+     *
+     * @return the number of render objects that were rebuilt
+     */
+    public int update() {
+        return backgroundRenderer.update() + terrainRenderer.update() + spritesRenderer.update();
+    }
+
+    /**
+     * @return the number of objects drawn by the last render
+     */
+    public int getVisibleCount() {
+        return backgroundRenderer.getVisibleCount() + terrainRenderer.getVisibleCount() + spritesRenderer.getVisibleCount();
+    }
+
+    /**
+     * @return the number of objects skipped by the last render because they were outside the view
+     */
+    public int getCulledCount() {
+        return backgroundRenderer.getCulledCount() + terrainRenderer.getCulledCount() + spritesRenderer.getCulledCount();
+    }
+
+    /**
+     * Draws the terrain patch from a dynamic sprite instead of its baked chunk while it is being edited.
+     */
+    public void setDynamicTerrainPatch(TerrainPatch terrainPatch) {
+        terrainRenderer.setDynamicTerrainPatch(terrainPatch);
     }
 
     public void reloadLevel() {
@@ -55,4 +111,38 @@ public class LevelRenderer {
         spritesRenderer.reloadLevel();
     }
 
+    @Override
+    public void terrainPatchAdded(TerrainPatch terrainPatch) {
+        terrainRenderer.invalidate(terrainPatch);
+    }
+
+    @Override
+    public void terrainPatchRemoved(TerrainPatch terrainPatch) {
+        terrainRenderer.remove(terrainPatch);
+    }
+
+    @Override
+    public void terrainPatchModified(TerrainPatch terrainPatch) {
+        terrainRenderer.invalidate(terrainPatch);
+    }
+
+    @Override
+    public void levelSpriteAdded(LevelSprite levelSprite) {
+        spritesRenderer.invalidate(levelSprite);
+    }
+
+    @Override
+    public void levelSpriteRemoved(LevelSprite levelSprite) {
+        spritesRenderer.remove(levelSprite);
+    }
+
+    @Override
+    public void levelSpriteModified(LevelSprite levelSprite) {
+        spritesRenderer.invalidate(levelSprite);
+    }
+
+    @Override
+    public void backgroundModified() {
+        backgroundRenderer.invalidate();
+    }
 }
@@ -1,12 +1,16 @@
 package org.vertexarmy.dsr.leveleditor.levelrenderer;
 
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
 import com.beust.jcommander.internal.Lists;
-import java.util.Collections;
-import java.util.Comparator;
+import com.google.common.collect.Sets;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.vertexarmy.dsr.collection.SpatialGrid;
 import org.vertexarmy.dsr.core.assets.TextureRepository;
+import org.vertexarmy.dsr.core.systems.RenderQueue;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.game.level.Level;
 import org.vertexarmy.dsr.game.level.LevelSprite;
@@ -17,35 +21,57 @@ import org.vertexarmy.dsr.game.level.LevelSprite;
  */
 public class SpritesRenderer {
 
+    private final SpatialGrid<LevelSprite> levelSpriteIndex;
+
     private Level level;
 
-    private final List<Sprite> foregroundSpriteList = Lists.newArrayList();
+    private final Map<LevelSprite, Sprite> sprites = new IdentityHashMap<>();
+
+    private final Set<LevelSprite> invalidLevelSprites = Sets.newIdentityHashSet();
+
+    private final List<LevelSprite> visibleLevelSprites = Lists.newArrayList();
 
-    private final List<Sprite> backgroundSpriteList = Lists.newArrayList();
+    private final Rectangle viewBounds = new Rectangle();
 
-    private static final SpriteZOrderComparator zOrderComparator = new SpriteZOrderComparator();
+    private int visibleCount;
+
+    public SpritesRenderer(SpatialGrid<LevelSprite> levelSpriteIndex) {
+        this.levelSpriteIndex = levelSpriteIndex;
+    }
 
     public void setLevel(Level level) {
         this.level = level;
         reloadLevel();
     }
 
-    public void renderForegroundSprites() {
-        renderSpriteList(foregroundSpriteList);
+    /**
+     * Queues the visible sprites of both layers; the render queue orders them by layer and zOrder, so the spatial
+     * index is queried once per frame.
+     */
+    public void render() {
+        RenderQueue renderQueue = RenderSystem.instance().getRenderQueue();
+
+        levelSpriteIndex.queryRectangle(RenderSystem.instance().getViewBounds(viewBounds), visibleLevelSprites);
+
+        visibleCount = 0;
+        for (int i = 0; i < visibleLevelSprites.size(); ++i) {
+            LevelSprite levelSprite = visibleLevelSprites.get(i);
+            Sprite sprite = sprites.get(levelSprite);
+            if (sprite != null) {
+                int layer = levelSprite.isForeground() ? LevelRenderer.FOREGROUND_SPRITES_LAYER : LevelRenderer.BACKGROUND_SPRITES_LAYER;
+                renderQueue.submit(layer, levelSprite.getZOrder(), sprite);
+                visibleCount += 1;
+            }
+        }
+        visibleLevelSprites.clear();
     }
 
-    public void renderBackgroundSprites() {
-        renderSpriteList(backgroundSpriteList);
+    public int getVisibleCount() {
+        return visibleCount;
     }
 
-    private void renderSpriteList(List<Sprite> spriteList) {
-        SpriteBatch spriteBatch = RenderSystem.instance().getSpriteBatch();
-
-        spriteBatch.begin();
-        for (Sprite sprite : spriteList) {
-            sprite.draw(spriteBatch);
-        }
-        spriteBatch.end();
+    public int getCulledCount() {
+        return sprites.size() - visibleCount;
     }
 
     public void reloadLevel() {
@@ -53,32 +79,35 @@ public class SpritesRenderer {
             return;
         }
 
-        foregroundSpriteList.clear();
-        backgroundSpriteList.clear();
+        sprites.clear();
+        invalidLevelSprites.clear();
+        invalidLevelSprites.addAll(level.getLevelSprites());
+    }
 
-        List<LevelSprite> foregroundLevelSpriteList = Lists.newArrayList();
+    public void invalidate(LevelSprite levelSprite) {
+        invalidLevelSprites.add(levelSprite);
+    }
 
-        List<LevelSprite> backgroundLevelSpriteList = Lists.newArrayList();
+    public void remove(LevelSprite levelSprite) {
+        invalidLevelSprites.remove(levelSprite);
+        sprites.remove(levelSprite);
+    }
 
-        for (LevelSprite sprite : level.getLevelSprites()) {
-            if (sprite.isForeground()) {
-                foregroundLevelSpriteList.add(sprite);
-            } else {
-                backgroundLevelSpriteList.add(sprite);
-            }
+    /**
+     * @return the number of sprites that were rebuilt
+     */
+    public int update() {
+        if (level == null || invalidLevelSprites.isEmpty()) {
+            return 0;
         }
 
-        Collections.sort(foregroundLevelSpriteList, zOrderComparator);
-
-        Collections.sort(backgroundLevelSpriteList, zOrderComparator);
-
-        for (LevelSprite levelSprite : foregroundLevelSpriteList) {
-            foregroundSpriteList.add(spriteFromLevelSprite(levelSprite));
+        int rebuiltCount = invalidLevelSprites.size();
+        for (LevelSprite levelSprite : invalidLevelSprites) {
+            sprites.put(levelSprite, spriteFromLevelSprite(levelSprite));
         }
+        invalidLevelSprites.clear();
 
-        for (LevelSprite levelSprite : backgroundLevelSpriteList) {
-            backgroundSpriteList.add(spriteFromLevelSprite(levelSprite));
-        }
+        return rebuiltCount;
     }
 
     private Sprite spriteFromLevelSprite(LevelSprite levelSprite) {
@@ -93,12 +122,4 @@ public class SpritesRenderer {
         sprite.getVertices();
         return sprite;
     }
-
-    private static final class SpriteZOrderComparator implements Comparator<LevelSprite> {
-
-        @Override
-        public int compare(LevelSprite lhs, LevelSprite rhs) {
-            return lhs.getZOrder() - rhs.getZOrder();
-        }
-    }
 }
@@ -1,30 +1,123 @@
 package org.vertexarmy.dsr.leveleditor.levelrenderer;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.g2d.PolygonRegion;
 import com.badlogic.gdx.graphics.g2d.PolygonSprite;
-import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
 import com.beust.jcommander.internal.Lists;
+import com.beust.jcommander.internal.Maps;
+import com.google.common.collect.Sets;
+import lombok.Getter;
+import org.vertexarmy.dsr.collection.SpatialGrid;
 import org.vertexarmy.dsr.core.assets.TextureRepository;
+import org.vertexarmy.dsr.core.systems.RenderQueue;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.game.level.Level;
 import org.vertexarmy.dsr.game.level.TerrainPatch;
 import org.vertexarmy.dsr.graphics.GraphicsUtils;
+import org.vertexarmy.dsr.graphics.TerrainMeshBaker;
 import org.vertexarmy.dsr.graphics.TextureOverlay;
-import org.vertexarmy.dsr.math.EarClippingTriangulation;
+import org.vertexarmy.dsr.math.TriangulationCache;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
+ * Draws the terrain from static meshes baked per world chunk and overlay texture. Only the patch being edited
+ * is drawn as a PolygonSprite, so dragging its vertices does not rebake the chunk it sits in.
+ * <p/>
+ * Overlapping terrain is drawn in level order. A mesh only holds patches which follow each other in the level,
+ * leaving out the patch being edited, and the meshes are drawn in the level order of their first patch. The level
+ * only appends patches, so the order in which patches are first seen here is their level order.
+ * <p/>
+ * Only the meshes of patches found in the view by the spatial index are drawn, and only the chunks whose patches
+ * changed are rebaked.
+ * <p/>
  * Created by alex
  * on 01.04.2015.
  */
 public class TerrainRenderer {
+    private static final float CHUNK_WIDTH = 1024;
+
+    private static final Comparator<BakedMesh> LEVEL_ORDER = new Comparator<BakedMesh>() {
+        @Override
+        public int compare(BakedMesh first, BakedMesh second) {
+            return Integer.compare(first.firstSequence, second.firstSequence);
+        }
+    };
+
+    private final TerrainMeshBaker meshBaker = new TerrainMeshBaker(CHUNK_WIDTH, new TerrainMeshBaker.TextureSizes() {
+        @Override
+        public int getWidth(String textureName) {
+            return TextureRepository.instance().getTexture(textureName).getTexture().getWidth();
+        }
+
+        @Override
+        public int getHeight(String textureName) {
+            return TextureRepository.instance().getTexture(textureName).getTexture().getHeight();
+        }
+    });
+
+    private final SpatialGrid<TerrainPatch> terrainPatchIndex;
+
     private Level level;
 
-    private final List<PolygonSprite> polygonSprites = Lists.newArrayList();
+    private final Map<Integer, List<BakedMesh>> chunkMeshes = Maps.newHashMap();
+
+    /**
+     * The static patches of each chunk, by their position in the level.
+     */
+    private final Map<Integer, TreeMap<Integer, TerrainPatch>> chunkPatches = Maps.newHashMap();
+
+    /**
+     * All static patches, by their position in the level.
+     */
+    private final TreeMap<Integer, TerrainPatch> staticTerrainPatches = new TreeMap<>();
+
+    private final Map<TerrainPatch, Integer> terrainPatchSequences = new IdentityHashMap<>();
+
+    private final Map<TerrainPatch, Integer> terrainPatchChunks = new IdentityHashMap<>();
+
+    private final Map<TerrainPatch, BakedMesh> terrainPatchMeshes = new IdentityHashMap<>();
+
+    private final Set<Integer> invalidChunks = Sets.newHashSet();
+
+    private final List<BakedMesh> orderedMeshes = Lists.newArrayList();
+
+    private final List<TerrainPatch> visibleTerrainPatches = Lists.newArrayList();
+
+    private int nextSequence;
+
+    private int renderStamp;
+
+    private TerrainPatch dynamicTerrainPatch;
+
+    private PolygonSprite dynamicSprite;
+
+    private boolean dynamicSpriteInvalid;
+
+    private final Rectangle viewBounds = new Rectangle();
+
+    @Getter
+    private int visibleCount;
+
+    @Getter
+    private int culledCount;
+
+    public TerrainRenderer(SpatialGrid<TerrainPatch> terrainPatchIndex) {
+        this.terrainPatchIndex = terrainPatchIndex;
+    }
 
     public void setLevel(Level level) {
         this.level = level;
@@ -32,25 +125,150 @@ public class TerrainRenderer {
     }
 
     public void render() {
-        PolygonSpriteBatch polygonSpriteBatch = RenderSystem.instance().getPolygonSpriteBatch();
-        polygonSpriteBatch.begin();
-        for (PolygonSprite polygonSprite : polygonSprites) {
-            polygonSprite.draw(polygonSpriteBatch);
+        RenderQueue renderQueue = RenderSystem.instance().getRenderQueue();
+        terrainPatchIndex.queryRectangle(RenderSystem.instance().getViewBounds(viewBounds), visibleTerrainPatches);
+
+        visibleCount = 0;
+        renderStamp += 1;
+
+        for (TerrainPatch terrainPatch : visibleTerrainPatches) {
+            BakedMesh bakedMesh = terrainPatchMeshes.get(terrainPatch);
+            if (bakedMesh != null) {
+                bakedMesh.renderStamp = renderStamp;
+                visibleCount += 1;
+            }
+        }
+        visibleTerrainPatches.clear();
+
+        for (BakedMesh bakedMesh : orderedMeshes) {
+            if (bakedMesh.renderStamp == renderStamp) {
+                renderQueue.submit(LevelRenderer.TERRAIN_LAYER, 0, bakedMesh.mesh, bakedMesh.texture);
+            }
         }
-        polygonSpriteBatch.end();
 
+        // the patch being edited may have moved since the index saw it, so its own bounds are tested
+        if (dynamicSprite != null && dynamicTerrainPatch.getShape().getBoundingBox().overlaps(viewBounds)) {
+            renderQueue.submit(LevelRenderer.TERRAIN_LAYER, 0, dynamicSprite);
+            visibleCount += 1;
+        }
+
+        culledCount = terrainPatchChunks.size() + (dynamicTerrainPatch != null ? 1 : 0) - visibleCount;
     }
 
     public void reloadLevel() {
-        polygonSprites.clear();
+        for (List<BakedMesh> meshes : chunkMeshes.values()) {
+            for (BakedMesh bakedMesh : meshes) {
+                bakedMesh.mesh.dispose();
+            }
+        }
+        chunkMeshes.clear();
+        chunkPatches.clear();
+        staticTerrainPatches.clear();
+        terrainPatchSequences.clear();
+        terrainPatchChunks.clear();
+        terrainPatchMeshes.clear();
+        invalidChunks.clear();
+        orderedMeshes.clear();
+        nextSequence = 0;
+
+        dynamicTerrainPatch = null;
+        dynamicSprite = null;
+        dynamicSpriteInvalid = false;
+
         for (TerrainPatch terrainPatch : level.getTerrainPatches()) {
-            PolygonSprite terrainPolygonSprite = spriteFromTerrainPatch(terrainPatch);
-            polygonSprites.add(terrainPolygonSprite);
+            invalidate(terrainPatch);
+        }
+    }
+
+    /**
+     * Moves the terrain patch to the dynamic path, returning the previous dynamic patch to its baked chunk.
+     */
+    public void setDynamicTerrainPatch(TerrainPatch terrainPatch) {
+        if (terrainPatch == dynamicTerrainPatch) {
+            return;
+        }
+
+        TerrainPatch previousTerrainPatch = dynamicTerrainPatch;
+        dynamicTerrainPatch = terrainPatch;
+        dynamicSprite = null;
+        dynamicSpriteInvalid = terrainPatch != null;
+
+        if (previousTerrainPatch != null) {
+            invalidate(previousTerrainPatch);
+        }
+
+        if (terrainPatch != null) {
+            removeStatic(terrainPatch);
         }
     }
 
+    public void invalidate(TerrainPatch terrainPatch) {
+        if (terrainPatch == dynamicTerrainPatch) {
+            dynamicSpriteInvalid = true;
+            return;
+        }
+
+        Integer sequence = terrainPatchSequences.get(terrainPatch);
+        if (sequence == null) {
+            sequence = nextSequence++;
+            terrainPatchSequences.put(terrainPatch, sequence);
+        }
+
+        // the patch may have moved, so both the chunk it left and the one it entered are rebaked
+        int chunk = meshBaker.chunkOf(terrainPatch);
+        Integer previousChunk = terrainPatchChunks.put(terrainPatch, chunk);
+        if (previousChunk == null || previousChunk != chunk) {
+            if (previousChunk != null) {
+                removeFromChunk(previousChunk, sequence);
+            }
+            chunkPatches(chunk).put(sequence, terrainPatch);
+            staticTerrainPatches.put(sequence, terrainPatch);
+            invalidateMeshesAround(sequence);
+        }
+        invalidChunks.add(chunk);
+    }
+
+    public void remove(TerrainPatch terrainPatch) {
+        if (terrainPatch == dynamicTerrainPatch) {
+            dynamicTerrainPatch = null;
+            dynamicSprite = null;
+            dynamicSpriteInvalid = false;
+        }
+
+        removeStatic(terrainPatch);
+        terrainPatchSequences.remove(terrainPatch);
+    }
+
+    /**
+     * @return the number of terrain meshes and sprites that were rebuilt
+     */
+    public int update() {
+        int rebuiltCount = 0;
+
+        if (dynamicSpriteInvalid) {
+            dynamicSprite = spriteFromTerrainPatch(dynamicTerrainPatch);
+            dynamicSpriteInvalid = false;
+            rebuiltCount += 1;
+        }
+
+        if (!invalidChunks.isEmpty()) {
+            for (Integer chunk : invalidChunks) {
+                rebuiltCount += bakeChunk(chunk);
+            }
+            invalidChunks.clear();
+
+            orderedMeshes.clear();
+            for (List<BakedMesh> meshes : chunkMeshes.values()) {
+                orderedMeshes.addAll(meshes);
+            }
+            Collections.sort(orderedMeshes, LEVEL_ORDER);
+        }
+
+        return rebuiltCount;
+    }
+
     public PolygonSprite spriteFromTerrainPatch(TerrainPatch terrainPatch) {
-        short[] indices = EarClippingTriangulation.triangulate(terrainPatch.getShape());
+        short[] indices = TriangulationCache.instance().triangulate(terrainPatch.getShape());
 
         PolygonRegion polygonRegion = new PolygonRegion(
                 textureRegionFromTextureOverlay(terrainPatch.getTextureOverlay()),
@@ -67,18 +285,150 @@ public class TerrainRenderer {
         return sprite;
     }
 
+    private TreeMap<Integer, TerrainPatch> chunkPatches(int chunk) {
+        TreeMap<Integer, TerrainPatch> terrainPatches = chunkPatches.get(chunk);
+        if (terrainPatches == null) {
+            terrainPatches = new TreeMap<>();
+            chunkPatches.put(chunk, terrainPatches);
+        }
+        return terrainPatches;
+    }
+
+    private void removeStatic(TerrainPatch terrainPatch) {
+        terrainPatchMeshes.remove(terrainPatch);
+
+        Integer chunk = terrainPatchChunks.remove(terrainPatch);
+        if (chunk != null) {
+            Integer sequence = terrainPatchSequences.get(terrainPatch);
+            removeFromChunk(chunk, sequence);
+            staticTerrainPatches.remove(sequence);
+        }
+    }
+
+    private void removeFromChunk(int chunk, int sequence) {
+        TreeMap<Integer, TerrainPatch> terrainPatches = chunkPatches.get(chunk);
+        terrainPatches.remove(sequence);
+        if (terrainPatches.isEmpty()) {
+            chunkPatches.remove(chunk);
+        }
+        invalidChunks.add(chunk);
+    }
+
+    /**
+     * A patch entering a chunk may fall between patches of another chunk which were baked into one mesh; that
+     * mesh has to be split to keep the level order.
+     */
+    private void invalidateMeshesAround(int sequence) {
+        for (Map.Entry<Integer, List<BakedMesh>> entry : chunkMeshes.entrySet()) {
+            for (BakedMesh bakedMesh : entry.getValue()) {
+                if (bakedMesh.firstSequence < sequence && sequence < bakedMesh.lastSequence) {
+                    invalidChunks.add(entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebakes the chunk from runs of its patches which follow each other in the level.
+     *
+     * @return the number of meshes baked
+     */
+    private int bakeChunk(int chunk) {
+        List<BakedMesh> previousMeshes = chunkMeshes.remove(chunk);
+        if (previousMeshes != null) {
+            for (BakedMesh bakedMesh : previousMeshes) {
+                bakedMesh.mesh.dispose();
+            }
+        }
+
+        TreeMap<Integer, TerrainPatch> terrainPatches = chunkPatches.get(chunk);
+        if (terrainPatches == null) {
+            return 0;
+        }
+
+        List<BakedMesh> meshes = Lists.newArrayList();
+        List<TerrainPatch> run = Lists.newArrayList();
+        List<Integer> runSequences = Lists.newArrayList();
+
+        for (Map.Entry<Integer, TerrainPatch> entry : terrainPatches.entrySet()) {
+            if (!runSequences.isEmpty() && !entry.getKey().equals(staticTerrainPatches.higherKey(runSequences.get(runSequences.size() - 1)))) {
+                bakeRun(chunk, run, runSequences, meshes);
+                run.clear();
+                runSequences.clear();
+            }
+            run.add(entry.getValue());
+            runSequences.add(entry.getKey());
+        }
+        bakeRun(chunk, run, runSequences, meshes);
+
+        chunkMeshes.put(chunk, meshes);
+        return meshes.size();
+    }
+
+    private void bakeRun(int chunk, List<TerrainPatch> run, List<Integer> runSequences, List<BakedMesh> meshes) {
+        for (TerrainMeshBaker.MeshData meshData : meshBaker.bake(run)) {
+            BakedMesh bakedMesh = createMesh(meshData, chunk,
+                    runSequences.get(meshData.getFirstPatchIndex()), runSequences.get(meshData.getLastPatchIndex()));
+            meshes.add(bakedMesh);
+
+            for (int i = meshData.getFirstPatchIndex(); i <= meshData.getLastPatchIndex(); ++i) {
+                terrainPatchMeshes.put(run.get(i), bakedMesh);
+            }
+        }
+    }
+
+    private BakedMesh createMesh(TerrainMeshBaker.MeshData meshData, int chunk, int firstSequence, int lastSequence) {
+        Mesh mesh = new Mesh(true, meshData.getVertexCount(), meshData.getIndices().length,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+        mesh.setVertices(meshData.getVertices());
+        mesh.setIndices(meshData.getIndices());
+
+        return new BakedMesh(mesh, overlayTexture(meshData.getTextureName()), firstSequence, lastSequence);
+    }
+
     private TextureRegion textureRegionFromTextureOverlay(TextureOverlay textureOverlay) {
         String textureName = textureOverlay.getTextureName();
         if (textureName == null) {
-            return new TextureRegion(GraphicsUtils.getColorTexture(Color.BLACK), 1, 1);
+            return new TextureRegion(overlayTexture(null), 1, 1);
         } else {
-            Texture overlayTexture = TextureRepository.instance().getTexture(textureName).getTexture();
-            overlayTexture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
-
             float uOffset = textureOverlay.getTextureOffset().x;
             float vOffset = textureOverlay.getTextureOffset().y;
 
-            return new TextureRegion(overlayTexture, uOffset, vOffset, uOffset + 1, vOffset + 1);
+            return new TextureRegion(overlayTexture(textureName), uOffset, vOffset, uOffset + 1, vOffset + 1);
+        }
+    }
+
+    private Texture overlayTexture(String textureName) {
+        if (textureName == null) {
+            return GraphicsUtils.getColorTexture(Color.BLACK);
+        }
+
+        Texture overlayTexture = TextureRepository.instance().getTexture(textureName).getTexture();
+        overlayTexture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
+        return overlayTexture;
+    }
+
+    private static class BakedMesh {
+        private final Mesh mesh;
+
+        private final Texture texture;
+
+        /**
+         * The positions in the level of the first and last patch of the mesh.
+         */
+        private final int firstSequence;
+
+        private final int lastSequence;
+
+        private int renderStamp;
+
+        private BakedMesh(Mesh mesh, Texture texture, int firstSequence, int lastSequence) {
+            this.mesh = mesh;
+            this.texture = texture;
+            this.firstSequence = firstSequence;
+            this.lastSequence = lastSequence;
         }
     }
 }
@@ -29,7 +29,7 @@ public class NewLevelSpriteTool {
             @Override
             public void dialogAccepted(SpritePickerDialog.Event event) {
                 LevelSprite levelSprite = new LevelSprite(event.getSelectedTextureName(), newSpritePosition, 0, new Vector2(1, 1), 0, true);
-                boundLevel.getLevelSprites().add(levelSprite);
+                boundLevel.addLevelSprite(levelSprite);
 
                 if (listener != null) {
                     listener.spriteAdded(levelSprite);
@@ -19,7 +19,7 @@ public class NewTerrainPatchTool {
                 x - w / 2, y - h / 2
         }));
 
-        level.getTerrainPatches().add(terrainPatch);
+        level.addTerrainPatch(terrainPatch);
         return terrainPatch;
     }
 }
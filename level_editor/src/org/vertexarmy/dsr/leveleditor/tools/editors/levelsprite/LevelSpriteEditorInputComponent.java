@@ -123,6 +123,7 @@ public class LevelSpriteEditorInputComponent extends InputAdapter implements Inp
             Vector2 moveOffset = dragHelper.getDragOffset(mouseWorldPosition);
             dragHelper.reset(mouseWorldPosition);
             editor.getBoundObject().getPosition().add(moveOffset);
+            editor.getBoundObject().notifyModified();
             return true;
         }
 
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.vertexarmy.dsr.core.component.RenderComponent;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.leveleditor.LevelSpriteUtils;
+import org.vertexarmy.dsr.math.Polygon;
 
 /**
  * created by Alex
@@ -35,7 +36,8 @@ public class LevelSpriteEditorRenderComponent extends RenderComponent {
 
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
         shapeRenderer.setColor(Color.WHITE);
-        shapeRenderer.polygon(LevelSpriteUtils.getSpriteBounds(editor.getBoundObject()).toFloatArray());
+        Polygon bounds = LevelSpriteUtils.getSpriteBounds(editor.getBoundObject());
+        shapeRenderer.polygon(bounds.getPackedVertices(), 0, bounds.getVertexCount() * 2);
         shapeRenderer.end();
     }
 
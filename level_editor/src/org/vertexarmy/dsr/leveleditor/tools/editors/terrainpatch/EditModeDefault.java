@@ -18,6 +18,7 @@ import org.vertexarmy.dsr.leveleditor.DebugItems;
 import org.vertexarmy.dsr.leveleditor.DebugValues;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions.*;
 import org.vertexarmy.dsr.math.Algorithms;
+import org.vertexarmy.dsr.math.Polygon;
 
 import java.util.List;
 
@@ -27,6 +28,10 @@ import java.util.List;
  */
 @RequiredArgsConstructor
 public class EditModeDefault extends InputAdapter implements EditMode {
+    private static final Color SELECTION_FILL_COLOR = new Color(0x40508080);
+
+    private static final Color SELECTION_BORDER_COLOR = new Color(0x405080FF);
+
     private final DragHelper selectionDragHelper = new DragHelper();
 
     private final DragHelper moveVertexDragHelper = new DragHelper();
@@ -41,6 +46,8 @@ public class EditModeDefault extends InputAdapter implements EditMode {
 
     private final Vector2 originalVertexPosition = new Vector2();
 
+    private final Vector2 mousePosition = new Vector2();
+
     private boolean multipleSelections = false;
 
     private boolean multipleSelectionsDisabled = false;
@@ -143,13 +150,11 @@ public class EditModeDefault extends InputAdapter implements EditMode {
 
         if (selectionDragHelper.isDragging()) {
             selectionDragHelper.notifyMouseMoved(mouseWorld(screenX, screenY));
-            Vector2 vertexPosition = new Vector2();
+            Polygon polygon = editor.getBoundPolygon();
             Rectangle selectionRect = Algorithms.createRectangle(selectionDragHelper.getDragStartPosition(), selectionDragHelper.getLastPosition());
 
             for (VertexHandler handler : editor.getVertexHandlers()) {
-                vertexPosition.set(editor.getVertex(handler));
-
-                boolean selectionCoversHandler = selectionRect.contains(vertexPosition);
+                boolean selectionCoversHandler = selectionRect.contains(polygon.getX(handler.getVertexIndex()), polygon.getY(handler.getVertexIndex()));
 
                 if (selectionCoversHandler && !handler.isSelected()) {
                     newlySelectedHandlers.add(handler);
@@ -172,12 +177,16 @@ public class EditModeDefault extends InputAdapter implements EditMode {
 
     @Override
     public boolean mouseMoved(int screenX, int screenY) {
+        Polygon polygon = editor.getBoundPolygon();
+        Vector2 m = RenderSystem.instance().screenToWorld(screenX, screenY, mousePosition);
+        float zoom = RenderSystem.instance().getZoom();
+
         for (VertexHandler handler : editor.getVertexHandlers()) {
-            Vector2 vertex = editor.getVertex(handler);
-            Vector2 m = mouseWorld(screenX, screenY);
+            float x = polygon.getX(handler.getVertexIndex());
+            float y = polygon.getY(handler.getVertexIndex());
 
-            handler.setHovered(Math.abs(vertex.x - m.x) < handler.getHitSize() / 2 / RenderSystem.instance().getZoom() &&
-                    Math.abs(vertex.y - m.y) < handler.getHitSize() / 2 / RenderSystem.instance().getZoom());
+            handler.setHovered(Math.abs(x - m.x) < handler.getHitSize() / 2 / zoom &&
+                    Math.abs(y - m.y) < handler.getHitSize() / 2 / zoom);
         }
 
         return false;
@@ -223,22 +232,15 @@ public class EditModeDefault extends InputAdapter implements EditMode {
     }
 
     private void deleteSelectedVertices() {
-        List<Vector2> allVertices = Lists.newArrayList();
-        List<Vector2> remainingVertices = Lists.newArrayList();
+        List<Integer> selectedIndices = editor.handlersToIndices(editor.getSelectedHandlers());
+        int remainingVertexCount = editor.getVertexHandlers().size() - selectedIndices.size();
 
-        for (VertexHandler handler : editor.getVertexHandlers()) {
-            allVertices.add(editor.getVertex(handler));
-            if (!handler.isSelected()) {
-                remainingVertices.add(editor.getVertex(handler));
-            }
-        }
-
-        if (remainingVertices.size() < 3 || editor.getSelectedHandlers().size() == 0) {
+        if (remainingVertexCount < 3 || selectedIndices.isEmpty()) {
             editor.deleteBoundPolygon();
         } else {
             ActionManager.runAction(new ActionManager.CompositeAction(ImmutableList.of(
-                    new DeselectAllHandlersAction(editor, editor.handlersToIndices(editor.getVertexHandlers()), editor.handlersToIndices(editor.getSelectedHandlers())),
-                    new RemoveVerticesAction(editor, allVertices, remainingVertices))));
+                    new DeselectAllHandlersAction(editor, editor.handlersToIndices(editor.getVertexHandlers()), selectedIndices),
+                    new RemoveVerticesAction(editor, selectedIndices))));
         }
     }
 
@@ -287,19 +289,23 @@ public class EditModeDefault extends InputAdapter implements EditMode {
             Gdx.gl20.glEnable(GL20.GL_BLEND);
 
             shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-            shapeRenderer.setColor(new Color(0x40508080));
+            shapeRenderer.setColor(SELECTION_FILL_COLOR);
             shapeRenderer.rect(x1, y1, x2 - x1, y2 - y1);
             shapeRenderer.end();
 
             shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-            shapeRenderer.setColor(new Color(0x405080FF));
+            shapeRenderer.setColor(SELECTION_BORDER_COLOR);
             shapeRenderer.rect(x1, y1, x2 - x1, y2 - y1);
             shapeRenderer.end();
         }
     }
 
     private void clearSelection() {
-        ActionManager.runAction(new DeselectAllHandlersAction(editor, editor.handlersToIndices(editor.getVertexHandlers()), editor.handlersToIndices(editor.getSelectedHandlers())));
+        // deselecting nothing would only build an action for the history to throw away
+        List<VertexHandler> selectedHandlers = editor.getSelectedHandlers();
+        if (!selectedHandlers.isEmpty()) {
+            ActionManager.runAction(new DeselectAllHandlersAction(editor, editor.handlersToIndices(editor.getVertexHandlers()), editor.handlersToIndices(selectedHandlers)));
+        }
         originalVertexPositions.clear();
         newlySelectedHandlers.clear();
     }
@@ -2,7 +2,6 @@ package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
 import org.vertexarmy.dsr.core.component.RenderComponent;
 import org.vertexarmy.dsr.core.systems.RenderSystem;
 import org.vertexarmy.dsr.math.Polygon;
@@ -17,6 +16,7 @@ class PolygonEditorRenderComponent extends RenderComponent {
     private static final Color DRAGGED_VERTEX_HANDLER_COLOR = Color.GREEN;
     private static final Color SELECTED_VERTEX_HANDLER_COLOR = Color.RED;
     private static final Color DEFAULT_VERTEX_HANDLER_COLOR = Color.YELLOW;
+    private static final Color EDGE_COLOR = new Color(0.35f, 0.35f, 0.35f, 1.0f);
     private final List<VertexHandler> vertexHandlers;
 
     private final TerrainPatchEditTool terrainPatchEditTool;
@@ -37,7 +37,7 @@ class PolygonEditorRenderComponent extends RenderComponent {
         Polygon polygon = terrainPatchEditTool.getBoundPolygon();
 
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        shapeRenderer.setColor(new Color(0.35f, 0.35f, 0.35f, 1.0f));
+        shapeRenderer.setColor(EDGE_COLOR);
         for (int i = 1; i < polygon.getVertexCount(); ++i) {
             drawEdge(i - 1, i);
         }
@@ -59,7 +59,6 @@ class PolygonEditorRenderComponent extends RenderComponent {
         Polygon polygon = terrainPatchEditTool.getBoundPolygon();
 
         float zoom = RenderSystem.instance().getZoom();
-        Vector2 vertex = polygon.getVertex(handler.getVertexIndex());
 
         if (handler.isDragged() || handler.isHovered()) {
             shapeRenderer.setColor(DRAGGED_VERTEX_HANDLER_COLOR);
@@ -68,7 +67,7 @@ class PolygonEditorRenderComponent extends RenderComponent {
         } else {
             shapeRenderer.setColor(DEFAULT_VERTEX_HANDLER_COLOR);
         }
-        drawRect(vertex.x, vertex.y, handler.getHitSize() / zoom);
+        drawRect(polygon.getX(handler.getVertexIndex()), polygon.getY(handler.getVertexIndex()), handler.getHitSize() / zoom);
     }
 
     private void drawRect(float x, float y, float size) {
@@ -80,9 +79,6 @@ class PolygonEditorRenderComponent extends RenderComponent {
         ShapeRenderer shapeRenderer = RenderSystem.instance().getShapeRenderer();
         Polygon polygon = terrainPatchEditTool.getBoundPolygon();
 
-        Vector2 from = polygon.getVertex(indexFrom);
-        Vector2 to = polygon.getVertex(indexTo);
-
-        shapeRenderer.line(from.x, from.y, to.x, to.y);
+        shapeRenderer.line(polygon.getX(indexFrom), polygon.getY(indexFrom), polygon.getX(indexTo), polygon.getY(indexTo));
     }
 }
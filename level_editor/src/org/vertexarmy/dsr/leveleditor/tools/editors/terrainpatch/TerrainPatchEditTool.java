@@ -138,11 +138,13 @@ public class TerrainPatchEditTool extends BindableTool<TerrainPatch> {
     }
 
     public void setVertex(VertexHandler handler, float x, float y) {
-        getBoundPolygon().setVertex(handler.getVertexIndex(), new Vector2(x, y));
+        getBoundPolygon().setVertex(handler.getVertexIndex(), x, y);
+        getBoundObject().notifyModified();
     }
 
     public void addVertex(int index, Vector2 position) {
         getBoundPolygon().addVertex(index, position);
+        getBoundObject().notifyModified();
         updateVertexHandlers();
     }
 
@@ -166,11 +168,22 @@ public class TerrainPatchEditTool extends BindableTool<TerrainPatch> {
             getBoundPolygon().removeVertex(indexList.get(i) - i);
         }
 
+        getBoundObject().notifyModified();
         updateVertexHandlers();
     }
 
     public void setVertices(List<Vector2> vertices) {
         getBoundPolygon().setVertices(vertices);
+        getBoundObject().notifyModified();
+        updateVertexHandlers();
+    }
+
+    /**
+     * @param coordinates the coordinates of the vertices, interleaved as x0, y0, x1, y1, ..
+     */
+    public void setVertices(float[] coordinates) {
+        getBoundPolygon().setVertices(coordinates);
+        getBoundObject().notifyModified();
         updateVertexHandlers();
     }
 
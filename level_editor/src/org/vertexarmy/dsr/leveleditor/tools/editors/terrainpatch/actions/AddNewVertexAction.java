@@ -2,6 +2,7 @@ package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
 import com.badlogic.gdx.math.Vector2;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
 
 /**
@@ -13,17 +14,20 @@ public class AddNewVertexAction implements ActionManager.Action {
 
     private final int index;
 
-    private final Vector2 position;
+    private final float x;
+
+    private final float y;
 
     public AddNewVertexAction(TerrainPatchEditTool terrainPatchEditTool, int index, Vector2 position) {
         this.terrainPatchEditTool = terrainPatchEditTool;
         this.index = index;
-        this.position = position;
+        this.x = position.x;
+        this.y = position.y;
     }
 
     @Override
     public void doAction() {
-        terrainPatchEditTool.addVertex(index, position);
+        terrainPatchEditTool.addVertex(index, new Vector2(x, y));
     }
 
     @Override
@@ -35,4 +39,9 @@ public class AddNewVertexAction implements ActionManager.Action {
     public boolean isValid() {
         return true;
     }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(MemoryFootprint.REFERENCE + 4 + 2 * 4);
+    }
 }
@@ -1,8 +1,9 @@
 package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
 import com.badlogic.gdx.math.Vector2;
-import com.beust.jcommander.internal.Lists;
+import org.vertexarmy.dsr.collection.ArrayUtils;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.VertexHandler;
 
@@ -15,16 +16,19 @@ import java.util.List;
 public class AlignHandlersHorizontallyAction extends ActionManager.ActionAdapter {
     private final TerrainPatchEditTool editorTool;
 
-    private final List<Integer> vertexHandlerIndices = Lists.newArrayList();
+    private final int[] vertexHandlerIndices;
 
-    private final List<Vector2> originalVertexPositions = Lists.newArrayList();
+    private final float[] originalCoordinates;
 
     public AlignHandlersHorizontallyAction(TerrainPatchEditTool editor, List<Integer> vertexHandlerIndices) {
         editorTool = editor;
-        this.vertexHandlerIndices.addAll(vertexHandlerIndices);
+        this.vertexHandlerIndices = ArrayUtils.toIntArray(vertexHandlerIndices);
 
-        for (Integer handlerIndex : vertexHandlerIndices) {
-            originalVertexPositions.add(editor.getVertex(handlerIndex));
+        originalCoordinates = new float[vertexHandlerIndices.size() * 2];
+        for (int i = 0; i < vertexHandlerIndices.size(); ++i) {
+            Vector2 vertex = editor.getVertex(vertexHandlerIndices.get(i));
+            originalCoordinates[i * 2] = vertex.x;
+            originalCoordinates[i * 2 + 1] = vertex.y;
         }
     }
 
@@ -47,24 +51,31 @@ public class AlignHandlersHorizontallyAction extends ActionManager.ActionAdapter
 
     @Override
     public void undoAction() {
-        for (int i = 0; i < vertexHandlerIndices.size(); ++i) {
-            VertexHandler vertexHandler = editorTool.findHandlerByIndex(vertexHandlerIndices.get(i));
-            editorTool.setVertex(vertexHandler, originalVertexPositions.get(i));
+        for (int i = 0; i < vertexHandlerIndices.length; ++i) {
+            VertexHandler vertexHandler = editorTool.findHandlerByIndex(vertexHandlerIndices[i]);
+            editorTool.setVertex(vertexHandler, originalCoordinates[i * 2], originalCoordinates[i * 2 + 1]);
         }
     }
 
     @Override
     public boolean isValid() {
-        if (vertexHandlerIndices.size() < 2) {
+        if (vertexHandlerIndices.length < 2) {
             return false;
         }
 
-        for (Integer handler : vertexHandlerIndices) {
-            if (editorTool.getVertex(handler).y != editorTool.getVertex(vertexHandlerIndices.get(0)).y) {
+        for (int handler : vertexHandlerIndices) {
+            if (editorTool.getVertex(handler).y != editorTool.getVertex(vertexHandlerIndices[0]).y) {
                 return true;
             }
         }
 
         return false;
     }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(3 * MemoryFootprint.REFERENCE)
+                + MemoryFootprint.intArray(vertexHandlerIndices.length)
+                + MemoryFootprint.floatArray(originalCoordinates.length);
+    }
 }
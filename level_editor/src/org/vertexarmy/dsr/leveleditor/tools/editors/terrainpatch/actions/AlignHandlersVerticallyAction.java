@@ -1,8 +1,9 @@
 package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
 import com.badlogic.gdx.math.Vector2;
-import com.beust.jcommander.internal.Lists;
+import org.vertexarmy.dsr.collection.ArrayUtils;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.VertexHandler;
 
@@ -15,16 +16,19 @@ import java.util.List;
 public class AlignHandlersVerticallyAction extends ActionManager.ActionAdapter {
     private final TerrainPatchEditTool editorTool;
 
-    private final List<Integer> vertexHandlersIndices = Lists.newArrayList();
+    private final int[] vertexHandlersIndices;
 
-    private final List<Vector2> originalVertexPositions = Lists.newArrayList();
+    private final float[] originalCoordinates;
 
     public AlignHandlersVerticallyAction(TerrainPatchEditTool editor, List<Integer> vertexHandlersIndices) {
         editorTool = editor;
-        this.vertexHandlersIndices.addAll(vertexHandlersIndices);
+        this.vertexHandlersIndices = ArrayUtils.toIntArray(vertexHandlersIndices);
 
-        for (Integer handler : vertexHandlersIndices) {
-            originalVertexPositions.add(editor.getVertex(handler));
+        originalCoordinates = new float[vertexHandlersIndices.size() * 2];
+        for (int i = 0; i < vertexHandlersIndices.size(); ++i) {
+            Vector2 vertex = editor.getVertex(vertexHandlersIndices.get(i));
+            originalCoordinates[i * 2] = vertex.x;
+            originalCoordinates[i * 2 + 1] = vertex.y;
         }
     }
 
@@ -47,24 +51,31 @@ public class AlignHandlersVerticallyAction extends ActionManager.ActionAdapter {
 
     @Override
     public void undoAction() {
-        for (int i = 0; i < vertexHandlersIndices.size(); ++i) {
-            VertexHandler vertexHandler = editorTool.findHandlerByIndex(vertexHandlersIndices.get(i));
-            editorTool.setVertex(vertexHandler, originalVertexPositions.get(i));
+        for (int i = 0; i < vertexHandlersIndices.length; ++i) {
+            VertexHandler vertexHandler = editorTool.findHandlerByIndex(vertexHandlersIndices[i]);
+            editorTool.setVertex(vertexHandler, originalCoordinates[i * 2], originalCoordinates[i * 2 + 1]);
         }
     }
 
     @Override
     public boolean isValid() {
-        if (vertexHandlersIndices.size() < 2) {
+        if (vertexHandlersIndices.length < 2) {
             return false;
         }
 
-        for (Integer handlerIndex : vertexHandlersIndices) {
-            if (editorTool.getVertex(handlerIndex).x != editorTool.getVertex(vertexHandlersIndices.get(0)).x) {
+        for (int handlerIndex : vertexHandlersIndices) {
+            if (editorTool.getVertex(handlerIndex).x != editorTool.getVertex(vertexHandlersIndices[0]).x) {
                 return true;
             }
         }
 
         return false;
     }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(3 * MemoryFootprint.REFERENCE)
+                + MemoryFootprint.intArray(vertexHandlersIndices.length)
+                + MemoryFootprint.floatArray(originalCoordinates.length);
+    }
 }
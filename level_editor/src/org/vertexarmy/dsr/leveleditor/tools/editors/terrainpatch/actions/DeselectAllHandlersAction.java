@@ -1,7 +1,8 @@
 package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
-import com.beust.jcommander.internal.Lists;
+import org.vertexarmy.dsr.collection.ArrayUtils;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.VertexHandler;
 
@@ -14,32 +15,39 @@ import java.util.List;
 public class DeselectAllHandlersAction extends ActionManager.ActionAdapter {
     private final TerrainPatchEditTool terrainPatchEditTool;
 
-    private final List<Integer> allHandlerIndices = Lists.newArrayList();
+    private final int[] allHandlerIndices;
 
-    private final List<Integer> selectedHandlerIndices = Lists.newArrayList();
+    private final int[] selectedHandlerIndices;
 
     public DeselectAllHandlersAction(TerrainPatchEditTool terrainPatchEditTool, List<Integer> allHandlerIndices, List<Integer> selectedHandlerIndices) {
         this.terrainPatchEditTool = terrainPatchEditTool;
-        this.allHandlerIndices.addAll(allHandlerIndices);
-        this.selectedHandlerIndices.addAll(selectedHandlerIndices);
+        this.allHandlerIndices = ArrayUtils.toIntArray(allHandlerIndices);
+        this.selectedHandlerIndices = ArrayUtils.toIntArray(selectedHandlerIndices);
     }
 
     @Override
     public void doAction() {
-        for (Integer vertexHandlerIndex : allHandlerIndices) {
+        for (int vertexHandlerIndex : allHandlerIndices) {
             terrainPatchEditTool.findHandlerByIndex(vertexHandlerIndex).setSelected(false);
         }
     }
 
     @Override
     public void undoAction() {
-        for (Integer vertexHandlerIndex : selectedHandlerIndices) {
+        for (int vertexHandlerIndex : selectedHandlerIndices) {
             terrainPatchEditTool.findHandlerByIndex(vertexHandlerIndex).setSelected(true);
         }
     }
 
     @Override
     public boolean isValid() {
-        return !selectedHandlerIndices.isEmpty();
+        return selectedHandlerIndices.length > 0;
+    }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(3 * MemoryFootprint.REFERENCE)
+                + MemoryFootprint.intArray(allHandlerIndices.length)
+                + MemoryFootprint.intArray(selectedHandlerIndices.length);
     }
 }
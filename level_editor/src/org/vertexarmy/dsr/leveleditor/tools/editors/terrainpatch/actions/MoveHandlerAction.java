@@ -2,41 +2,73 @@ package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
 import com.badlogic.gdx.math.Vector2;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
 
 /**
+ * Successive moves of the same vertex are merged into one action.
+ * <p/>
  * Created by alex
  * on 24.03.2015.
  */
-public class MoveHandlerAction extends ActionManager.ActionAdapter {
-    private final Vector2 originalPosition = new Vector2();
+public class MoveHandlerAction extends ActionManager.ActionAdapter implements ActionManager.MergeableAction {
+    private final float originalX;
 
-    private final Vector2 newPosition = new Vector2();
+    private final float originalY;
 
-    private final Integer vertexHandlerIndex;
+    private final float newX;
+
+    private final float newY;
+
+    private final int vertexHandlerIndex;
 
     private final TerrainPatchEditTool editorTool;
 
-    public MoveHandlerAction(TerrainPatchEditTool editorTool, Integer vertexHandlerIndex, Vector2 originalPosition, Vector2 newPosition) {
+    public MoveHandlerAction(TerrainPatchEditTool editorTool, int vertexHandlerIndex, Vector2 originalPosition, Vector2 newPosition) {
+        this(editorTool, vertexHandlerIndex, originalPosition.x, originalPosition.y, newPosition.x, newPosition.y);
+    }
+
+    private MoveHandlerAction(TerrainPatchEditTool editorTool, int vertexHandlerIndex, float originalX, float originalY, float newX, float newY) {
         this.editorTool = editorTool;
         this.vertexHandlerIndex = vertexHandlerIndex;
-        this.originalPosition.set(originalPosition);
-        this.newPosition.set(newPosition);
+        this.originalX = originalX;
+        this.originalY = originalY;
+        this.newX = newX;
+        this.newY = newY;
     }
 
 
     @Override
     public void doAction() {
-        editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndex), newPosition.x, newPosition.y);
+        editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndex), newX, newY);
     }
 
     @Override
     public void undoAction() {
-        editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndex), originalPosition.x, originalPosition.y);
+        editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndex), originalX, originalY);
     }
 
     @Override
     public boolean isValid() {
-        return Vector2.dst2(originalPosition.x, originalPosition.y, newPosition.x, newPosition.y) >= 1;
+        return Vector2.dst2(originalX, originalY, newX, newY) >= 1;
+    }
+
+    @Override
+    public ActionManager.Action mergeWith(ActionManager.Action next) {
+        if (!(next instanceof MoveHandlerAction)) {
+            return null;
+        }
+
+        MoveHandlerAction nextMove = (MoveHandlerAction) next;
+        if (nextMove.editorTool != editorTool || nextMove.vertexHandlerIndex != vertexHandlerIndex) {
+            return null;
+        }
+
+        return new MoveHandlerAction(editorTool, vertexHandlerIndex, originalX, originalY, nextMove.newX, nextMove.newY);
+    }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(MemoryFootprint.REFERENCE + 4 + 4 * 4);
     }
 }
@@ -1,23 +1,26 @@
 package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
 import com.badlogic.gdx.math.Vector2;
-import com.beust.jcommander.internal.Lists;
+import org.vertexarmy.dsr.collection.ArrayUtils;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
-import org.vertexarmy.dsr.math.Algorithms;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
+ * Successive moves of the same set of vertices are merged into one action.
+ * <p/>
  * Created by alex
  * on 24.03.2015.
  */
-public class MoveMultipleHandlersAction extends ActionManager.ActionAdapter {
-    private final List<Integer> vertexHandlerIndices = Lists.newArrayList();
+public class MoveMultipleHandlersAction extends ActionManager.ActionAdapter implements ActionManager.MergeableAction {
+    private final int[] vertexHandlerIndices;
 
-    private final List<Vector2> originalPositions = Lists.newArrayList();
+    private final float[] originalCoordinates;
 
-    private final List<Vector2> newPositions = Lists.newArrayList();
+    private final float[] newCoordinates;
 
     private final TerrainPatchEditTool editorTool;
 
@@ -27,28 +30,58 @@ public class MoveMultipleHandlersAction extends ActionManager.ActionAdapter {
             List<Vector2> originalPositions,
             List<Vector2> newPositions) {
         this.editorTool = editorTool;
-        this.vertexHandlerIndices.addAll(vertexHandlerIndices);
-        this.originalPositions.addAll(originalPositions);
-        this.newPositions.addAll(newPositions);
+        this.vertexHandlerIndices = ArrayUtils.toIntArray(vertexHandlerIndices);
+        this.originalCoordinates = ArrayUtils.toCoordinateArray(originalPositions);
+        this.newCoordinates = ArrayUtils.toCoordinateArray(newPositions);
+    }
+
+    private MoveMultipleHandlersAction(TerrainPatchEditTool editorTool, int[] vertexHandlerIndices, float[] originalCoordinates, float[] newCoordinates) {
+        this.editorTool = editorTool;
+        this.vertexHandlerIndices = vertexHandlerIndices;
+        this.originalCoordinates = originalCoordinates;
+        this.newCoordinates = newCoordinates;
     }
 
     @Override
     public void doAction() {
-        for (int i = 0; i < vertexHandlerIndices.size(); ++i) {
-            editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndices.get(i)), newPositions.get(i));
+        for (int i = 0; i < vertexHandlerIndices.length; ++i) {
+            editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndices[i]), newCoordinates[i * 2], newCoordinates[i * 2 + 1]);
         }
     }
 
     @Override
     public void undoAction() {
-        for (int i = 0; i < vertexHandlerIndices.size(); ++i) {
-            editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndices.get(i)), originalPositions.get(i));
+        for (int i = 0; i < vertexHandlerIndices.length; ++i) {
+            editorTool.setVertex(editorTool.findHandlerByIndex(vertexHandlerIndices[i]), originalCoordinates[i * 2], originalCoordinates[i * 2 + 1]);
         }
     }
 
     @Override
     public boolean isValid() {
-        return !originalPositions.isEmpty() && Algorithms.distanceSq(originalPositions.get(0), newPositions.get(0)) >= 1;
+        return originalCoordinates.length > 0
+                && Vector2.dst2(originalCoordinates[0], originalCoordinates[1], newCoordinates[0], newCoordinates[1]) >= 1;
 
     }
+
+    @Override
+    public ActionManager.Action mergeWith(ActionManager.Action next) {
+        if (!(next instanceof MoveMultipleHandlersAction)) {
+            return null;
+        }
+
+        MoveMultipleHandlersAction nextMove = (MoveMultipleHandlersAction) next;
+        if (nextMove.editorTool != editorTool || !Arrays.equals(nextMove.vertexHandlerIndices, vertexHandlerIndices)) {
+            return null;
+        }
+
+        // the arrays are never modified, so they can be shared
+        return new MoveMultipleHandlersAction(editorTool, vertexHandlerIndices, originalCoordinates, nextMove.newCoordinates);
+    }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(4 * MemoryFootprint.REFERENCE)
+                + MemoryFootprint.intArray(vertexHandlerIndices.length)
+                + 2 * MemoryFootprint.floatArray(originalCoordinates.length);
+    }
 }
@@ -1,41 +1,96 @@
 package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
-import com.badlogic.gdx.math.Vector2;
-import com.beust.jcommander.internal.Lists;
+import org.vertexarmy.dsr.collection.ArrayUtils;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
+import org.vertexarmy.dsr.math.Polygon;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
+ * Keeps only the removed vertices, their indices and coordinates, instead of the polygon before and after.
+ * <p/>
  * created by Alex
  * on 3/25/2015.
  */
 public class RemoveVerticesAction implements ActionManager.Action {
     private final TerrainPatchEditTool editor;
 
-    private final List<Vector2> allVertices = Lists.newArrayList();
+    private final int vertexCount;
 
-    private final List<Vector2> remainingVertices = Lists.newArrayList();
+    private final int[] removedIndices;
 
-    public RemoveVerticesAction(TerrainPatchEditTool editor, List<Vector2> allVertices, List<Vector2> remainingVertices) {
+    private final float[] removedCoordinates;
+
+    public RemoveVerticesAction(TerrainPatchEditTool editor, List<Integer> removedIndices) {
         this.editor = editor;
-        this.allVertices.addAll(allVertices);
-        this.remainingVertices.addAll(remainingVertices);
+
+        Polygon polygon = editor.getBoundPolygon();
+        vertexCount = polygon.getVertexCount();
+
+        this.removedIndices = ArrayUtils.toIntArray(removedIndices);
+        Arrays.sort(this.removedIndices);
+
+        removedCoordinates = new float[this.removedIndices.length * 2];
+        for (int i = 0; i < this.removedIndices.length; ++i) {
+            removedCoordinates[i * 2] = polygon.getX(this.removedIndices[i]);
+            removedCoordinates[i * 2 + 1] = polygon.getY(this.removedIndices[i]);
+        }
     }
 
     @Override
     public void doAction() {
-        editor.setVertices(remainingVertices);
+        float[] coordinates = editor.getBoundPolygon().toFloatArray();
+        float[] remainingCoordinates = new float[(vertexCount - removedIndices.length) * 2];
+
+        int removed = 0;
+        int remaining = 0;
+        for (int i = 0; i < vertexCount; ++i) {
+            if (removed < removedIndices.length && removedIndices[removed] == i) {
+                removed += 1;
+                continue;
+            }
+            remainingCoordinates[remaining * 2] = coordinates[i * 2];
+            remainingCoordinates[remaining * 2 + 1] = coordinates[i * 2 + 1];
+            remaining += 1;
+        }
+
+        editor.setVertices(remainingCoordinates);
     }
 
     @Override
     public void undoAction() {
-        editor.setVertices(allVertices);
+        float[] remainingCoordinates = editor.getBoundPolygon().toFloatArray();
+        float[] coordinates = new float[vertexCount * 2];
+
+        int removed = 0;
+        int remaining = 0;
+        for (int i = 0; i < vertexCount; ++i) {
+            if (removed < removedIndices.length && removedIndices[removed] == i) {
+                coordinates[i * 2] = removedCoordinates[removed * 2];
+                coordinates[i * 2 + 1] = removedCoordinates[removed * 2 + 1];
+                removed += 1;
+            } else {
+                coordinates[i * 2] = remainingCoordinates[remaining * 2];
+                coordinates[i * 2 + 1] = remainingCoordinates[remaining * 2 + 1];
+                remaining += 1;
+            }
+        }
+
+        editor.setVertices(coordinates);
     }
 
     @Override
     public boolean isValid() {
-        return allVertices.size() > remainingVertices.size();
+        return removedIndices.length > 0;
+    }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(3 * MemoryFootprint.REFERENCE + 4)
+                + MemoryFootprint.intArray(removedIndices.length)
+                + MemoryFootprint.floatArray(removedCoordinates.length);
     }
 }
@@ -1,41 +1,69 @@
 package org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.actions;
 
-import com.beust.jcommander.internal.Lists;
+import org.vertexarmy.dsr.collection.ArrayUtils;
 import org.vertexarmy.dsr.core.ActionManager;
+import org.vertexarmy.dsr.core.profiling.MemoryFootprint;
 import org.vertexarmy.dsr.leveleditor.tools.editors.terrainpatch.TerrainPatchEditTool;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
+ * Selections made one after the other, e.g. while holding control, are merged into one action.
+ * <p/>
  * Created by alex
  * on 24.03.2015.
  */
-public class SelectHandlersAction extends ActionManager.ActionAdapter {
+public class SelectHandlersAction extends ActionManager.ActionAdapter implements ActionManager.MergeableAction {
     private final TerrainPatchEditTool terrainPatchEditTool;
 
-    private final List<Integer> selectedHandlerIndices = Lists.newArrayList();
+    private final int[] selectedHandlerIndices;
 
     public SelectHandlersAction(TerrainPatchEditTool terrainPatchEditTool, List<Integer> selectedHandlerIndices) {
         this.terrainPatchEditTool = terrainPatchEditTool;
-        this.selectedHandlerIndices.addAll(selectedHandlerIndices);
+        this.selectedHandlerIndices = ArrayUtils.toIntArray(selectedHandlerIndices);
+    }
+
+    private SelectHandlersAction(TerrainPatchEditTool terrainPatchEditTool, int[] selectedHandlerIndices) {
+        this.terrainPatchEditTool = terrainPatchEditTool;
+        this.selectedHandlerIndices = selectedHandlerIndices;
     }
 
     @Override
     public void doAction() {
-        for (Integer vertexHandlerIndex : selectedHandlerIndices) {
+        for (int vertexHandlerIndex : selectedHandlerIndices) {
             terrainPatchEditTool.findHandlerByIndex(vertexHandlerIndex).setSelected(true);
         }
     }
 
     @Override
     public void undoAction() {
-        for (Integer vertexHandlerIndex : selectedHandlerIndices) {
+        for (int vertexHandlerIndex : selectedHandlerIndices) {
             terrainPatchEditTool.findHandlerByIndex(vertexHandlerIndex).setSelected(false);
         }
     }
 
     @Override
     public boolean isValid() {
-        return !selectedHandlerIndices.isEmpty();
+        return selectedHandlerIndices.length > 0;
+    }
+
+    @Override
+    public ActionManager.Action mergeWith(ActionManager.Action next) {
+        if (!(next instanceof SelectHandlersAction) || ((SelectHandlersAction) next).terrainPatchEditTool != terrainPatchEditTool) {
+            return null;
+        }
+
+        // a selection only adds handlers which were not selected before, so the indices never overlap
+        int[] nextIndices = ((SelectHandlersAction) next).selectedHandlerIndices;
+        int[] indices = Arrays.copyOf(selectedHandlerIndices, selectedHandlerIndices.length + nextIndices.length);
+        System.arraycopy(nextIndices, 0, indices, selectedHandlerIndices.length, nextIndices.length);
+
+        return new SelectHandlersAction(terrainPatchEditTool, indices);
+    }
+
+    @Override
+    public long getFootprint() {
+        return MemoryFootprint.object(2 * MemoryFootprint.REFERENCE) + MemoryFootprint.intArray(selectedHandlerIndices.length);
     }
 }
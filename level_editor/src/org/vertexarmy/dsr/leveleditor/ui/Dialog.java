@@ -19,6 +19,8 @@ import org.vertexarmy.dsr.core.UiContext;
 public abstract class Dialog<E> extends Window {
     @Setter
     private Listener<E> listener;
+
+    @Getter
     private final TextButton cancelButton;
 
     @Getter
@@ -3,11 +3,11 @@ package org.vertexarmy.dsr.leveleditor.ui;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.List;
 import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
-import com.google.common.collect.ImmutableList;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.vertexarmy.dsr.core.UiContext;
 import org.vertexarmy.dsr.leveleditor.FileUtils;
+import org.vertexarmy.dsr.leveleditor.LevelFileFormat;
 
 import java.io.File;
 
@@ -16,8 +16,6 @@ import java.io.File;
  * on 3/28/2015.
  */
 public class LevelLoadDialog extends Dialog<LevelLoadDialog.Event> {
-    private static final String LEVEL_EXTENSION = "json";
-
     private final List<String> availableLevelsList;
 
     private final ScrollPane scrollPane;
@@ -77,13 +75,13 @@ public class LevelLoadDialog extends Dialog<LevelLoadDialog.Event> {
     }
 
     public void discoverAvailableLevelsList() {
-        java.util.List<File> discoveredLevelFiles = FileUtils.discoverFiles(new File("levels/"), ImmutableList.of(LEVEL_EXTENSION));
+        // the extension tells the formats apart, e.g. a level from its binary autosave
+        java.util.List<File> discoveredLevelFiles = FileUtils.discoverFiles(new File("levels/"), LevelFileFormat.EXTENSIONS);
 
         this.availableLevelsList.clearItems();
         String[] availableLevelsArray = new String[discoveredLevelFiles.size()];
         for (int i = 0; i < discoveredLevelFiles.size(); ++i) {
-            String filename = discoveredLevelFiles.get(i).getName();
-            availableLevelsArray[i] = filename.substring(0, filename.length() - LEVEL_EXTENSION.length() - 1);
+            availableLevelsArray[i] = discoveredLevelFiles.get(i).getName();
         }
         this.availableLevelsList.setItems(availableLevelsArray);
     }
@@ -91,6 +89,6 @@ public class LevelLoadDialog extends Dialog<LevelLoadDialog.Event> {
     @RequiredArgsConstructor
     public static class Event {
         @Getter
-        private final String levelName;
+        private final String levelFileName;
     }
 }
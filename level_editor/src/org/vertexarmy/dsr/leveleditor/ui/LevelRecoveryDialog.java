@@ -0,0 +1,79 @@
+package org.vertexarmy.dsr.leveleditor.ui;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.vertexarmy.dsr.core.UiContext;
+
+/**
+ * Asks whether the unsaved changes found in the journal of a level should be recovered. Closing the dialog in any
+ * other way than with the recover button discards them.
+ * <p/>
+ * created by Alex
+ * on 17-Oct-2026.
+ */
+public class LevelRecoveryDialog extends Dialog<LevelRecoveryDialog.Event> {
+    private final Label messageLabel;
+
+    private boolean answered;
+
+    public LevelRecoveryDialog(UiContext uiContext, String title) {
+        super(uiContext, title);
+
+        messageLabel = new Label("", uiContext.getSkin());
+
+        getActionButton().setText("Recover");
+        getCancelButton().setText("Discard");
+
+        setModal(true);
+
+        packLayout();
+    }
+
+    public void setLevelName(String levelName) {
+        messageLabel.setText("Unsaved changes of " + levelName + " were found.\nRecover them or discard them for good?");
+    }
+
+    @Override
+    protected Actor getContent() {
+        return messageLabel;
+    }
+
+    @Override
+    protected void doAction() {
+        answer(true);
+    }
+
+    @Override
+    public void show() {
+        answered = false;
+        getUiContext().getStage().addActor(this);
+        setVisible(true);
+
+        pack();
+        UIToolkit.centerWindowOnTop(this);
+    }
+
+    @Override
+    public void hide() {
+        answer(false);
+    }
+
+    private void answer(boolean recover) {
+        if (answered) {
+            return;
+        }
+        answered = true;
+
+        setVisible(false);
+        remove();
+        notifyListener(new Event(recover));
+    }
+
+    @RequiredArgsConstructor
+    public static class Event {
+        @Getter
+        private final boolean recover;
+    }
+}
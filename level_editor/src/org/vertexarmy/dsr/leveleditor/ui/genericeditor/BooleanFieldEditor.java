@@ -7,8 +7,6 @@ import com.badlogic.gdx.scenes.scene2d.utils.Align;
 import org.vertexarmy.dsr.core.ReflectionHelper;
 import org.vertexarmy.dsr.leveleditor.ui.UIToolkit;
 
-import java.lang.reflect.Field;
-
 /**
  * created by Alex
  * on 05-Apr-2015.
@@ -19,8 +17,8 @@ public class BooleanFieldEditor extends FieldEditor {
 
     private Object boundObject;
 
-    public BooleanFieldEditor(final Field field, Skin skin) {
-        super(field);
+    public BooleanFieldEditor(final ReflectionHelper.FieldAccessor accessor, Skin skin) {
+        super(accessor);
 
         checkBox = new CheckBox("", skin);
         checkBox.align(Align.left);
@@ -29,7 +27,7 @@ public class BooleanFieldEditor extends FieldEditor {
             @Override
             public void action() {
                 if (boundObject != null) {
-                    ReflectionHelper.setField(boundObject, field, checkBox.isChecked());
+                    ReflectionHelper.setField(boundObject, accessor, checkBox.isChecked());
                 }
             }
         });
@@ -44,7 +42,7 @@ public class BooleanFieldEditor extends FieldEditor {
     public void bindToObject(Object object) {
         this.boundObject = object;
         if (object != null) {
-            checkBox.setChecked(ReflectionHelper.getField(object, getBoundField(), false));
+            checkBox.setChecked(ReflectionHelper.getField(object, getAccessor(), false));
         }
     }
 }
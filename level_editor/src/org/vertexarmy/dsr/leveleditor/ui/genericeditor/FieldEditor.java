@@ -2,6 +2,7 @@ package org.vertexarmy.dsr.leveleditor.ui.genericeditor;
 
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import lombok.Getter;
+import org.vertexarmy.dsr.core.ReflectionHelper;
 
 import java.lang.reflect.Field;
 
@@ -10,11 +11,18 @@ import java.lang.reflect.Field;
  * on 05-Apr-2015.
  */
 public abstract class FieldEditor {
+    /**
+     * Resolved once for the edited class, so that editing a value does not look the accessor up again.
+     */
     @Getter
-    private final Field boundField;
+    private final ReflectionHelper.FieldAccessor accessor;
 
-    public FieldEditor(Field boundField) {
-        this.boundField = boundField;
+    public FieldEditor(ReflectionHelper.FieldAccessor accessor) {
+        this.accessor = accessor;
+    }
+
+    public Field getBoundField() {
+        return accessor.getField();
     }
 
     abstract public Actor getUiComponent();
@@ -33,7 +33,7 @@ public class GenericEditor extends Dialog<Object> {
     private float fullSizeHeight = 100;
     private Object boundObject;
 
-    public GenericEditor(UiContext uiContext, String title, Class objectClass) {
+    public GenericEditor(UiContext uiContext, String title, Class<?> objectClass) {
         super(uiContext, title);
 
         objectContentTable = createContentTable(objectClass);
@@ -56,12 +56,13 @@ public class GenericEditor extends Dialog<Object> {
         return result;
     }
 
-    private Table createContentTable(Class objectClass) {
+    private Table createContentTable(Class<?> objectClass) {
         Table result = new Table(getUiContext().getSkin());
 
         for (Field field : objectClass.getDeclaredFields()) {
-            if (ReflectionHelper.hasReadWriteAccess(objectClass, field)) {
-                FieldEditor editor = createEditorForField(field);
+            ReflectionHelper.FieldAccessor accessor = ReflectionHelper.getAccessor(objectClass, field);
+            if (accessor.canRead() && accessor.canWrite()) {
+                FieldEditor editor = createEditorForField(accessor);
                 if (editor != null) {
                     fieldEditorMap.put(field, editor);
                     result.add(new Label(field.getName(), getUiContext().getSkin())).right().fillX().padRight(6);
@@ -73,25 +74,27 @@ public class GenericEditor extends Dialog<Object> {
         return result;
     }
 
-    private FieldEditor createEditorForField(final Field field) {
+    private FieldEditor createEditorForField(ReflectionHelper.FieldAccessor accessor) {
+        Field field = accessor.getField();
+
         if (field.getType() == Boolean.class || field.getType() == boolean.class) {
-            return new BooleanFieldEditor(field, getUiContext().getSkin());
+            return new BooleanFieldEditor(accessor, getUiContext().getSkin());
         }
 
         if (field.getType() == Vector2.class) {
-            return new Vector2FieldEditor(field, getUiContext().getSkin());
+            return new Vector2FieldEditor(accessor, getUiContext().getSkin());
         }
 
         if (field.getType() == String.class && field.getName().contains("texture")) {
-            return new TextureFieldEditor(field, getUiContext());
+            return new TextureFieldEditor(accessor, getUiContext());
         }
 
         if (field.getType() == Float.class || field.getType() == float.class) {
-            return new FloatFieldEditor(field, getUiContext().getSkin());
+            return new FloatFieldEditor(accessor, getUiContext().getSkin());
         }
 
         if (field.getType() == Integer.class || field.getType() == int.class) {
-            return new IntegerFieldEditor(field, getUiContext().getSkin());
+            return new IntegerFieldEditor(accessor, getUiContext().getSkin());
         }
 
         return null;
@@ -8,8 +8,6 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextField;
 import org.vertexarmy.dsr.core.ReflectionHelper;
 import org.vertexarmy.dsr.leveleditor.ui.Spinner;
 
-import java.lang.reflect.Field;
-
 /**
  * created by Alex
  * on 05-Apr-2015.
@@ -19,11 +17,11 @@ public class IntegerFieldEditor extends FieldEditor {
 
     private Object boundObject;
 
-    public IntegerFieldEditor(final Field field, Skin skin) {
-        super(field);
+    public IntegerFieldEditor(final ReflectionHelper.FieldAccessor accessor, Skin skin) {
+        super(accessor);
 
         textField = new Spinner("", skin);
-        textField.setIncrement(ReflectionHelper.getPrecisionAnnotationValue(field));
+        textField.setIncrement(ReflectionHelper.getPrecisionAnnotationValue(accessor.getField()));
 
         textField.addListener(new InputListener() {
             @Override
@@ -31,7 +29,7 @@ public class IntegerFieldEditor extends FieldEditor {
                 if (boundObject != null) {
                     try {
                         Integer value = Integer.valueOf(textField.getText());
-                        ReflectionHelper.setField(boundObject, field, value);
+                        ReflectionHelper.setField(boundObject, accessor, value);
                         return true;
                     } catch (Exception ignored) {
                         return false;
@@ -51,7 +49,7 @@ public class IntegerFieldEditor extends FieldEditor {
     public void bindToObject(Object object) {
         this.boundObject = object;
         if (object != null) {
-            textField.setText(String.valueOf(ReflectionHelper.getField(object, getBoundField(), 0)));
+            textField.setText(String.valueOf(ReflectionHelper.getField(object, getAccessor(), 0)));
         }
     }
 }
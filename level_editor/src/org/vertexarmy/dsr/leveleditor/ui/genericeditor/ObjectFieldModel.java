@@ -3,31 +3,29 @@ package org.vertexarmy.dsr.leveleditor.ui.genericeditor;
 import org.vertexarmy.dsr.core.ReflectionHelper;
 import org.vertexarmy.dsr.leveleditor.ui.Model;
 
-import java.lang.reflect.Field;
-
 /**
  * created by Alex
  * on 10-Apr-2015.
  */
 public class ObjectFieldModel<T> implements Model<T> {
-    private Field field;
+    private ReflectionHelper.FieldAccessor accessor;
 
     private Object object;
     private T defaultValue;
 
-    public ObjectFieldModel(Field field, Object object, T defaultValue) {
-        this.field = field;
+    public ObjectFieldModel(ReflectionHelper.FieldAccessor accessor, Object object, T defaultValue) {
+        this.accessor = accessor;
         this.object = object;
         this.defaultValue = defaultValue;
     }
 
     @Override
     public T getValue() {
-        return ReflectionHelper.getField(object, field, defaultValue);
+        return ReflectionHelper.getField(object, accessor, defaultValue);
     }
 
     @Override
     public void setValue(T value) {
-        ReflectionHelper.setField(object, field, value);
+        ReflectionHelper.setField(object, accessor, value);
     }
 }
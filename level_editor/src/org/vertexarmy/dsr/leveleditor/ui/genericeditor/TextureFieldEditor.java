@@ -12,8 +12,6 @@ import org.vertexarmy.dsr.leveleditor.ui.Dialog;
 import org.vertexarmy.dsr.leveleditor.ui.SpritePickerDialog;
 import org.vertexarmy.dsr.leveleditor.ui.UIToolkit;
 
-import java.lang.reflect.Field;
-
 /**
  * created by Alex
  * on 05-Apr-2015.
@@ -28,8 +26,8 @@ public class TextureFieldEditor extends FieldEditor {
 
     private Object boundObject;
 
-    public TextureFieldEditor(final Field field, final UiContext uiContext) {
-        super(field);
+    public TextureFieldEditor(ReflectionHelper.FieldAccessor accessor, final UiContext uiContext) {
+        super(accessor);
 
         texturePickerDialog = new SpritePickerDialog(uiContext, "Select texture");
 
@@ -76,7 +74,7 @@ public class TextureFieldEditor extends FieldEditor {
     public void bindToObject(Object object) {
         this.boundObject = object;
         if (object != null) {
-            setSelectedTexture(ReflectionHelper.<String>getField(object, getBoundField(), null));
+            setSelectedTexture(ReflectionHelper.<String>getField(object, getAccessor(), null));
         }
     }
 
@@ -88,6 +86,6 @@ public class TextureFieldEditor extends FieldEditor {
             textureNameLabel.getStyle().fontColor = new Color(0xAAAAAAff);
             textureNameLabel.setText("none");
         }
-        ReflectionHelper.setField(boundObject, getBoundField(), textureName);
+        ReflectionHelper.setField(boundObject, getAccessor(), textureName);
     }
 }
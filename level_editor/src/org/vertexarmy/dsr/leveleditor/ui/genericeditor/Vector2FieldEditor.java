@@ -10,8 +10,6 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import org.vertexarmy.dsr.core.ReflectionHelper;
 import org.vertexarmy.dsr.leveleditor.ui.Spinner;
 
-import java.lang.reflect.Field;
-
 /**
  * created by Alex
  * on 05-Apr-2015.
@@ -25,20 +23,25 @@ public class Vector2FieldEditor extends FieldEditor {
 
     private Object boundObject;
 
-    public Vector2FieldEditor(final Field field, Skin skin) {
-        super(field);
+    public Vector2FieldEditor(final ReflectionHelper.FieldAccessor accessor, Skin skin) {
+        super(accessor);
 
         contentTable = new Table(skin);
 
         textFieldX = new Spinner("", skin);
-        textFieldX.setIncrement(ReflectionHelper.getPrecisionAnnotationValue(field));
+        textFieldX.setIncrement(ReflectionHelper.getPrecisionAnnotationValue(accessor.getField()));
         textFieldX.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (boundObject != null) {
                     try {
-                        Vector2 fieldValue = (Vector2) ReflectionHelper.findGetter(boundObject.getClass(), field).invoke(boundObject);
-                        fieldValue.x = Float.valueOf(textFieldX.getText());
+                        Vector2 fieldValue = ReflectionHelper.getField(boundObject, accessor, null);
+                        float value = Float.valueOf(textFieldX.getText());
+                        if (fieldValue.x != value) {
+                            fieldValue.x = value;
+                            // go through the setter so that the owner gets notified
+                            ReflectionHelper.setField(boundObject, accessor, fieldValue);
+                        }
                     } catch (Exception ignored) {
                     }
                 }
@@ -46,15 +49,20 @@ public class Vector2FieldEditor extends FieldEditor {
         });
 
         textFieldY = new Spinner("", skin);
-        textFieldY.setIncrement(ReflectionHelper.getPrecisionAnnotationValue(field));
+        textFieldY.setIncrement(ReflectionHelper.getPrecisionAnnotationValue(accessor.getField()));
 
         textFieldY.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (boundObject != null) {
                     try {
-                        Vector2 fieldValue = (Vector2) ReflectionHelper.findGetter(boundObject.getClass(), field).invoke(boundObject);
-                        fieldValue.y = Float.valueOf(textFieldY.getText());
+                        Vector2 fieldValue = ReflectionHelper.getField(boundObject, accessor, null);
+                        float value = Float.valueOf(textFieldY.getText());
+                        if (fieldValue.y != value) {
+                            fieldValue.y = value;
+                            // go through the setter so that the owner gets notified
+                            ReflectionHelper.setField(boundObject, accessor, fieldValue);
+                        }
                     } catch (Exception ignored) {
                     }
                 }
@@ -77,11 +85,11 @@ public class Vector2FieldEditor extends FieldEditor {
     public void bindToObject(Object object) {
         this.boundObject = object;
         if (object != null) {
-            textFieldX.setText(String.valueOf(ReflectionHelper.getField(object, getBoundField(), Vector2.Zero).x));
-            textFieldX.setFloatModel(new Vector2FieldModel(Vector2FieldModel.Element.X, getBoundField(), boundObject));
+            textFieldX.setText(String.valueOf(ReflectionHelper.getField(object, getAccessor(), Vector2.Zero).x));
+            textFieldX.setFloatModel(new Vector2FieldModel(Vector2FieldModel.Element.X, getAccessor(), boundObject));
 
-            textFieldY.setText(String.valueOf(ReflectionHelper.getField(object, getBoundField(), Vector2.Zero).y));
-            textFieldY.setFloatModel(new Vector2FieldModel(Vector2FieldModel.Element.Y, getBoundField(), boundObject));
+            textFieldY.setText(String.valueOf(ReflectionHelper.getField(object, getAccessor(), Vector2.Zero).y));
+            textFieldY.setFloatModel(new Vector2FieldModel(Vector2FieldModel.Element.Y, getAccessor(), boundObject));
         }
     }
 }
@@ -4,30 +4,28 @@ import com.badlogic.gdx.math.Vector2;
 import org.vertexarmy.dsr.core.ReflectionHelper;
 import org.vertexarmy.dsr.leveleditor.ui.Model;
 
-import java.lang.reflect.Field;
-
 /**
  * created by Alex
  * on 10-Apr-2015.
  */
 public class Vector2FieldModel implements Model<Float> {
     private final Element element;
-    private final Field field;
+    private final ReflectionHelper.FieldAccessor accessor;
     private final Object object;
 
     enum Element {
         X, Y
     }
 
-    public Vector2FieldModel(Element element, Field field, Object object) {
+    public Vector2FieldModel(Element element, ReflectionHelper.FieldAccessor accessor, Object object) {
         this.element = element;
-        this.field = field;
+        this.accessor = accessor;
         this.object = object;
     }
 
     @Override
     public Float getValue() {
-        Vector2 fieldValue = ReflectionHelper.getField(object, field, Vector2.Zero.cpy());
+        Vector2 fieldValue = ReflectionHelper.getField(object, accessor, Vector2.Zero.cpy());
         if (element == Element.X) {
             return fieldValue.x;
         } else {
@@ -37,12 +35,12 @@ public class Vector2FieldModel implements Model<Float> {
 
     @Override
     public void setValue(Float value) {
-        Vector2 fieldValue = ReflectionHelper.getField(object, field, Vector2.Zero.cpy());
+        Vector2 fieldValue = ReflectionHelper.getField(object, accessor, Vector2.Zero.cpy());
         if (element == Element.X) {
             fieldValue.x = value;
         } else {
             fieldValue.y = value;
         }
-        ReflectionHelper.setField(object, field, fieldValue);
+        ReflectionHelper.setField(object, accessor, fieldValue);
     }
 }